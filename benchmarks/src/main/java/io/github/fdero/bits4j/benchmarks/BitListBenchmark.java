@@ -0,0 +1,187 @@
+package io.github.fdero.bits4j.benchmarks;
+
+import io.github.fdero.bits4j.core.BitList;
+import io.github.fdero.bits4j.core.BitValue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Element access on {@link BitList} against {@link BitSet}, {@code boolean[]} and {@code long[]}.
+ *
+ * <p> Every benchmark touches all the {@code size} bits once, so the scores of different storages
+ *     with the same {@code size} can be compared directly. </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BitListBenchmark {
+
+    @Param({"1024", "1048576"})
+    public int size;
+
+    private BitList bitList;
+
+    private BitSet bitSet;
+
+    private boolean[] booleans;
+
+    private long[] longs;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        bitList = new BitList();
+        bitSet = new BitSet(size);
+        booleans = new boolean[size];
+        longs = new long[(size + 63) / 64];
+        for (int i = 0; i < size; i++) {
+            boolean value = random.nextBoolean();
+            bitList.addBit(value);
+            bitSet.set(i, value);
+            booleans[i] = value;
+            if (value) {
+                longs[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    @Benchmark
+    public int getBitList() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += bitList.getBit(i) ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int getBitValue() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += bitList.get(i) == BitValue.ONE ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int getBitSet() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += bitSet.get(i) ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int getBooleanArray() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += booleans[i] ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int getLongArray() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += (int) (longs[i >>> 6] >>> i) & 1;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public BitList setBitList() {
+        for (int i = 0; i < size; i++) {
+            bitList.setBit(i, (i & 3) == 0);
+        }
+        return bitList;
+    }
+
+    @Benchmark
+    public BitSet setBitSet() {
+        for (int i = 0; i < size; i++) {
+            bitSet.set(i, (i & 3) == 0);
+        }
+        return bitSet;
+    }
+
+    @Benchmark
+    public boolean[] setBooleanArray() {
+        for (int i = 0; i < size; i++) {
+            booleans[i] = (i & 3) == 0;
+        }
+        return booleans;
+    }
+
+    @Benchmark
+    public long[] setLongArray() {
+        for (int i = 0; i < size; i++) {
+            long mask = 1L << i;
+            longs[i >>> 6] = (i & 3) == 0 ? longs[i >>> 6] | mask : longs[i >>> 6] & ~mask;
+        }
+        return longs;
+    }
+
+    @Benchmark
+    public BitList addBitList() {
+        BitList appended = new BitList();
+        for (int i = 0; i < size; i++) {
+            appended.addBit((i & 3) == 0);
+        }
+        return appended;
+    }
+
+    @Benchmark
+    public BitList addBitsBitList() {
+        BitList appended = new BitList();
+        for (int i = 0; i < size; i += 64) {
+            appended.addBits(0x1111_1111_1111_1111L, 64);
+        }
+        return appended;
+    }
+
+    @Benchmark
+    public BitSet addBitSet() {
+        BitSet appended = new BitSet();
+        for (int i = 0; i < size; i++) {
+            appended.set(i, (i & 3) == 0);
+        }
+        return appended;
+    }
+
+    /**
+     * Inserts a bit in the middle of the list and removes it, shifting half of the bits twice.
+     */
+    @Benchmark
+    public BitList insertAndRemoveBitList() {
+        bitList.add(size / 2, BitValue.ONE);
+        bitList.remove(size / 2);
+        return bitList;
+    }
+
+    @Benchmark
+    public boolean[] insertAndRemoveBooleanArray() {
+        boolean[] inserted = new boolean[size + 1];
+        System.arraycopy(booleans, 0, inserted, 0, size / 2);
+        inserted[size / 2] = true;
+        System.arraycopy(booleans, size / 2, inserted, size / 2 + 1, size - size / 2);
+        boolean[] removed = new boolean[size];
+        System.arraycopy(inserted, 0, removed, 0, size / 2);
+        System.arraycopy(inserted, size / 2 + 1, removed, size / 2, size - size / 2);
+        return removed;
+    }
+
+    @Benchmark
+    public BitList removeFrontBitList() {
+        bitList.remove(0);
+        bitList.addBit(true);
+        return bitList;
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.fdero.bits4j.benchmarks;
+
+import io.github.fdero.bits4j.core.BitList;
+import io.github.fdero.bits4j.core.ConcurrentBitList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput of {@link ConcurrentBitList} updates from {@value #THREADS} threads, in updates per second,
+ * against a {@link BitList} guarded by a lock.
+ *
+ * <p> In the {@code disjoint} benchmarks every thread works on its own cache line, in the {@code hot}
+ *     benchmarks every thread works on different bits of the same word. </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(ConcurrentBenchmark.THREADS)
+public class ConcurrentBenchmark {
+
+    static final int THREADS = 4;
+
+    private static final int BITS_PER_THREAD = 512;
+
+    private final ConcurrentBitList concurrentBitList = new ConcurrentBitList(THREADS * BITS_PER_THREAD);
+
+    private final BitList lockedBitList = new BitList();
+
+    private final AtomicInteger nextThread = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        private int thread;
+
+        private int counter;
+
+        @Setup
+        public void setup(ConcurrentBenchmark benchmark) {
+            thread = benchmark.nextThread.getAndIncrement() % THREADS;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < THREADS * BITS_PER_THREAD; i++) {
+            lockedBitList.addZero();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public boolean disjointConcurrent(ThreadState state) {
+        int index = state.thread * BITS_PER_THREAD + (state.counter++ & (BITS_PER_THREAD - 1));
+        return concurrentBitList.testAndSet(index) | concurrentBitList.testAndClear(index);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public boolean hotConcurrent(ThreadState state) {
+        int index = state.thread + THREADS * (state.counter++ & 7);
+        return concurrentBitList.testAndSet(index) | concurrentBitList.testAndClear(index);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public boolean disjointLocked(ThreadState state) {
+        int index = state.thread * BITS_PER_THREAD + (state.counter++ & (BITS_PER_THREAD - 1));
+        synchronized (lockedBitList) {
+            boolean wasSet = lockedBitList.getBit(index);
+            lockedBitList.setBit(index, true);
+            lockedBitList.setBit(index, false);
+            return wasSet;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.fdero.bits4j.benchmarks;
+
+import io.github.fdero.bits4j.core.BitList;
+import io.github.fdero.bits4j.core.BitListConversions;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trips through {@link BitListConversions}, against the equivalent conversions of {@link BitSet}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionsBenchmark {
+
+    @Param({"64", "65536"})
+    public int byteCount;
+
+    private byte[] bytes;
+
+    private long[] longs;
+
+    private String binaryString;
+
+    private String hexString;
+
+    private ByteBuffer buffer;
+
+    private long value;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        bytes = new byte[byteCount];
+        longs = new long[byteCount / Long.BYTES];
+        for (int i = 0; i < byteCount; i++) {
+            bytes[i] = (byte) random.nextInt();
+        }
+        for (int i = 0; i < longs.length; i++) {
+            longs[i] = random.nextLong();
+        }
+        binaryString = BitListConversions.asBinaryString(BitListConversions.fromBytes(bytes));
+        hexString = BitListConversions.asHexString(BitListConversions.fromBytes(bytes));
+        buffer = ByteBuffer.allocate(byteCount);
+        value = random.nextLong();
+    }
+
+    @Benchmark
+    public byte[] bytesRoundTrip() {
+        return BitListConversions.asBytes(BitListConversions.fromBytes(bytes));
+    }
+
+    @Benchmark
+    public byte[] bytesRoundTripBitSet() {
+        return BitSet.valueOf(bytes).toByteArray();
+    }
+
+    @Benchmark
+    public long[] longsRoundTrip() {
+        return BitListConversions.asLongs(BitListConversions.fromLongs(longs, longs.length * Long.SIZE));
+    }
+
+    @Benchmark
+    public long[] longsRoundTripBitSet() {
+        return BitSet.valueOf(longs).toLongArray();
+    }
+
+    @Benchmark
+    public long[] wrapLongs() {
+        return BitListConversions.asLongs(BitListConversions.wrapLongs(longs, longs.length * Long.SIZE));
+    }
+
+    @Benchmark
+    public ByteBuffer byteBufferRoundTrip() {
+        buffer.clear();
+        BitListConversions.writeTo(BitListConversions.fromByteBuffer(ByteBuffer.wrap(bytes)), buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public String binaryStringRoundTrip() {
+        return BitListConversions.asBinaryString(BitListConversions.fromBinaryString(binaryString));
+    }
+
+    @Benchmark
+    public String hexStringRoundTrip() {
+        return BitListConversions.asHexString(BitListConversions.fromHexString(hexString));
+    }
+
+    @Benchmark
+    public long longRoundTrip() {
+        return BitListConversions.asLong(BitListConversions.fromLong(value));
+    }
+
+    @Benchmark
+    public BitList fromBytesOnly() {
+        return BitListConversions.fromBytes(bytes);
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.fdero.bits4j.benchmarks;
+
+import io.github.fdero.bits4j.codec.HuffmanCode;
+import io.github.fdero.bits4j.stream.BitReader;
+import io.github.fdero.bits4j.stream.BitWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link HuffmanCode} over {@value #SYMBOLS} bytes drawn from a skewed distribution, in symbols per second.
+ *
+ * <p> The {@code maximumLength} parameter limits the length of the codes: with short codes every symbol
+ *     is decoded by the first lookup table, with long codes the rare symbols go through sub-tables. </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HuffmanBenchmark {
+
+    private static final int SYMBOLS = 1 << 16;
+
+    @Param({"10", "15"})
+    public int maximumLength;
+
+    private byte[] symbols;
+
+    private HuffmanCode code;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        symbols = new byte[SYMBOLS];
+        for (int i = 0; i < SYMBOLS; i++) {
+            symbols[i] = (byte) Math.min(255, (int) (-Math.log(1 - random.nextDouble()) * 12));
+        }
+        code = HuffmanCode.fromFrequencies(HuffmanCode.countFrequencies(symbols, 0, SYMBOLS), maximumLength);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        BitWriter writer = new BitWriter(outputStream);
+        for (byte symbol : symbols) {
+            code.encode(writer, symbol & 0xFF);
+        }
+        writer.addPadding();
+        writer.flush();
+        encoded = outputStream.toByteArray();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SYMBOLS)
+    public long[] countFrequencies() {
+        return HuffmanCode.countFrequencies(symbols, 0, SYMBOLS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SYMBOLS)
+    public HuffmanCode buildCode() {
+        return HuffmanCode.fromFrequencies(HuffmanCode.countFrequencies(symbols, 0, SYMBOLS), maximumLength);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SYMBOLS)
+    public void encode() throws IOException {
+        BitWriter writer = new BitWriter(OutputStream.nullOutputStream());
+        for (byte symbol : symbols) {
+            code.encode(writer, symbol & 0xFF);
+        }
+        writer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SYMBOLS)
+    public long decode() throws IOException {
+        BitReader reader = new BitReader(new ByteArrayInputStream(encoded));
+        long sum = 0;
+        for (int i = 0; i < SYMBOLS; i++) {
+            sum += code.decode(reader);
+        }
+        return sum;
+    }
+}
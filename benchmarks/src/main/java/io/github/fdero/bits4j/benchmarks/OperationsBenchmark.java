@@ -0,0 +1,109 @@
+package io.github.fdero.bits4j.benchmarks;
+
+import io.github.fdero.bits4j.core.BitList;
+import io.github.fdero.bits4j.core.BitListConversions;
+import io.github.fdero.bits4j.core.BitListOperations;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bitwise operations and population counts, with and without the Vector API, against {@link BitSet} and {@code long[]}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class OperationsBenchmark {
+
+    @Param({"65536", "16777216"})
+    public int size;
+
+    @Param({"true", "false"})
+    public boolean vectorApi;
+
+    private BitList left;
+
+    private BitList right;
+
+    private BitSet leftBitSet;
+
+    private BitSet rightBitSet;
+
+    private long[] leftLongs;
+
+    private long[] rightLongs;
+
+    @Setup
+    public void setup() {
+        BitListOperations.setVectorApiEnabled(vectorApi);
+        BitListOperations.setParallelThreshold(Integer.MAX_VALUE);
+        SplittableRandom random = new SplittableRandom(42);
+        leftLongs = new long[size / Long.SIZE];
+        rightLongs = new long[size / Long.SIZE];
+        for (int i = 0; i < leftLongs.length; i++) {
+            leftLongs[i] = random.nextLong();
+            rightLongs[i] = random.nextLong();
+        }
+        left = BitListConversions.fromLongs(leftLongs, size);
+        right = BitListConversions.fromLongs(rightLongs, size);
+        leftBitSet = BitSet.valueOf(leftLongs);
+        rightBitSet = BitSet.valueOf(rightLongs);
+    }
+
+    @Benchmark
+    public BitList xorInPlace() {
+        left.xor(right);
+        return left;
+    }
+
+    @Benchmark
+    public BitSet xorInPlaceBitSet() {
+        leftBitSet.xor(rightBitSet);
+        return leftBitSet;
+    }
+
+    @Benchmark
+    public long[] xorInPlaceLongArray() {
+        for (int i = 0; i < leftLongs.length; i++) {
+            leftLongs[i] ^= rightLongs[i];
+        }
+        return leftLongs;
+    }
+
+    @Benchmark
+    public BitList andResult() {
+        return BitListOperations.and(left, right);
+    }
+
+    @Benchmark
+    public int cardinality() {
+        return left.cardinality();
+    }
+
+    @Benchmark
+    public int cardinalityBitSet() {
+        return leftBitSet.cardinality();
+    }
+
+    @Benchmark
+    public int hammingDistance() {
+        return BitListOperations.hammingDistance(left, right);
+    }
+
+    @Benchmark
+    public int parallelXor() {
+        BitListOperations.setParallelThreshold(0);
+        try {
+            left.xor(right);
+            return left.size();
+        }
+        finally {
+            BitListOperations.setParallelThreshold(Integer.MAX_VALUE);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package io.github.fdero.bits4j.benchmarks;
+
+import io.github.fdero.bits4j.core.BitList;
+import io.github.fdero.bits4j.core.BitListConversions;
+import io.github.fdero.bits4j.stream.BitListInputStream;
+import io.github.fdero.bits4j.stream.BitListOutputStream;
+import io.github.fdero.bits4j.stream.BitReader;
+import io.github.fdero.bits4j.stream.BitWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the stream classes over {@value #BYTES} bytes.
+ *
+ * <p> Benchmarks whose name ends in {@code Bits} report bits per second, the others report bytes per second. </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamBenchmark {
+
+    private static final int BYTES = 1 << 16;
+
+    private static final int BITS = BYTES * Byte.SIZE;
+
+    private byte[] bytes;
+
+    private byte[] target;
+
+    private BitList bitList;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        bytes = new byte[BYTES];
+        for (int i = 0; i < BYTES; i++) {
+            bytes[i] = (byte) random.nextInt();
+        }
+        target = new byte[BYTES];
+        bitList = BitListConversions.fromBytes(bytes);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BITS)
+    public void writerSingleBits() throws IOException {
+        BitWriter writer = new BitWriter(OutputStream.nullOutputStream());
+        for (int i = 0; i < BITS; i++) {
+            writer.writeBoolean((i & 5) == 1);
+        }
+        writer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BITS)
+    public void writerThirteenBits() throws IOException {
+        BitWriter writer = new BitWriter(OutputStream.nullOutputStream());
+        for (int i = 0; i < BITS / 13; i++) {
+            writer.writeBits(i, 13);
+        }
+        writer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BYTES)
+    public void writerBytes() throws IOException {
+        BitWriter writer = new BitWriter(OutputStream.nullOutputStream());
+        for (int i = 0; i < BYTES; i++) {
+            writer.writeBits(bytes[i], 8);
+        }
+        writer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BYTES)
+    public void writerLongs() throws IOException {
+        BitWriter writer = new BitWriter(OutputStream.nullOutputStream());
+        for (int i = 0; i < BYTES / Long.BYTES; i++) {
+            writer.writeBits(i * 0x9E3779B97F4A7C15L, 64);
+        }
+        writer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BYTES)
+    public void writerByteArray() throws IOException {
+        BitWriter writer = new BitWriter(OutputStream.nullOutputStream());
+        writer.writeBoolean(true);
+        writer.writeBytes(bytes, 0, BYTES - 1);
+        writer.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BITS)
+    public int readerSingleBits() throws IOException {
+        BitReader reader = new BitReader(new ByteArrayInputStream(bytes));
+        int count = 0;
+        for (int i = 0; i < BITS; i++) {
+            count += reader.readBoolean() ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BITS)
+    public long readerThirteenBits() throws IOException {
+        BitReader reader = new BitReader(new ByteArrayInputStream(bytes));
+        long sum = 0;
+        for (int i = 0; i < BITS / 13; i++) {
+            sum += reader.readBits(13);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BYTES)
+    public long readerBytes() throws IOException {
+        BitReader reader = new BitReader(new ByteArrayInputStream(bytes));
+        long sum = 0;
+        for (int i = 0; i < BYTES; i++) {
+            sum += reader.readBits(8);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BYTES)
+    public byte[] readerByteArray() throws IOException {
+        BitReader reader = new BitReader(new ByteArrayInputStream(bytes));
+        reader.readFully(target);
+        return target;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BYTES)
+    public byte[] inputStreamByteArray() {
+        new BitListInputStream(bitList).read(target, 0, BYTES);
+        return target;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BYTES)
+    public int inputStreamSingleBytes() {
+        BitListInputStream inputStream = new BitListInputStream(bitList);
+        int sum = 0;
+        for (int i = 0; i < BYTES; i++) {
+            sum += inputStream.read();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BYTES)
+    public BitList outputStreamByteArray() {
+        BitList output = new BitList();
+        new BitListOutputStream(output).write(bytes, 0, BYTES);
+        return output;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BYTES)
+    public BitList outputStreamSingleBytes() {
+        BitList output = new BitList();
+        BitListOutputStream outputStream = new BitListOutputStream(output);
+        for (int i = 0; i < BYTES; i++) {
+            outputStream.write(bytes[i]);
+        }
+        return output;
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.fdero.bits4j.codec;
+
+import io.github.fdero.bits4j.stream.BitReader;
+import io.github.fdero.bits4j.stream.BitWriter;
+
+import java.io.IOException;
+
+/**
+ * The building blocks shared by the codes of this package.
+ */
+final class Codes {
+
+    // The number of bits the decoders look at before deciding how many to consume
+    static final int LOOKAHEAD_BITS = Long.SIZE - Byte.SIZE;
+
+    /**
+     * This class should not be instantiated. It only provides static methods.
+     */
+    private Codes() {
+        throw new AssertionError("This class should not be instantiated");
+    }
+
+    /**
+     * Writes {@code zeros} zeros followed by a one, sixty-four bits at a time.
+     */
+    static void writeUnary(BitWriter writer, long zeros) throws IOException {
+        while (zeros >= Long.SIZE) {
+            writer.writeBits(0L, Long.SIZE);
+            zeros -= Long.SIZE;
+        }
+        writer.writeBits(1L << zeros, (int) zeros + 1);
+    }
+
+    /**
+     * Reads zeros up to the next one, which is consumed as well, and returns how many they were.
+     */
+    static long readUnary(BitReader reader) throws IOException {
+        long zeros = 0;
+        while (true) {
+            long bits = reader.peekBits(LOOKAHEAD_BITS);
+            if (bits != 0) {
+                int run = Long.numberOfTrailingZeros(bits);
+                reader.skipBits(run + 1);
+                return zeros + run;
+            }
+            reader.readBits(LOOKAHEAD_BITS);
+            zeros += LOOKAHEAD_BITS;
+        }
+    }
+
+    /**
+     * Writes the order-zero Exp-Golomb code of {@code value}, taken as an unsigned integer: the bits of
+     * {@code value + 1} under its leading one, preceded by as many zeros and by the leading one itself.
+     */
+    static void writeExpGolomb(BitWriter writer, long value) throws IOException {
+        long shifted = value + 1;
+        int width = shifted == 0 ? Long.SIZE : Long.SIZE - 1 - Long.numberOfLeadingZeros(shifted);
+        writeUnary(writer, width);
+        writer.writeBits(shifted, width);
+    }
+
+    /**
+     * Reads an order-zero Exp-Golomb code, the result must be taken as an unsigned integer.
+     */
+    static long readExpGolomb(BitReader reader) throws IOException {
+        long bits = reader.peekBits(LOOKAHEAD_BITS);
+        if (bits != 0) {
+            int width = Long.numberOfTrailingZeros(bits);
+            if (2 * width + 1 <= LOOKAHEAD_BITS) {
+                reader.skipBits(2 * width + 1);
+                return ((1L << width) | (bits >>> (width + 1) & ((1L << width) - 1))) - 1;
+            }
+        }
+        long width = readUnary(reader);
+        if (width < Long.SIZE) {
+            return ((1L << width) | reader.readBits((int) width)) - 1;
+        }
+        if (width == Long.SIZE && reader.readBits(Long.SIZE) == 0) {
+            return -1L;
+        }
+        throw new IOException("Can't decode an Exp-Golomb code whose value doesn't fit in sixty-four bits");
+    }
+
+    /**
+     * Maps signed integers to unsigned ones so that small magnitudes stay small: 0, -1, 1, -2, 2... become 0, 1, 2, 3, 4...
+     */
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> (Long.SIZE - 1));
+    }
+
+    /**
+     * Reverses {@link #zigZag(long)}.
+     */
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
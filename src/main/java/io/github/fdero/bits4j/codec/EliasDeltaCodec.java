@@ -0,0 +1,54 @@
+package io.github.fdero.bits4j.codec;
+
+import io.github.fdero.bits4j.stream.BitReader;
+import io.github.fdero.bits4j.stream.BitWriter;
+
+import java.io.IOException;
+
+/**
+ * The Elias delta code: a positive value with {@code N + 1} significant bits is written as the Elias gamma
+ * code of {@code N + 1}, followed by its {@code N} bits under the leading one.
+ *
+ * <p> The length prefix grows with the logarithm of the logarithm of the value, hence it's shorter than
+ *     the Elias gamma code for values of 32 and more. </p>
+ *
+ * @see EliasGammaCodec
+ */
+public final class EliasDeltaCodec implements IntegerCodec {
+
+    /**
+     * Constructs the Elias delta code, which has no parameter.
+     */
+    public EliasDeltaCodec() {
+    }
+
+    /**
+     * Writes the Elias delta code of the given value.
+     *
+     * @param writer the writer to write the code to
+     * @param value the value to encode
+     *
+     * @throws IllegalArgumentException if the value is not positive
+     *         ({@code value < 1})
+     *
+     * @throws IOException if an I/O error occurs during the write operation
+     */
+    @Override
+    public void write(BitWriter writer, long value) throws IOException {
+        if (value < 1) {
+            throw new IllegalArgumentException("Can't encode a value smaller than one with the Elias delta code");
+        }
+        int width = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        Codes.writeExpGolomb(writer, width);
+        writer.writeBits(value, width);
+    }
+
+    @Override
+    public long read(BitReader reader) throws IOException {
+        long width = Codes.readExpGolomb(reader);
+        if (width < 0 || width >= Long.SIZE - 1) {
+            throw new IOException("Can't decode an Elias delta code whose value doesn't fit in a long");
+        }
+        return (1L << width) | reader.readBits((int) width);
+    }
+}
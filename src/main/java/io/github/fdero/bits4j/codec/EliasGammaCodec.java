@@ -0,0 +1,50 @@
+package io.github.fdero.bits4j.codec;
+
+import io.github.fdero.bits4j.stream.BitReader;
+import io.github.fdero.bits4j.stream.BitWriter;
+
+import java.io.IOException;
+
+/**
+ * The Elias gamma code: a positive value with {@code N + 1} significant bits is written as {@code N} zeros,
+ * a one, and then its {@code N} bits under the leading one.
+ *
+ * <p> A value {@code n} takes {@code 2 * floor(log2(n)) + 1} bits. When the code fits in fifty-six bits,
+ *     which is the case for every value below 2<sup>27</sup>, it's decoded with a single look-ahead. </p>
+ */
+public final class EliasGammaCodec implements IntegerCodec {
+
+    /**
+     * Constructs the Elias gamma code, which has no parameter.
+     */
+    public EliasGammaCodec() {
+    }
+
+    /**
+     * Writes the Elias gamma code of the given value.
+     *
+     * @param writer the writer to write the code to
+     * @param value the value to encode
+     *
+     * @throws IllegalArgumentException if the value is not positive
+     *         ({@code value < 1})
+     *
+     * @throws IOException if an I/O error occurs during the write operation
+     */
+    @Override
+    public void write(BitWriter writer, long value) throws IOException {
+        if (value < 1) {
+            throw new IllegalArgumentException("Can't encode a value smaller than one with the Elias gamma code");
+        }
+        Codes.writeExpGolomb(writer, value - 1);
+    }
+
+    @Override
+    public long read(BitReader reader) throws IOException {
+        long value = Codes.readExpGolomb(reader) + 1;
+        if (value <= 0) {
+            throw new IOException("Can't decode an Elias gamma code whose value doesn't fit in a long");
+        }
+        return value;
+    }
+}
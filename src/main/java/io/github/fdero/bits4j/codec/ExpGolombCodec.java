@@ -0,0 +1,115 @@
+package io.github.fdero.bits4j.codec;
+
+import io.github.fdero.bits4j.stream.BitReader;
+import io.github.fdero.bits4j.stream.BitWriter;
+
+import java.io.IOException;
+
+/**
+ * The Exp-Golomb code of order {@code k}: the value shifted right by {@code k} bits is written with the
+ * order-zero code (the Elias gamma code of the shifted value plus one), followed by its {@code k} lowest bits.
+ *
+ * <p> The unsigned variant encodes every non-negative value. The signed variant encodes every value, mapping
+ *     0, -1, 1, -2, 2... to 0, 1, 2, 3, 4... first, so that values of small magnitude get short codes. </p>
+ *
+ * @see EliasGammaCodec
+ */
+public final class ExpGolombCodec implements IntegerCodec {
+
+    // The number of low bits written verbatim after the prefix
+    private final int order;
+
+    // Whether negative values are accepted
+    private final boolean signed;
+
+    private ExpGolombCodec(int order, boolean signed) {
+        if (order < 0 || order >= Long.SIZE) {
+            throw new IllegalArgumentException("Can't use an Exp-Golomb order less than zero or more than sixty-three");
+        }
+        this.order = order;
+        this.signed = signed;
+    }
+
+    /**
+     * Returns the Exp-Golomb code of the given order for non-negative values.
+     *
+     * @param order the number of low bits written verbatim
+     *
+     * @throws IllegalArgumentException if the order is out of range
+     *         ({@code order < 0 || order > 63})
+     *
+     * @return the unsigned Exp-Golomb code of the given order
+     */
+    public static ExpGolombCodec unsigned(int order) {
+        return new ExpGolombCodec(order, false);
+    }
+
+    /**
+     * Returns the Exp-Golomb code of the given order for signed values.
+     *
+     * @param order the number of low bits written verbatim
+     *
+     * @throws IllegalArgumentException if the order is out of range
+     *         ({@code order < 0 || order > 63})
+     *
+     * @return the signed Exp-Golomb code of the given order
+     */
+    public static ExpGolombCodec signed(int order) {
+        return new ExpGolombCodec(order, true);
+    }
+
+    /**
+     * Returns the number of low bits written verbatim after the prefix.
+     *
+     * @return the order of this code
+     */
+    public int order() {
+        return order;
+    }
+
+    /**
+     * Returns {@code true} if this code accepts negative values.
+     *
+     * @return {@code true} for the signed variant
+     */
+    public boolean isSigned() {
+        return signed;
+    }
+
+    /**
+     * Writes the Exp-Golomb code of the given value.
+     *
+     * @param writer the writer to write the code to
+     * @param value the value to encode
+     *
+     * @throws IllegalArgumentException if the code is unsigned and the value is negative
+     *         ({@code !isSigned() && value < 0})
+     *
+     * @throws IOException if an I/O error occurs during the write operation
+     */
+    @Override
+    public void write(BitWriter writer, long value) throws IOException {
+        if (!signed && value < 0) {
+            throw new IllegalArgumentException("Can't encode a negative value with the unsigned Exp-Golomb code");
+        }
+        long mapped = signed ? Codes.zigZag(value) : value;
+        Codes.writeExpGolomb(writer, mapped >>> order);
+        writer.writeBits(mapped, order);
+    }
+
+    @Override
+    public long read(BitReader reader) throws IOException {
+        long high = Codes.readExpGolomb(reader);
+        if (order > 0 && high >>> (Long.SIZE - order) != 0) {
+            throw new IOException("Can't decode an Exp-Golomb code whose value doesn't fit in sixty-four bits");
+        }
+        long mapped = (high << order) | reader.readBits(order);
+        if (signed) {
+            return Codes.unZigZag(mapped);
+        }
+        if (mapped < 0) {
+            throw new IOException("Can't decode an unsigned Exp-Golomb code whose value doesn't fit in a long");
+        }
+        return mapped;
+    }
+}
@@ -0,0 +1,561 @@
+package io.github.fdero.bits4j.codec;
+
+import io.github.fdero.bits4j.stream.BitReader;
+import io.github.fdero.bits4j.stream.BitWriter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * A canonical Huffman code over the symbols {@code 0} to {@code alphabetSize() - 1}.
+ *
+ * <p> A canonical code is fully described by the length of the code of each symbol: codes of the same length
+ *     are consecutive integers in the order of their symbols, and shorter codes come first. Hence two instances
+ *     built from the same lengths are equal, and {@link #writeTo(BitWriter)} only needs to store the lengths. </p>
+ *
+ * <p> Codes are written first bit first, so that the decoder can look at the next {@link #maximumLength()} bits
+ *     of a {@link BitReader} with a single {@link BitReader#peekBits(int)} and resolve them with lookup tables:
+ *     a first table indexed by up to ten bits decodes the short codes directly, and longer codes go through
+ *     smaller tables indexed by up to eight more bits each. </p>
+ *
+ * <p> Instances are immutable and can be shared between threads. </p>
+ */
+public final class HuffmanCode {
+
+    /**
+     * The maximum length of a code, in bits.
+     */
+    public static final int MAXIMUM_CODE_LENGTH = 32;
+
+    /**
+     * The maximum number of symbols of a code.
+     */
+    public static final int MAXIMUM_ALPHABET_SIZE = 1 << 16;
+
+    // The number of bits that index the first decoding table
+    private static final int ROOT_BITS = 10;
+
+    // The maximum number of bits that index each of the next decoding tables
+    private static final int LEVEL_BITS = 8;
+
+    // The bits of a table entry that hold the length of a code, or the number of bits that index a sub-table
+    private static final int LENGTH_MASK = 0x3F;
+
+    // The bit of a table entry that marks a link to a sub-table
+    private static final int SUB_TABLE_FLAG = 0x40;
+
+    // The position of the symbol, or of the offset of a sub-table, within a table entry
+    private static final int VALUE_SHIFT = 7;
+
+    // The length of the code of each symbol, zero for symbols without a code
+    private final int[] lengths;
+
+    // The code of each symbol, with its first bit in the least significant position
+    private final int[] codes;
+
+    // The length of the longest code
+    private final int maximumLength;
+
+    // The number of bits that index the first decoding table
+    private final int rootBits;
+
+    // Every decoding table, the first one at offset zero
+    private final int[] table;
+
+    private HuffmanCode(int[] lengths) {
+        this.lengths = lengths;
+        this.maximumLength = Arrays.stream(lengths).max().orElse(0);
+        this.codes = canonicalCodes(lengths, maximumLength);
+        this.rootBits = Math.min(ROOT_BITS, maximumLength);
+        this.table = decodingTable();
+    }
+
+    /**
+     * Builds the optimal code for the given frequencies, with codes no longer than {@value #MAXIMUM_CODE_LENGTH} bits.
+     *
+     * @param frequencies the number of occurrences of each symbol
+     *
+     * @throws IllegalArgumentException if a frequency is negative, if the frequencies sum to more than
+     *         {@link Long#MAX_VALUE}, or if there are more than {@value #MAXIMUM_ALPHABET_SIZE} symbols
+     *
+     * @return the code that gives the shortest encoding of the given frequencies
+     *
+     * @see #fromFrequencies(long[], int)
+     */
+    public static HuffmanCode fromFrequencies(long[] frequencies) {
+        return fromFrequencies(frequencies, MAXIMUM_CODE_LENGTH);
+    }
+
+    /**
+     * Builds a code for the given frequencies, with codes no longer than {@code maximumLength} bits.
+     *
+     * <p> Symbols whose frequency is zero get no code. When the optimal code has longer codes than allowed,
+     *     the deepest codes are moved up and other codes are moved down, from the deepest ones, until every
+     *     code fits: the result is close to the optimal length-limited code, and it's exactly the Huffman
+     *     code when no code is too long. A single symbol gets a code of one bit. </p>
+     *
+     * @param frequencies the number of occurrences of each symbol
+     * @param maximumLength the maximum length of a code, in bits
+     *
+     * @throws IllegalArgumentException if a frequency is negative, if the frequencies sum to more than
+     *         {@link Long#MAX_VALUE}, if there are more than {@value #MAXIMUM_ALPHABET_SIZE} symbols, if the
+     *         maximum length is out of range ({@code maximumLength < 1 || maximumLength > 32}), or if there are
+     *         more symbols with a nonzero frequency than codes of {@code maximumLength} bits
+     *
+     * @return a code for the given frequencies
+     */
+    public static HuffmanCode fromFrequencies(long[] frequencies, int maximumLength) {
+        if (maximumLength < 1 || maximumLength > MAXIMUM_CODE_LENGTH) {
+            throw new IllegalArgumentException("Can't build a Huffman code whose codes are shorter than one bit or longer than thirty-two bits");
+        }
+        checkAlphabetSize(frequencies.length);
+        long total = 0;
+        for (long frequency : frequencies) {
+            if (frequency < 0) {
+                throw new IllegalArgumentException("Can't build a Huffman code from negative frequencies");
+            }
+            total += frequency;
+            if (total < 0) {
+                throw new IllegalArgumentException("Can't build a Huffman code from frequencies whose sum overflows a long");
+            }
+        }
+        int[] symbols = IntStream.range(0, frequencies.length)
+            .filter(symbol -> frequencies[symbol] > 0)
+            .boxed()
+            .sorted((left, right) -> Long.compare(frequencies[left], frequencies[right]))
+            .mapToInt(Integer::intValue)
+            .toArray();
+        if (symbols.length > 1L << maximumLength) {
+            throw new IllegalArgumentException("Can't give a code of at most " + maximumLength + " bits to " + symbols.length + " symbols");
+        }
+        int[] lengths = new int[frequencies.length];
+        if (symbols.length == 1) {
+            lengths[symbols[0]] = 1;
+        }
+        else if (symbols.length > 1) {
+            long[] weights = new long[symbols.length];
+            for (int i = 0; i < symbols.length; i++) {
+                weights[i] = frequencies[symbols[i]];
+            }
+            optimalLengths(weights);
+            int[] counts = new int[(int) weights[0] + 1];
+            for (long length : weights) {
+                counts[(int) length]++;
+            }
+            limitLengths(counts, maximumLength);
+            int next = 0;
+            for (int length = Math.min(counts.length - 1, maximumLength); length > 0; length--) {
+                for (int i = 0; i < counts[length]; i++) {
+                    lengths[symbols[next++]] = length;
+                }
+            }
+        }
+        return new HuffmanCode(lengths);
+    }
+
+    /**
+     * Builds the canonical code with the given code lengths.
+     *
+     * <p> The lengths don't need to describe a complete code: reading a sequence of bits that is not
+     *     a code raises an exception. </p>
+     *
+     * @param lengths the length of the code of each symbol, zero for symbols without a code
+     *
+     * @throws IllegalArgumentException if a length is out of range ({@code length < 0 || length > 32}),
+     *         if there are more than {@value #MAXIMUM_ALPHABET_SIZE} symbols, or if there are too many
+     *         short codes for the codes to be told apart
+     *
+     * @return the canonical code with the given lengths
+     */
+    public static HuffmanCode fromLengths(int[] lengths) {
+        checkAlphabetSize(lengths.length);
+        for (int length : lengths) {
+            if (length < 0 || length > MAXIMUM_CODE_LENGTH) {
+                throw new IllegalArgumentException("Can't build a Huffman code whose codes are longer than thirty-two bits");
+            }
+        }
+        if (isOverSubscribed(lengths)) {
+            throw new IllegalArgumentException("Can't build a Huffman code with more codes than the lengths allow");
+        }
+        return new HuffmanCode(lengths.clone());
+    }
+
+    /**
+     * Reads a code written by {@link #writeTo(BitWriter)}.
+     *
+     * @param reader the reader to read the code from
+     *
+     * @throws java.io.EOFException if the end of the input stream is reached in the middle of the code
+     *
+     * @throws IOException if the bits read don't describe a valid code, or if an I/O error occurs during the read operation
+     *
+     * @return the code that was written
+     */
+    public static HuffmanCode readFrom(BitReader reader) throws IOException {
+        ExpGolombCodec sizeCodec = ExpGolombCodec.unsigned(0);
+        ExpGolombCodec deltaCodec = ExpGolombCodec.signed(0);
+        long alphabetSize = sizeCodec.read(reader);
+        if (alphabetSize > MAXIMUM_ALPHABET_SIZE) {
+            throw new IOException("Can't read a Huffman code with more than " + MAXIMUM_ALPHABET_SIZE + " symbols");
+        }
+        int[] lengths = new int[(int) alphabetSize];
+        long length = 0;
+        for (int symbol = 0; symbol < lengths.length; symbol++) {
+            length += deltaCodec.read(reader);
+            if (length < 0 || length > MAXIMUM_CODE_LENGTH) {
+                throw new IOException("Can't read a Huffman code whose codes are longer than thirty-two bits");
+            }
+            lengths[symbol] = (int) length;
+        }
+        if (isOverSubscribed(lengths)) {
+            throw new IOException("Can't read a Huffman code with more codes than its lengths allow");
+        }
+        return new HuffmanCode(lengths);
+    }
+
+    /**
+     * Counts the occurrences of each byte value, as unsigned integers from {@code 0} to {@code 255}.
+     *
+     * @param bytes the array that holds the bytes to count
+     * @param offset the index of the first byte to count
+     * @param length the number of bytes to count
+     *
+     * @throws IndexOutOfBoundsException if the range is out of the bounds of the array
+     *         ({@code offset < 0 || length < 0 || offset + length > bytes.length})
+     *
+     * @return an array of 256 frequencies, suitable for {@link #fromFrequencies(long[])}
+     */
+    public static long[] countFrequencies(byte[] bytes, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        // Four interleaved histograms, so that runs of the same byte don't wait on each other's increments
+        int[] counts = new int[4 * 256];
+        int end = offset + length;
+        int i = offset;
+        for (; i + 3 < end; i += 4) {
+            counts[bytes[i] & 0xFF]++;
+            counts[256 + (bytes[i + 1] & 0xFF)]++;
+            counts[512 + (bytes[i + 2] & 0xFF)]++;
+            counts[768 + (bytes[i + 3] & 0xFF)]++;
+        }
+        for (; i < end; i++) {
+            counts[bytes[i] & 0xFF]++;
+        }
+        long[] frequencies = new long[256];
+        for (int value = 0; value < 256; value++) {
+            frequencies[value] = (long) counts[value] + counts[256 + value] + counts[512 + value] + counts[768 + value];
+        }
+        return frequencies;
+    }
+
+    /**
+     * Counts the occurrences of each symbol.
+     *
+     * @param symbols the symbols to count
+     * @param alphabetSize the number of symbols of the alphabet
+     *
+     * @throws IllegalArgumentException if the alphabet size is out of range
+     *         ({@code alphabetSize < 0 || alphabetSize > 65536})
+     *
+     * @throws IndexOutOfBoundsException if a symbol is out of range
+     *         ({@code symbol < 0 || symbol >= alphabetSize})
+     *
+     * @return an array of {@code alphabetSize} frequencies, suitable for {@link #fromFrequencies(long[])}
+     */
+    public static long[] countFrequencies(int[] symbols, int alphabetSize) {
+        if (alphabetSize < 0) {
+            throw new IllegalArgumentException("Can't count the symbols of an alphabet of negative size");
+        }
+        checkAlphabetSize(alphabetSize);
+        long[] frequencies = new long[alphabetSize];
+        for (int symbol : symbols) {
+            frequencies[Objects.checkIndex(symbol, alphabetSize)]++;
+        }
+        return frequencies;
+    }
+
+    /**
+     * Returns the number of symbols of this code, including the ones without a code.
+     *
+     * @return the size of the alphabet
+     */
+    public int alphabetSize() {
+        return lengths.length;
+    }
+
+    /**
+     * Returns the length of the longest code.
+     *
+     * @return the maximum code length, in bits
+     */
+    public int maximumLength() {
+        return maximumLength;
+    }
+
+    /**
+     * Returns the length of the code of the given symbol.
+     *
+     * @param symbol the symbol whose code length is returned
+     *
+     * @throws IndexOutOfBoundsException if the symbol is out of range
+     *         ({@code symbol < 0 || symbol >= alphabetSize()})
+     *
+     * @return the length of the code, in bits, or zero if the symbol has no code
+     */
+    public int codeLength(int symbol) {
+        return lengths[Objects.checkIndex(symbol, lengths.length)];
+    }
+
+    /**
+     * Writes the code of the given symbol.
+     *
+     * @param writer the writer to write the code to
+     * @param symbol the symbol to encode
+     *
+     * @throws IndexOutOfBoundsException if the symbol is out of range
+     *         ({@code symbol < 0 || symbol >= alphabetSize()})
+     *
+     * @throws IllegalArgumentException if the symbol has no code
+     *         ({@code codeLength(symbol) == 0})
+     *
+     * @throws IOException if an I/O error occurs during the write operation
+     */
+    public void encode(BitWriter writer, int symbol) throws IOException {
+        int length = codeLength(symbol);
+        if (length == 0) {
+            throw new IllegalArgumentException("Can't encode a symbol that has no code");
+        }
+        writer.writeBits(codes[symbol], length);
+    }
+
+    /**
+     * Reads a code and returns its symbol.
+     *
+     * @param reader the reader to read the code from
+     *
+     * @throws java.io.EOFException if the end of the input stream is reached in the middle of a code
+     *
+     * @throws IOException if the bits read are not a code of this Huffman code, or if an I/O error occurs during the read operation
+     *
+     * @return the decoded symbol
+     */
+    public int decode(BitReader reader) throws IOException {
+        long bits = reader.peekBits(maximumLength);
+        int entry = table[(int) bits & ((1 << rootBits) - 1)];
+        int consumed = rootBits;
+        while ((entry & SUB_TABLE_FLAG) != 0) {
+            int subTableBits = entry & LENGTH_MASK;
+            entry = table[(entry >>> VALUE_SHIFT) + ((int) (bits >>> consumed) & ((1 << subTableBits) - 1))];
+            consumed += subTableBits;
+        }
+        int length = entry & LENGTH_MASK;
+        if (length == 0) {
+            throw new IOException("Can't decode a sequence of bits that is not a code of this Huffman code");
+        }
+        reader.skipBits(length);
+        return entry >>> VALUE_SHIFT;
+    }
+
+    /**
+     * Writes a compact description of this code, that {@link #readFrom(BitReader)} turns back into an equal code.
+     *
+     * <p> Only the code lengths are written, as the difference from the length of the previous symbol
+     *     with a signed Exp-Golomb code, preceded by the number of symbols. Consecutive symbols with
+     *     codes of the same length take one bit each. </p>
+     *
+     * @param writer the writer to write the code to
+     *
+     * @throws IOException if an I/O error occurs during the write operation
+     */
+    public void writeTo(BitWriter writer) throws IOException {
+        ExpGolombCodec.unsigned(0).write(writer, lengths.length);
+        ExpGolombCodec deltaCodec = ExpGolombCodec.signed(0);
+        int previous = 0;
+        for (int length : lengths) {
+            deltaCodec.write(writer, length - previous);
+            previous = length;
+        }
+    }
+
+    /**
+     * Two codes are equal if they have the same code lengths, hence the same codes.
+     *
+     * @param other the object to compare with
+     *
+     * @return {@code true} if the other object is a {@link HuffmanCode} with the same code lengths
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof HuffmanCode code && Arrays.equals(lengths, code.lengths);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(lengths);
+    }
+
+    private static void checkAlphabetSize(int alphabetSize) {
+        if (alphabetSize > MAXIMUM_ALPHABET_SIZE) {
+            throw new IllegalArgumentException("Can't build a Huffman code with more than " + MAXIMUM_ALPHABET_SIZE + " symbols");
+        }
+    }
+
+    // Tells whether the lengths break the Kraft inequality, that is whether there are more codes than a prefix code can have
+    private static boolean isOverSubscribed(int[] lengths) {
+        long sum = 0;
+        for (int length : lengths) {
+            if (length > 0) {
+                sum += 1L << (MAXIMUM_CODE_LENGTH - length);
+            }
+        }
+        return sum > 1L << MAXIMUM_CODE_LENGTH;
+    }
+
+    /**
+     * Replaces weights sorted in ascending order with the lengths of their optimal codes, in place and in linear time,
+     * as described by Moffat and Katajainen in "In-Place Calculation of Minimum-Redundancy Codes".
+     */
+    private static void optimalLengths(long[] weights) {
+        int n = weights.length;
+        // First pass: build the tree, leaving the parent of each internal node in place of its weight
+        weights[0] += weights[1];
+        int root = 0;
+        int leaf = 2;
+        for (int next = 1; next < n - 1; next++) {
+            if (leaf >= n || weights[root] < weights[leaf]) {
+                weights[next] = weights[root];
+                weights[root++] = next;
+            }
+            else {
+                weights[next] = weights[leaf++];
+            }
+            if (leaf >= n || (root < next && weights[root] < weights[leaf])) {
+                weights[next] += weights[root];
+                weights[root++] = next;
+            }
+            else {
+                weights[next] += weights[leaf++];
+            }
+        }
+        // Second pass: turn parent pointers into depths of internal nodes
+        weights[n - 2] = 0;
+        for (int next = n - 3; next >= 0; next--) {
+            weights[next] = weights[(int) weights[next]] + 1;
+        }
+        // Third pass: turn depths of internal nodes into depths of leaves
+        int available = 1;
+        int used = 0;
+        int depth = 0;
+        root = n - 2;
+        int next = n - 1;
+        while (available > 0) {
+            while (root >= 0 && weights[root] == depth) {
+                used++;
+                root--;
+            }
+            while (available > used) {
+                weights[next--] = depth;
+                available--;
+            }
+            available = 2 * used;
+            depth++;
+            used = 0;
+        }
+    }
+
+    /**
+     * Moves codes longer than the limit up, given the number of codes of each length of a complete code,
+     * as described in annex K.2 of the JPEG standard. The code stays complete.
+     */
+    private static void limitLengths(int[] counts, int maximumLength) {
+        for (int length = counts.length - 1; length > maximumLength; length--) {
+            while (counts[length] > 0) {
+                int shorter = length - 2;
+                while (counts[shorter] == 0) {
+                    shorter--;
+                }
+                // Two codes of this length give way to one code a bit shorter, while a shorter code is split in two
+                counts[length] -= 2;
+                counts[length - 1]++;
+                counts[shorter + 1] += 2;
+                counts[shorter]--;
+            }
+        }
+    }
+
+    // Assigns consecutive codes to the symbols of each length, and reverses them so that their first bit is written first
+    private static int[] canonicalCodes(int[] lengths, int maximumLength) {
+        int[] counts = new int[maximumLength + 1];
+        for (int length : lengths) {
+            counts[length]++;
+        }
+        counts[0] = 0;
+        long[] nextCodes = new long[maximumLength + 1];
+        long code = 0;
+        for (int length = 1; length <= maximumLength; length++) {
+            code = (code + counts[length - 1]) << 1;
+            nextCodes[length] = code;
+        }
+        int[] codes = new int[lengths.length];
+        for (int symbol = 0; symbol < lengths.length; symbol++) {
+            int length = lengths[symbol];
+            if (length > 0) {
+                codes[symbol] = Integer.reverse((int) nextCodes[length]++) >>> (Integer.SIZE - length);
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Builds the decoding tables, inserting the longest codes first, so that each sub-table is sized by
+     * the first code that reaches it. Entries of codes shorter than a table are repeated for every value
+     * of the bits that follow them.
+     */
+    private int[] decodingTable() {
+        int[] byLength = new int[maximumLength + 2];
+        for (int length : lengths) {
+            byLength[maximumLength - length + 1]++;
+        }
+        for (int i = 1; i < byLength.length; i++) {
+            byLength[i] += byLength[i - 1];
+        }
+        int[] order = new int[lengths.length];
+        for (int symbol = 0; symbol < lengths.length; symbol++) {
+            order[byLength[maximumLength - lengths[symbol]]++] = symbol;
+        }
+        int[] table = new int[1 << rootBits];
+        int tableSize = table.length;
+        for (int symbol : order) {
+            int length = lengths[symbol];
+            if (length == 0) {
+                break;
+            }
+            int code = codes[symbol];
+            int offset = 0;
+            int consumed = 0;
+            int bits = rootBits;
+            while (length - consumed > bits) {
+                int index = offset + (code >>> consumed & ((1 << bits) - 1));
+                int entry = table[index];
+                if ((entry & SUB_TABLE_FLAG) == 0) {
+                    int subTableBits = Math.min(LEVEL_BITS, length - consumed - bits);
+                    if (tableSize + (1 << subTableBits) > table.length) {
+                        table = Arrays.copyOf(table, Math.max(2 * table.length, tableSize + (1 << subTableBits)));
+                    }
+                    entry = tableSize << VALUE_SHIFT | SUB_TABLE_FLAG | subTableBits;
+                    table[index] = entry;
+                    tableSize += 1 << subTableBits;
+                }
+                consumed += bits;
+                offset = entry >>> VALUE_SHIFT;
+                bits = entry & LENGTH_MASK;
+            }
+            int remaining = length - consumed;
+            for (int index = code >>> consumed & ((1 << remaining) - 1); index < 1 << bits; index += 1 << remaining) {
+                table[offset + index] = symbol << VALUE_SHIFT | length;
+            }
+        }
+        return Arrays.copyOf(table, tableSize);
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.fdero.bits4j.codec;
+
+import io.github.fdero.bits4j.stream.BitReader;
+import io.github.fdero.bits4j.stream.BitWriter;
+
+import java.io.IOException;
+
+/**
+ * A variable-length code for integers, written to a {@link BitWriter} and read back from a {@link BitReader}.
+ *
+ * <p> Codes are written in stream order, as a sequence of calls to {@link BitWriter#writeBits(long, int)}:
+ *     the prefixes that announce the length of a code come first, and the binary fields that follow them
+ *     are written least significant bit first, as every multi-bit value of {@link BitWriter}. Decoders
+ *     look ahead with {@link BitReader#peekBits(int)} and count the zeros of a prefix with a single
+ *     {@link Long#numberOfTrailingZeros(long)}, instead of reading them one by one. </p>
+ *
+ * <p> Each implementation documents the range of values it can encode. </p>
+ *
+ * @see UnaryCodec
+ * @see EliasGammaCodec
+ * @see EliasDeltaCodec
+ * @see ExpGolombCodec
+ * @see RiceCodec
+ * @see VarintCodec
+ */
+public interface IntegerCodec {
+
+    /**
+     * Writes the code of the given value.
+     *
+     * @param writer the writer to write the code to
+     * @param value the value to encode
+     *
+     * @throws IllegalArgumentException if the value can't be encoded by this code
+     *
+     * @throws IOException if an I/O error occurs during the write operation
+     */
+    void write(BitWriter writer, long value) throws IOException;
+
+    /**
+     * Reads a code and returns the value it represents.
+     *
+     * @param reader the reader to read the code from
+     *
+     * @throws java.io.EOFException if the end of the input stream is reached in the middle of a code
+     *
+     * @throws IOException if the bits read are not a valid code, or if an I/O error occurs during the read operation
+     *
+     * @return the decoded value
+     */
+    long read(BitReader reader) throws IOException;
+}
@@ -0,0 +1,75 @@
+package io.github.fdero.bits4j.codec;
+
+import io.github.fdero.bits4j.stream.BitReader;
+import io.github.fdero.bits4j.stream.BitWriter;
+
+import java.io.IOException;
+
+/**
+ * The Golomb-Rice code with parameter {@code k}: a non-negative value is written as its quotient by
+ * 2<sup>k</sup> in unary (that many zeros followed by a one), followed by its {@code k} lowest bits.
+ *
+ * <p> It's the optimal prefix code for geometrically distributed values whose mean is close to
+ *     2<sup>k</sup>, such as the gaps of a posting list. The length of a code grows linearly with
+ *     the value, so {@code k} should be chosen from the data. </p>
+ *
+ * @see UnaryCodec
+ */
+public final class RiceCodec implements IntegerCodec {
+
+    // The number of low bits written verbatim after the quotient
+    private final int k;
+
+    /**
+     * Constructs the Golomb-Rice code with the given parameter.
+     *
+     * @param k the number of low bits written verbatim
+     *
+     * @throws IllegalArgumentException if the parameter is out of range
+     *         ({@code k < 0 || k > 63})
+     */
+    public RiceCodec(int k) {
+        if (k < 0 || k >= Long.SIZE) {
+            throw new IllegalArgumentException("Can't use a Rice parameter less than zero or more than sixty-three");
+        }
+        this.k = k;
+    }
+
+    /**
+     * Returns the number of low bits written verbatim after the quotient.
+     *
+     * @return the parameter of this code
+     */
+    public int k() {
+        return k;
+    }
+
+    /**
+     * Writes the Golomb-Rice code of the given value.
+     *
+     * @param writer the writer to write the code to
+     * @param value the value to encode
+     *
+     * @throws IllegalArgumentException if the value is negative
+     *         ({@code value < 0})
+     *
+     * @throws IOException if an I/O error occurs during the write operation
+     */
+    @Override
+    public void write(BitWriter writer, long value) throws IOException {
+        if (value < 0) {
+            throw new IllegalArgumentException("Can't encode a negative value with the Rice code");
+        }
+        Codes.writeUnary(writer, value >>> k);
+        writer.writeBits(value, k);
+    }
+
+    @Override
+    public long read(BitReader reader) throws IOException {
+        long quotient = Codes.readUnary(reader);
+        if (quotient >>> (Long.SIZE - 1 - k) != 0) {
+            throw new IOException("Can't decode a Rice code whose value doesn't fit in a long");
+        }
+        return (quotient << k) | reader.readBits(k);
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.fdero.bits4j.codec;
+
+import io.github.fdero.bits4j.stream.BitReader;
+import io.github.fdero.bits4j.stream.BitWriter;
+
+import java.io.IOException;
+
+/**
+ * The unary code: a non-negative value {@code n} is written as {@code n} zeros followed by a one.
+ *
+ * <p> It's the optimal code when the probability of {@code n} halves at every step, and it's the prefix
+ *     of most of the other codes of this package. The zeros are written sixty-four at a time, and they
+ *     are counted fifty-six at a time when reading. </p>
+ */
+public final class UnaryCodec implements IntegerCodec {
+
+    /**
+     * Constructs the unary code, which has no parameter.
+     */
+    public UnaryCodec() {
+    }
+
+    /**
+     * Writes {@code value} zeros followed by a one.
+     *
+     * @param writer the writer to write the code to
+     * @param value the value to encode
+     *
+     * @throws IllegalArgumentException if the value is negative
+     *         ({@code value < 0})
+     *
+     * @throws IOException if an I/O error occurs during the write operation
+     */
+    @Override
+    public void write(BitWriter writer, long value) throws IOException {
+        if (value < 0) {
+            throw new IllegalArgumentException("Can't encode a negative value with the unary code");
+        }
+        Codes.writeUnary(writer, value);
+    }
+
+    @Override
+    public long read(BitReader reader) throws IOException {
+        return Codes.readUnary(reader);
+    }
+}
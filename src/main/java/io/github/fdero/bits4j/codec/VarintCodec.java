@@ -0,0 +1,98 @@
+package io.github.fdero.bits4j.codec;
+
+import io.github.fdero.bits4j.stream.BitReader;
+import io.github.fdero.bits4j.stream.BitWriter;
+
+import java.io.IOException;
+
+/**
+ * The LEB128 variable-length integer: the value is split into groups of seven bits, least significant first,
+ * and each group is written as a byte whose highest bit tells whether another byte follows.
+ *
+ * <p> The unsigned variant takes the sixty-four bits of the value as an unsigned integer, as unsigned
+ *     LEB128 does. The signed variant maps 0, -1, 1, -2, 2... to 0, 1, 2, 3, 4... first, as the
+ *     {@code sint64} of Protocol Buffers does. A value takes from one to ten bytes. </p>
+ *
+ * <p> When the writer is aligned to a byte, the output is the standard byte-oriented encoding.
+ *     The decoder looks at seven bytes at once and finds the last one of the value by counting
+ *     the trailing zeros of their inverted continuation bits. </p>
+ */
+public final class VarintCodec implements IntegerCodec {
+
+    // The highest bit of each of the seven bytes a single look-ahead covers
+    private static final long CONTINUATION_BITS = 0x0080_8080_8080_8080L;
+
+    // The maximum number of bytes of a sixty-four bit value
+    private static final int MAXIMUM_BYTES = 10;
+
+    // Whether values are zigzag-mapped before being written
+    private final boolean signed;
+
+    private VarintCodec(boolean signed) {
+        this.signed = signed;
+    }
+
+    /**
+     * Returns the varint code that takes values as unsigned sixty-four bit integers.
+     *
+     * @return the unsigned varint code
+     */
+    public static VarintCodec unsigned() {
+        return new VarintCodec(false);
+    }
+
+    /**
+     * Returns the varint code that gives short codes to values of small magnitude, negative or not.
+     *
+     * @return the signed varint code
+     */
+    public static VarintCodec signed() {
+        return new VarintCodec(true);
+    }
+
+    /**
+     * Returns {@code true} if this code maps values of small magnitude to short codes, negative or not.
+     *
+     * @return {@code true} for the signed variant
+     */
+    public boolean isSigned() {
+        return signed;
+    }
+
+    @Override
+    public void write(BitWriter writer, long value) throws IOException {
+        long remaining = signed ? Codes.zigZag(value) : value;
+        while (remaining >>> 7 != 0) {
+            writer.writeBits(remaining & 0x7F | 0x80, Byte.SIZE);
+            remaining >>>= 7;
+        }
+        writer.writeBits(remaining, Byte.SIZE);
+    }
+
+    @Override
+    public long read(BitReader reader) throws IOException {
+        long bits = reader.peekBits(Codes.LOOKAHEAD_BITS);
+        long stops = ~bits & CONTINUATION_BITS;
+        long value = 0;
+        if (stops != 0) {
+            int length = (Long.numberOfTrailingZeros(stops) >>> 3) + 1;
+            reader.skipBits(length * Byte.SIZE);
+            for (int i = 0; i < length; i++) {
+                value |= (bits >>> (i * Byte.SIZE) & 0x7F) << (i * 7);
+            }
+        }
+        else {
+            for (int i = 0; ; i++) {
+                long group = reader.readBits(Byte.SIZE);
+                if (i == MAXIMUM_BYTES - 1 && group > 1) {
+                    throw new IOException("Can't decode a varint whose value doesn't fit in sixty-four bits");
+                }
+                value |= (group & 0x7F) << (i * 7);
+                if ((group & 0x80) == 0) {
+                    break;
+                }
+            }
+        }
+        return signed ? Codes.unZigZag(value) : value;
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * This package contains variable-length integer codes built on top of
+ * {@link io.github.fdero.bits4j.stream.BitWriter} and {@link io.github.fdero.bits4j.stream.BitReader}.
+ *
+ */
+package io.github.fdero.bits4j.codec;
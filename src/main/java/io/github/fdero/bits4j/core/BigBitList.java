@@ -0,0 +1,727 @@
+package io.github.fdero.bits4j.core;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * A sequence of bits indexed by {@code long}, for lists that don't fit in the {@code int} range of a {@link BitList}.
+ *
+ * <p> The bits are stored in pages of {@value #PAGE_WORDS} words (half a million bits), allocated the first time
+ *     one of their bits is set: pages without ones take no space at all, hence a large list that is mostly zeros,
+ *     such as a bitmap over a sparse space of identifiers, only costs the pages it actually uses, plus a reference
+ *     for every page of its size. Bits can be appended, read and written, but not inserted or removed in the
+ *     middle of the list. </p>
+ *
+ * <p> The bitwise operations, {@link #cardinality()} and the searches work sixty-four bits at a time and skip
+ *     the pages without ones; the bitwise operations run in parallel, one page per task, past
+ *     {@link BitListOperations#getParallelThreshold()}. Ranges of up to {@link Integer#MAX_VALUE} bits can be
+ *     copied to and from a {@link BitList} with {@link #toBitList(long, int)} and {@link #set(long, BitList)}. </p>
+ *
+ * <p> This class is not thread-safe. </p>
+ */
+public final class BigBitList {
+
+    /**
+     * The maximum number of bits of a {@link BigBitList}.
+     */
+    public static final long MAXIMUM_SIZE = 1L << 49;
+
+    // The shift that converts a word index into a page index
+    private static final int PAGE_SHIFT = 13;
+
+    // The number of words of each page
+    static final int PAGE_WORDS = 1 << PAGE_SHIFT;
+
+    // The shift that converts a bit index into a page index
+    private static final int BITS_PER_PAGE_SHIFT = PAGE_SHIFT + BitField.ADDRESS_BITS_PER_WORD;
+
+    // The maximum number of pages
+    private static final int MAXIMUM_PAGES = (int) (MAXIMUM_SIZE >>> BITS_PER_PAGE_SHIFT);
+
+    // A page of zeros, which stands for the pages that are not allocated when comparing lists
+    private static final long[] ZERO_PAGE = new long[PAGE_WORDS];
+
+    // The pages, word i being word (i % PAGE_WORDS) of page (i / PAGE_WORDS), null for the pages without ones
+    private long[][] pages = new long[0][];
+
+    // The number of bits
+    private long size = 0;
+
+    /**
+     * Constructs a new empty {@link BigBitList}.
+     */
+    public BigBitList() {
+    }
+
+    /**
+     * Constructs a new {@link BigBitList} of the given size, with every bit set to zero.
+     *
+     * <p> No page is allocated until a bit is set. </p>
+     *
+     * @param size the number of bits
+     *
+     * @throws IllegalArgumentException if the size is out of range
+     *         ({@code size < 0 || size > MAXIMUM_SIZE})
+     */
+    public BigBitList(long size) {
+        if (size < 0 || size > MAXIMUM_SIZE) {
+            throw new IllegalArgumentException("The size of a BigBitList can't be negative or greater than its maximum size");
+        }
+        growPages(size);
+        this.size = size;
+    }
+
+    /**
+     * Constructs a new {@link BigBitList} with the same size and bits as the given {@link BitList}.
+     *
+     * @param bitList the list to copy
+     */
+    public BigBitList(BitList bitList) {
+        addAll(bitList);
+    }
+
+    /**
+     * Returns the number of bits of this list.
+     *
+     * @return the size of this list
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this list has no bits.
+     *
+     * @return {@code true} if the size of this list is zero
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the bit at the given index.
+     *
+     * @param index the index of the bit
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *         ({@code index < 0 || index >= size()})
+     *
+     * @return {@code true} if the bit is set
+     */
+    public boolean getBit(long index) {
+        Objects.checkIndex(index, size);
+        return (word(index >>> BitField.ADDRESS_BITS_PER_WORD) & (1L << index)) != 0;
+    }
+
+    /**
+     * Replaces the bit at the given index.
+     *
+     * @param index the index of the bit
+     * @param value {@code true} to set the bit, {@code false} to clear it
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *         ({@code index < 0 || index >= size()})
+     *
+     * @return the bit previously stored at the given index
+     */
+    public boolean setBit(long index, boolean value) {
+        Objects.checkIndex(index, size);
+        long wordIndex = index >>> BitField.ADDRESS_BITS_PER_WORD;
+        long word = word(wordIndex);
+        long mask = 1L << index;
+        boolean old = (word & mask) != 0;
+        if (old != value) {
+            setWord(wordIndex, word ^ mask);
+        }
+        return old;
+    }
+
+    /**
+     * Adds a bit to the back of the list.
+     *
+     * @param value {@code true} to add a one, {@code false} to add a zero
+     *
+     * @throws IllegalStateException if the list has reached its maximum size
+     *         ({@code size() == MAXIMUM_SIZE})
+     */
+    public void addBit(boolean value) {
+        addBits(value ? 1L : 0L, 1);
+    }
+
+    /**
+     * Appends the {@code count} least significant bits of {@code bits} to the back of the list,
+     * starting from the least significant one.
+     *
+     * @param bits the bits to append
+     * @param count the number of bits to append
+     *
+     * @throws IllegalArgumentException if the count is out of range
+     *         ({@code count < 0 || count > 64})
+     *
+     * @throws IllegalStateException if the list would grow past its maximum size
+     *         ({@code size() + count > MAXIMUM_SIZE})
+     */
+    public void addBits(long bits, int count) {
+        checkBitCount(count);
+        if (size + count > MAXIMUM_SIZE) {
+            throw new IllegalStateException("Can't grow a BigBitList past its maximum size");
+        }
+        if (count == 0) {
+            return;
+        }
+        growPages(size + count);
+        putBits(size, count, bits);
+        size += count;
+    }
+
+    /**
+     * Returns {@code count} consecutive bits of this list, starting at {@code fromIndex}, packed in a {@code long}.
+     *
+     * <p> The bit at {@code fromIndex} ends up in the least significant position of the result,
+     *     the bits of the result above {@code count} are zero. </p>
+     *
+     * @param fromIndex the index of the first bit to return
+     * @param count the number of bits to return
+     *
+     * @throws IllegalArgumentException if the count is out of range
+     *         ({@code count < 0 || count > 64})
+     *
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     *         ({@code fromIndex < 0 || fromIndex + count > size()})
+     *
+     * @return the requested bits
+     */
+    public long getBits(long fromIndex, int count) {
+        checkBitCount(count);
+        Objects.checkFromIndexSize(fromIndex, count, size);
+        return count == 0 ? 0L : readBits(fromIndex, count);
+    }
+
+    /**
+     * Returns {@code count} consecutive bits of this list, starting at {@code fromIndex}, as a two's complement
+     * signed integer of {@code count} bits: the bit at {@code fromIndex + count - 1} is the sign bit.
+     *
+     * @param fromIndex the index of the first bit to return
+     * @param count the number of bits to return
+     *
+     * @throws IllegalArgumentException if the count is out of range
+     *         ({@code count < 0 || count > 64})
+     *
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     *         ({@code fromIndex < 0 || fromIndex + count > size()})
+     *
+     * @return the requested bits, sign-extended
+     */
+    public long getSignedBits(long fromIndex, int count) {
+        long bits = getBits(fromIndex, count);
+        return count == 0 ? 0L : bits << -count >> -count;
+    }
+
+    /**
+     * Replaces {@code count} consecutive bits of this list, starting at {@code fromIndex}, with the
+     * {@code count} least significant bits of {@code bits}, starting from the least significant one.
+     *
+     * <p> The bits above {@code count} are ignored, hence negative values are written in two's complement
+     *     and read back by {@link #getSignedBits(long, int)}. </p>
+     *
+     * @param fromIndex the index of the first bit to replace
+     * @param count the number of bits to replace
+     * @param bits the new bits
+     *
+     * @throws IllegalArgumentException if the count is out of range
+     *         ({@code count < 0 || count > 64})
+     *
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     *         ({@code fromIndex < 0 || fromIndex + count > size()})
+     */
+    public void setBits(long fromIndex, int count, long bits) {
+        checkBitCount(count);
+        Objects.checkFromIndexSize(fromIndex, count, size);
+        if (count != 0) {
+            putBits(fromIndex, count, bits);
+        }
+    }
+
+    /**
+     * Appends all the bits of the given {@link BitList} to the back of this list, sixty-four at a time.
+     *
+     * @param bitList the list whose bits are appended
+     *
+     * @throws IllegalStateException if the list would grow past its maximum size
+     *         ({@code size() + bitList.size() > MAXIMUM_SIZE})
+     */
+    public void addAll(BitList bitList) {
+        int length = bitList.size();
+        if (size + length > MAXIMUM_SIZE) {
+            throw new IllegalStateException("Can't grow a BigBitList past its maximum size");
+        }
+        BitField bitField = bitList.getBitField();
+        growPages(size + length);
+        for (int done = 0; done < length; done += BitField.BITS_PER_WORD) {
+            int chunk = Math.min(BitField.BITS_PER_WORD, length - done);
+            putBits(size + done, chunk, bitField.getBits(done, chunk));
+        }
+        size += length;
+    }
+
+    /**
+     * Returns a {@link BitList} holding a copy of {@code length} bits of this list, starting at {@code fromIndex}.
+     *
+     * @param fromIndex the index of the first bit to copy
+     * @param length the number of bits to copy
+     *
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     *         ({@code fromIndex < 0 || length < 0 || fromIndex + length > size()})
+     *
+     * @return a new {@link BitList} with the bits of the range
+     */
+    public BitList toBitList(long fromIndex, int length) {
+        Objects.checkFromIndexSize(fromIndex, length, size);
+        long[] words = new long[BitField.wordsFor(length)];
+        for (int i = 0; i < words.length; i++) {
+            int chunk = Math.min(BitField.BITS_PER_WORD, length - i * BitField.BITS_PER_WORD);
+            words[i] = readBits(fromIndex + (long) i * BitField.BITS_PER_WORD, chunk);
+        }
+        return new BitList(new LongArrayBitField(words), length);
+    }
+
+    /**
+     * Replaces the bits of this list starting at {@code fromIndex} with the bits of the given {@link BitList},
+     * sixty-four at a time.
+     *
+     * @param fromIndex the index of the first bit to replace
+     * @param bitList the list whose bits are copied
+     *
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     *         ({@code fromIndex < 0 || fromIndex + bitList.size() > size()})
+     */
+    public void set(long fromIndex, BitList bitList) {
+        int length = bitList.size();
+        Objects.checkFromIndexSize(fromIndex, length, size);
+        BitField bitField = bitList.getBitField();
+        for (int done = 0; done < length; done += BitField.BITS_PER_WORD) {
+            int chunk = Math.min(BitField.BITS_PER_WORD, length - done);
+            putBits(fromIndex + done, chunk, bitField.getBits(done, chunk));
+        }
+    }
+
+    /**
+     * Returns the number of set bits.
+     *
+     * <p> The bits are counted sixty-four at a time, pages without ones are skipped. </p>
+     *
+     * @return the number of set bits
+     */
+    public long cardinality() {
+        WordKernel kernel = BitListOperations.kernel();
+        long count = 0;
+        for (long[] page : pages) {
+            if (page != null) {
+                count += kernel.bitCount(page, 0, PAGE_WORDS);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Keeps in this list only the ones that are also in the other list.
+     *
+     * <p> As for the bitwise operations of {@link BitList}, the shorter list is considered padded with zeros
+     *     and this list takes the size of the longer one. The pages of this list without a counterpart in the
+     *     other list are released. </p>
+     *
+     * @param other the list to intersect this list with
+     */
+    public void and(BigBitList other) {
+        combine(other, BitwiseOperation.AND);
+    }
+
+    /**
+     * Adds to this list the ones of the other list.
+     *
+     * <p> As for the bitwise operations of {@link BitList}, the shorter list is considered padded with zeros
+     *     and this list takes the size of the longer one. </p>
+     *
+     * @param other the list to merge into this list
+     */
+    public void or(BigBitList other) {
+        combine(other, BitwiseOperation.OR);
+    }
+
+    /**
+     * Keeps in this list the ones that are in exactly one of the two lists.
+     *
+     * <p> As for the bitwise operations of {@link BitList}, the shorter list is considered padded with zeros
+     *     and this list takes the size of the longer one. </p>
+     *
+     * @param other the list to compare this list with
+     */
+    public void xor(BigBitList other) {
+        combine(other, BitwiseOperation.XOR);
+    }
+
+    /**
+     * Removes from this list the ones that are in the other list.
+     *
+     * <p> As for the bitwise operations of {@link BitList}, the shorter list is considered padded with zeros
+     *     and this list takes the size of the longer one. </p>
+     *
+     * @param other the list whose ones are removed from this list
+     */
+    public void andNot(BigBitList other) {
+        combine(other, BitwiseOperation.AND_NOT);
+    }
+
+    /**
+     * Flips every bit of this list.
+     *
+     * <p> Every page gets allocated, since the pages without ones become pages without zeros. </p>
+     */
+    public void not() {
+        long wordCount = wordsFor(size);
+        pageIndexes(size).forEach(pageIndex -> {
+            long[] page = writablePage(pageIndex);
+            int limit = (int) Math.min(PAGE_WORDS, wordCount - ((long) pageIndex << PAGE_SHIFT));
+            BitListOperations.kernel().flip(page, 0, limit);
+        });
+        if ((size & (BitField.BITS_PER_WORD - 1)) != 0) {
+            long lastWord = wordCount - 1;
+            setWord(lastWord, word(lastWord) & (-1L >>> -size));
+        }
+    }
+
+    /**
+     * Returns the index of the first set bit at or after {@code fromIndex}.
+     *
+     * @param fromIndex the index to start the search from (inclusive)
+     *
+     * @throws IndexOutOfBoundsException if the index is negative
+     *         ({@code fromIndex < 0})
+     *
+     * @return the index of the next set bit, or -1 if there is no such bit
+     */
+    public long nextSetBit(long fromIndex) {
+        return nextBit(fromIndex, 0L);
+    }
+
+    /**
+     * Returns the index of the first clear bit at or after {@code fromIndex}.
+     *
+     * @param fromIndex the index to start the search from (inclusive)
+     *
+     * @throws IndexOutOfBoundsException if the index is negative
+     *         ({@code fromIndex < 0})
+     *
+     * @return the index of the next clear bit, or -1 if there is no such bit
+     */
+    public long nextClearBit(long fromIndex) {
+        return nextBit(fromIndex, -1L);
+    }
+
+    /**
+     * Returns the index of the last set bit at or before {@code fromIndex}.
+     *
+     * <p> Indexes past the end of the list are treated as the last index. </p>
+     *
+     * @param fromIndex the index to start the search from (inclusive)
+     *
+     * @throws IndexOutOfBoundsException if the index is smaller than -1
+     *         ({@code fromIndex < -1})
+     *
+     * @return the index of the previous set bit, or -1 if there is no such bit
+     */
+    public long previousSetBit(long fromIndex) {
+        return previousBit(fromIndex, 0L);
+    }
+
+    /**
+     * Returns the index of the last clear bit at or before {@code fromIndex}.
+     *
+     * <p> Indexes past the end of the list are treated as the last index. </p>
+     *
+     * @param fromIndex the index to start the search from (inclusive)
+     *
+     * @throws IndexOutOfBoundsException if the index is smaller than -1
+     *         ({@code fromIndex < -1})
+     *
+     * @return the index of the previous clear bit, or -1 if there is no such bit
+     */
+    public long previousClearBit(long fromIndex) {
+        return previousBit(fromIndex, -1L);
+    }
+
+    /**
+     * Returns an iterator over the bits of this list that yields {@code 1} for a set bit and {@code 0} for a clear one.
+     *
+     * <p> The iterator reads the pages one word at a time. It must not be used while the list is being modified. </p>
+     *
+     * @return a primitive iterator over the bits of this list
+     */
+    public PrimitiveIterator.OfInt bitIterator() {
+        return new BitIterator();
+    }
+
+    /**
+     * Performs the given action for every bit of this list, from the first to the last one.
+     *
+     * <p> The action receives {@code 1} for a set bit and {@code 0} for a clear one. </p>
+     *
+     * @param action the action to be performed for each bit
+     */
+    public void forEachBit(IntConsumer action) {
+        Objects.requireNonNull(action);
+        long wordCount = wordsFor(size);
+        for (long wordIndex = 0; wordIndex < wordCount; wordIndex++) {
+            long word = word(wordIndex);
+            int limit = (int) Math.min(BitField.BITS_PER_WORD, size - (wordIndex << BitField.ADDRESS_BITS_PER_WORD));
+            for (int offset = 0; offset < limit; offset++) {
+                action.accept((int) (word >>> offset) & 1);
+            }
+        }
+    }
+
+    /**
+     * Removes every bit and releases every page.
+     */
+    public void clear() {
+        pages = new long[0][];
+        size = 0;
+    }
+
+    /**
+     * Compares the specified object with this list for equality.
+     *
+     * @param other the object to be compared for equality with this list
+     *
+     * @return {@code true} if the other object is a {@link BigBitList} with the same size and bits
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof BigBitList otherList) || size != otherList.size) {
+            return false;
+        }
+        int pageCount = pagesFor(size);
+        for (int pageIndex = 0; pageIndex < pageCount; pageIndex++) {
+            long[] page = pages[pageIndex];
+            long[] otherPage = otherList.pages[pageIndex];
+            if (page != otherPage && !Arrays.equals(page != null ? page : ZERO_PAGE, otherPage != null ? otherPage : ZERO_PAGE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code value for this list, which only depends on its size and on the positions of its ones.
+     *
+     * @return the hash code value for this list
+     */
+    @Override
+    public int hashCode() {
+        int hash = Long.hashCode(size);
+        for (int pageIndex = 0; pageIndex < pages.length; pageIndex++) {
+            long[] page = pages[pageIndex];
+            if (page == null) {
+                continue;
+            }
+            for (int i = 0; i < PAGE_WORDS; i++) {
+                if (page[i] != 0) {
+                    long wordIndex = ((long) pageIndex << PAGE_SHIFT) + i;
+                    hash += Long.hashCode((page[i] ^ wordIndex) * 0x9E3779B97F4A7C15L);
+                }
+            }
+        }
+        return hash;
+    }
+
+    // Makes sure that the given number of bits fits in a long
+    private static void checkBitCount(int count) {
+        if (count < 0 || count > BitField.BITS_PER_WORD) {
+            throw new IllegalArgumentException("Can't handle less than zero or more than sixty-four bits at once");
+        }
+    }
+
+    // The number of words needed to store the given number of bits
+    private static long wordsFor(long bitCount) {
+        return (bitCount + BitField.BITS_PER_WORD - 1) >>> BitField.ADDRESS_BITS_PER_WORD;
+    }
+
+    // The number of pages needed to store the given number of bits
+    private static int pagesFor(long bitCount) {
+        return (int) ((bitCount + (1L << BITS_PER_PAGE_SHIFT) - 1) >>> BITS_PER_PAGE_SHIFT);
+    }
+
+    // Makes room in the array of pages for the given number of bits, without allocating any page
+    private void growPages(long bitCount) {
+        int pageCount = pagesFor(bitCount);
+        if (pageCount > pages.length) {
+            pages = Arrays.copyOf(pages, Math.max(pageCount, (int) Math.min(2L * pages.length, MAXIMUM_PAGES)));
+        }
+    }
+
+    // Returns the given page, allocating it if it's not allocated yet
+    private long[] writablePage(int pageIndex) {
+        long[] page = pages[pageIndex];
+        if (page == null) {
+            page = new long[PAGE_WORDS];
+            pages[pageIndex] = page;
+        }
+        return page;
+    }
+
+    private long word(long wordIndex) {
+        long[] page = pages[(int) (wordIndex >>> PAGE_SHIFT)];
+        return page == null ? 0L : page[(int) wordIndex & (PAGE_WORDS - 1)];
+    }
+
+    // Replaces a word, allocating its page only if the word is not zero
+    private void setWord(long wordIndex, long word) {
+        int pageIndex = (int) (wordIndex >>> PAGE_SHIFT);
+        if (word != 0 || pages[pageIndex] != null) {
+            writablePage(pageIndex)[(int) wordIndex & (PAGE_WORDS - 1)] = word;
+        }
+    }
+
+    // Reads up to sixty-four bits from words that are within the pages array
+    private long readBits(long from, int count) {
+        long wordIndex = from >>> BitField.ADDRESS_BITS_PER_WORD;
+        int offset = (int) from & (BitField.BITS_PER_WORD - 1);
+        long value = word(wordIndex) >>> offset;
+        if (offset + count > BitField.BITS_PER_WORD) {
+            value |= word(wordIndex + 1) << (BitField.BITS_PER_WORD - offset);
+        }
+        return count == BitField.BITS_PER_WORD ? value : value & ((1L << count) - 1);
+    }
+
+    // Writes up to sixty-four bits into words that are within the pages array
+    private void putBits(long from, int count, long value) {
+        long mask = count == BitField.BITS_PER_WORD ? -1L : (1L << count) - 1;
+        value &= mask;
+        long wordIndex = from >>> BitField.ADDRESS_BITS_PER_WORD;
+        int offset = (int) from & (BitField.BITS_PER_WORD - 1);
+        setWord(wordIndex, (word(wordIndex) & ~(mask << offset)) | (value << offset));
+        if (offset + count > BitField.BITS_PER_WORD) {
+            int shift = BitField.BITS_PER_WORD - offset;
+            setWord(wordIndex + 1, (word(wordIndex + 1) & ~(mask >>> shift)) | (value >>> shift));
+        }
+    }
+
+    // The indexes of the pages that hold the given number of bits, as a parallel stream past the threshold
+    private static IntStream pageIndexes(long bitCount) {
+        IntStream pageIndexes = IntStream.range(0, pagesFor(bitCount));
+        return bitCount > BitListOperations.getParallelThreshold() ? pageIndexes.parallel() : pageIndexes;
+    }
+
+    // Combines this list with another one page by page, growing this list to the longer size
+    private void combine(BigBitList other, BitwiseOperation operation) {
+        long newSize = Math.max(size, other.size);
+        growPages(newSize);
+        long[][] otherPages = other.pages;
+        pageIndexes(newSize).forEach(pageIndex -> {
+            long[] page = pages[pageIndex];
+            long[] otherPage = pageIndex < otherPages.length ? otherPages[pageIndex] : null;
+            if (otherPage == null) {
+                if (operation == BitwiseOperation.AND) {
+                    pages[pageIndex] = null;
+                }
+            }
+            else if (page == null) {
+                if (operation == BitwiseOperation.OR || operation == BitwiseOperation.XOR) {
+                    pages[pageIndex] = otherPage.clone();
+                }
+            }
+            else {
+                BitListOperations.kernel().combine(page, otherPage, operation, 0, PAGE_WORDS);
+            }
+        });
+        size = newSize;
+    }
+
+    // Scans forward a word at a time, looking for a bit set in the words xor-ed with the given flip mask
+    private long nextBit(long fromIndex, long flip) {
+        if (fromIndex < 0) {
+            throw new IndexOutOfBoundsException("Can't search from a negative index");
+        }
+        if (fromIndex >= size) {
+            return -1;
+        }
+        long wordCount = wordsFor(size);
+        long wordIndex = fromIndex >>> BitField.ADDRESS_BITS_PER_WORD;
+        long word = (word(wordIndex) ^ flip) & (-1L << fromIndex);
+        while (word == 0) {
+            if (++wordIndex >= wordCount) {
+                return -1;
+            }
+            long[] page = pages[(int) (wordIndex >>> PAGE_SHIFT)];
+            if (page == null && flip == 0) {
+                // Moves to the last word of the page, the next iteration moves to the next page
+                wordIndex |= PAGE_WORDS - 1;
+                continue;
+            }
+            word = (page == null ? 0L : page[(int) wordIndex & (PAGE_WORDS - 1)]) ^ flip;
+        }
+        long index = (wordIndex << BitField.ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+        return index < size ? index : -1;
+    }
+
+    // Scans backward a word at a time, looking for a bit set in the words xor-ed with the given flip mask
+    private long previousBit(long fromIndex, long flip) {
+        if (fromIndex < -1) {
+            throw new IndexOutOfBoundsException("Can't search from an index smaller than -1");
+        }
+        fromIndex = Math.min(fromIndex, size - 1);
+        if (fromIndex < 0) {
+            return -1;
+        }
+        long wordIndex = fromIndex >>> BitField.ADDRESS_BITS_PER_WORD;
+        long word = (word(wordIndex) ^ flip) & (-1L >>> -(fromIndex + 1));
+        while (word == 0) {
+            if (wordIndex-- == 0) {
+                return -1;
+            }
+            long[] page = pages[(int) (wordIndex >>> PAGE_SHIFT)];
+            if (page == null && flip == 0) {
+                // Moves to the first word of the page, the next iteration moves to the previous page
+                wordIndex &= -PAGE_WORDS;
+                continue;
+            }
+            word = (page == null ? 0L : page[(int) wordIndex & (PAGE_WORDS - 1)]) ^ flip;
+        }
+        return (wordIndex << BitField.ADDRESS_BITS_PER_WORD) + BitField.BITS_PER_WORD - 1 - Long.numberOfLeadingZeros(word);
+    }
+
+    // A primitive iterator that caches the current word
+    private final class BitIterator implements PrimitiveIterator.OfInt {
+
+        // The index of the next bit to return
+        private long cursor = 0;
+
+        // The word containing the next bit to return
+        private long word = 0;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public int nextInt() {
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            int offset = (int) cursor & (BitField.BITS_PER_WORD - 1);
+            if (offset == 0) {
+                word = word(cursor >>> BitField.ADDRESS_BITS_PER_WORD);
+            }
+            cursor++;
+            return (int) (word >>> offset) & 1;
+        }
+    }
+}
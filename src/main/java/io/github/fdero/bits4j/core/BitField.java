@@ -1,21 +1,44 @@
 package io.github.fdero.bits4j.core;
 
-import java.util.BitSet;
+/**
+ * The storage behind a {@link BitList}: a sequence of sixty-four bit words, where bit i lives
+ * in word (i >>> 6) at position (i & 63).
+ *
+ * <p> Subclasses only need to provide word access and capacity management, every bit-level
+ *     and range operation is built on top of them. </p>
+ */
+abstract class BitField {
 
-class BitField {
+    // The number of bits stored in each word
+    static final int BITS_PER_WORD = 64;
 
-    private final java.util.BitSet internalBitSetImplementation;
+    // The shift that converts a bit index into a word index
+    static final int ADDRESS_BITS_PER_WORD = 6;
 
-    BitField(java.util.BitSet internalBitSetImplementation) {
-        this.internalBitSetImplementation = internalBitSetImplementation;
-    }
+    /**
+     * Returns the word at the given word index, words past the allocated storage read as zero.
+     */
+    abstract long getWord(int wordIndex);
 
-    public BitField() {
-        this(new java.util.BitSet());
-    }
+    /**
+     * Replaces the word at the given word index, making room for it if needed.
+     */
+    abstract void setWord(int wordIndex, long word);
+
+    /**
+     * Returns the number of words currently allocated.
+     */
+    abstract int wordCount();
+
+    /**
+     * Makes sure that the storage can hold at least {@code bitCount} bits.
+     *
+     * @throws IllegalStateException if the storage has a fixed capacity which is smaller than {@code bitCount}
+     */
+    abstract void ensureCapacity(int bitCount);
 
     public BitValue get(int index) {
-        if (internalBitSetImplementation.get(index)) {
+        if (getBit(index)) {
             return BitValue.ONE;
         }
         else {
@@ -25,19 +48,274 @@ class BitField {
 
     public void set(int index, BitValue bitValue) {
         assert bitValue != null;
-        if (bitValue.equals(BitValue.ONE)) {
-            internalBitSetImplementation.set(index);
+        setBit(index, bitValue == BitValue.ONE);
+    }
+
+    public void clear() {
+        int wordCount = wordCount();
+        for (int wordIndex = 0; wordIndex < wordCount; wordIndex++) {
+            setWord(wordIndex, 0L);
+        }
+    }
+
+    boolean getBit(int index) {
+        return (getWord(index >>> ADDRESS_BITS_PER_WORD) & (1L << index)) != 0;
+    }
+
+    void setBit(int index, boolean value) {
+        int wordIndex = index >>> ADDRESS_BITS_PER_WORD;
+        ensureCapacity(index + 1);
+        if (value) {
+            setWord(wordIndex, getWord(wordIndex) | (1L << index));
         }
         else {
-            internalBitSetImplementation.clear(index);
+            setWord(wordIndex, getWord(wordIndex) & ~(1L << index));
         }
     }
 
-    public void clear() {
-        internalBitSetImplementation.clear();
+    /**
+     * Reads {@code count} bits (at most sixty-four) starting at {@code from}, the bit at {@code from}
+     * ends up in the least significant position of the result.
+     */
+    long getBits(int from, int count) {
+        assert count > 0 && count <= BITS_PER_WORD;
+        int wordIndex = from >>> ADDRESS_BITS_PER_WORD;
+        int offset = from & (BITS_PER_WORD - 1);
+        long value = getWord(wordIndex) >>> offset;
+        if (offset + count > BITS_PER_WORD) {
+            value |= getWord(wordIndex + 1) << (BITS_PER_WORD - offset);
+        }
+        return count == BITS_PER_WORD ? value : value & ((1L << count) - 1);
+    }
+
+    /**
+     * Writes the {@code count} least significant bits (at most sixty-four) of {@code value} starting at {@code from}.
+     */
+    void setBits(int from, int count, long value) {
+        assert count > 0 && count <= BITS_PER_WORD;
+        ensureCapacity(from + count);
+        long mask = count == BITS_PER_WORD ? -1L : (1L << count) - 1;
+        value &= mask;
+        int wordIndex = from >>> ADDRESS_BITS_PER_WORD;
+        int offset = from & (BITS_PER_WORD - 1);
+        setWord(wordIndex, (getWord(wordIndex) & ~(mask << offset)) | (value << offset));
+        if (offset + count > BITS_PER_WORD) {
+            int shift = BITS_PER_WORD - offset;
+            setWord(wordIndex + 1, (getWord(wordIndex + 1) & ~(mask >>> shift)) | (value >>> shift));
+        }
+    }
+
+    /**
+     * Copies {@code length} bits from {@code source} (starting at {@code sourceFrom}) into this field
+     * (starting at {@code targetFrom}), sixty-four bits at a time.
+     *
+     * <p> Overlapping ranges within the same field are handled as {@link System#arraycopy} does. </p>
+     */
+    void copyBits(BitField source, int sourceFrom, int targetFrom, int length) {
+        if (length <= 0) {
+            return;
+        }
+        ensureCapacity(targetFrom + length);
+        if (source == this && sourceFrom < targetFrom && targetFrom < sourceFrom + length) {
+            int remaining = length;
+            while (remaining > 0) {
+                int chunk = Math.min(BITS_PER_WORD, remaining);
+                remaining -= chunk;
+                setBits(targetFrom + remaining, chunk, source.getBits(sourceFrom + remaining, chunk));
+            }
+        }
+        else {
+            for (int done = 0; done < length; done += BITS_PER_WORD) {
+                int chunk = Math.min(BITS_PER_WORD, length - done);
+                setBits(targetFrom + done, chunk, source.getBits(sourceFrom + done, chunk));
+            }
+        }
+    }
+
+    /**
+     * Clears every bit in the range [{@code from}, {@code to}).
+     *
+     * <p> Words that are already clear in the range are not written, so read-only storage can be
+     *     cleared as long as there is nothing to clear. </p>
+     */
+    void clearRange(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int firstWord = from >>> ADDRESS_BITS_PER_WORD;
+        int wordCount = wordCount();
+        if (firstWord >= wordCount) {
+            return;
+        }
+        int lastWord = (to - 1) >>> ADDRESS_BITS_PER_WORD;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            clearMasked(firstWord, firstMask & lastMask);
+            return;
+        }
+        clearMasked(firstWord, firstMask);
+        int limit = Math.min(lastWord, wordCount);
+        for (int wordIndex = firstWord + 1; wordIndex < limit; wordIndex++) {
+            clearMasked(wordIndex, -1L);
+        }
+        if (lastWord < wordCount) {
+            clearMasked(lastWord, lastMask);
+        }
+    }
+
+    // Clears the bits of the given word selected by the mask, if any of them is set
+    private void clearMasked(int wordIndex, long mask) {
+        long word = getWord(wordIndex);
+        if ((word & mask) != 0) {
+            setWord(wordIndex, word & ~mask);
+        }
+    }
+
+    /**
+     * Clears every bit from {@code from} (inclusive) up to the end of the allocated storage.
+     */
+    void clearFrom(int from) {
+        clearRange(from, (int) Math.min((long) wordCount() * BITS_PER_WORD, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Replaces every word in [{@code fromWord}, {@code toWord}) with the result of the operation between it
+     * and the corresponding word of {@code source}, the storage must already be large enough.
+     */
+    void combineWords(BitField source, BitwiseOperation operation, int fromWord, int toWord) {
+        for (int wordIndex = fromWord; wordIndex < toWord; wordIndex++) {
+            setWord(wordIndex, operation.apply(getWord(wordIndex), source.getWord(wordIndex)));
+        }
+    }
+
+    /**
+     * Flips every bit of the words in [{@code fromWord}, {@code toWord}), the storage must already be large enough.
+     */
+    void flipWords(int fromWord, int toWord) {
+        for (int wordIndex = fromWord; wordIndex < toWord; wordIndex++) {
+            setWord(wordIndex, ~getWord(wordIndex));
+        }
+    }
+
+    /**
+     * Returns {@code true} if different threads can read and write disjoint ranges of words at the same time,
+     * as long as the storage doesn't need to grow.
+     */
+    boolean supportsParallelAccess() {
+        return true;
+    }
+
+    /**
+     * Returns the number of set bits in the first {@code wordCount} words.
+     */
+    int cardinality(int wordCount) {
+        int count = 0;
+        for (int wordIndex = 0; wordIndex < wordCount; wordIndex++) {
+            count += Long.bitCount(getWord(wordIndex));
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of positions where the first {@code wordCount} words of this field and of the other one differ.
+     */
+    int hammingDistance(BitField other, int wordCount) {
+        int distance = 0;
+        for (int wordIndex = 0; wordIndex < wordCount; wordIndex++) {
+            distance += Long.bitCount(getWord(wordIndex) ^ other.getWord(wordIndex));
+        }
+        return distance;
+    }
+
+    /**
+     * Returns the index of the first set bit in [{@code from}, {@code limit}), or -1 if there is none.
+     */
+    int nextSetBit(int from, int limit) {
+        return nextBit(from, limit, 0L);
+    }
+
+    /**
+     * Returns the index of the first clear bit in [{@code from}, {@code limit}), or -1 if there is none.
+     */
+    int nextClearBit(int from, int limit) {
+        return nextBit(from, limit, -1L);
+    }
+
+    /**
+     * Returns the index of the last set bit in [0, {@code from}], or -1 if there is none.
+     */
+    int previousSetBit(int from) {
+        return previousBit(from, 0L);
+    }
+
+    /**
+     * Returns the index of the last clear bit in [0, {@code from}], or -1 if there is none.
+     */
+    int previousClearBit(int from) {
+        return previousBit(from, -1L);
+    }
+
+    // Scans forward a word at a time, looking for a bit set in the words xor-ed with the given flip mask
+    private int nextBit(int from, int limit, long flip) {
+        if (from >= limit) {
+            return -1;
+        }
+        int wordIndex = from >>> ADDRESS_BITS_PER_WORD;
+        int lastWord = (limit - 1) >>> ADDRESS_BITS_PER_WORD;
+        long word = (getWord(wordIndex) ^ flip) & (-1L << from);
+        while (word == 0) {
+            if (++wordIndex > lastWord) {
+                return -1;
+            }
+            word = getWord(wordIndex) ^ flip;
+        }
+        int index = wordIndex * BITS_PER_WORD + Long.numberOfTrailingZeros(word);
+        return index < limit ? index : -1;
+    }
+
+    // Scans backward a word at a time, looking for a bit set in the words xor-ed with the given flip mask
+    private int previousBit(int from, long flip) {
+        if (from < 0) {
+            return -1;
+        }
+        int wordIndex = from >>> ADDRESS_BITS_PER_WORD;
+        long word = (getWord(wordIndex) ^ flip) & (-1L >>> -(from + 1));
+        while (word == 0) {
+            if (wordIndex-- == 0) {
+                return -1;
+            }
+            word = getWord(wordIndex) ^ flip;
+        }
+        return (wordIndex + 1) * BITS_PER_WORD - 1 - Long.numberOfLeadingZeros(word);
+    }
+
+    /**
+     * Returns a copy of the first {@code wordCount} words, padded with zeros if fewer words are allocated.
+     */
+    long[] toWords(int wordCount) {
+        long[] words = new long[wordCount];
+        for (int wordIndex = 0; wordIndex < wordCount; wordIndex++) {
+            words[wordIndex] = getWord(wordIndex);
+        }
+        return words;
+    }
+
+    /**
+     * Returns a field holding the first {@code bitCount} bits of this one, which is never written
+     * and which later writes to this field don't affect.
+     *
+     * <p> This implementation copies the words, subclasses can share them as long as they copy them
+     *     before their next write. </p>
+     */
+    BitField snapshot(int bitCount) {
+        return new LongArrayBitField(toWords(wordsFor(bitCount)));
     }
 
-    protected BitSet getBitSet() {
-        return internalBitSetImplementation;
+    /**
+     * Returns the number of words needed to store {@code bitCount} bits.
+     */
+    static int wordsFor(int bitCount) {
+        return bitCount <= 0 ? 0 : ((bitCount - 1) >>> ADDRESS_BITS_PER_WORD) + 1;
     }
 }
@@ -1,23 +1,34 @@
 package io.github.fdero.bits4j.core;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 /**
  * An efficient {@link List} implementation to store {@link BitValue}.
  */
 public class BitList extends AbstractList<BitValue> {
 
+    // The multiplier applied to a list hash code for every eight elements, as in List#hashCode
+    private static final int HASH_MULTIPLIER_PER_BYTE = pow31(8);
+
+    // The contribution of every possible byte to a list hash code, as in List#hashCode
+    private static final int[] HASH_CONTRIBUTION_PER_BYTE = hashContributions();
+
     // The bit field that stores the bits
     private final BitField bitField;
 
     // The number of bits in the list
     private int size;
 
+    // The number of modifications made to the list, used to detect stale derived structures
+    private int mutationCount = 0;
+
     /**
      * Constructs a new empty {@link BitList}.
      */
     public BitList() {
-        this(new BitField(), 0);
+        this(new LongArrayBitField(), 0);
     }
 
     /**
@@ -29,6 +40,7 @@ public class BitList extends AbstractList<BitValue> {
     BitList(BitField bitField, int size) {
         this.bitField = bitField;
         this.size = size;
+        bitField.clearFrom(size);
     }
 
     /**
@@ -43,6 +55,73 @@ public class BitList extends AbstractList<BitValue> {
         return bitField;
     }
 
+    /**
+     * Returns the number of modifications (structural or not) made to this list so far.
+     * 
+     * <p> This method is intended to be used by structures derived from the list, to detect that it has changed. </p>
+     * 
+     * @return the number of modifications made to this list
+     */
+    int mutationCount() {
+        return mutationCount;
+    }
+
+    /**
+     * Returns the number of structural modifications made to this list so far, that is the ones that changed its size.
+     * 
+     * <p> This method is intended to be used by views of the list, which stay valid as long as it doesn't change. </p>
+     * 
+     * @return the number of structural modifications made to this list
+     */
+    int structuralModCount() {
+        return modCount;
+    }
+
+    /**
+     * Changes the number of bits in the list, the bits past the new size are cleared.
+     * 
+     * <p> This method is intended to be used by operations that write to the {@link BitField} directly,
+     *     it counts as a modification of the list. </p>
+     * 
+     * @param newSize the new number of bits in the list
+     */
+    void resize(int newSize) {
+        if (newSize < size) {
+            bitField.clearRange(newSize, size);
+        }
+        if (newSize != size) {
+            modCount++;
+        }
+        size = newSize;
+        mutationCount++;
+    }
+
+    /**
+     * Changes the number of bits in the list without touching the {@link BitField}.
+     * 
+     * <p> This method is intended to be used by views whose bits have been inserted or removed
+     *     through the list they are backed by, it counts as a modification of the list. </p>
+     * 
+     * @param newSize the new number of bits in the list
+     */
+    void setSize(int newSize) {
+        size = newSize;
+        mutationCount++;
+        modCount++;
+    }
+
+    /**
+     * Records a modification of the bits of this list made through its {@link BitField}.
+     * 
+     * <p> This method is intended to be used by views that write to the {@link BitField} directly,
+     *     before they write to it. </p>
+     * 
+     * @throws UnsupportedOperationException if the list can't be modified
+     */
+    void markModified() {
+        mutationCount++;
+    }
+
     /**
      * Returns the {@link BitValue} at the specified position in this list
      * 
@@ -82,6 +161,7 @@ public class BitList extends AbstractList<BitValue> {
         }
         BitValue old = get(index);
         bitField.set(index, bitValue);
+        mutationCount++;
         return old;
     }
 
@@ -95,6 +175,627 @@ public class BitList extends AbstractList<BitValue> {
         return size;
     }
 
+    /**
+     * Returns the bit at the specified position in this list as a {@code boolean}.
+     * 
+     * <p> This is the primitive counterpart of {@link #get(int)}: {@code true} stands for 
+     *     {@code BitValue.ONE} and {@code false} stands for {@code BitValue.ZERO}. </p>
+     * 
+     * @param index the index of the bit to return
+     * 
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *         ({@code index < 0 || index >= size()})
+     * 
+     * @return {@code true} if the bit is set, {@code false} otherwise
+     */
+    public boolean getBit(int index) {
+        Objects.checkIndex(index, size);
+        return bitField.getBit(index);
+    }
+
+    /**
+     * Replaces the bit at the specified position in this list with the given {@code boolean}.
+     * 
+     * <p> This is the primitive counterpart of {@link #set(int, BitValue)}. </p>
+     * 
+     * @param index the index of the bit to replace
+     * 
+     * @param value {@code true} to store a {@code BitValue.ONE}, {@code false} to store a {@code BitValue.ZERO}
+     * 
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *         ({@code index < 0 || index >= size()})
+     * 
+     * @return the bit previously stored at the specified position
+     */
+    public boolean setBit(int index, boolean value) {
+        Objects.checkIndex(index, size);
+        boolean old = bitField.getBit(index);
+        bitField.setBit(index, value);
+        mutationCount++;
+        return old;
+    }
+
+    /**
+     * Adds a bit to the back of the list.
+     * 
+     * <p> This is the primitive counterpart of {@link #add(BitValue)}. </p>
+     * 
+     * @param value {@code true} to add a {@code BitValue.ONE}, {@code false} to add a {@code BitValue.ZERO}
+     * 
+     * @return always {@code true} (inspired by {@link Collection#add}) since the list always gets updated 
+     */
+    public boolean addBit(boolean value) {
+        bitField.setBit(size, value);
+        size++;
+        mutationCount++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Returns {@code count} consecutive bits of this list, starting at {@code fromIndex}, packed in a {@code long}.
+     * 
+     * <p> The bit at {@code fromIndex} ends up in the least significant position of the result,
+     *     the bits of the result above {@code count} are zero. At most two words of the 
+     *     underlying storage are read, whatever the alignment of {@code fromIndex}. </p>
+     * 
+     * @param fromIndex the index of the first bit to return
+     * 
+     * @param count the number of bits to return
+     * 
+     * @throws IllegalArgumentException if the count is out of range
+     *         ({@code count < 0 || count > 64})
+     * 
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     *         ({@code fromIndex < 0 || fromIndex + count > size()})
+     * 
+     * @return the requested bits
+     */
+    public long getBits(int fromIndex, int count) {
+        checkBitCount(count);
+        Objects.checkFromIndexSize(fromIndex, count, size);
+        return count == 0 ? 0L : bitField.getBits(fromIndex, count);
+    }
+
+    /**
+     * Returns {@code count} consecutive bits of this list, starting at {@code fromIndex}, as a two's complement 
+     * signed integer of {@code count} bits: the bit at {@code fromIndex + count - 1} is the sign bit.
+     * 
+     * <p> The bits are read as in {@link #getBits(int, int)}, then the sign bit is copied into the bits
+     *     of the result above {@code count}. </p>
+     * 
+     * @param fromIndex the index of the first bit to return
+     * 
+     * @param count the number of bits to return
+     * 
+     * @throws IllegalArgumentException if the count is out of range
+     *         ({@code count < 0 || count > 64})
+     * 
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     *         ({@code fromIndex < 0 || fromIndex + count > size()})
+     * 
+     * @return the requested bits, sign-extended
+     */
+    public long getSignedBits(int fromIndex, int count) {
+        long bits = getBits(fromIndex, count);
+        return count == 0 ? 0L : bits << -count >> -count;
+    }
+
+    /**
+     * Replaces {@code count} consecutive bits of this list, starting at {@code fromIndex}, with the
+     * {@code count} least significant bits of {@code bits}, starting from the least significant one.
+     * 
+     * <p> This is the counterpart of {@link #getBits(int, int)}, the bits above {@code count} are ignored,
+     *     hence negative values are written in two's complement and read back by {@link #getSignedBits(int, int)}.
+     *     At most two words of the underlying storage are written, whatever the alignment of {@code fromIndex}. </p>
+     * 
+     * @param fromIndex the index of the first bit to replace
+     * 
+     * @param count the number of bits to replace
+     * 
+     * @param bits the new bits
+     * 
+     * @throws IllegalArgumentException if the count is out of range
+     *         ({@code count < 0 || count > 64})
+     * 
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     *         ({@code fromIndex < 0 || fromIndex + count > size()})
+     */
+    public void setBits(int fromIndex, int count, long bits) {
+        checkBitCount(count);
+        Objects.checkFromIndexSize(fromIndex, count, size);
+        if (count == 0) {
+            return;
+        }
+        bitField.setBits(fromIndex, count, bits);
+        mutationCount++;
+    }
+
+    /**
+     * Copies {@code length} bits of {@code source}, starting at {@code sourceIndex}, over the bits of {@code target}
+     * starting at {@code targetIndex}, as {@link System#arraycopy} does for arrays.
+     * 
+     * <p> The bits are copied sixty-four at a time whatever the alignment of the two ranges, and with 
+     *     {@link System#arraycopy} itself when both start on a word boundary. The ranges can overlap,
+     *     also when they belong to views of the same list. The size of {@code target} doesn't change. </p>
+     * 
+     * @param source the list to copy the bits from
+     * 
+     * @param sourceIndex the index in {@code source} of the first bit to copy
+     * 
+     * @param target the list to copy the bits to
+     * 
+     * @param targetIndex the index in {@code target} of the first bit to replace
+     * 
+     * @param length the number of bits to copy
+     * 
+     * @throws IndexOutOfBoundsException if either range is out of bounds
+     *         ({@code sourceIndex + length > source.size() || targetIndex + length > target.size()})
+     * 
+     * @throws UnsupportedOperationException if {@code target} is unmodifiable
+     */
+    public static void copyBits(BitList source, int sourceIndex, BitList target, int targetIndex, int length) {
+        Objects.checkFromIndexSize(sourceIndex, length, source.size());
+        Objects.checkFromIndexSize(targetIndex, length, target.size());
+        if (length == 0) {
+            return;
+        }
+        target.markModified();
+        BitField sourceField = source.bitField;
+        if (source != target && (source instanceof BitListSlice || target instanceof BitListSlice)) {
+            // Views can share their storage with each other or with their backed list, the bits go through a copy
+            sourceField = new LongArrayBitField();
+            sourceField.copyBits(source.bitField, sourceIndex, 0, length);
+            sourceIndex = 0;
+        }
+        target.bitField.copyBits(sourceField, sourceIndex, targetIndex, length);
+    }
+
+    /**
+     * Appends the {@code count} least significant bits of {@code bits} to the back of the list,
+     * starting from the least significant one.
+     * 
+     * @param bits the bits to append
+     * 
+     * @param count the number of bits to append
+     * 
+     * @throws IllegalArgumentException if the count is out of range
+     *         ({@code count < 0 || count > 64})
+     */
+    public void addBits(long bits, int count) {
+        checkBitCount(count);
+        if (count == 0) {
+            return;
+        }
+        bitField.setBits(size, count, bits);
+        size += count;
+        mutationCount++;
+        modCount++;
+    }
+
+    // Makes sure that the given number of bits fits in a long
+    private static void checkBitCount(int count) {
+        if (count < 0 || count > BitField.BITS_PER_WORD) {
+            throw new IllegalArgumentException("Can't handle less than zero or more than sixty-four bits at once");
+        }
+    }
+
+    /**
+     * Returns a view of the portion of this list between {@code fromIndex}, inclusive, and {@code toIndex}, exclusive.
+     * 
+     * <p> The view is a {@link BitList} backed by this list: no bit is copied, and every operation of the view,
+     *     including {@link #getBits(int, int)}, the bitwise operations and the searches, works on the storage of
+     *     this list sixty-four bits at a time, whatever the alignment of {@code fromIndex}. Bits inserted into
+     *     or removed from the view are inserted into or removed from this list. </p>
+     * 
+     * <p> As for {@link AbstractList#subList}, the view becomes invalid once bits are inserted into or removed from
+     *     this list other than through the view, and its operations then throw {@link ConcurrentModificationException}. </p>
+     * 
+     * @param fromIndex the index of the first bit of the view
+     * 
+     * @param toIndex the index after the last bit of the view
+     * 
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     *         ({@code fromIndex < 0 || toIndex > size() || fromIndex > toIndex})
+     * 
+     * @return a view of the given range of this list
+     */
+    @Override
+    public BitList subList(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        return new BitListSlice(this, fromIndex, toIndex - fromIndex);
+    }
+
+    /**
+     * Returns an unmodifiable snapshot of this list, without copying its bits.
+     * 
+     * <p> The snapshot shares the storage of this list, which is copied the next time this list is modified,
+     *     hence freezing a list and then modifying it costs one copy, and freezing it again before modifying it
+     *     costs nothing. The snapshot never changes afterwards: every method that would modify it throws
+     *     {@link UnsupportedOperationException}, and it can be read by any number of threads at the same time
+     *     without copying it. </p>
+     * 
+     * <p> Only lists stored in a {@code long[]} share their storage, the other ones are copied right away. 
+     *     Since the snapshot keeps the whole storage of this list, {@link #immutableCopy()} is a better fit
+     *     to keep a small part of a large list. </p>
+     * 
+     * @return an unmodifiable list equal to this list
+     */
+    public BitList freeze() {
+        return new ImmutableBitList(bitField.snapshot(size), size);
+    }
+
+    /**
+     * Returns an unmodifiable copy of this list.
+     * 
+     * <p> Unlike {@link #freeze()}, the bits are copied right away into a storage of the exact size, and this list
+     *     doesn't have to copy its own storage when it's modified later. The copy can be read by any number of
+     *     threads at the same time, as a snapshot returned by {@link #freeze()}. </p>
+     * 
+     * @return an unmodifiable list equal to this list
+     */
+    public BitList immutableCopy() {
+        return new ImmutableBitList(new LongArrayBitField(bitField.toWords(BitField.wordsFor(size))), size);
+    }
+
+    /**
+     * Returns an iterator over the bits of this list that yields {@code 1} for {@code BitValue.ONE}
+     * and {@code 0} for {@code BitValue.ZERO}.
+     * 
+     * <p> The iterator reads the underlying storage one word at a time, hence it neither boxes
+     *     nor goes through {@link BitValue}. It does not support removal, and it must not be used
+     *     while the list is being structurally modified. </p>
+     * 
+     * @return a primitive iterator over the bits of this list
+     */
+    public PrimitiveIterator.OfInt bitIterator() {
+        return new BitIterator();
+    }
+
+    /**
+     * Performs the given action for every bit of this list, from the first to the last one.
+     * 
+     * <p> The action receives {@code 1} for {@code BitValue.ONE} and {@code 0} for {@code BitValue.ZERO}. </p>
+     * 
+     * @param action the action to be performed for each bit
+     */
+    public void forEachBit(IntConsumer action) {
+        Objects.requireNonNull(action);
+        int wordCount = (size + BitField.BITS_PER_WORD - 1) / BitField.BITS_PER_WORD;
+        for (int wordIndex = 0; wordIndex < wordCount; wordIndex++) {
+            long word = bitField.getWord(wordIndex);
+            int limit = Math.min(BitField.BITS_PER_WORD, size - wordIndex * BitField.BITS_PER_WORD);
+            for (int offset = 0; offset < limit; offset++) {
+                action.accept((int) (word >>> offset) & 1);
+            }
+        }
+    }
+
+    /**
+     * Performs the given action for every {@link BitValue} of this list, from the first to the last one.
+     * 
+     * @param action the action to be performed for each {@link BitValue}
+     */
+    @Override
+    public void forEach(Consumer<? super BitValue> action) {
+        Objects.requireNonNull(action);
+        forEachBit(bit -> action.accept(bit == 0 ? BitValue.ZERO : BitValue.ONE));
+    }
+
+    /**
+     * Returns the number of {@code BitValue.ONE} in this list.
+     * 
+     * <p> The bits are counted sixty-four at a time. </p>
+     * 
+     * @return the number of set bits in this list
+     */
+    public int cardinality() {
+        return bitField.cardinality(BitField.wordsFor(size));
+    }
+
+    /**
+     * Keeps in this list only the ones that are also in the other list.
+     * 
+     * <p> As for every bitwise operation, the shorter list is considered padded with zeros and this list
+     *     takes the size of the longer one. The lists are combined sixty-four bits at a time, in parallel
+     *     past {@link BitListOperations#getParallelThreshold()}. </p>
+     * 
+     * @param other the list to intersect this list with
+     * 
+     * @throws IllegalStateException if this list has a fixed capacity which is smaller than {@code other.size()}
+     */
+    public void and(BitList other) {
+        combine(other, BitwiseOperation.AND);
+    }
+
+    /**
+     * Adds to this list the ones of the other list.
+     * 
+     * <p> As for every bitwise operation, the shorter list is considered padded with zeros and this list
+     *     takes the size of the longer one. The lists are combined sixty-four bits at a time, in parallel
+     *     past {@link BitListOperations#getParallelThreshold()}. </p>
+     * 
+     * @param other the list to merge into this list
+     * 
+     * @throws IllegalStateException if this list has a fixed capacity which is smaller than {@code other.size()}
+     */
+    public void or(BitList other) {
+        combine(other, BitwiseOperation.OR);
+    }
+
+    /**
+     * Keeps in this list the ones that are in exactly one of the two lists.
+     * 
+     * <p> As for every bitwise operation, the shorter list is considered padded with zeros and this list
+     *     takes the size of the longer one. The lists are combined sixty-four bits at a time, in parallel
+     *     past {@link BitListOperations#getParallelThreshold()}. </p>
+     * 
+     * @param other the list to compare this list with
+     * 
+     * @throws IllegalStateException if this list has a fixed capacity which is smaller than {@code other.size()}
+     */
+    public void xor(BitList other) {
+        combine(other, BitwiseOperation.XOR);
+    }
+
+    /**
+     * Removes from this list the ones that are in the other list.
+     * 
+     * <p> As for every bitwise operation, the shorter list is considered padded with zeros and this list
+     *     takes the size of the longer one. The lists are combined sixty-four bits at a time, in parallel
+     *     past {@link BitListOperations#getParallelThreshold()}. </p>
+     * 
+     * @param other the list whose ones are removed from this list
+     * 
+     * @throws IllegalStateException if this list has a fixed capacity which is smaller than {@code other.size()}
+     */
+    public void andNot(BitList other) {
+        combine(other, BitwiseOperation.AND_NOT);
+    }
+
+    /**
+     * Combines this list with another one, word by word, growing this list to the longer size.
+     * 
+     * <p> Subclasses can override it to combine their storage more efficiently. </p>
+     * 
+     * @param other the right operand
+     * @param operation the operation to apply
+     */
+    void combine(BitList other, BitwiseOperation operation) {
+        int newSize = Math.max(size, other.size);
+        BitField otherField = other.bitField;
+        if (other != this && (this instanceof BitListSlice || other instanceof BitListSlice)) {
+            // Views can share their storage with each other or with their backed list, the bits go through a copy
+            otherField = new LongArrayBitField(otherField.toWords(BitField.wordsFor(other.size)));
+        }
+        bitField.ensureCapacity(newSize);
+        BitListOperations.combineWords(bitField, otherField, operation, BitField.wordsFor(newSize));
+        resize(newSize);
+    }
+
+    /**
+     * Flips every bit of this list.
+     * 
+     * <p> The bits are flipped sixty-four at a time, in parallel past {@link BitListOperations#getParallelThreshold()}. </p>
+     */
+    public void not() {
+        bitField.ensureCapacity(size);
+        int fullWords = size >>> BitField.ADDRESS_BITS_PER_WORD;
+        BitListOperations.flipWords(bitField, fullWords);
+        int tailBits = size & (BitField.BITS_PER_WORD - 1);
+        if (tailBits != 0) {
+            int tailIndex = fullWords * BitField.BITS_PER_WORD;
+            bitField.setBits(tailIndex, tailBits, ~bitField.getBits(tailIndex, tailBits));
+        }
+        mutationCount++;
+    }
+
+    /**
+     * Returns the index of the first {@code BitValue.ONE} at or after {@code fromIndex}.
+     * 
+     * <p> The list is scanned sixty-four bits at a time. </p>
+     * 
+     * @param fromIndex the index to start the search from (inclusive)
+     * 
+     * @throws IndexOutOfBoundsException if the index is negative
+     *         ({@code fromIndex < 0})
+     * 
+     * @return the index of the next set bit, or -1 if there is no such bit
+     */
+    public int nextSetBit(int fromIndex) {
+        checkSearchStart(fromIndex);
+        return bitField.nextSetBit(fromIndex, size);
+    }
+
+    /**
+     * Returns the index of the first {@code BitValue.ZERO} at or after {@code fromIndex}.
+     * 
+     * <p> The list is scanned sixty-four bits at a time. </p>
+     * 
+     * @param fromIndex the index to start the search from (inclusive)
+     * 
+     * @throws IndexOutOfBoundsException if the index is negative
+     *         ({@code fromIndex < 0})
+     * 
+     * @return the index of the next clear bit, or -1 if there is no such bit
+     */
+    public int nextClearBit(int fromIndex) {
+        checkSearchStart(fromIndex);
+        return bitField.nextClearBit(fromIndex, size);
+    }
+
+    /**
+     * Returns the index of the last {@code BitValue.ONE} at or before {@code fromIndex}.
+     * 
+     * <p> The list is scanned sixty-four bits at a time. Indexes past the end of the list are treated as the last index. </p>
+     * 
+     * @param fromIndex the index to start the search from (inclusive)
+     * 
+     * @throws IndexOutOfBoundsException if the index is smaller than -1
+     *         ({@code fromIndex < -1})
+     * 
+     * @return the index of the previous set bit, or -1 if there is no such bit
+     */
+    public int previousSetBit(int fromIndex) {
+        if (fromIndex < -1) {
+            throw new IndexOutOfBoundsException("Can't search from an index smaller than -1");
+        }
+        return bitField.previousSetBit(Math.min(fromIndex, size - 1));
+    }
+
+    /**
+     * Returns the index of the last {@code BitValue.ZERO} at or before {@code fromIndex}.
+     * 
+     * <p> The list is scanned sixty-four bits at a time. Indexes past the end of the list are treated as the last index. </p>
+     * 
+     * @param fromIndex the index to start the search from (inclusive)
+     * 
+     * @throws IndexOutOfBoundsException if the index is smaller than -1
+     *         ({@code fromIndex < -1})
+     * 
+     * @return the index of the previous clear bit, or -1 if there is no such bit
+     */
+    public int previousClearBit(int fromIndex) {
+        if (fromIndex < -1) {
+            throw new IndexOutOfBoundsException("Can't search from an index smaller than -1");
+        }
+        return bitField.previousClearBit(Math.min(fromIndex, size - 1));
+    }
+
+    // Makes sure that a forward search doesn't start from a negative index
+    private static void checkSearchStart(int fromIndex) {
+        if (fromIndex < 0) {
+            throw new IndexOutOfBoundsException("Can't search from a negative index");
+        }
+    }
+
+    /**
+     * Returns the index of the first occurrence of the specified element in this list, or -1 if there is none.
+     * 
+     * @param target the element to search for
+     * 
+     * @return the index of the first occurrence of the element, or -1 if this list does not contain it
+     */
+    @Override
+    public int indexOf(Object target) {
+        if (target == BitValue.ONE) {
+            return bitField.nextSetBit(0, size);
+        }
+        if (target == BitValue.ZERO) {
+            return bitField.nextClearBit(0, size);
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the last occurrence of the specified element in this list, or -1 if there is none.
+     * 
+     * @param target the element to search for
+     * 
+     * @return the index of the last occurrence of the element, or -1 if this list does not contain it
+     */
+    @Override
+    public int lastIndexOf(Object target) {
+        if (target == BitValue.ONE) {
+            return bitField.previousSetBit(size - 1);
+        }
+        if (target == BitValue.ZERO) {
+            return bitField.previousClearBit(size - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Returns {@code true} if this list contains the specified element.
+     * 
+     * @param target the element whose presence in this list is to be tested
+     * 
+     * @return {@code true} if this list contains the specified element
+     */
+    @Override
+    public boolean contains(Object target) {
+        return indexOf(target) >= 0;
+    }
+
+    /**
+     * Compares the specified object with this list for equality, as specified by {@link List#equals}.
+     * 
+     * <p> When the other object is a {@link BitList} too, the two lists are compared sixty-four bits at a time. </p>
+     * 
+     * @param other the object to be compared for equality with this list
+     * 
+     * @return {@code true} if the specified object is equal to this list
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof BitList otherList)) {
+            return super.equals(other);
+        }
+        if (size != otherList.size) {
+            return false;
+        }
+        int wordCount = BitField.wordsFor(size);
+        for (int wordIndex = 0; wordIndex < wordCount; wordIndex++) {
+            if (bitField.getWord(wordIndex) != otherList.bitField.getWord(wordIndex)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code value for this list, as specified by {@link List#hashCode}.
+     * 
+     * <p> The result is the same as the one of any other {@link List} holding the same {@link BitValue}, 
+     *     but it is computed eight bits at a time through a precomputed table. </p>
+     * 
+     * @return the hash code value for this list
+     */
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        int fullBytes = size / Byte.SIZE;
+        long word = 0;
+        for (int byteIndex = 0; byteIndex < fullBytes; byteIndex++) {
+            int byteOffset = byteIndex & (Long.BYTES - 1);
+            if (byteOffset == 0) {
+                word = bitField.getWord(byteIndex / Long.BYTES);
+            }
+            int byteValue = (int) (word >>> (byteOffset * Byte.SIZE)) & 0xFF;
+            hash = hash * HASH_MULTIPLIER_PER_BYTE + HASH_CONTRIBUTION_PER_BYTE[byteValue];
+        }
+        for (int index = fullBytes * Byte.SIZE; index < size; index++) {
+            hash = 31 * hash + bitField.get(index).hashCode();
+        }
+        return hash;
+    }
+
+    // Computes 31 raised to the given power, with int overflow as in List#hashCode
+    private static int pow31(int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 31;
+        }
+        return result;
+    }
+
+    // Computes how eight consecutive elements change a list hash code that starts from zero
+    private static int[] hashContributions() {
+        int[] contributions = new int[256];
+        for (int byteValue = 0; byteValue < 256; byteValue++) {
+            int hash = 0;
+            for (int bit = 0; bit < Byte.SIZE; bit++) {
+                BitValue bitValue = ((byteValue >>> bit) & 1) != 0 ? BitValue.ONE : BitValue.ZERO;
+                hash = 31 * hash + bitValue.hashCode();
+            }
+            contributions[byteValue] = hash;
+        }
+        return contributions;
+    }
+
     /**
      * Resets the state of this list. 
      * 
@@ -105,6 +806,8 @@ public class BitList extends AbstractList<BitValue> {
     public void clear() {
         bitField.clear();
         this.size = 0;
+        mutationCount++;
+        modCount++;
     }
 
     /**
@@ -134,7 +837,10 @@ public class BitList extends AbstractList<BitValue> {
     @Override
     public BitValue removeLast() {
         BitValue lastBit = get(size - 1);
+        bitField.setBit(size - 1, false);
         size--;
+        mutationCount++;
+        modCount++;
         return lastBit;
     }
 
@@ -153,11 +859,42 @@ public class BitList extends AbstractList<BitValue> {
         if (index < 0 || index >= size) {
             throw new IndexOutOfBoundsException("Can't remove element at the given index because it's out of bounds");
         }
-        for (int i = index; i <= size - 2; i++) {
-            BitValue followingValue = get(i+1);
-            set(i, followingValue);
+        BitValue removedValue = bitField.get(index);
+        bitField.copyBits(bitField, index + 1, index, size - index - 1);
+        bitField.setBit(size - 1, false);
+        size--;
+        mutationCount++;
+        modCount++;
+        return removedValue;
+    }
+
+    /**
+     * Removes from this list all the bits whose index is between {@code fromIndex}, inclusive, and {@code toIndex}, exclusive.
+     * 
+     * <p> The following bits are shifted to the left sixty-four at a time, hence the cost of this method 
+     *     depends on the number of words after {@code toIndex} and not on the number of bits removed. </p>
+     * 
+     * @param fromIndex the index of the first bit to be removed
+     * 
+     * @param toIndex the index after the last bit to be removed
+     * 
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     *         ({@code fromIndex < 0 || toIndex > size() || fromIndex > toIndex})
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Can't remove the given range because it's out of bounds");
+        }
+        int removedCount = toIndex - fromIndex;
+        if (removedCount == 0) {
+            return;
         }
-        return removeLast();
+        bitField.copyBits(bitField, toIndex, fromIndex, size - toIndex);
+        bitField.clearRange(size - removedCount, size);
+        size -= removedCount;
+        mutationCount++;
+        modCount++;
     }
 
     /**
@@ -166,9 +903,7 @@ public class BitList extends AbstractList<BitValue> {
      * @return always {@code true} (inspired by {@link Collection#add}) since the list always gets updated 
      */
     public boolean addZero() {
-        bitField.set(size, BitValue.ZERO);
-        size++;
-        return true;
+        return addBit(false);
     }
 
     /**
@@ -177,9 +912,7 @@ public class BitList extends AbstractList<BitValue> {
      * @return always {@code true} (inspired by {@link Collection#add}) since the list always gets updated 
      */
     public boolean addOne() {
-        bitField.set(size, BitValue.ONE);
-        size++;
-        return true;
+        return addBit(true);
     }
 
     /**
@@ -222,11 +955,112 @@ public class BitList extends AbstractList<BitValue> {
         if (index < 0 || index > size) {
             throw new IndexOutOfBoundsException();
         }
-        add(bitValue);
-        for (int i = size - 1; i > index; i--) {
-            BitValue leftBitValue = get(i - 1);
-            set(i, leftBitValue);
+        if (bitValue == null) {
+            throw new IllegalArgumentException("Can't add a null BitValue to a BitList");
+        }
+        bitField.copyBits(bitField, index, index + 1, size - index);
+        bitField.set(index, bitValue);
+        size++;
+        mutationCount++;
+        modCount++;
+    }
+
+    /**
+     * Appends all the {@link BitValue} of the given collection to the back of this list.
+     * 
+     * <p> If the collection is itself a {@link BitList} its bits are copied sixty-four at a time,
+     *     otherwise they get appended one by one in the order of the collection's iterator. </p>
+     * 
+     * @param bitValues the collection containing the bits to be added to this list
+     * 
+     * @throws IllegalArgumentException if the collection contains null values
+     * 
+     * @return {@code true} if this list changed as a result of the call
+     */
+    @Override
+    public boolean addAll(Collection<? extends BitValue> bitValues) {
+        if (bitValues instanceof BitList other) {
+            int otherSize = other.size;
+            bitField.copyBits(other.bitField, 0, size, otherSize);
+            size += otherSize;
+            mutationCount++;
+            modCount++;
+            return otherSize != 0;
+        }
+        boolean modified = false;
+        for (BitValue bitValue : bitValues) {
+            modified |= add(bitValue);
+        }
+        return modified;
+    }
+
+    /**
+     * Inserts all the {@link BitValue} of the given collection into this list, starting at the specified position.
+     * 
+     * <p> The bits following {@code index} are shifted to the right sixty-four at a time, 
+     *     exactly once regardless of the size of the collection. </p>
+     * 
+     * @param index the index at which to insert the first bit of the collection
+     * 
+     * @param bitValues the collection containing the bits to be added to this list
+     * 
+     * @throws IllegalArgumentException if the collection contains null values
+     * 
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *         ({@code index < 0 || index > size()})
+     * 
+     * @return {@code true} if this list changed as a result of the call
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends BitValue> bitValues) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Can't add elements at the given index because it's out of bounds");
+        }
+        BitList inserted;
+        if (bitValues instanceof BitList other && other != this && !(other instanceof BitListSlice)) {
+            inserted = other;
+        }
+        else {
+            inserted = new BitList();
+            inserted.addAll(bitValues);
+        }
+        int insertedSize = inserted.size;
+        if (insertedSize == 0) {
+            return false;
+        }
+        bitField.copyBits(bitField, index, index + insertedSize, size - index);
+        bitField.copyBits(inserted.bitField, 0, index, insertedSize);
+        size += insertedSize;
+        mutationCount++;
+        modCount++;
+        return true;
+    }
+
+    // A primitive iterator that caches the current word of the underlying bit field
+    private final class BitIterator implements PrimitiveIterator.OfInt {
+
+        // The index of the next bit to return
+        private int cursor = 0;
+
+        // The word containing the next bit to return
+        private long word = 0;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public int nextInt() {
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            int offset = cursor & (BitField.BITS_PER_WORD - 1);
+            if (offset == 0) {
+                word = bitField.getWord(cursor / BitField.BITS_PER_WORD);
+            }
+            cursor++;
+            return (int) (word >>> offset) & 1;
         }
-        set(index, bitValue);
     }
 }
@@ -1,6 +1,14 @@
 package io.github.fdero.bits4j.core;
 
-import java.util.BitSet;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
 
 /**
  * A class that provides static methods to convert between {@link io.github.fdero.bits4j.core.BitList} and other types.
@@ -9,6 +17,21 @@ import java.util.BitSet;
  */
 public final class BitListConversions {
 
+    // Reads and writes eight little-endian bytes of a byte array as a long
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // Writes two little-endian bytes of a byte array as a short
+    private static final VarHandle SHORT_VIEW = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // The eight binary digits of every byte as little-endian Latin-1 characters, the least significant bit first
+    private static final long[] BINARY_DIGITS = binaryDigits();
+
+    // The two hexadecimal digits of every byte as little-endian Latin-1 characters, the most significant digit first
+    private static final short[] HEX_DIGITS = hexDigits();
+
+    // The value of every Latin-1 character as a hexadecimal digit, or -1 if it's not one
+    private static final byte[] HEX_VALUES = hexValues();
+
     /**
      * This class should not be instantiated. It only provides static methods.
      */
@@ -30,8 +53,7 @@ public final class BitListConversions {
      * @return the {@link BitList} represented by the {@code byte}
      */
     public static BitList fromByte(byte bits) {
-        BitSet bitSet = BitSet.valueOf(new long[] { bits });
-        BitField bitField = new BitField(bitSet);
+        BitField bitField = new LongArrayBitField(new long[] { bits });
         return new BitList(bitField, 8);
     }
 
@@ -49,8 +71,7 @@ public final class BitListConversions {
      * @return the {@link BitList} represented by the {@code int}
      */
     public static BitList fromInt(int bits) {
-        BitSet bitSet = BitSet.valueOf(new long[] { bits });
-        BitField bitField = new BitField(bitSet);
+        BitField bitField = new LongArrayBitField(new long[] { bits });
         return new BitList(bitField, 32);
     }
 
@@ -68,8 +89,7 @@ public final class BitListConversions {
      * @return the {@link BitList} represented by the {@code long} 
      */
     public static BitList fromLong(long bits) {
-        BitSet bitSet = BitSet.valueOf(new long[] { bits });
-        BitField bitField = new BitField(bitSet);
+        BitField bitField = new LongArrayBitField(new long[] { bits });
         return new BitList(bitField, 64);
     }
 
@@ -82,21 +102,251 @@ public final class BitListConversions {
      *     It will be possible to convert the output {@link BitList} back to the
      *     original {@code String} using the {@code asBinaryString} method </p>
      * 
+     * <p> The characters are checked and packed eight at a time, straight into the words of the list. </p>
+     * 
      * @see #asBinaryString(BitList)
      * 
      * @param stringEncodedBits the string to convert
+     * 
+     * @throws IllegalArgumentException if the string contains other characters than '0' and '1'
+     * 
      * @return the {@link BitList} represented by the {@code String}
      */
     public static BitList fromBinaryString(String stringEncodedBits) {
-        BitList bitList = new BitList();
-        for (char c : stringEncodedBits.toCharArray()) {
-            switch (c) {
-                case '0' -> bitList.addZero();
-                case '1' -> bitList.addOne();
-                default -> throw new IllegalArgumentException();
+        byte[] characters = stringEncodedBits.getBytes(StandardCharsets.ISO_8859_1);
+        int size = characters.length;
+        long[] words = new long[BitField.wordsFor(size)];
+        int fullBytes = size / Byte.SIZE;
+        for (int byteIndex = 0; byteIndex < fullBytes; byteIndex++) {
+            long digits = (long) LONG_VIEW.get(characters, byteIndex * Byte.SIZE);
+            // Every character must be 0x30 or 0x31, the multiplication gathers their lowest bits in the top byte
+            if ((digits & 0xFEFEFEFEFEFEFEFEL) != 0x3030303030303030L) {
+                throw invalidBinaryString();
+            }
+            long bits = ((digits & 0x0101010101010101L) * 0x0102040810204080L) >>> 56;
+            words[byteIndex / Long.BYTES] |= bits << ((byteIndex & (Long.BYTES - 1)) * Byte.SIZE);
+        }
+        for (int index = fullBytes * Byte.SIZE; index < size; index++) {
+            switch (characters[index]) {
+                case '0' -> { }
+                case '1' -> words[index >>> BitField.ADDRESS_BITS_PER_WORD] |= 1L << index;
+                default -> throw invalidBinaryString();
+            }
+        }
+        return new BitList(new LongArrayBitField(words), size);
+    }
+
+    private static IllegalArgumentException invalidBinaryString() {
+        return new IllegalArgumentException("Can't convert a binary string that contains other characters than '0' and '1'");
+    }
+
+    /**
+     * Converts a hexadecimal string to a {@link BitList}.
+     * 
+     * <p> Every two digits stand for a byte, the most significant digit first, and the bytes are laid out as 
+     *     in {@code fromBytes}: the string "0180" gives the same list as the bytes {@code 0x01, 0x80}. Both
+     *     lowercase and uppercase digits are accepted. </p>
+     * 
+     * <p> The resulting {@link BitList} will be four times the length of the string. It will be possible to
+     *     convert the output {@link BitList} back to the original {@code String}, in lowercase, using the
+     *     {@code asHexString} method </p>
+     * 
+     * @see #asHexString(BitList)
+     * @see #fromBytes(byte[])
+     * 
+     * @param hexString the string to convert
+     * 
+     * @throws IllegalArgumentException if the string has an odd length, or contains other characters than hexadecimal digits
+     * 
+     * @return the {@link BitList} represented by the {@code String}
+     */
+    public static BitList fromHexString(String hexString) {
+        byte[] characters = hexString.getBytes(StandardCharsets.ISO_8859_1);
+        if ((characters.length & 1) != 0) {
+            throw new IllegalArgumentException("Can't convert a hexadecimal string with an odd number of digits");
+        }
+        int byteCount = characters.length / 2;
+        if (byteCount > Integer.MAX_VALUE / Byte.SIZE) {
+            throw new IllegalArgumentException("Can't convert a hexadecimal string of more than Integer.MAX_VALUE bits");
+        }
+        long[] words = new long[BitField.wordsFor(byteCount * Byte.SIZE)];
+        for (int byteIndex = 0; byteIndex < byteCount; byteIndex++) {
+            int high = HEX_VALUES[characters[2 * byteIndex] & 0xFF];
+            int low = HEX_VALUES[characters[2 * byteIndex + 1] & 0xFF];
+            if ((high | low) < 0) {
+                throw new IllegalArgumentException("Can't convert a hexadecimal string that contains other characters than hexadecimal digits");
             }
+            words[byteIndex / Long.BYTES] |= (long) (high << 4 | low) << ((byteIndex & (Long.BYTES - 1)) * Byte.SIZE);
+        }
+        return new BitList(new LongArrayBitField(words), byteCount * Byte.SIZE);
+    }
+
+    /**
+     * Converts a Base64 string, in the basic alphabet of {@link Base64#getDecoder()}, to a {@link BitList}.
+     * 
+     * <p> The decoded bytes are laid out as in {@code fromBytes}. It will be possible to convert the output 
+     *     {@link BitList} back to the original {@code String} using the {@code asBase64String} method </p>
+     * 
+     * @see #asBase64String(BitList)
+     * @see #fromBytes(byte[])
+     * 
+     * @param base64String the string to convert
+     * 
+     * @throws IllegalArgumentException if the string is not valid Base64
+     * 
+     * @return the {@link BitList} represented by the {@code String}
+     */
+    public static BitList fromBase64String(String base64String) {
+        return fromBytes(Base64.getDecoder().decode(base64String));
+    }
+
+    /**
+     * Converts an array of bytes to a {@link BitList}.
+     * 
+     * <p> The resulting {@link BitList} will be eight times the length of the array, byte i providing
+     *     bits 8i to 8i+7 starting from its least significant bit. The array is copied, eight bytes at a time. </p>
+     * 
+     * <p> It will be possible to convert the output {@link BitList} back to the
+     *     original array using the {@code asBytes} method </p>
+     * 
+     * @see #asBytes(BitList)
+     * 
+     * @param bytes the bytes to convert
+     * 
+     * @throws IllegalArgumentException if the bytes hold more than {@link Integer#MAX_VALUE} bits
+     *         ({@code bytes.length > Integer.MAX_VALUE / 8})
+     * 
+     * @return the {@link BitList} represented by the bytes
+     */
+    public static BitList fromBytes(byte[] bytes) {
+        checkByteCount(bytes.length);
+        long[] words = new long[BitField.wordsFor(bytes.length * Byte.SIZE)];
+        int fullWords = bytes.length / Long.BYTES;
+        for (int i = 0; i < fullWords; i++) {
+            words[i] = (long) LONG_VIEW.get(bytes, i * Long.BYTES);
+        }
+        for (int i = fullWords * Long.BYTES; i < bytes.length; i++) {
+            words[fullWords] |= (bytes[i] & 0xFFL) << ((i - fullWords * Long.BYTES) * Byte.SIZE);
+        }
+        return new BitList(new LongArrayBitField(words), bytes.length * Byte.SIZE);
+    }
+
+    /**
+     * Converts an array of words to a {@link BitList} of the given length.
+     * 
+     * <p> Bit i of the resulting {@link BitList} is bit (i % 64) of {@code words[i / 64]}.
+     *     The needed words are copied, the array itself is never modified. </p>
+     * 
+     * @see #asLongs(BitList)
+     * @see #wrapLongs(long[], int)
+     * 
+     * @param words the words to convert
+     * @param bitLength the number of bits of the resulting {@link BitList}
+     * 
+     * @throws IllegalArgumentException if the length is out of range
+     *         ({@code bitLength < 0 || bitLength > 64 * words.length})
+     * 
+     * @return the {@link BitList} represented by the first {@code bitLength} bits of the words
+     */
+    public static BitList fromLongs(long[] words, int bitLength) {
+        checkBitLength(bitLength, (long) words.length * Long.SIZE);
+        long[] copy = Arrays.copyOf(words, BitField.wordsFor(bitLength));
+        return new BitList(new LongArrayBitField(copy), bitLength);
+    }
+
+    /**
+     * Converts the remaining bytes of a {@link ByteBuffer} to a {@link BitList}.
+     * 
+     * <p> Bytes are consumed from the position to the limit of the buffer, as a relative bulk get would do, 
+     *     and laid out as in {@code fromBytes}. </p>
+     * 
+     * @see #fromBytes(byte[])
+     * @see #writeTo(BitList, ByteBuffer)
+     * @see #wrapByteBuffer(ByteBuffer, int)
+     * 
+     * @param buffer the buffer to read bytes from
+     * 
+     * @throws IllegalArgumentException if the remaining bytes hold more than {@link Integer#MAX_VALUE} bits,
+     *         in which case none of them is consumed
+     *         ({@code buffer.remaining() > Integer.MAX_VALUE / 8})
+     * 
+     * @return the {@link BitList} represented by the remaining bytes of the buffer
+     */
+    public static BitList fromByteBuffer(ByteBuffer buffer) {
+        ByteBuffer littleEndian = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        int byteCount = littleEndian.remaining();
+        checkByteCount(byteCount);
+        long[] words = new long[BitField.wordsFor(byteCount * Byte.SIZE)];
+        int fullWords = byteCount / Long.BYTES;
+        littleEndian.asLongBuffer().get(words, 0, fullWords);
+        for (int i = fullWords * Long.BYTES; i < byteCount; i++) {
+            words[fullWords] |= (littleEndian.get(i) & 0xFFL) << ((i - fullWords * Long.BYTES) * Byte.SIZE);
+        }
+        buffer.position(buffer.limit());
+        return new BitList(new LongArrayBitField(words), byteCount * Byte.SIZE);
+    }
+
+    /**
+     * Views an array of words as a {@link BitList} of the given length, without copying it.
+     * 
+     * <p> Bit i of the resulting {@link BitList} is bit (i % 64) of {@code words[i / 64]}, and changes
+     *     made through the list are visible in the array and vice versa. Bits of the array past
+     *     {@code bitLength} are cleared. If the list grows beyond the length of the array, it moves
+     *     to a larger copy and stops sharing its storage with the array. {@link BitList#freeze()} copies
+     *     the array, so that later writes to it don't show in the frozen list. </p>
+     * 
+     * @see #fromLongs(long[], int)
+     * 
+     * @param words the words to wrap
+     * @param bitLength the number of bits of the resulting {@link BitList}
+     * 
+     * @throws IllegalArgumentException if the length is out of range
+     *         ({@code bitLength < 0 || bitLength > 64 * words.length})
+     * 
+     * @return a {@link BitList} backed by the array
+     */
+    public static BitList wrapLongs(long[] words, int bitLength) {
+        checkBitLength(bitLength, (long) words.length * Long.SIZE);
+        return new BitList(LongArrayBitField.wrap(words), bitLength);
+    }
+
+    /**
+     * Views the remaining bytes of a {@link ByteBuffer} as a {@link BitList} of the given length, without copying them.
+     * 
+     * <p> Bytes between the position and the limit of the buffer are laid out as in {@code fromBytes}, and changes 
+     *     made through the list are visible in the buffer and vice versa. Bits of the buffer past {@code bitLength} 
+     *     are cleared. The position, limit and byte order of the buffer are left untouched. </p>
+     * 
+     * <p> The list can grow up to the capacity of the buffer, adding bits beyond it throws {@link IllegalStateException}.
+     *     Direct and memory-mapped buffers are supported, in which case the bits never live on the heap. </p>
+     * 
+     * @see #fromByteBuffer(ByteBuffer)
+     * 
+     * @param buffer the buffer to wrap
+     * @param bitLength the number of bits of the resulting {@link BitList}
+     * 
+     * @throws IllegalArgumentException if the length is out of range
+     *         ({@code bitLength < 0 || bitLength > 8 * buffer.remaining()})
+     * 
+     * @return a {@link BitList} backed by the buffer
+     */
+    public static BitList wrapByteBuffer(ByteBuffer buffer, int bitLength) {
+        checkBitLength(bitLength, (long) buffer.remaining() * Byte.SIZE);
+        return new BitList(new ByteBufferBitField(buffer), bitLength);
+    }
+
+    // Makes sure that the bits of the given number of bytes can be indexed by an int
+    private static void checkByteCount(int byteCount) {
+        if (byteCount > Integer.MAX_VALUE / Byte.SIZE) {
+            throw new IllegalArgumentException("Can't convert more than Integer.MAX_VALUE bits");
+        }
+    }
+
+    // Makes sure that the given number of bits fits in the given capacity
+    private static void checkBitLength(int bitLength, long bitCapacity) {
+        if (bitLength < 0 || bitLength > bitCapacity) {
+            throw new IllegalArgumentException("The bit length must be between zero and the number of bits available");
         }
-        return bitList;
     }
 
     /**
@@ -114,11 +364,7 @@ public final class BitListConversions {
      */
     public static byte asByte(BitList bitList) {
         assert bitList.size() == 8;
-        long[] longArray = bitList.getBitField().getBitSet().toLongArray();
-        if (longArray.length == 0) {
-            return 0;
-        }
-        return (byte)longArray[0];
+        return (byte)bitList.getBitField().getWord(0);
     }
 
     /**
@@ -136,11 +382,7 @@ public final class BitListConversions {
      */
     public static int asInt(BitList bitList) {
         assert bitList.size() == 32;
-        long[] longArray = bitList.getBitField().getBitSet().toLongArray();
-        if (longArray.length == 0) {
-            return 0;
-        }
-        return (int)longArray[0];
+        return (int)bitList.getBitField().getWord(0);
     }
 
     /**
@@ -158,11 +400,93 @@ public final class BitListConversions {
      */
     public static long asLong(BitList bitList) {
         assert bitList.size() == 64;
-        long[] longArray = bitList.getBitField().getBitSet().toLongArray();
-        if (longArray.length == 0) {
-            return 0;
+        return bitList.getBitField().getWord(0);
+    }
+
+    /**
+     * Converts a {@link BitList} to an array of bytes.
+     * 
+     * <p> The resulting array has one byte for every eight bits of the list, plus one if some bits are left over,
+     *     in which case they are stored in the least significant positions of the last byte. </p>
+     * 
+     * <p> It will be possible to convert resulting array back to a {@link BitList}
+     *     using the {@code fromBytes} method </p>
+     * 
+     * @see #fromBytes(byte[])
+     * 
+     * @param bitList the {@link BitList} to convert
+     * @return the bytes represented by the list
+     */
+    public static byte[] asBytes(BitList bitList) {
+        BitField bitField = bitList.getBitField();
+        byte[] bytes = new byte[(bitList.size() + Byte.SIZE - 1) / Byte.SIZE];
+        int fullWords = bytes.length / Long.BYTES;
+        for (int i = 0; i < fullWords; i++) {
+            LONG_VIEW.set(bytes, i * Long.BYTES, bitField.getWord(i));
+        }
+        long lastWord = bitField.getWord(fullWords);
+        for (int i = fullWords * Long.BYTES; i < bytes.length; i++) {
+            bytes[i] = (byte) (lastWord >>> ((i - fullWords * Long.BYTES) * Byte.SIZE));
+        }
+        return bytes;
+    }
+
+    /**
+     * Converts a {@link BitList} to an array of words.
+     * 
+     * <p> Bit i of the list ends up in bit (i % 64) of word (i / 64), the unused bits of the last word are zero. </p>
+     * 
+     * <p> It will be possible to convert resulting array back to a {@link BitList}
+     *     using the {@code fromLongs} method </p>
+     * 
+     * @see #fromLongs(long[], int)
+     * 
+     * @param bitList the {@link BitList} to convert
+     * @return the words represented by the list
+     */
+    public static long[] asLongs(BitList bitList) {
+        BitField bitField = bitList.getBitField();
+        long[] words = new long[BitField.wordsFor(bitList.size())];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = bitField.getWord(i);
         }
-        return longArray[0];
+        return words;
+    }
+
+    /**
+     * Writes the bits of a {@link BitList} to a {@link ByteBuffer}.
+     * 
+     * <p> The bytes are laid out as in {@code asBytes} and written at the position of the buffer, 
+     *     which is then advanced, as a relative bulk put would do. </p>
+     * 
+     * @see #asBytes(BitList)
+     * @see #fromByteBuffer(ByteBuffer)
+     * 
+     * @param bitList the {@link BitList} to write
+     * @param buffer the buffer to write to
+     * 
+     * @throws BufferOverflowException if there is not enough space remaining in the buffer
+     * @throws ReadOnlyBufferException if the buffer is read-only
+     */
+    public static void writeTo(BitList bitList, ByteBuffer buffer) {
+        BitField bitField = bitList.getBitField();
+        int byteCount = (bitList.size() + Byte.SIZE - 1) / Byte.SIZE;
+        if (buffer.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        if (buffer.remaining() < byteCount) {
+            throw new BufferOverflowException();
+        }
+        ByteBuffer littleEndian = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        int fullWords = byteCount / Long.BYTES;
+        for (int i = 0; i < fullWords; i++) {
+            littleEndian.putLong(i * Long.BYTES, bitField.getWord(i));
+        }
+        long lastWord = bitField.getWord(fullWords);
+        for (int i = fullWords * Long.BYTES; i < byteCount; i++) {
+            littleEndian.put(i, (byte) (lastWord >>> ((i - fullWords * Long.BYTES) * Byte.SIZE)));
+        }
+        buffer.position(buffer.position() + byteCount);
     }
 
     /**
@@ -175,20 +499,107 @@ public final class BitListConversions {
      *     to convert it back to a {@link io.github.fdero.bits4j.core.BitList} using the 
      *     {@code fromBinaryString} method </p>
      * 
+     * <p> The characters are written eight at a time, looked up in a table for every byte of the list. </p>
+     * 
      * @see #fromBinaryString(String)
      * 
      * @param bitList the {@link io.github.fdero.bits4j.core.BitList} to convert
      * @return the binary-string-representation by the list
      */
     public static String asBinaryString(BitList bitList) {
-        StringBuilder sb = new StringBuilder();
-        for (BitValue bitValue : bitList) {
-            switch (bitValue) {
-                case ZERO -> sb.append("0");
-                case ONE -> sb.append("1");
-                case null -> throw new IllegalStateException();
+        BitField bitField = bitList.getBitField();
+        int size = bitList.size();
+        byte[] characters = new byte[size];
+        int fullBytes = size / Byte.SIZE;
+        long word = 0;
+        for (int byteIndex = 0; byteIndex < fullBytes; byteIndex++) {
+            int byteOffset = byteIndex & (Long.BYTES - 1);
+            if (byteOffset == 0) {
+                word = bitField.getWord(byteIndex / Long.BYTES);
             }
+            LONG_VIEW.set(characters, byteIndex * Byte.SIZE, BINARY_DIGITS[(int) (word >>> (byteOffset * Byte.SIZE)) & 0xFF]);
+        }
+        for (int index = fullBytes * Byte.SIZE; index < size; index++) {
+            characters[index] = bitField.getBit(index) ? (byte) '1' : (byte) '0';
+        }
+        return new String(characters, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Converts a {@link BitList} to a hexadecimal string.
+     * 
+     * <p> Every byte of {@code asBytes} is written as two lowercase digits, the most significant digit first.
+     *     If the size of the list is not a multiple of eight, the last byte is padded with zeros. </p>
+     * 
+     * <p> The digits are written two at a time, looked up in a table for every byte of the list. </p>
+     * 
+     * @see #fromHexString(String)
+     * @see #asBytes(BitList)
+     * 
+     * @param bitList the {@link BitList} to convert
+     * @return the hexadecimal representation of the list
+     */
+    public static String asHexString(BitList bitList) {
+        BitField bitField = bitList.getBitField();
+        int byteCount = (bitList.size() + Byte.SIZE - 1) / Byte.SIZE;
+        byte[] characters = new byte[2 * byteCount];
+        long word = 0;
+        for (int byteIndex = 0; byteIndex < byteCount; byteIndex++) {
+            int byteOffset = byteIndex & (Long.BYTES - 1);
+            if (byteOffset == 0) {
+                word = bitField.getWord(byteIndex / Long.BYTES);
+            }
+            SHORT_VIEW.set(characters, 2 * byteIndex, HEX_DIGITS[(int) (word >>> (byteOffset * Byte.SIZE)) & 0xFF]);
+        }
+        return new String(characters, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Converts a {@link BitList} to a Base64 string, in the basic alphabet of {@link Base64#getEncoder()}.
+     * 
+     * <p> The encoded bytes are the ones of {@code asBytes}, hence the last byte is padded with zeros
+     *     if the size of the list is not a multiple of eight. </p>
+     * 
+     * @see #fromBase64String(String)
+     * @see #asBytes(BitList)
+     * 
+     * @param bitList the {@link BitList} to convert
+     * @return the Base64 representation of the list
+     */
+    public static String asBase64String(BitList bitList) {
+        return Base64.getEncoder().encodeToString(asBytes(bitList));
+    }
+
+    // Spells out every byte in binary, one Latin-1 character per bit
+    private static long[] binaryDigits() {
+        long[] digits = new long[256];
+        for (int byteValue = 0; byteValue < 256; byteValue++) {
+            for (int bit = 0; bit < Byte.SIZE; bit++) {
+                long digit = ((byteValue >>> bit) & 1) != 0 ? '1' : '0';
+                digits[byteValue] |= digit << (bit * Byte.SIZE);
+            }
+        }
+        return digits;
+    }
+
+    // Spells out every byte in hexadecimal, one Latin-1 character per digit
+    private static short[] hexDigits() {
+        byte[] alphabet = "0123456789abcdef".getBytes(StandardCharsets.ISO_8859_1);
+        short[] digits = new short[256];
+        for (int byteValue = 0; byteValue < 256; byteValue++) {
+            digits[byteValue] = (short) (alphabet[byteValue >>> 4] | alphabet[byteValue & 0xF] << Byte.SIZE);
+        }
+        return digits;
+    }
+
+    // Maps every Latin-1 character to its value as a hexadecimal digit
+    private static byte[] hexValues() {
+        byte[] values = new byte[256];
+        Arrays.fill(values, (byte) -1);
+        for (int digit = 0; digit < 16; digit++) {
+            values[Character.forDigit(digit, 16)] = (byte) digit;
+            values[Character.toUpperCase(Character.forDigit(digit, 16))] = (byte) digit;
         }
-        return sb.toString();
+        return values;
     }
 }
\ No newline at end of file
@@ -0,0 +1,316 @@
+package io.github.fdero.bits4j.core;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A class that provides static methods to combine {@link BitList} with bitwise operations.
+ *
+ * <p> Every method returns a new list and leaves its arguments untouched; the in-place versions are
+ *     {@link BitList#and(BitList)}, {@link BitList#or(BitList)}, {@link BitList#xor(BitList)},
+ *     {@link BitList#andNot(BitList)} and {@link BitList#not()}. When two lists of different sizes are
+ *     combined, the shorter one is considered padded with zeros and the result has the size of the
+ *     longer one. </p>
+ *
+ * <p> The operations work sixty-four bits at a time. Lists with more bits than the parallel threshold
+ *     are split into word-aligned chunks that are processed by the common {@link ForkJoinPool}. </p>
+ *
+ * <p> On heap lists, the bitwise operations, {@link BitList#cardinality()} and {@link #hammingDistance(BitList, BitList)}
+ *     process several words per instruction with the incubating Vector API when the JVM is started with
+ *     {@code --add-modules jdk.incubator.vector}, and fall back to plain loops otherwise. The two paths can be
+ *     switched at runtime with {@link #setVectorApiEnabled(boolean)}. </p>
+ *
+ * @see io.github.fdero.bits4j.core.BitList
+ */
+public final class BitListOperations {
+
+    // The default number of bits past which operations run in parallel
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 22;
+
+    // The number of words processed by each parallel task, a multiple of a cache line
+    private static final int WORDS_PER_TASK = 1 << 13;
+
+    // The system property that disables the Vector API kernel when set to false
+    private static final String VECTOR_API_PROPERTY = "bits4j.vectorApi";
+
+    // The kernel made of plain loops, always available
+    private static final WordKernel SCALAR_KERNEL = new ScalarWordKernel();
+
+    // The kernel based on the Vector API, or null if the jdk.incubator.vector module is not available
+    private static final WordKernel VECTOR_KERNEL = loadVectorKernel();
+
+    // The number of bits past which operations run in parallel
+    private static volatile int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    // The kernel used by array-backed lists
+    private static volatile WordKernel kernel =
+        VECTOR_KERNEL != null && Boolean.parseBoolean(System.getProperty(VECTOR_API_PROPERTY, "true")) ? VECTOR_KERNEL : SCALAR_KERNEL;
+
+    /**
+     * This class should not be instantiated. It only provides static methods.
+     */
+    private BitListOperations() {
+        throw new AssertionError("This class should not be instantiated");
+    }
+
+    /**
+     * Returns the number of bits past which bitwise operations are split across the common {@link ForkJoinPool}.
+     *
+     * @return the current parallel threshold, in bits
+     */
+    public static int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Sets the number of bits past which bitwise operations are split across the common {@link ForkJoinPool}.
+     *
+     * <p> The threshold applies to every later operation, in every thread. Use {@link Integer#MAX_VALUE}
+     *     to always run sequentially. </p>
+     *
+     * @param bitCount the new parallel threshold, in bits
+     *
+     * @throws IllegalArgumentException if the threshold is negative
+     *         ({@code bitCount < 0})
+     */
+    public static void setParallelThreshold(int bitCount) {
+        if (bitCount < 0) {
+            throw new IllegalArgumentException("Can't set a negative parallel threshold");
+        }
+        parallelThreshold = bitCount;
+    }
+
+    /**
+     * Returns {@code true} if the Vector API kernels can be used, that is if the {@code jdk.incubator.vector}
+     * module has been added to the JVM ({@code --add-modules jdk.incubator.vector}).
+     *
+     * @return {@code true} if the Vector API is available
+     */
+    public static boolean isVectorApiAvailable() {
+        return VECTOR_KERNEL != null;
+    }
+
+    /**
+     * Returns {@code true} if the bitwise operations and the population counts of heap lists are performed
+     * with the Vector API, instead of plain loops.
+     *
+     * <p> The Vector API is enabled by default when it's available, unless the {@code bits4j.vectorApi}
+     *     system property is set to {@code false}. </p>
+     *
+     * @return {@code true} if the Vector API kernels are in use
+     */
+    public static boolean isVectorApiEnabled() {
+        return kernel == VECTOR_KERNEL;
+    }
+
+    /**
+     * Chooses between the Vector API kernels and plain loops, for every later operation in every thread.
+     *
+     * @param enabled {@code true} to use the Vector API, {@code false} to use plain loops
+     *
+     * @throws IllegalStateException if the Vector API is requested but not available
+     *         ({@code enabled && !isVectorApiAvailable()})
+     */
+    public static void setVectorApiEnabled(boolean enabled) {
+        if (enabled && VECTOR_KERNEL == null) {
+            throw new IllegalStateException("Can't enable the Vector API, the jdk.incubator.vector module is not available");
+        }
+        kernel = enabled ? VECTOR_KERNEL : SCALAR_KERNEL;
+    }
+
+    /**
+     * Returns the number of positions where the two lists differ.
+     *
+     * <p> The shorter list is considered padded with zeros. </p>
+     *
+     * @param left the first list
+     * @param right the second list
+     *
+     * @return the number of bits that differ between the two lists
+     */
+    public static int hammingDistance(BitList left, BitList right) {
+        int wordCount = BitField.wordsFor(Math.max(left.size(), right.size()));
+        return left.getBitField().hammingDistance(right.getBitField(), wordCount);
+    }
+
+    /**
+     * Returns a new list with the ones that are in both lists.
+     *
+     * @param left the first list
+     * @param right the second list
+     *
+     * @return a new list, of the size of the longer argument
+     */
+    public static BitList and(BitList left, BitList right) {
+        BitList result = copyOf(left);
+        result.and(right);
+        return result;
+    }
+
+    /**
+     * Returns a new list with the ones that are in any of the two lists.
+     *
+     * @param left the first list
+     * @param right the second list
+     *
+     * @return a new list, of the size of the longer argument
+     */
+    public static BitList or(BitList left, BitList right) {
+        BitList result = copyOf(left);
+        result.or(right);
+        return result;
+    }
+
+    /**
+     * Returns a new list with the ones that are in exactly one of the two lists.
+     *
+     * @param left the first list
+     * @param right the second list
+     *
+     * @return a new list, of the size of the longer argument
+     */
+    public static BitList xor(BitList left, BitList right) {
+        BitList result = copyOf(left);
+        result.xor(right);
+        return result;
+    }
+
+    /**
+     * Returns a new list with the ones of the first list that are not in the second one.
+     *
+     * @param left the list whose ones are kept
+     * @param right the list whose ones are removed
+     *
+     * @return a new list, of the size of the longer argument
+     */
+    public static BitList andNot(BitList left, BitList right) {
+        BitList result = copyOf(left);
+        result.andNot(right);
+        return result;
+    }
+
+    /**
+     * Returns a new list where every bit of the given list is flipped.
+     *
+     * @param bitList the list to negate
+     *
+     * @return a new list of the same size
+     */
+    public static BitList not(BitList bitList) {
+        BitList result = copyOf(bitList);
+        result.not();
+        return result;
+    }
+
+    // Copies a list, keeping it compressed if it is
+    private static BitList copyOf(BitList bitList) {
+        if (bitList instanceof CompressedBitList) {
+            return new CompressedBitList(bitList);
+        }
+        BitList copy = new BitList();
+        copy.addAll(bitList);
+        return copy;
+    }
+
+    /**
+     * Combines the first {@code wordCount} words of {@code target} with those of {@code source},
+     * in parallel if they are past the threshold and both fields allow it.
+     */
+    static void combineWords(BitField target, BitField source, BitwiseOperation operation, int wordCount) {
+        if (isParallel(target, source, wordCount)) {
+            ForkJoinPool.commonPool().invoke(new WordTask(target, source, operation, 0, wordCount));
+        }
+        else {
+            target.combineWords(source, operation, 0, wordCount);
+        }
+    }
+
+    /**
+     * Flips the first {@code wordCount} words of {@code target}, in parallel if they are past the threshold
+     * and the field allows it.
+     */
+    static void flipWords(BitField target, int wordCount) {
+        if (isParallel(target, target, wordCount)) {
+            ForkJoinPool.commonPool().invoke(new WordTask(target, null, null, 0, wordCount));
+        }
+        else {
+            target.flipWords(0, wordCount);
+        }
+    }
+
+    /**
+     * Returns the kernel that array-backed fields must use for their bulk loops.
+     */
+    static WordKernel kernel() {
+        return kernel;
+    }
+
+    // Instantiates the Vector API kernel reflectively, since its class can't even be loaded without the incubator module
+    private static WordKernel loadVectorKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (WordKernel) Class.forName("io.github.fdero.bits4j.core.VectorWordKernel").getDeclaredConstructor().newInstance();
+        }
+        catch (ReflectiveOperationException | LinkageError exception) {
+            return null;
+        }
+    }
+
+    private static boolean isParallel(BitField target, BitField source, int wordCount) {
+        return (long) wordCount * BitField.BITS_PER_WORD > parallelThreshold
+            && wordCount > WORDS_PER_TASK
+            && target.supportsParallelAccess()
+            && source.supportsParallelAccess();
+    }
+
+    // Applies an operation to a range of words, splitting it in halves until each half is small enough
+    @SuppressWarnings("serial")
+    private static final class WordTask extends RecursiveAction {
+
+        // The field that is modified
+        private final BitField target;
+
+        // The right operand, or null to flip the words of the target
+        private final BitField source;
+
+        // The operation to apply, or null to flip the words of the target
+        private final BitwiseOperation operation;
+
+        // The first word of the range
+        private final int fromWord;
+
+        // The word after the last one of the range
+        private final int toWord;
+
+        WordTask(BitField target, BitField source, BitwiseOperation operation, int fromWord, int toWord) {
+            this.target = target;
+            this.source = source;
+            this.operation = operation;
+            this.fromWord = fromWord;
+            this.toWord = toWord;
+        }
+
+        @Override
+        protected void compute() {
+            if (toWord - fromWord <= WORDS_PER_TASK) {
+                if (operation == null) {
+                    target.flipWords(fromWord, toWord);
+                }
+                else {
+                    target.combineWords(source, operation, fromWord, toWord);
+                }
+                return;
+            }
+            int middle = fromWord + ((toWord - fromWord) / 2 & -WORDS_PER_TASK);
+            if (middle == fromWord) {
+                middle += WORDS_PER_TASK;
+            }
+            invokeAll(
+                new WordTask(target, source, operation, fromWord, middle),
+                new WordTask(target, source, operation, middle, toWord)
+            );
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package io.github.fdero.bits4j.core;
+
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+
+/**
+ * A view of a range of another {@link BitList}, as returned by {@link BitList#subList(int, int)}.
+ *
+ * <p> The bits are read and written in the storage of the backed list, sixty-four at a time, shifted by the
+ *     offset of the range. Bits inserted or removed are inserted into or removed from the backed list, which
+ *     keeps the view valid; any other insertion or removal in the backed list invalidates the view. </p>
+ */
+final class BitListSlice extends BitList {
+
+    // The list this view is backed by
+    private final BitList parent;
+
+    // The storage of this view, which maps it onto the storage of the backed list
+    private final SliceBitField storage;
+
+    /**
+     * Constructs a new view of {@code length} bits of the given list, starting at {@code offset}.
+     *
+     * @param parent the list the view is backed by
+     * @param offset the index in the backed list of the first bit of the view
+     * @param length the number of bits of the view
+     */
+    BitListSlice(BitList parent, int offset, int length) {
+        this(parent, new SliceBitField(parent, offset, length));
+    }
+
+    private BitListSlice(BitList parent, SliceBitField storage) {
+        super(storage, storage.length);
+        this.parent = parent;
+        this.storage = storage;
+    }
+
+    /**
+     * Returns the number of bits in this view.
+     *
+     * @throws ConcurrentModificationException if the backed list has been structurally modified other than through this view
+     *
+     * @return the number of bits in this view
+     */
+    @Override
+    public int size() {
+        storage.checkForComodification();
+        return super.size();
+    }
+
+    /**
+     * Makes room for the bits of the other list by appending zeros to this view, then combines them.
+     */
+    @Override
+    void combine(BitList other, BitwiseOperation operation) {
+        resize(Math.max(size(), other.size()));
+        super.combine(other, operation);
+    }
+
+    /**
+     * Appends zeros to this view or removes its last bits, through the backed list.
+     */
+    @Override
+    void resize(int newSize) {
+        int size = size();
+        if (newSize > size) {
+            parent.addAll(storage.offset + size, new BitList(new LongArrayBitField(), newSize - size));
+            structurallyModified(newSize);
+        }
+        else if (newSize < size) {
+            removeRange(newSize, size);
+        }
+        else {
+            markModified();
+        }
+    }
+
+    @Override
+    public boolean addBit(boolean value) {
+        add(size(), value ? BitValue.ONE : BitValue.ZERO);
+        return true;
+    }
+
+    @Override
+    public void addBits(long bits, int count) {
+        BitList appended = new BitList();
+        appended.addBits(bits, count);
+        addAll(size(), appended);
+    }
+
+    @Override
+    public void add(int index, BitValue bitValue) {
+        int size = size();
+        Objects.checkIndex(index, size + 1);
+        parent.add(storage.offset + index, bitValue);
+        structurallyModified(size + 1);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends BitValue> bitValues) {
+        return addAll(size(), bitValues);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends BitValue> bitValues) {
+        int size = size();
+        Objects.checkIndex(index, size + 1);
+        int parentSize = parent.size();
+        boolean modified = parent.addAll(storage.offset + index, bitValues);
+        if (modified) {
+            structurallyModified(size + parent.size() - parentSize);
+        }
+        return modified;
+    }
+
+    @Override
+    public BitValue remove(int index) {
+        int size = size();
+        Objects.checkIndex(index, size);
+        BitValue removedValue = parent.remove(storage.offset + index);
+        structurallyModified(size - 1);
+        return removedValue;
+    }
+
+    @Override
+    public BitValue removeLast() {
+        return remove(size() - 1);
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        int size = size();
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        if (fromIndex == toIndex) {
+            return;
+        }
+        parent.removeRange(storage.offset + fromIndex, storage.offset + toIndex);
+        structurallyModified(size - (toIndex - fromIndex));
+    }
+
+    @Override
+    public void clear() {
+        removeRange(0, size());
+    }
+
+    // Catches up with a structural modification made through the backed list on behalf of this view
+    private void structurallyModified(int newSize) {
+        storage.length = newSize;
+        storage.expectedModCount = parent.structuralModCount();
+        setSize(newSize);
+    }
+
+    // Maps the words of the view onto the bits of the backed list, checking that it has not been modified meanwhile
+    private static final class SliceBitField extends BitField {
+
+        // The list this view is backed by
+        private final BitList parent;
+
+        // The storage of the backed list
+        private final BitField parentField;
+
+        // The index in the backed list of the first bit of the view
+        private final int offset;
+
+        // The number of bits of the view
+        private int length;
+
+        // The structural modification count of the backed list after the last change made through the view
+        private int expectedModCount;
+
+        SliceBitField(BitList parent, int offset, int length) {
+            this.parent = parent;
+            this.parentField = parent.getBitField();
+            this.offset = offset;
+            this.length = length;
+            this.expectedModCount = parent.structuralModCount();
+        }
+
+        void checkForComodification() {
+            if (parent.structuralModCount() != expectedModCount) {
+                throw new ConcurrentModificationException("Can't use a view of a BitList that has been structurally modified other than through the view");
+            }
+        }
+
+        @Override
+        long getWord(int wordIndex) {
+            return getBits((int) Math.min((long) wordIndex * BITS_PER_WORD, Integer.MAX_VALUE), BITS_PER_WORD);
+        }
+
+        @Override
+        void setWord(int wordIndex, long word) {
+            long from = (long) wordIndex * BITS_PER_WORD;
+            if (from < length) {
+                setBits((int) from, (int) Math.min(BITS_PER_WORD, length - from), word);
+            }
+        }
+
+        @Override
+        int wordCount() {
+            return wordsFor(length);
+        }
+
+        @Override
+        void ensureCapacity(int bitCount) {
+            if (bitCount > length) {
+                throw new IllegalStateException("Can't write past the end of a view of a BitList");
+            }
+        }
+
+        @Override
+        boolean getBit(int index) {
+            return getBits(index, 1) != 0;
+        }
+
+        @Override
+        void setBit(int index, boolean value) {
+            setBits(index, 1, value ? 1L : 0L);
+        }
+
+        /**
+         * Reads the bits from the backed list, the bits past the end of the view read as zero.
+         */
+        @Override
+        long getBits(int from, int count) {
+            checkForComodification();
+            int available = length - from;
+            if (available <= 0) {
+                return 0L;
+            }
+            return parentField.getBits(offset + from, Math.min(count, available));
+        }
+
+        /**
+         * Writes the bits to the backed list, which records the modification.
+         */
+        @Override
+        void setBits(int from, int count, long value) {
+            checkForComodification();
+            ensureCapacity(from + count);
+            parent.markModified();
+            parentField.setBits(offset + from, count, value);
+        }
+
+        /**
+         * Returns {@code false}, since the words of an unaligned view share the words of the backed list.
+         */
+        @Override
+        boolean supportsParallelAccess() {
+            return false;
+        }
+    }
+}
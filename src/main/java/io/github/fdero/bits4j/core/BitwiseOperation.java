@@ -0,0 +1,61 @@
+package io.github.fdero.bits4j.core;
+
+/**
+ * The binary bitwise operations that can combine two bit fields, word by word.
+ */
+enum BitwiseOperation {
+
+    AND {
+        @Override
+        long apply(long left, long right) {
+            return left & right;
+        }
+    },
+
+    OR {
+        @Override
+        long apply(long left, long right) {
+            return left | right;
+        }
+    },
+
+    XOR {
+        @Override
+        long apply(long left, long right) {
+            return left ^ right;
+        }
+    },
+
+    AND_NOT {
+        @Override
+        long apply(long left, long right) {
+            return left & ~right;
+        }
+    };
+
+    /**
+     * Combines a word of the left operand with the corresponding word of the right operand.
+     */
+    abstract long apply(long left, long right);
+
+    /**
+     * Returns {@code true} if a bit set only in the left operand is set in the result.
+     */
+    boolean keepsLeft() {
+        return apply(1L, 0L) != 0;
+    }
+
+    /**
+     * Returns {@code true} if a bit set only in the right operand is set in the result.
+     */
+    boolean keepsRight() {
+        return apply(0L, 1L) != 0;
+    }
+
+    /**
+     * Returns {@code true} if a bit set in both operands is set in the result.
+     */
+    boolean keepsBoth() {
+        return apply(1L, 1L) != 0;
+    }
+}
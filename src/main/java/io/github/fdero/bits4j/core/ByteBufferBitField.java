@@ -0,0 +1,133 @@
+package io.github.fdero.bits4j.core;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A {@link BitField} that stores its words in a {@link ByteBuffer}, whose capacity is fixed unless
+ * a subclass knows how to provide a larger buffer through {@link #grow(int)}.
+ *
+ * <p> Byte i of the buffer holds bits 8i to 8i+7, the lowest index in the least significant position,
+ *     hence words are read and written as little-endian longs. The buffer may be heap, direct or
+ *     memory-mapped, and it is never copied. </p>
+ */
+class ByteBufferBitField extends BitField {
+
+    // The buffer that stores the bits, starting at index zero and in little-endian order (null once released)
+    private ByteBuffer buffer;
+
+    // The number of bytes of the buffer that are used as storage
+    private int byteCapacity;
+
+    /**
+     * Uses the bytes between the position and the limit of the given buffer as storage.
+     *
+     * <p> Neither the position, the limit nor the byte order of the given buffer are changed. </p>
+     */
+    ByteBufferBitField(ByteBuffer buffer) {
+        replaceStorage(buffer);
+    }
+
+    /**
+     * Switches to the bytes between the position and the limit of the given buffer as storage.
+     *
+     * <p> The content of the previous storage is not copied, callers must make sure that the new buffer already holds it. </p>
+     */
+    final void replaceStorage(ByteBuffer buffer) {
+        this.buffer = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        this.byteCapacity = this.buffer.remaining();
+    }
+
+    @Override
+    long getWord(int wordIndex) {
+        ByteBuffer buffer = storage();
+        int byteIndex = wordIndex << 3;
+        if (byteIndex + Long.BYTES <= byteCapacity) {
+            return buffer.getLong(byteIndex);
+        }
+        long word = 0L;
+        for (int i = byteIndex; i < byteCapacity; i++) {
+            word |= (buffer.get(i) & 0xFFL) << ((i - byteIndex) * Byte.SIZE);
+        }
+        return word;
+    }
+
+    @Override
+    void setWord(int wordIndex, long word) {
+        ByteBuffer buffer = storage();
+        int byteIndex = wordIndex << 3;
+        if (byteIndex + Long.BYTES <= byteCapacity) {
+            buffer.putLong(byteIndex, word);
+            return;
+        }
+        for (int i = byteIndex; i < byteIndex + Long.BYTES; i++) {
+            byte byteValue = (byte) (word >>> ((i - byteIndex) * Byte.SIZE));
+            if (i < byteCapacity) {
+                buffer.put(i, byteValue);
+            }
+            else if (byteValue != 0) {
+                throw capacityExceeded();
+            }
+        }
+    }
+
+    @Override
+    int wordCount() {
+        return (byteCapacity + Long.BYTES - 1) / Long.BYTES;
+    }
+
+    @Override
+    final void ensureCapacity(int bitCount) {
+        if (bitCount > bitCapacity()) {
+            grow(bitCount);
+        }
+    }
+
+    /**
+     * Called when the storage is too small to hold {@code bitCount} bits, by default it fails since
+     * the capacity of a plain buffer can't change.
+     *
+     * @throws IllegalStateException if the storage can't grow
+     */
+    void grow(int bitCount) {
+        throw capacityExceeded();
+    }
+
+    /**
+     * Returns the number of bits this field can hold.
+     */
+    long bitCapacity() {
+        return (long) byteCapacity * Byte.SIZE;
+    }
+
+    /**
+     * Returns the buffer used as storage.
+     *
+     * @throws IllegalStateException if the storage has been released
+     */
+    ByteBuffer storage() {
+        ByteBuffer storage = buffer;
+        if (storage == null) {
+            throw new IllegalStateException("The storage of this BitList has been released");
+        }
+        return storage;
+    }
+
+    /**
+     * Detaches the buffer from this field, every later access fails with {@link IllegalStateException}.
+     */
+    void release() {
+        buffer = null;
+    }
+
+    /**
+     * Returns {@code true} if the buffer has been detached from this field.
+     */
+    boolean isReleased() {
+        return buffer == null;
+    }
+
+    static IllegalStateException capacityExceeded() {
+        return new IllegalStateException("Can't grow a BitList beyond the capacity of the buffer backing it");
+    }
+}
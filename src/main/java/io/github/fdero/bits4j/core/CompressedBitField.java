@@ -0,0 +1,801 @@
+package io.github.fdero.bits4j.core;
+
+import java.util.Arrays;
+
+/**
+ * A {@link BitField} that splits the bits into chunks of 65536 and stores each chunk in the most compact
+ * of three containers, as Roaring bitmaps do: a sorted array of the set positions for sparse chunks,
+ * a plain bitmap for dense chunks and a list of runs of ones for chunks made of long runs.
+ *
+ * <p> Chunks without set bits are not stored at all. Writes switch between array and bitmap containers
+ *     as the cardinality of a chunk crosses 4096, while run containers are only produced by {@link #optimize()},
+ *     by {@link #combine(CompressedBitField, BitwiseOperation)} and by {@link #compress(BitField, int)}:
+ *     writing to a run container turns it back into an array or a bitmap. </p>
+ */
+final class CompressedBitField extends BitField {
+
+    // The number of bits in each chunk
+    private static final int CHUNK_BITS = 1 << 16;
+
+    // The shift that converts a bit index into a chunk index
+    private static final int ADDRESS_BITS_PER_CHUNK = 16;
+
+    // The number of words in each chunk
+    private static final int WORDS_PER_CHUNK = CHUNK_BITS / BITS_PER_WORD;
+
+    // The shift that converts a word index into a chunk index
+    private static final int ADDRESS_WORDS_PER_CHUNK = ADDRESS_BITS_PER_CHUNK - ADDRESS_BITS_PER_WORD;
+
+    // The largest cardinality stored in an array container, past it a bitmap container is smaller
+    private static final int ARRAY_MAX_CARDINALITY = 4096;
+
+    // The size in bytes of a bitmap container
+    private static final int BITMAP_BYTES = CHUNK_BITS / Byte.SIZE;
+
+    // The indexes of the stored chunks, in increasing order
+    private int[] keys = new int[0];
+
+    // The containers of the stored chunks, in the same order as their keys
+    private Container[] containers = new Container[0];
+
+    // The number of stored chunks
+    private int chunkCount = 0;
+
+    // The position of the last chunk found, which is checked first to speed up sequential access
+    private int lastPosition = 0;
+
+    /**
+     * Builds a compressed copy of the first {@code wordCount} words of the given field.
+     */
+    static CompressedBitField compress(BitField source, int wordCount) {
+        CompressedBitField field = new CompressedBitField();
+        if (source instanceof CompressedBitField compressed) {
+            for (int position = 0; position < compressed.chunkCount; position++) {
+                if (compressed.keys[position] << ADDRESS_WORDS_PER_CHUNK < wordCount) {
+                    field.insertChunk(field.chunkCount, compressed.keys[position], compressed.containers[position].copy());
+                }
+            }
+            return field;
+        }
+        long[] words = new long[WORDS_PER_CHUNK];
+        for (int firstWord = 0; firstWord < wordCount; firstWord += WORDS_PER_CHUNK) {
+            long any = 0;
+            for (int wordIndex = 0; wordIndex < WORDS_PER_CHUNK; wordIndex++) {
+                words[wordIndex] = firstWord + wordIndex < wordCount ? source.getWord(firstWord + wordIndex) : 0L;
+                any |= words[wordIndex];
+            }
+            if (any != 0) {
+                field.insertChunk(field.chunkCount, firstWord >>> ADDRESS_WORDS_PER_CHUNK, Container.fromWords(words, true));
+                words = new long[WORDS_PER_CHUNK];
+            }
+        }
+        return field;
+    }
+
+    /**
+     * Writes every stored word into the given array, which must be zeroed and large enough to hold the set bits.
+     */
+    void copyWordsTo(long[] target) {
+        for (int position = 0; position < chunkCount; position++) {
+            int firstWord = keys[position] << ADDRESS_WORDS_PER_CHUNK;
+            long[] words = containers[position].toWords();
+            System.arraycopy(words, 0, target, firstWord, Math.min(WORDS_PER_CHUNK, target.length - firstWord));
+        }
+    }
+
+    @Override
+    long getWord(int wordIndex) {
+        int position = find(wordIndex >>> ADDRESS_WORDS_PER_CHUNK);
+        return position < 0 ? 0L : containers[position].getWord(wordIndex & (WORDS_PER_CHUNK - 1));
+    }
+
+    @Override
+    void setWord(int wordIndex, long word) {
+        int key = wordIndex >>> ADDRESS_WORDS_PER_CHUNK;
+        int position = find(key);
+        if (position < 0) {
+            if (word == 0) {
+                return;
+            }
+            position = -position - 1;
+            insertChunk(position, key, new ArrayContainer());
+        }
+        Container container = containers[position].setWord(wordIndex & (WORDS_PER_CHUNK - 1), word);
+        if (container.cardinality() == 0) {
+            removeChunk(position);
+        }
+        else {
+            containers[position] = container;
+        }
+    }
+
+    @Override
+    int wordCount() {
+        return chunkCount == 0 ? 0 : (keys[chunkCount - 1] + 1) << ADDRESS_WORDS_PER_CHUNK;
+    }
+
+    /**
+     * Does nothing, chunks are allocated when their first bit is set.
+     */
+    @Override
+    void ensureCapacity(int bitCount) {
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(containers, 0, chunkCount, null);
+        chunkCount = 0;
+    }
+
+    /**
+     * Drops the chunks that are entirely in the range, and only touches the words of the partially covered ones.
+     */
+    @Override
+    void clearRange(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int lastKey = (to - 1) >>> ADDRESS_BITS_PER_CHUNK;
+        int position = lowerBound(from >>> ADDRESS_BITS_PER_CHUNK);
+        while (position < chunkCount && keys[position] <= lastKey) {
+            long chunkStart = (long) keys[position] << ADDRESS_BITS_PER_CHUNK;
+            int start = (int) Math.max(0, from - chunkStart);
+            int end = (int) Math.min(CHUNK_BITS, to - chunkStart);
+            Container container = containers[position];
+            if (start > 0 || end < CHUNK_BITS) {
+                long[] words = container.toWords();
+                fillWords(words, start, end, false);
+                container = Container.fromWords(words, container instanceof RunContainer);
+            }
+            else {
+                container = null;
+            }
+            if (container == null || container.cardinality() == 0) {
+                removeChunk(position);
+            }
+            else {
+                containers[position] = container;
+                position++;
+            }
+        }
+    }
+
+    /**
+     * Adds up the cardinalities of the containers, only counting word by word in a partially covered chunk.
+     */
+    @Override
+    int cardinality(int wordCount) {
+        int count = 0;
+        for (int position = 0; position < chunkCount; position++) {
+            int firstWord = keys[position] << ADDRESS_WORDS_PER_CHUNK;
+            if (firstWord >= wordCount) {
+                break;
+            }
+            Container container = containers[position];
+            if (wordCount - firstWord >= WORDS_PER_CHUNK) {
+                count += container.cardinality();
+            }
+            else {
+                for (int wordIndex = 0; wordIndex < wordCount - firstWord; wordIndex++) {
+                    count += Long.bitCount(container.getWord(wordIndex));
+                }
+            }
+        }
+        return count;
+    }
+
+    @Override
+    int nextSetBit(int from, int limit) {
+        if (from >= limit) {
+            return -1;
+        }
+        for (int position = lowerBound(from >>> ADDRESS_BITS_PER_CHUNK); position < chunkCount; position++) {
+            int chunkStart = keys[position] << ADDRESS_BITS_PER_CHUNK;
+            int index = containers[position].nextSetBit(Math.max(0, from - chunkStart));
+            if (index >= 0) {
+                index += chunkStart;
+                return index < limit ? index : -1;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    int previousSetBit(int from) {
+        if (from < 0) {
+            return -1;
+        }
+        for (int position = lowerBound((from >>> ADDRESS_BITS_PER_CHUNK) + 1) - 1; position >= 0; position--) {
+            int chunkStart = keys[position] << ADDRESS_BITS_PER_CHUNK;
+            int index = containers[position].previousSetBit(Math.min(CHUNK_BITS - 1, from - chunkStart));
+            if (index >= 0) {
+                return chunkStart + index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Combines this field with another one in place, chunk by chunk: chunks present on a single side
+     * are kept or dropped as a whole, and two arrays are merged without expanding them into words.
+     */
+    void combine(CompressedBitField other, BitwiseOperation operation) {
+        int[] newKeys = new int[chunkCount + other.chunkCount];
+        Container[] newContainers = new Container[chunkCount + other.chunkCount];
+        int newCount = 0;
+        int left = 0;
+        int right = 0;
+        while (left < chunkCount || right < other.chunkCount) {
+            int leftKey = left < chunkCount ? keys[left] : Integer.MAX_VALUE;
+            int rightKey = right < other.chunkCount ? other.keys[right] : Integer.MAX_VALUE;
+            int key = Math.min(leftKey, rightKey);
+            Container result = null;
+            if (leftKey == rightKey) {
+                result = Container.combine(containers[left++], other.containers[right++], operation);
+            }
+            else if (leftKey < rightKey) {
+                result = operation.keepsLeft() ? containers[left] : null;
+                left++;
+            }
+            else {
+                result = operation.keepsRight() ? other.containers[right].copy() : null;
+                right++;
+            }
+            if (result != null && result.cardinality() > 0) {
+                newKeys[newCount] = key;
+                newContainers[newCount++] = result;
+            }
+        }
+        keys = newKeys;
+        containers = newContainers;
+        chunkCount = newCount;
+        lastPosition = 0;
+    }
+
+    /**
+     * Flips the words chunk by chunk, so that a missing chunk turns directly into a single run.
+     */
+    @Override
+    void flipWords(int fromWord, int toWord) {
+        for (int firstWord = fromWord; firstWord < toWord; ) {
+            int key = firstWord >>> ADDRESS_WORDS_PER_CHUNK;
+            int lastWord = Math.min(toWord, (key + 1) << ADDRESS_WORDS_PER_CHUNK);
+            int position = find(key);
+            long[] words = position < 0 ? new long[WORDS_PER_CHUNK] : containers[position].toWords();
+            for (int wordIndex = firstWord; wordIndex < lastWord; wordIndex++) {
+                words[wordIndex & (WORDS_PER_CHUNK - 1)] ^= -1L;
+            }
+            Container container = Container.fromWords(words, true);
+            if (position < 0) {
+                if (container.cardinality() > 0) {
+                    insertChunk(-position - 1, key, container);
+                }
+            }
+            else if (container.cardinality() == 0) {
+                removeChunk(position);
+            }
+            else {
+                containers[position] = container;
+            }
+            firstWord = lastWord;
+        }
+    }
+
+    /**
+     * Returns {@code false}, since writes can move containers around.
+     */
+    @Override
+    boolean supportsParallelAccess() {
+        return false;
+    }
+
+    /**
+     * Stores every chunk in the smallest of the three containers, run containers included.
+     */
+    void optimize() {
+        for (int position = 0; position < chunkCount; position++) {
+            containers[position] = Container.fromWords(containers[position].toWords(), true);
+        }
+    }
+
+    /**
+     * Returns an estimate of the number of bytes used by this field.
+     */
+    long storageSize() {
+        long size = (long) keys.length * Integer.BYTES + (long) containers.length * Long.BYTES;
+        for (int position = 0; position < chunkCount; position++) {
+            size += containers[position].storageSize();
+        }
+        return size;
+    }
+
+    // Returns the position of the chunk with the given key, or (-insertion point - 1) if it's not stored
+    private int find(int key) {
+        if (lastPosition < chunkCount && keys[lastPosition] == key) {
+            return lastPosition;
+        }
+        int position = Arrays.binarySearch(keys, 0, chunkCount, key);
+        if (position >= 0) {
+            lastPosition = position;
+        }
+        return position;
+    }
+
+    // Returns the position of the first chunk whose key is not smaller than the given one
+    private int lowerBound(int key) {
+        int position = Arrays.binarySearch(keys, 0, chunkCount, key);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    private void insertChunk(int position, int key, Container container) {
+        if (chunkCount == keys.length) {
+            int newLength = Math.max(4, 2 * chunkCount);
+            keys = Arrays.copyOf(keys, newLength);
+            containers = Arrays.copyOf(containers, newLength);
+        }
+        System.arraycopy(keys, position, keys, position + 1, chunkCount - position);
+        System.arraycopy(containers, position, containers, position + 1, chunkCount - position);
+        keys[position] = key;
+        containers[position] = container;
+        chunkCount++;
+    }
+
+    private void removeChunk(int position) {
+        System.arraycopy(keys, position + 1, keys, position, chunkCount - position - 1);
+        System.arraycopy(containers, position + 1, containers, position, chunkCount - position - 1);
+        containers[--chunkCount] = null;
+    }
+
+    // Returns the index of the first bit in [from, CHUNK_BITS) which differs from the flip mask, or CHUNK_BITS
+    private static int scan(long[] words, int from, long flip) {
+        if (from >= CHUNK_BITS) {
+            return CHUNK_BITS;
+        }
+        int wordIndex = from >>> ADDRESS_BITS_PER_WORD;
+        long word = (words[wordIndex] ^ flip) & (-1L << from);
+        while (word == 0) {
+            if (++wordIndex == WORDS_PER_CHUNK) {
+                return CHUNK_BITS;
+            }
+            word = words[wordIndex] ^ flip;
+        }
+        return wordIndex * BITS_PER_WORD + Long.numberOfTrailingZeros(word);
+    }
+
+    // Sets (or clears) the bits in [from, to) of the given words
+    private static void fillWords(long[] words, int from, int to, boolean value) {
+        for (int index = from; index < to; ) {
+            int wordIndex = index >>> ADDRESS_BITS_PER_WORD;
+            int end = Math.min(to, (wordIndex + 1) * BITS_PER_WORD);
+            long mask = (-1L >>> (BITS_PER_WORD - (end - index))) << index;
+            words[wordIndex] = value ? words[wordIndex] | mask : words[wordIndex] & ~mask;
+            index = end;
+        }
+    }
+
+    // The storage of a single chunk, whose bits are indexed from 0 to CHUNK_BITS - 1
+    private abstract static class Container {
+
+        abstract long getWord(int wordIndex);
+
+        // Writes a word, returning the container that holds the result, which may be this one or a new one
+        abstract Container setWord(int wordIndex, long word);
+
+        abstract int cardinality();
+
+        // Returns the first set bit at or after from, or -1
+        abstract int nextSetBit(int from);
+
+        // Returns the last set bit at or before from, or -1
+        abstract int previousSetBit(int from);
+
+        // Returns the content of the container as a new array of WORDS_PER_CHUNK words
+        abstract long[] toWords();
+
+        // Returns a container with the same content that doesn't share mutable state with this one
+        abstract Container copy();
+
+        abstract int storageSize();
+
+        boolean contains(int index) {
+            return (getWord(index >>> ADDRESS_BITS_PER_WORD) & (1L << index)) != 0;
+        }
+
+        // Chooses the smallest container for the given words, which are owned by the result from now on
+        static Container fromWords(long[] words, boolean allowRuns) {
+            int cardinality = 0;
+            int runCount = 0;
+            long carry = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+                runCount += Long.bitCount(word & ~((word << 1) | carry));
+                carry = word >>> (BITS_PER_WORD - 1);
+            }
+            if (allowRuns && RunContainer.storageSize(runCount) < Math.min(2 * cardinality, BITMAP_BYTES)) {
+                return RunContainer.fromWords(words, runCount);
+            }
+            if (cardinality <= ARRAY_MAX_CARDINALITY) {
+                return ArrayContainer.fromWords(words, cardinality);
+            }
+            return new BitmapContainer(words, cardinality);
+        }
+
+        static Container combine(Container left, Container right, BitwiseOperation operation) {
+            if (left instanceof ArrayContainer leftArray) {
+                if (right instanceof ArrayContainer rightArray) {
+                    return leftArray.merge(rightArray, operation);
+                }
+                if (!operation.keepsRight()) {
+                    return leftArray.filter(right, operation, true);
+                }
+            }
+            if (right instanceof ArrayContainer rightArray && !operation.keepsLeft()) {
+                return rightArray.filter(left, operation, false);
+            }
+            long[] words = left.toWords();
+            long[] rightWords = right.toWords();
+            for (int wordIndex = 0; wordIndex < WORDS_PER_CHUNK; wordIndex++) {
+                words[wordIndex] = operation.apply(words[wordIndex], rightWords[wordIndex]);
+            }
+            return fromWords(words, left instanceof RunContainer || right instanceof RunContainer);
+        }
+    }
+
+    // Stores the positions of the set bits in increasing order, for chunks with up to ARRAY_MAX_CARDINALITY bits
+    private static final class ArrayContainer extends Container {
+
+        // The positions of the set bits, in increasing order, followed by unused room
+        private char[] values;
+
+        // The number of set bits
+        private int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        static ArrayContainer fromWords(long[] words, int cardinality) {
+            char[] values = new char[cardinality];
+            int count = 0;
+            for (int wordIndex = 0; wordIndex < words.length; wordIndex++) {
+                for (long word = words[wordIndex]; word != 0; word &= word - 1) {
+                    values[count++] = (char) (wordIndex * BITS_PER_WORD + Long.numberOfTrailingZeros(word));
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+
+        // Returns the position of the first value which is not smaller than the given one
+        private int lowerBound(int value) {
+            int low = 0;
+            int high = cardinality;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[middle] < value) {
+                    low = middle + 1;
+                }
+                else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        @Override
+        long getWord(int wordIndex) {
+            int base = wordIndex * BITS_PER_WORD;
+            long word = 0;
+            for (int position = lowerBound(base); position < cardinality && values[position] < base + BITS_PER_WORD; position++) {
+                word |= 1L << values[position];
+            }
+            return word;
+        }
+
+        @Override
+        Container setWord(int wordIndex, long word) {
+            int base = wordIndex * BITS_PER_WORD;
+            int from = lowerBound(base);
+            int to = from;
+            while (to < cardinality && values[to] < base + BITS_PER_WORD) {
+                to++;
+            }
+            int added = Long.bitCount(word);
+            int newCardinality = cardinality - (to - from) + added;
+            if (newCardinality > ARRAY_MAX_CARDINALITY) {
+                return new BitmapContainer(toWords(), cardinality).setWord(wordIndex, word);
+            }
+            if (newCardinality > values.length) {
+                values = Arrays.copyOf(values, Math.max(newCardinality, Math.min(2 * values.length, ARRAY_MAX_CARDINALITY)));
+            }
+            System.arraycopy(values, to, values, from + added, cardinality - to);
+            for (int position = from; word != 0; word &= word - 1) {
+                values[position++] = (char) (base + Long.numberOfTrailingZeros(word));
+            }
+            cardinality = newCardinality;
+            return this;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        int nextSetBit(int from) {
+            int position = lowerBound(from);
+            return position < cardinality ? values[position] : -1;
+        }
+
+        @Override
+        int previousSetBit(int from) {
+            int position = lowerBound(from + 1) - 1;
+            return position >= 0 ? values[position] : -1;
+        }
+
+        @Override
+        long[] toWords() {
+            long[] words = new long[WORDS_PER_CHUNK];
+            for (int position = 0; position < cardinality; position++) {
+                words[values[position] >>> ADDRESS_BITS_PER_WORD] |= 1L << values[position];
+            }
+            return words;
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 1)), cardinality);
+        }
+
+        @Override
+        int storageSize() {
+            return values.length * Character.BYTES;
+        }
+
+        // Merges two sorted arrays, keeping the values the operation keeps
+        Container merge(ArrayContainer other, BitwiseOperation operation) {
+            char[] result = new char[cardinality + other.cardinality];
+            int count = 0;
+            int left = 0;
+            int right = 0;
+            while (left < cardinality && right < other.cardinality) {
+                char leftValue = values[left];
+                char rightValue = other.values[right];
+                if (leftValue < rightValue) {
+                    if (operation.keepsLeft()) {
+                        result[count++] = leftValue;
+                    }
+                    left++;
+                }
+                else if (leftValue > rightValue) {
+                    if (operation.keepsRight()) {
+                        result[count++] = rightValue;
+                    }
+                    right++;
+                }
+                else {
+                    if (operation.keepsBoth()) {
+                        result[count++] = leftValue;
+                    }
+                    left++;
+                    right++;
+                }
+            }
+            if (operation.keepsLeft()) {
+                System.arraycopy(values, left, result, count, cardinality - left);
+                count += cardinality - left;
+            }
+            if (operation.keepsRight()) {
+                System.arraycopy(other.values, right, result, count, other.cardinality - right);
+                count += other.cardinality - right;
+            }
+            ArrayContainer merged = new ArrayContainer(result, count);
+            return count > ARRAY_MAX_CARDINALITY ? new BitmapContainer(merged.toWords(), count) : merged;
+        }
+
+        // Keeps the values of this array for which the operation sets a bit, given the other container
+        Container filter(Container other, BitwiseOperation operation, boolean thisIsLeft) {
+            char[] result = new char[Math.max(cardinality, 1)];
+            int count = 0;
+            for (int position = 0; position < cardinality; position++) {
+                long otherBit = other.contains(values[position]) ? 1L : 0L;
+                long bit = thisIsLeft ? operation.apply(1L, otherBit) : operation.apply(otherBit, 1L);
+                if (bit != 0) {
+                    result[count++] = values[position];
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+    }
+
+    // Stores the chunk as a plain bitmap, for chunks with more than ARRAY_MAX_CARDINALITY bits
+    private static final class BitmapContainer extends Container {
+
+        // The words of the chunk
+        private final long[] words;
+
+        // The number of set bits
+        private int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        long getWord(int wordIndex) {
+            return words[wordIndex];
+        }
+
+        @Override
+        Container setWord(int wordIndex, long word) {
+            cardinality += Long.bitCount(word) - Long.bitCount(words[wordIndex]);
+            words[wordIndex] = word;
+            if (cardinality <= ARRAY_MAX_CARDINALITY) {
+                return ArrayContainer.fromWords(words, cardinality);
+            }
+            return this;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        int nextSetBit(int from) {
+            int index = scan(words, from, 0L);
+            return index < CHUNK_BITS ? index : -1;
+        }
+
+        @Override
+        int previousSetBit(int from) {
+            int wordIndex = from >>> ADDRESS_BITS_PER_WORD;
+            long word = words[wordIndex] & (-1L >>> -(from + 1));
+            while (word == 0) {
+                if (wordIndex-- == 0) {
+                    return -1;
+                }
+                word = words[wordIndex];
+            }
+            return (wordIndex + 1) * BITS_PER_WORD - 1 - Long.numberOfLeadingZeros(word);
+        }
+
+        @Override
+        long[] toWords() {
+            return words.clone();
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        int storageSize() {
+            return BITMAP_BYTES;
+        }
+    }
+
+    // Stores the chunk as a list of runs of set bits, it's never modified in place
+    private static final class RunContainer extends Container {
+
+        // The first position of each run, in increasing order
+        private final char[] starts;
+
+        // The length of each run minus one
+        private final char[] lengths;
+
+        // The number of set bits
+        private final int cardinality;
+
+        private RunContainer(char[] starts, char[] lengths, int cardinality) {
+            this.starts = starts;
+            this.lengths = lengths;
+            this.cardinality = cardinality;
+        }
+
+        static int storageSize(int runCount) {
+            return runCount * 2 * Character.BYTES;
+        }
+
+        static RunContainer fromWords(long[] words, int runCount) {
+            char[] starts = new char[runCount];
+            char[] lengths = new char[runCount];
+            int cardinality = 0;
+            int run = 0;
+            for (int start = scan(words, 0, 0L); start < CHUNK_BITS; start = scan(words, start, 0L)) {
+                int end = scan(words, start, -1L);
+                starts[run] = (char) start;
+                lengths[run++] = (char) (end - start - 1);
+                cardinality += end - start;
+                start = end;
+            }
+            return new RunContainer(starts, lengths, cardinality);
+        }
+
+        // Returns the position of the first run that starts after the given index
+        private int upperBound(int index) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (starts[middle] <= index) {
+                    low = middle + 1;
+                }
+                else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private int end(int run) {
+            return starts[run] + lengths[run];
+        }
+
+        @Override
+        long getWord(int wordIndex) {
+            int base = wordIndex * BITS_PER_WORD;
+            int last = base + BITS_PER_WORD - 1;
+            long word = 0;
+            for (int run = upperBound(last) - 1; run >= 0 && end(run) >= base; run--) {
+                int from = Math.max(starts[run], base) - base;
+                int to = Math.min(end(run), last) - base;
+                word |= (-1L >>> (BITS_PER_WORD - 1 - (to - from))) << from;
+            }
+            return word;
+        }
+
+        @Override
+        Container setWord(int wordIndex, long word) {
+            if (getWord(wordIndex) == word) {
+                return this;
+            }
+            return fromWords(toWords(), false).setWord(wordIndex, word);
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        int nextSetBit(int from) {
+            int run = upperBound(from) - 1;
+            if (run >= 0 && end(run) >= from) {
+                return from;
+            }
+            return run + 1 < starts.length ? starts[run + 1] : -1;
+        }
+
+        @Override
+        int previousSetBit(int from) {
+            int run = upperBound(from) - 1;
+            return run >= 0 ? Math.min(from, end(run)) : -1;
+        }
+
+        @Override
+        long[] toWords() {
+            long[] words = new long[WORDS_PER_CHUNK];
+            for (int run = 0; run < starts.length; run++) {
+                fillWords(words, starts[run], end(run) + 1, true);
+            }
+            return words;
+        }
+
+        @Override
+        Container copy() {
+            return this;
+        }
+
+        @Override
+        int storageSize() {
+            return storageSize(starts.length);
+        }
+    }
+}
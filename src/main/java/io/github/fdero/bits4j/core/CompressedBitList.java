@@ -0,0 +1,90 @@
+package io.github.fdero.bits4j.core;
+
+/**
+ * A {@link BitList} that stores its bits compressed, in the same way as Roaring bitmaps.
+ *
+ * <p> The list is split into chunks of 65536 bits, and each chunk is stored in the smallest of three containers:
+ *     a sorted array of the positions of the ones for sparse chunks, a plain bitmap for dense chunks, and a list
+ *     of runs of ones for chunks made of long runs. Chunks without ones take no space at all, hence very sparse
+ *     lists and lists made of a few long runs take a small fraction of the memory of a {@link BitList}. </p>
+ *
+ * <p> Writes keep the chunks either in an array or in a bitmap, depending on how many ones they hold; run
+ *     containers are chosen by {@link #optimize()}, by the set operations and when compressing an existing
+ *     {@link BitList}. Reading or writing a bit costs a binary search among the chunks, while inserting or
+ *     removing a bit in the middle of the list moves every following bit, as in a {@link BitList}. </p>
+ *
+ * <p> Between two compressed lists, the bitwise operations {@link #and(BitList)}, {@link #or(BitList)},
+ *     {@link #xor(BitList)} and {@link #andNot(BitList)} work chunk by chunk: chunks that are present in only
+ *     one of the two lists are kept or skipped as a whole, and two sparse chunks are merged without expanding
+ *     them. </p>
+ */
+public class CompressedBitList extends BitList {
+
+    // The storage of this list
+    private final CompressedBitField storage;
+
+    /**
+     * Constructs a new empty {@link CompressedBitList}.
+     */
+    public CompressedBitList() {
+        this(new CompressedBitField(), 0);
+    }
+
+    /**
+     * Constructs a new {@link CompressedBitList} with the same bits as the given {@link BitList}.
+     *
+     * @param bitList the list to compress
+     */
+    public CompressedBitList(BitList bitList) {
+        this(CompressedBitField.compress(bitList.getBitField(), BitField.wordsFor(bitList.size())), bitList.size());
+    }
+
+    private CompressedBitList(CompressedBitField storage, int size) {
+        super(storage, size);
+        this.storage = storage;
+    }
+
+    /**
+     * Returns an uncompressed {@link BitList} with the same bits as this list.
+     *
+     * @return a new {@link BitList} equal to this list
+     */
+    public BitList toBitList() {
+        long[] words = new long[BitField.wordsFor(size())];
+        storage.copyWordsTo(words);
+        return new BitList(new LongArrayBitField(words), size());
+    }
+
+    /**
+     * Combines the containers directly when the other list is compressed as well.
+     */
+    @Override
+    void combine(BitList other, BitwiseOperation operation) {
+        if (other instanceof CompressedBitList compressed) {
+            int newSize = Math.max(size(), other.size());
+            storage.combine(compressed.storage, operation);
+            resize(newSize);
+        }
+        else {
+            super.combine(other, operation);
+        }
+    }
+
+    /**
+     * Stores every chunk in the smallest container, turning chunks made of long runs into run containers.
+     *
+     * <p> The content of the list doesn't change. </p>
+     */
+    public void optimize() {
+        storage.optimize();
+    }
+
+    /**
+     * Returns an estimate of the number of bytes used to store the bits of this list.
+     *
+     * @return the approximate size of the storage, in bytes
+     */
+    public long storageSize() {
+        return storage.storageSize();
+    }
+}
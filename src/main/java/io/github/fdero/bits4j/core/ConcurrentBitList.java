@@ -0,0 +1,326 @@
+package io.github.fdero.bits4j.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+
+/**
+ * A fixed-size sequence of bits that many threads can read and update at the same time, without locks.
+ *
+ * <p> Unlike a {@link BitList}, the size is chosen up front and bits are never inserted or removed: every
+ *     bit starts as zero and can only be set or cleared. Each update of a single bit is an atomic operation
+ *     on the sixty-four bit word that holds it, hence threads that touch different bits never lose each
+ *     other's updates. {@link #testAndSet(int)} and {@link #testAndClear(int)} tell which thread changed
+ *     a bit first, which makes this class suitable for shared "seen" or "claimed" flags. </p>
+ *
+ * <p> Updates are attempted only when they would change the bit, so that threads that keep setting bits
+ *     already set only read the shared word. Threads that update bits of different cache lines (512 bits)
+ *     don't slow each other down, while threads that update the same word retry their compare-and-set
+ *     without ever blocking. Every read and update has volatile memory semantics. </p>
+ *
+ * <p> Operations over many words, such as {@link #cardinality()}, {@link #nextSetBit(int)} and {@link #toBitList()},
+ *     read one word at a time: they never block nor retry, but they are not atomic snapshots when other threads
+ *     are updating the bits. </p>
+ */
+public final class ConcurrentBitList {
+
+    // Accesses the words with volatile semantics
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // The bits, bit i being bit i % 64 of word i / 64
+    private final long[] words;
+
+    // The number of bits
+    private final int size;
+
+    /**
+     * Constructs a new {@link ConcurrentBitList} of the given size, with every bit set to zero.
+     *
+     * @param size the number of bits
+     *
+     * @throws IllegalArgumentException if the size is negative
+     *         ({@code size < 0})
+     */
+    public ConcurrentBitList(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("The size of a ConcurrentBitList can't be negative");
+        }
+        this.words = new long[BitField.wordsFor(size)];
+        this.size = size;
+    }
+
+    /**
+     * Constructs a new {@link ConcurrentBitList} with the same size and bits as the given {@link BitList}.
+     *
+     * @param bitList the list to copy
+     */
+    public ConcurrentBitList(BitList bitList) {
+        this(bitList.size());
+        BitField bitField = bitList.getBitField();
+        for (int i = 0; i < words.length; i++) {
+            words[i] = bitField.getWord(i);
+        }
+    }
+
+    /**
+     * Returns the number of bits of this list.
+     *
+     * @return the size of this list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the bit at the given index.
+     *
+     * @param index the index of the bit
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *         ({@code index < 0 || index >= size()})
+     *
+     * @return {@code true} if the bit is set
+     */
+    public boolean getBit(int index) {
+        Objects.checkIndex(index, size);
+        return (word(index >>> BitField.ADDRESS_BITS_PER_WORD) & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets the bit at the given index to the given value.
+     *
+     * @param index the index of the bit
+     * @param value {@code true} to set the bit, {@code false} to clear it
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *         ({@code index < 0 || index >= size()})
+     */
+    public void setBit(int index, boolean value) {
+        if (value) {
+            testAndSet(index);
+        }
+        else {
+            testAndClear(index);
+        }
+    }
+
+    /**
+     * Sets the bit at the given index and returns its previous value, atomically.
+     *
+     * <p> When many threads call this method on the same clear bit, exactly one of them gets {@code false}. </p>
+     *
+     * @param index the index of the bit
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *         ({@code index < 0 || index >= size()})
+     *
+     * @return {@code true} if the bit was already set
+     */
+    public boolean testAndSet(int index) {
+        Objects.checkIndex(index, size);
+        int wordIndex = index >>> BitField.ADDRESS_BITS_PER_WORD;
+        long mask = 1L << index;
+        if ((word(wordIndex) & mask) != 0) {
+            return true;
+        }
+        return ((long) WORDS.getAndBitwiseOr(words, wordIndex, mask) & mask) != 0;
+    }
+
+    /**
+     * Clears the bit at the given index and returns its previous value, atomically.
+     *
+     * <p> When many threads call this method on the same set bit, exactly one of them gets {@code true}. </p>
+     *
+     * @param index the index of the bit
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *         ({@code index < 0 || index >= size()})
+     *
+     * @return {@code true} if the bit was set
+     */
+    public boolean testAndClear(int index) {
+        Objects.checkIndex(index, size);
+        int wordIndex = index >>> BitField.ADDRESS_BITS_PER_WORD;
+        long mask = 1L << index;
+        if ((word(wordIndex) & mask) == 0) {
+            return false;
+        }
+        return ((long) WORDS.getAndBitwiseAnd(words, wordIndex, ~mask) & mask) != 0;
+    }
+
+    /**
+     * Sets every bit from {@code from} (inclusive) to {@code to} (exclusive) to {@code newValue},
+     * if all of them are equal to {@code expectedValue}.
+     *
+     * <p> A range within a single word is compared and set with a single atomic operation. A longer range is
+     *     updated one word at a time, from the lowest one: if a word doesn't hold the expected bits, the bits of
+     *     the range in the words already updated are unconditionally set back to {@code expectedValue}, even if
+     *     another thread changed some of them meanwhile, and nothing is changed. Hence the outcome is all or nothing, and when
+     *     many threads compete for overlapping ranges at most one of them succeeds on each bit, but other threads
+     *     may see a range partially updated while this method is running. </p>
+     *
+     * @param from the index of the first bit of the range
+     * @param to the index after the last bit of the range
+     * @param expectedValue the value every bit of the range must have
+     * @param newValue the value every bit of the range is set to
+     *
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     *         ({@code from < 0 || from > to || to > size()})
+     *
+     * @return {@code true} if the bits of the range were equal to {@code expectedValue} and have been set,
+     *         {@code false} if they have been left untouched
+     */
+    public boolean compareAndSetRange(int from, int to, boolean expectedValue, boolean newValue) {
+        Objects.checkFromToIndex(from, to, size);
+        if (from == to) {
+            return true;
+        }
+        int firstWord = from >>> BitField.ADDRESS_BITS_PER_WORD;
+        int lastWord = (to - 1) >>> BitField.ADDRESS_BITS_PER_WORD;
+        for (int wordIndex = firstWord; wordIndex <= lastWord; wordIndex++) {
+            long mask = rangeMask(wordIndex, from, to);
+            if (!compareAndSetMasked(wordIndex, mask, expectedValue ? mask : 0, newValue ? mask : 0)) {
+                if (expectedValue != newValue) {
+                    rollBack(firstWord, wordIndex, from, to, expectedValue);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Sets the bits of the range in the words already updated back to the expected value, whatever they are now
+    private void rollBack(int firstWord, int toWord, int from, int to, boolean expectedValue) {
+        for (int wordIndex = firstWord; wordIndex < toWord; wordIndex++) {
+            long mask = rangeMask(wordIndex, from, to);
+            if (expectedValue) {
+                WORDS.getAndBitwiseOr(words, wordIndex, mask);
+            }
+            else {
+                WORDS.getAndBitwiseAnd(words, wordIndex, ~mask);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of set bits.
+     *
+     * <p> The count is exact when no other thread is updating the list. Otherwise, each word is counted as it
+     *     is when it's read, so updates made during the call may or may not be counted. The method is wait-free:
+     *     it reads every word once, whatever the other threads are doing. </p>
+     *
+     * @return the number of set bits, possibly out of date
+     */
+    public int cardinality() {
+        int count = 0;
+        for (int i = 0; i < words.length; i++) {
+            count += Long.bitCount(word(i));
+        }
+        return count;
+    }
+
+    /**
+     * Returns the index of the first set bit at or after {@code from}.
+     *
+     * <p> Words are read one at a time, as in {@link #cardinality()}. </p>
+     *
+     * @param from the index to start the search from
+     *
+     * @throws IndexOutOfBoundsException if the index is negative
+     *         ({@code from < 0})
+     *
+     * @return the index of the next set bit, or {@code -1} if there is none
+     */
+    public int nextSetBit(int from) {
+        return nextBit(from, 0L);
+    }
+
+    /**
+     * Returns the index of the first clear bit at or after {@code from}.
+     *
+     * <p> Words are read one at a time, as in {@link #cardinality()}. A thread looking for a bit to claim
+     *     can call {@link #testAndSet(int)} on the result, and search again if it lost the race. </p>
+     *
+     * @param from the index to start the search from
+     *
+     * @throws IndexOutOfBoundsException if the index is negative
+     *         ({@code from < 0})
+     *
+     * @return the index of the next clear bit, or {@code -1} if there is none
+     */
+    public int nextClearBit(int from) {
+        return nextBit(from, -1L);
+    }
+
+    /**
+     * Clears every bit, one word at a time.
+     */
+    public void clear() {
+        for (int i = 0; i < words.length; i++) {
+            WORDS.setVolatile(words, i, 0L);
+        }
+    }
+
+    /**
+     * Returns a {@link BitList} with the same size and bits as this list.
+     *
+     * <p> Words are read one at a time, as in {@link #cardinality()}. </p>
+     *
+     * @return a new {@link BitList}
+     */
+    public BitList toBitList() {
+        long[] copy = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            copy[i] = word(i);
+        }
+        return new BitList(new LongArrayBitField(copy), size);
+    }
+
+    private long word(int wordIndex) {
+        return (long) WORDS.getVolatile(words, wordIndex);
+    }
+
+    // The bits of the given word that are within the range
+    private static long rangeMask(int wordIndex, int from, int to) {
+        long mask = -1L;
+        if (wordIndex == from >>> BitField.ADDRESS_BITS_PER_WORD) {
+            mask &= -1L << from;
+        }
+        if (wordIndex == (to - 1) >>> BitField.ADDRESS_BITS_PER_WORD) {
+            mask &= -1L >>> -to;
+        }
+        return mask;
+    }
+
+    // Replaces the masked bits of a word with the new ones if they hold the expected ones, retrying if other bits change meanwhile
+    private boolean compareAndSetMasked(int wordIndex, long mask, long expectedBits, long newBits) {
+        while (true) {
+            long word = word(wordIndex);
+            if ((word & mask) != expectedBits) {
+                return false;
+            }
+            if (expectedBits == newBits || WORDS.compareAndSet(words, wordIndex, word, word & ~mask | newBits)) {
+                return true;
+            }
+        }
+    }
+
+    private int nextBit(int from, long flip) {
+        if (from < 0) {
+            throw new IndexOutOfBoundsException("Can't search from a negative index");
+        }
+        if (from >= size) {
+            return -1;
+        }
+        int wordIndex = from >>> BitField.ADDRESS_BITS_PER_WORD;
+        long word = (word(wordIndex) ^ flip) & (-1L << from);
+        while (word == 0) {
+            if (++wordIndex == words.length) {
+                return -1;
+            }
+            word = word(wordIndex) ^ flip;
+        }
+        int index = wordIndex * BitField.BITS_PER_WORD + Long.numberOfTrailingZeros(word);
+        return index < size ? index : -1;
+    }
+}
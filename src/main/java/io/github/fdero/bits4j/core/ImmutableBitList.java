@@ -0,0 +1,163 @@
+package io.github.fdero.bits4j.core;
+
+import java.util.Collection;
+
+/**
+ * An unmodifiable {@link BitList}, as returned by {@link BitList#freeze()} and {@link BitList#immutableCopy()}.
+ *
+ * <p> Every method that would modify the list throws {@link UnsupportedOperationException}, including the ones
+ *     of the views returned by {@link #subList(int, int)}. Since its storage is never written, the list can be
+ *     read by many threads at the same time. </p>
+ */
+final class ImmutableBitList extends BitList {
+
+    // The hash code of the list, computed on first use, zero until then
+    private int hashCode;
+
+    /**
+     * Constructs a new {@link ImmutableBitList} with the given {@link BitField}, which must never be written again.
+     *
+     * @param bitField the bit field that stores the bits
+     * @param size the number of bits in the list
+     */
+    ImmutableBitList(BitField bitField, int size) {
+        super(bitField, size);
+    }
+
+    // Rejects every modification
+    private static UnsupportedOperationException unmodifiable() {
+        return new UnsupportedOperationException("Can't modify an immutable BitList");
+    }
+
+    /**
+     * Returns this list, which is already unmodifiable.
+     *
+     * @return this list
+     */
+    @Override
+    public BitList freeze() {
+        return this;
+    }
+
+    /**
+     * Returns this list, which is already unmodifiable.
+     *
+     * @return this list
+     */
+    @Override
+    public BitList immutableCopy() {
+        return this;
+    }
+
+    /**
+     * Returns the hash code value for this list, as specified by {@link java.util.List#hashCode}.
+     *
+     * <p> The hash code is computed once, the first time it's needed. </p>
+     *
+     * @return the hash code value for this list
+     */
+    @Override
+    public int hashCode() {
+        int hash = hashCode;
+        if (hash == 0) {
+            hash = super.hashCode();
+            hashCode = hash;
+        }
+        return hash;
+    }
+
+    @Override
+    void resize(int newSize) {
+        throw unmodifiable();
+    }
+
+    @Override
+    void setSize(int newSize) {
+        throw unmodifiable();
+    }
+
+    @Override
+    void markModified() {
+        throw unmodifiable();
+    }
+
+    @Override
+    void combine(BitList other, BitwiseOperation operation) {
+        throw unmodifiable();
+    }
+
+    @Override
+    public BitValue set(int index, BitValue bitValue) {
+        throw unmodifiable();
+    }
+
+    @Override
+    public boolean setBit(int index, boolean value) {
+        throw unmodifiable();
+    }
+
+    @Override
+    public boolean addBit(boolean value) {
+        throw unmodifiable();
+    }
+
+    @Override
+    public void setBits(int fromIndex, int count, long bits) {
+        throw unmodifiable();
+    }
+
+    @Override
+    public void addBits(long bits, int count) {
+        throw unmodifiable();
+    }
+
+    @Override
+    public void not() {
+        throw unmodifiable();
+    }
+
+    @Override
+    public void clear() {
+        throw unmodifiable();
+    }
+
+    @Override
+    public boolean remove(Object target) {
+        throw unmodifiable();
+    }
+
+    @Override
+    public BitValue removeLast() {
+        throw unmodifiable();
+    }
+
+    @Override
+    public BitValue remove(int index) {
+        throw unmodifiable();
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        throw unmodifiable();
+    }
+
+    @Override
+    public boolean add(BitValue bitValue) {
+        throw unmodifiable();
+    }
+
+    @Override
+    public void add(int index, BitValue bitValue) {
+        throw unmodifiable();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends BitValue> bitValues) {
+        throw unmodifiable();
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends BitValue> bitValues) {
+        throw unmodifiable();
+    }
+}
@@ -0,0 +1,183 @@
+package io.github.fdero.bits4j.core;
+
+import java.util.Arrays;
+
+/**
+ * A {@link BitField} that stores its words in a {@code long[]} on the heap, growing it geometrically.
+ *
+ * <p> Snapshots share the array with this field, which copies it before its next write, unless the array
+ *     is owned by the caller, as with {@link #wrap(long[])}: then the snapshots copy it instead. </p>
+ */
+final class LongArrayBitField extends BitField {
+
+    // The words that store the bits
+    private long[] words;
+
+    // Whether the words are shared with a snapshot, in which case they are copied before being written
+    private boolean shared = false;
+
+    // Whether the words belong to the caller, who can still read and write them, until the field grows
+    private boolean external = false;
+
+    LongArrayBitField(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Returns a field that reads and writes the given array, which the caller keeps owning: 
+     * snapshots copy it instead of sharing it.
+     */
+    static LongArrayBitField wrap(long[] words) {
+        LongArrayBitField bitField = new LongArrayBitField(words);
+        bitField.external = true;
+        return bitField;
+    }
+
+    LongArrayBitField() {
+        this(new long[0]);
+    }
+
+    @Override
+    long getWord(int wordIndex) {
+        return wordIndex < words.length ? words[wordIndex] : 0L;
+    }
+
+    @Override
+    void setWord(int wordIndex, long word) {
+        if (wordIndex >= words.length) {
+            ensureCapacity((wordIndex + 1) * BITS_PER_WORD);
+        }
+        writableWords()[wordIndex] = word;
+    }
+
+    @Override
+    int wordCount() {
+        return words.length;
+    }
+
+    /**
+     * Also copies the words if they are shared with a snapshot, so that the writes that follow,
+     * possibly from many threads, find them ready.
+     */
+    @Override
+    void ensureCapacity(int bitCount) {
+        int requiredWords = wordsFor(bitCount);
+        if (requiredWords > words.length) {
+            int newLength = Math.max(requiredWords, Math.min(2 * words.length, Integer.MAX_VALUE / BITS_PER_WORD + 1));
+            words = Arrays.copyOf(words, newLength);
+            shared = false;
+            external = false;
+        }
+        else {
+            writableWords();
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (shared) {
+            words = new long[words.length];
+            shared = false;
+        }
+        else {
+            Arrays.fill(words, 0L);
+        }
+    }
+
+    @Override
+    long[] toWords(int wordCount) {
+        return Arrays.copyOf(words, wordCount);
+    }
+
+    /**
+     * Shares the words with the snapshot instead of copying them, the next write to this field copies them.
+     * Words owned by the caller are copied, since they can be written without this field knowing it.
+     */
+    @Override
+    BitField snapshot(int bitCount) {
+        if (external) {
+            return super.snapshot(bitCount);
+        }
+        shared = true;
+        LongArrayBitField snapshot = new LongArrayBitField(words);
+        snapshot.shared = true;
+        return snapshot;
+    }
+
+    // Returns the words, after copying them if they are shared with a snapshot
+    private long[] writableWords() {
+        if (shared) {
+            words = words.clone();
+            shared = false;
+        }
+        return words;
+    }
+
+    /**
+     * Copies whole words with {@link System#arraycopy} when both ranges start on a word boundary
+     * and the source is also array-backed, otherwise falls back to the generic implementation.
+     */
+    @Override
+    void copyBits(BitField source, int sourceFrom, int targetFrom, int length) {
+        boolean aligned = ((sourceFrom | targetFrom) & (BITS_PER_WORD - 1)) == 0;
+        if (length <= 0 || !aligned || !(source instanceof LongArrayBitField arraySource)) {
+            super.copyBits(source, sourceFrom, targetFrom, length);
+            return;
+        }
+        ensureCapacity(targetFrom + length);
+        long[] sourceWords = arraySource.words;
+        int fullWords = length >>> ADDRESS_BITS_PER_WORD;
+        int sourceWord = sourceFrom >>> ADDRESS_BITS_PER_WORD;
+        int available = Math.max(0, Math.min(fullWords, sourceWords.length - sourceWord));
+        int tailBits = length & (BITS_PER_WORD - 1);
+        long tail = tailBits == 0 ? 0L : source.getBits(sourceFrom + fullWords * BITS_PER_WORD, tailBits);
+        int targetWord = targetFrom >>> ADDRESS_BITS_PER_WORD;
+        long[] words = writableWords();
+        System.arraycopy(sourceWords, sourceWord, words, targetWord, available);
+        Arrays.fill(words, targetWord + available, targetWord + fullWords, 0L);
+        if (tailBits != 0) {
+            setBits(targetFrom + fullWords * BITS_PER_WORD, tailBits, tail);
+        }
+    }
+
+    /**
+     * Works directly on the arrays, through the kernel selected in {@link BitListOperations},
+     * when the source is also array-backed.
+     */
+    @Override
+    void combineWords(BitField source, BitwiseOperation operation, int fromWord, int toWord) {
+        if (!(source instanceof LongArrayBitField arraySource)) {
+            super.combineWords(source, operation, fromWord, toWord);
+            return;
+        }
+        int end = Math.max(fromWord, Math.min(toWord, arraySource.words.length));
+        long[] words = writableWords();
+        BitListOperations.kernel().combine(words, arraySource.words, operation, fromWord, end);
+        if (operation == BitwiseOperation.AND) {
+            Arrays.fill(words, end, toWord, 0L);
+        }
+    }
+
+    @Override
+    void flipWords(int fromWord, int toWord) {
+        BitListOperations.kernel().flip(writableWords(), fromWord, toWord);
+    }
+
+    @Override
+    int cardinality(int wordCount) {
+        return BitListOperations.kernel().bitCount(words, 0, Math.min(wordCount, words.length));
+    }
+
+    @Override
+    int hammingDistance(BitField other, int wordCount) {
+        if (!(other instanceof LongArrayBitField arrayOther)) {
+            return super.hammingDistance(other, wordCount);
+        }
+        WordKernel kernel = BitListOperations.kernel();
+        long[] otherWords = arrayOther.words;
+        int common = Math.min(wordCount, Math.min(words.length, otherWords.length));
+        return kernel.hammingDistance(words, otherWords, 0, common)
+            + kernel.bitCount(words, common, Math.min(wordCount, words.length))
+            + kernel.bitCount(otherWords, common, Math.min(wordCount, otherWords.length));
+    }
+}
@@ -0,0 +1,221 @@
+package io.github.fdero.bits4j.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link BitList} whose bits live in a memory-mapped file.
+ *
+ * <p> Opening a {@link MappedBitList} doesn't read the file: the bits are paged in by the operating
+ *     system as they are accessed, hence the list can be much larger than the heap and is available
+ *     right after startup. </p>
+ *
+ * <p> The file starts with an eight-byte little-endian header holding the number of bits of the list,
+ *     followed by the bits themselves, laid out as in {@link BitListConversions#asBytes(BitList)}.
+ *     In {@link Mode#READ_WRITE} mode the list can grow: the file is extended and mapped again,
+ *     doubling its capacity each time. Changes reach the disk when the operating system decides so,
+ *     or when {@link #force()} or {@link #close()} are called; the header is only updated by them. </p>
+ *
+ * <p> In {@link Mode#READ_ONLY} mode every modification throws {@link ReadOnlyBufferException}, and the bits
+ *     the file may hold past the size stored in the header, such as the ones added after the last {@link #force()},
+ *     read as zero. </p>
+ */
+public class MappedBitList extends BitList implements AutoCloseable {
+
+    /**
+     * The ways a {@link MappedBitList} can be opened.
+     */
+    public enum Mode {
+
+        /**
+         * The file is only read, the list can't be modified.
+         */
+        READ_ONLY,
+
+        /**
+         * The file is read and written, and it's created if it doesn't exist.
+         */
+        READ_WRITE
+    }
+
+    // The number of bytes of the header that stores the size of the list
+    private static final int HEADER_SIZE = Long.BYTES;
+
+    // The smallest number of data bytes a growing file is extended to
+    private static final int MINIMUM_GROWTH = 4096;
+
+    // The largest number of data bytes a list indexed by int can need
+    private static final int MAXIMUM_DATA_SIZE = Integer.MAX_VALUE / Byte.SIZE + 1;
+
+    // The storage of this list, backed by the mapped file
+    private final MappedBitField storage;
+
+    private MappedBitList(MappedBitField storage, int size) {
+        super(storage, size);
+        this.storage = storage;
+    }
+
+    /**
+     * Opens the file at the given path as a {@link MappedBitList}.
+     *
+     * <p> In {@link Mode#READ_WRITE} mode, a missing or empty file is initialized as an empty list. </p>
+     *
+     * @param path the file backing the list
+     * @param mode whether the list can be modified
+     *
+     * @throws IOException if the file can't be opened or mapped, or if it is not a valid {@link MappedBitList} file
+     *
+     * @return the list stored in the file
+     */
+    public static MappedBitList open(Path path, Mode mode) throws IOException {
+        FileChannel channel = mode == Mode.READ_ONLY
+            ? FileChannel.open(path, StandardOpenOption.READ)
+            : FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        try {
+            long fileSize = channel.size();
+            if (fileSize == 0 && mode == Mode.READ_WRITE) {
+                fileSize = HEADER_SIZE;
+            }
+            if (fileSize < HEADER_SIZE || fileSize - HEADER_SIZE > MAXIMUM_DATA_SIZE) {
+                throw new IOException("The file is not a valid MappedBitList file: " + path);
+            }
+            MappedBitField storage = new MappedBitField(channel, mode, (int) (fileSize - HEADER_SIZE));
+            long size = storage.readHeader();
+            if (size < 0 || size > storage.bitCapacity() || size > Integer.MAX_VALUE) {
+                throw new IOException("The file is not a valid MappedBitList file: " + path);
+            }
+            if (mode == Mode.READ_ONLY) {
+                storage.visibleBits = (int) size;
+            }
+            return new MappedBitList(storage, (int) size);
+        }
+        catch (IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns {@code true} if this list was opened in {@link Mode#READ_ONLY} mode.
+     *
+     * @return {@code true} if this list can't be modified
+     */
+    public boolean isReadOnly() {
+        return storage.mode == Mode.READ_ONLY;
+    }
+
+    /**
+     * Writes the current size of the list to the header and forces every change made to the list to the disk.
+     *
+     * <p> In {@link Mode#READ_ONLY} mode, it does nothing. </p>
+     *
+     * @throws IllegalStateException if the list has been closed
+     */
+    public void force() {
+        storage.storage();
+        if (!isReadOnly()) {
+            storage.writeHeader(size());
+            storage.mapping.force();
+        }
+    }
+
+    /**
+     * Forces every change to the disk, then releases the mapping and closes the file.
+     *
+     * <p> Calling this method more than once has no effect. </p>
+     *
+     * @throws IOException if the file can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (storage.isReleased()) {
+            return;
+        }
+        force();
+        storage.release();
+        storage.channel.close();
+    }
+
+    // A field whose storage is the data section of a mapped file, which gets mapped again when it grows
+    private static final class MappedBitField extends ByteBufferBitField {
+
+        // The channel of the mapped file
+        private final FileChannel channel;
+
+        // The mode the file was opened with
+        private final Mode mode;
+
+        // The mapping of the whole file, header included
+        private MappedByteBuffer mapping;
+
+        // The number of bits that can be read, the ones after them read as zero (only limited in read-only mode)
+        private int visibleBits = Integer.MAX_VALUE;
+
+        MappedBitField(FileChannel channel, Mode mode, int dataSize) throws IOException {
+            this(channel, mode, map(channel, mode, dataSize));
+        }
+
+        private MappedBitField(FileChannel channel, Mode mode, MappedByteBuffer mapping) {
+            super(mapping.slice(HEADER_SIZE, mapping.capacity() - HEADER_SIZE));
+            this.channel = channel;
+            this.mode = mode;
+            this.mapping = mapping;
+        }
+
+        private static MappedByteBuffer map(FileChannel channel, Mode mode, int dataSize) throws IOException {
+            FileChannel.MapMode mapMode = mode == Mode.READ_ONLY ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE;
+            MappedByteBuffer mapping = channel.map(mapMode, 0, (long) HEADER_SIZE + dataSize);
+            mapping.order(ByteOrder.LITTLE_ENDIAN);
+            return mapping;
+        }
+
+        long readHeader() {
+            return mapping.getLong(0);
+        }
+
+        void writeHeader(int size) {
+            mapping.putLong(0, size);
+        }
+
+        /**
+         * Hides the bits past the visible ones, which a file whose header was written before the list
+         * last grew may still hold: a read-only mapping can't clear them.
+         */
+        @Override
+        long getWord(int wordIndex) {
+            long word = super.getWord(wordIndex);
+            long from = (long) wordIndex * BITS_PER_WORD;
+            if (from + BITS_PER_WORD <= visibleBits) {
+                return word;
+            }
+            return from >= visibleBits ? 0L : word & (-1L >>> -(visibleBits - from));
+        }
+
+        @Override
+        void grow(int bitCount) {
+            if (mode == Mode.READ_ONLY) {
+                throw new ReadOnlyBufferException();
+            }
+            long currentSize = bitCapacity() / Byte.SIZE;
+            long requiredSize = ((long) bitCount + Byte.SIZE - 1) / Byte.SIZE;
+            int newSize = (int) Math.min(MAXIMUM_DATA_SIZE, Math.max(requiredSize, Math.max(2 * currentSize, MINIMUM_GROWTH)));
+            if (newSize < requiredSize) {
+                throw capacityExceeded();
+            }
+            storage();
+            try {
+                mapping = map(channel, mode, newSize);
+            }
+            catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+            replaceStorage(mapping.slice(HEADER_SIZE, newSize));
+        }
+    }
+}
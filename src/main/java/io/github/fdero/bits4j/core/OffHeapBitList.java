@@ -0,0 +1,95 @@
+package io.github.fdero.bits4j.core;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A {@link BitList} whose bits are stored outside of the Java heap, in a direct {@link ByteBuffer}
+ * of fixed capacity.
+ *
+ * <p> The capacity is chosen up front and never changes: the list can grow up to it, adding
+ *     bits beyond it throws {@link IllegalStateException}. Since the storage is never copied,
+ *     it can be handed to native code through {@link #asByteBuffer()}. </p>
+ *
+ * <p> Once {@link #close()} is called, the list gives up its storage and every operation that
+ *     needs to access the bits throws {@link IllegalStateException}. Closing only detaches the storage,
+ *     it doesn't free the off-heap memory: as for any direct buffer, the memory is freed only after the
+ *     garbage collector has collected the buffer, together with every buffer obtained through
+ *     {@link #asByteBuffer()}, which may happen much later, or not before {@code -XX:MaxDirectMemorySize}
+ *     is reached. </p>
+ *
+ * @see BitListConversions#wrapByteBuffer(ByteBuffer, int)
+ */
+public class OffHeapBitList extends BitList implements AutoCloseable {
+
+    // The storage of this list, kept to release it on close
+    private final ByteBufferBitField storage;
+
+    /**
+     * Constructs a new empty {@link OffHeapBitList} that can hold up to {@code bitCapacity} bits.
+     *
+     * @param bitCapacity the maximum number of bits the list can hold
+     *
+     * @throws IllegalArgumentException if the capacity is negative
+     *         ({@code bitCapacity < 0})
+     */
+    public OffHeapBitList(int bitCapacity) {
+        this(allocate(bitCapacity));
+    }
+
+    private OffHeapBitList(ByteBufferBitField storage) {
+        super(storage, 0);
+        this.storage = storage;
+    }
+
+    // Allocates zeroed off-heap memory for the given number of bits
+    private static ByteBufferBitField allocate(int bitCapacity) {
+        if (bitCapacity < 0) {
+            throw new IllegalArgumentException("The capacity of an OffHeapBitList can't be negative");
+        }
+        int byteCapacity = (int) (((long) bitCapacity + Byte.SIZE - 1) / Byte.SIZE);
+        return new ByteBufferBitField(ByteBuffer.allocateDirect(byteCapacity));
+    }
+
+    /**
+     * Returns the maximum number of bits this list can hold.
+     *
+     * @return the capacity of this list, in bits
+     */
+    public long capacity() {
+        return storage.bitCapacity();
+    }
+
+    /**
+     * Returns a view of the off-heap memory holding the bits of this list.
+     *
+     * <p> Byte i of the view holds bits 8i to 8i+7, the lowest index in the least significant position.
+     *     The view shares its content with the list, and it stays valid even after the list is closed. </p>
+     *
+     * @throws IllegalStateException if the list has been closed
+     *
+     * @return a direct buffer spanning the whole capacity of this list
+     */
+    public ByteBuffer asByteBuffer() {
+        return storage.storage().duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Returns {@code true} if this list has been closed.
+     *
+     * @return {@code true} if {@link #close()} has been called
+     */
+    public boolean isClosed() {
+        return storage.isReleased();
+    }
+
+    /**
+     * Detaches the storage from this list, without freeing its off-heap memory.
+     *
+     * <p> Calling this method more than once has no effect. </p>
+     */
+    @Override
+    public void close() {
+        storage.release();
+    }
+}
@@ -0,0 +1,370 @@
+package io.github.fdero.bits4j.core;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A fixed-length array of unsigned integers that all take the same number of bits, packed one after the
+ * other in sixty-four bit words, in the same layout as a {@link BitList}: value i takes the bits from
+ * {@code i * bitsPerValue()} (its least significant bit) to {@code (i + 1) * bitsPerValue() - 1}.
+ *
+ * <p> A million values of twenty bits take two and a half megabytes instead of the four of an {@code int[]}.
+ *     A value spans at most two words, and the words are followed by a spare zero word, hence {@link #get(int)}
+ *     and {@link #set(int, long)} read and write both words without branching on the position of the value.
+ *     The bulk methods decode and encode whole blocks of values into {@code long[]} and {@code int[]}
+ *     with a single loop, which the JIT compiler can unroll. </p>
+ *
+ * <p> Since the bit position of a value is computed as a {@code long}, the array can hold more than
+ *     {@link Integer#MAX_VALUE} bits. Values too large for the current number of bits per value can be stored
+ *     with {@link #setAndWiden(int, long)}, which repacks the whole array with as many bits as needed. </p>
+ */
+public final class PackedIntArray {
+
+    // The largest number of words allocated, including the spare one
+    private static final int MAXIMUM_WORDS = Integer.MAX_VALUE - 8;
+
+    // The values, followed by a spare word that is always zero
+    private long[] words;
+
+    // The number of bits of every value
+    private int bitsPerValue;
+
+    // The bits of a value, bitsPerValue ones
+    private long mask;
+
+    // The number of values
+    private final int length;
+
+    /**
+     * Constructs a new {@link PackedIntArray} of the given length, with every value set to zero.
+     *
+     * @param length the number of values
+     * @param bitsPerValue the number of bits of every value, between 1 and 64
+     *
+     * @throws IllegalArgumentException if the length is negative, the number of bits per value is out of range,
+     *         or the values don't fit in an array
+     *         ({@code length < 0 || bitsPerValue < 1 || bitsPerValue > 64})
+     */
+    public PackedIntArray(int length, int bitsPerValue) {
+        if (length < 0) {
+            throw new IllegalArgumentException("The length of a PackedIntArray can't be negative");
+        }
+        checkBitsPerValue(bitsPerValue);
+        this.length = length;
+        this.bitsPerValue = bitsPerValue;
+        this.mask = maskOf(bitsPerValue);
+        this.words = new long[wordsFor(length, bitsPerValue)];
+    }
+
+    /**
+     * Constructs a new {@link PackedIntArray} holding a copy of the values packed in the given {@link BitList},
+     * as many as whole values fit in it: the bits past the last whole value are ignored.
+     *
+     * @param bitList the list holding the packed values
+     * @param bitsPerValue the number of bits of every value, between 1 and 64
+     *
+     * @throws IllegalArgumentException if the number of bits per value is out of range
+     *         ({@code bitsPerValue < 1 || bitsPerValue > 64})
+     */
+    public PackedIntArray(BitList bitList, int bitsPerValue) {
+        this(bitList.size() / checkBitsPerValue(bitsPerValue), bitsPerValue);
+        BitField bitField = bitList.getBitField();
+        int wordCount = BitField.wordsFor(length * bitsPerValue);
+        for (int i = 0; i < wordCount; i++) {
+            words[i] = bitField.getWord(i);
+        }
+        int tail = (length * bitsPerValue) & (BitField.BITS_PER_WORD - 1);
+        if (tail != 0) {
+            words[wordCount - 1] &= (1L << tail) - 1;
+        }
+    }
+
+    /**
+     * Returns the number of bits needed to store the given value, as an unsigned integer.
+     *
+     * @param value the value
+     * @return the number of bits needed, at least one
+     */
+    public static int bitsRequired(long value) {
+        return Math.max(1, Long.SIZE - Long.numberOfLeadingZeros(value));
+    }
+
+    /**
+     * Returns the number of values of this array.
+     *
+     * @return the length of this array
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns the number of bits of every value of this array.
+     *
+     * @return the number of bits per value
+     */
+    public int bitsPerValue() {
+        return bitsPerValue;
+    }
+
+    /**
+     * Returns the value at the given index.
+     *
+     * @param index the index of the value
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *         ({@code index < 0 || index >= length()})
+     *
+     * @return the value, between zero and {@code 2^bitsPerValue() - 1} (or any {@code long} if there are 64 bits per value)
+     */
+    public long get(int index) {
+        Objects.checkIndex(index, length);
+        return read((long) index * bitsPerValue);
+    }
+
+    /**
+     * Replaces the value at the given index.
+     *
+     * @param index the index of the value
+     * @param value the new value
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *         ({@code index < 0 || index >= length()})
+     * @throws IllegalArgumentException if the value doesn't fit in the number of bits per value
+     *         ({@code bitsRequired(value) > bitsPerValue()})
+     */
+    public void set(int index, long value) {
+        Objects.checkIndex(index, length);
+        checkValue(value);
+        write((long) index * bitsPerValue, value);
+    }
+
+    /**
+     * Replaces the value at the given index, first repacking the whole array with more bits per value
+     * if the value doesn't fit in the current number of bits per value.
+     *
+     * @param index the index of the value
+     * @param value the new value
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *         ({@code index < 0 || index >= length()})
+     * @throws IllegalArgumentException if the wider values don't fit in an array
+     */
+    public void setAndWiden(int index, long value) {
+        Objects.checkIndex(index, length);
+        if ((value & ~mask) != 0) {
+            widen(bitsRequired(value));
+        }
+        write((long) index * bitsPerValue, value);
+    }
+
+    /**
+     * Repacks every value with the given number of bits, which can't be less than the current one.
+     *
+     * @param newBitsPerValue the new number of bits of every value
+     *
+     * @throws IllegalArgumentException if the new number of bits per value is out of range, or the wider values
+     *         don't fit in an array
+     *         ({@code newBitsPerValue < bitsPerValue() || newBitsPerValue > 64})
+     */
+    public void widen(int newBitsPerValue) {
+        if (newBitsPerValue < bitsPerValue) {
+            throw new IllegalArgumentException("Can't narrow a PackedIntArray from " + bitsPerValue + " to " + newBitsPerValue + " bits per value");
+        }
+        checkBitsPerValue(newBitsPerValue);
+        if (newBitsPerValue == bitsPerValue) {
+            return;
+        }
+        long[] oldWords = words;
+        int oldBitsPerValue = bitsPerValue;
+        words = new long[wordsFor(length, newBitsPerValue)];
+        bitsPerValue = newBitsPerValue;
+        mask = maskOf(newBitsPerValue);
+        long[] block = new long[Math.min(length, 1024)];
+        for (int from = 0; from < length; from += block.length) {
+            int count = Math.min(block.length, length - from);
+            decode(oldWords, oldBitsPerValue, (long) from * oldBitsPerValue, block, 0, count);
+            for (int i = 0; i < count; i++) {
+                write((long) (from + i) * newBitsPerValue, block[i]);
+            }
+        }
+    }
+
+    /**
+     * Sets every value to zero.
+     */
+    public void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+    /**
+     * Copies {@code count} values, starting at the given index, into the target array.
+     *
+     * @param index the index of the first value to copy
+     * @param target the array to copy the values into
+     * @param offset the index in the target array of the first value
+     * @param count the number of values to copy
+     *
+     * @throws IndexOutOfBoundsException if either range is out of bounds
+     *         ({@code index + count > length() || offset + count > target.length})
+     */
+    public void get(int index, long[] target, int offset, int count) {
+        Objects.checkFromIndexSize(index, count, length);
+        Objects.checkFromIndexSize(offset, count, target.length);
+        decode(words, bitsPerValue, (long) index * bitsPerValue, target, offset, count);
+    }
+
+    /**
+     * Copies {@code count} values, starting at the given index, into the target array.
+     *
+     * <p> Values of 32 bits are stored as they are, hence they read as negative when their most significant bit is set. </p>
+     *
+     * @param index the index of the first value to copy
+     * @param target the array to copy the values into
+     * @param offset the index in the target array of the first value
+     * @param count the number of values to copy
+     *
+     * @throws IllegalStateException if the values are wider than an {@code int}
+     *         ({@code bitsPerValue() > 32})
+     * @throws IndexOutOfBoundsException if either range is out of bounds
+     *         ({@code index + count > length() || offset + count > target.length})
+     */
+    public void get(int index, int[] target, int offset, int count) {
+        if (bitsPerValue > Integer.SIZE) {
+            throw new IllegalStateException("Can't copy values of " + bitsPerValue + " bits into an int[]");
+        }
+        Objects.checkFromIndexSize(index, count, length);
+        Objects.checkFromIndexSize(offset, count, target.length);
+        long[] words = this.words;
+        int bitsPerValue = this.bitsPerValue;
+        long mask = this.mask;
+        long position = (long) index * bitsPerValue;
+        for (int i = 0; i < count; i++) {
+            target[offset + i] = (int) read(words, mask, position);
+            position += bitsPerValue;
+        }
+    }
+
+    /**
+     * Replaces {@code count} values, starting at the given index, with the ones of the source array.
+     *
+     * @param index the index of the first value to replace
+     * @param source the array holding the new values
+     * @param offset the index in the source array of the first value
+     * @param count the number of values to replace
+     *
+     * @throws IndexOutOfBoundsException if either range is out of bounds
+     *         ({@code index + count > length() || offset + count > source.length})
+     * @throws IllegalArgumentException if a value doesn't fit in the number of bits per value, in which case
+     *         the values before it have already been replaced
+     */
+    public void set(int index, long[] source, int offset, int count) {
+        Objects.checkFromIndexSize(index, count, length);
+        Objects.checkFromIndexSize(offset, count, source.length);
+        long position = (long) index * bitsPerValue;
+        for (int i = 0; i < count; i++) {
+            long value = source[offset + i];
+            checkValue(value);
+            write(position, value);
+            position += bitsPerValue;
+        }
+    }
+
+    /**
+     * Replaces {@code count} values, starting at the given index, with the ones of the source array,
+     * taken as unsigned integers.
+     *
+     * @param index the index of the first value to replace
+     * @param source the array holding the new values
+     * @param offset the index in the source array of the first value
+     * @param count the number of values to replace
+     *
+     * @throws IndexOutOfBoundsException if either range is out of bounds
+     *         ({@code index + count > length() || offset + count > source.length})
+     * @throws IllegalArgumentException if a value doesn't fit in the number of bits per value, in which case
+     *         the values before it have already been replaced
+     */
+    public void set(int index, int[] source, int offset, int count) {
+        Objects.checkFromIndexSize(index, count, length);
+        Objects.checkFromIndexSize(offset, count, source.length);
+        long position = (long) index * bitsPerValue;
+        for (int i = 0; i < count; i++) {
+            long value = Integer.toUnsignedLong(source[offset + i]);
+            checkValue(value);
+            write(position, value);
+            position += bitsPerValue;
+        }
+    }
+
+    /**
+     * Returns a {@link BitList} holding a copy of the packed values, {@code length() * bitsPerValue()} bits.
+     *
+     * @throws IllegalStateException if the values take more than {@link Integer#MAX_VALUE} bits
+     *
+     * @return the packed values
+     */
+    public BitList toBitList() {
+        long bitCount = (long) length * bitsPerValue;
+        if (bitCount > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Can't copy more than Integer.MAX_VALUE bits into a BitList");
+        }
+        return new BitList(new LongArrayBitField(Arrays.copyOf(words, BitField.wordsFor((int) bitCount))), (int) bitCount);
+    }
+
+    // Reads the value whose least significant bit is at the given position
+    private long read(long position) {
+        return read(words, mask, position);
+    }
+
+    // Reads both words that may hold the value, the second one is shifted out entirely when it doesn't hold any bit
+    private static long read(long[] words, long mask, long position) {
+        int wordIndex = (int) (position >>> BitField.ADDRESS_BITS_PER_WORD);
+        int shift = (int) position & (BitField.BITS_PER_WORD - 1);
+        long value = (words[wordIndex] >>> shift) | (words[wordIndex + 1] << 1 << (BitField.BITS_PER_WORD - 1 - shift));
+        return value & mask;
+    }
+
+    // Decodes a block of values, as many words apart as the given number of bits per value
+    private static void decode(long[] words, int bitsPerValue, long position, long[] target, int offset, int count) {
+        long mask = maskOf(bitsPerValue);
+        for (int i = 0; i < count; i++) {
+            target[offset + i] = read(words, mask, position);
+            position += bitsPerValue;
+        }
+    }
+
+    // Writes a value that fits in the number of bits per value, so that its least significant bit is at the given position
+    private void write(long position, long value) {
+        int wordIndex = (int) (position >>> BitField.ADDRESS_BITS_PER_WORD);
+        int shift = (int) position & (BitField.BITS_PER_WORD - 1);
+        int highShift = BitField.BITS_PER_WORD - 1 - shift;
+        words[wordIndex] = (words[wordIndex] & ~(mask << shift)) | (value << shift);
+        words[wordIndex + 1] = (words[wordIndex + 1] & ~(mask >>> 1 >>> highShift)) | (value >>> 1 >>> highShift);
+    }
+
+    private void checkValue(long value) {
+        if ((value & ~mask) != 0) {
+            throw new IllegalArgumentException("Can't store " + Long.toUnsignedString(value) + " in " + bitsPerValue + " bits");
+        }
+    }
+
+    private static int checkBitsPerValue(int bitsPerValue) {
+        if (bitsPerValue < 1 || bitsPerValue > Long.SIZE) {
+            throw new IllegalArgumentException("The number of bits per value of a PackedIntArray must be between 1 and 64");
+        }
+        return bitsPerValue;
+    }
+
+    private static long maskOf(int bitsPerValue) {
+        return -1L >>> (Long.SIZE - bitsPerValue);
+    }
+
+    // The number of words needed to hold the values, plus the spare one
+    private static int wordsFor(int length, int bitsPerValue) {
+        long wordCount = ((long) length * bitsPerValue + BitField.BITS_PER_WORD - 1) / BitField.BITS_PER_WORD + 1;
+        if (wordCount > MAXIMUM_WORDS) {
+            throw new IllegalArgumentException("Can't pack " + length + " values of " + bitsPerValue + " bits in an array");
+        }
+        return (int) wordCount;
+    }
+}
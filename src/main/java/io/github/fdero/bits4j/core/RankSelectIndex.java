@@ -0,0 +1,300 @@
+package io.github.fdero.bits4j.core;
+
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+
+/**
+ * A succinct index that answers rank and select queries over a {@link BitList} in near-constant time.
+ *
+ * <p> {@code rank1(i)} counts the set bits before position {@code i}, {@code select1(k)} finds the position
+ *     of the k-th set bit ({@code rank0} and {@code select0} do the same for clear bits). The index keeps
+ *     an absolute count for every superblock of 2048 bits and a relative count for every block of 512 bits,
+ *     about five percent of the size of the list, plus a small sample of superblock positions that narrows
+ *     down the search performed by select. </p>
+ *
+ * <p> The index reads the bits from the list it was built for, without copying them, hence it is meant for
+ *     lists that no longer change. Any modification made to the list through its methods invalidates the index:
+ *     from then on, every query throws {@link ConcurrentModificationException}. Modifications that bypass the
+ *     list (such as writing to an array wrapped by {@link BitListConversions#wrapLongs(long[], int)}) can't
+ *     be detected. </p>
+ */
+public final class RankSelectIndex {
+
+    // The number of bits covered by each block
+    private static final int BLOCK_BITS = 512;
+
+    // The number of bits covered by each superblock
+    private static final int SUPERBLOCK_BITS = 2048;
+
+    // The number of words in each block
+    private static final int WORDS_PER_BLOCK = BLOCK_BITS / BitField.BITS_PER_WORD;
+
+    // The number of blocks in each superblock
+    private static final int BLOCKS_PER_SUPERBLOCK = SUPERBLOCK_BITS / BLOCK_BITS;
+
+    // One superblock position is sampled every this many set (or clear) bits
+    private static final int SELECT_SAMPLE_RATE = 8192;
+
+    // The list this index was built for
+    private final BitList bitList;
+
+    // The storage of the indexed list
+    private final BitField bitField;
+
+    // The mutation count of the list when the index was built
+    private final int expectedMutationCount;
+
+    // The number of bits of the list when the index was built
+    private final int size;
+
+    // The number of set bits in the list
+    private final int ones;
+
+    // The number of set bits before each superblock, plus the total count as a last entry
+    private final int[] superblockRanks;
+
+    // The number of set bits before each block, relative to the start of its superblock
+    private final short[] blockRanks;
+
+    // The superblock containing the (i * SELECT_SAMPLE_RATE)-th set bit
+    private final int[] oneSamples;
+
+    // The superblock containing the (i * SELECT_SAMPLE_RATE)-th clear bit
+    private final int[] zeroSamples;
+
+    /**
+     * Builds the index for the given {@link BitList}, reading it once.
+     *
+     * @param bitList the list to index
+     */
+    public RankSelectIndex(BitList bitList) {
+        this.bitList = bitList;
+        this.bitField = bitList.getBitField();
+        this.expectedMutationCount = bitList.mutationCount();
+        this.size = bitList.size();
+        int wordCount = BitField.wordsFor(size);
+        int blockCount = (wordCount + WORDS_PER_BLOCK - 1) / WORDS_PER_BLOCK;
+        int superblockCount = (blockCount + BLOCKS_PER_SUPERBLOCK - 1) / BLOCKS_PER_SUPERBLOCK;
+        this.superblockRanks = new int[superblockCount + 1];
+        this.blockRanks = new short[blockCount];
+        int rank = 0;
+        for (int block = 0; block < blockCount; block++) {
+            if (block % BLOCKS_PER_SUPERBLOCK == 0) {
+                superblockRanks[block / BLOCKS_PER_SUPERBLOCK] = rank;
+            }
+            blockRanks[block] = (short) (rank - superblockRanks[block / BLOCKS_PER_SUPERBLOCK]);
+            int lastWord = Math.min(wordCount, (block + 1) * WORDS_PER_BLOCK);
+            for (int wordIndex = block * WORDS_PER_BLOCK; wordIndex < lastWord; wordIndex++) {
+                rank += Long.bitCount(bitField.getWord(wordIndex));
+            }
+        }
+        superblockRanks[superblockCount] = rank;
+        this.ones = rank;
+        this.oneSamples = sample(superblockCount, ones, true);
+        this.zeroSamples = sample(superblockCount, size - ones, false);
+    }
+
+    // Records, every SELECT_SAMPLE_RATE set (or clear) bits, the superblock where that bit lives
+    private int[] sample(int superblockCount, int total, boolean countOnes) {
+        int[] samples = new int[total / SELECT_SAMPLE_RATE + 2];
+        int superblock = 0;
+        for (int i = 0; i * SELECT_SAMPLE_RATE < total; i++) {
+            long target = (long) i * SELECT_SAMPLE_RATE;
+            while (superblock + 1 < superblockCount && ranksBefore(superblock + 1, countOnes) <= target) {
+                superblock++;
+            }
+            samples[i] = superblock;
+        }
+        for (int i = (total + SELECT_SAMPLE_RATE - 1) / SELECT_SAMPLE_RATE; i < samples.length; i++) {
+            samples[i] = Math.max(0, superblockCount - 1);
+        }
+        return samples;
+    }
+
+    // Returns the number of set (or clear) bits before the given superblock
+    private int ranksBefore(int superblock, boolean countOnes) {
+        int onesBefore = superblockRanks[superblock];
+        return countOnes ? onesBefore : superblock * SUPERBLOCK_BITS - onesBefore;
+    }
+
+    /**
+     * Returns {@code true} if the indexed list hasn't been modified since this index was built.
+     *
+     * @return {@code true} if the queries of this index can be answered
+     */
+    public boolean isValid() {
+        return bitList.mutationCount() == expectedMutationCount;
+    }
+
+    // Makes sure that the indexed list hasn't changed
+    private void checkValid() {
+        if (!isValid()) {
+            throw new ConcurrentModificationException("The BitList has been modified after the RankSelectIndex was built");
+        }
+    }
+
+    /**
+     * Returns the number of {@code BitValue.ONE} in the indexed list.
+     *
+     * @throws ConcurrentModificationException if the list has been modified since the index was built
+     *
+     * @return the number of set bits
+     */
+    public int ones() {
+        checkValid();
+        return ones;
+    }
+
+    /**
+     * Returns the number of {@code BitValue.ZERO} in the indexed list.
+     *
+     * @throws ConcurrentModificationException if the list has been modified since the index was built
+     *
+     * @return the number of clear bits
+     */
+    public int zeros() {
+        checkValid();
+        return size - ones;
+    }
+
+    /**
+     * Returns the number of {@code BitValue.ONE} among the first {@code index} bits of the list.
+     *
+     * @param index the number of leading bits to consider
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *         ({@code index < 0 || index > size()})
+     *
+     * @throws ConcurrentModificationException if the list has been modified since the index was built
+     *
+     * @return the number of set bits in [0, {@code index})
+     */
+    public int rank1(int index) {
+        checkValid();
+        Objects.checkIndex(index, size + 1);
+        int block = index / BLOCK_BITS;
+        if (block == blockRanks.length) {
+            return ones;
+        }
+        int rank = superblockRanks[block / BLOCKS_PER_SUPERBLOCK] + blockRanks[block];
+        int wordIndex = block * WORDS_PER_BLOCK;
+        int lastWord = index >>> BitField.ADDRESS_BITS_PER_WORD;
+        for (; wordIndex < lastWord; wordIndex++) {
+            rank += Long.bitCount(bitField.getWord(wordIndex));
+        }
+        int offset = index & (BitField.BITS_PER_WORD - 1);
+        if (offset != 0) {
+            rank += Long.bitCount(bitField.getWord(lastWord) & ((1L << offset) - 1));
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the number of {@code BitValue.ZERO} among the first {@code index} bits of the list.
+     *
+     * @param index the number of leading bits to consider
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     *         ({@code index < 0 || index > size()})
+     *
+     * @throws ConcurrentModificationException if the list has been modified since the index was built
+     *
+     * @return the number of clear bits in [0, {@code index})
+     */
+    public int rank0(int index) {
+        return index - rank1(index);
+    }
+
+    /**
+     * Returns the index of the {@code k}-th {@code BitValue.ONE} of the list, counting from zero.
+     *
+     * @param k the rank of the set bit to find
+     *
+     * @throws IndexOutOfBoundsException if there is no such bit
+     *         ({@code k < 0 || k >= ones()})
+     *
+     * @throws ConcurrentModificationException if the list has been modified since the index was built
+     *
+     * @return the index of the {@code k}-th set bit
+     */
+    public int select1(int k) {
+        checkValid();
+        Objects.checkIndex(k, ones);
+        return select(k, true);
+    }
+
+    /**
+     * Returns the index of the {@code k}-th {@code BitValue.ZERO} of the list, counting from zero.
+     *
+     * @param k the rank of the clear bit to find
+     *
+     * @throws IndexOutOfBoundsException if there is no such bit
+     *         ({@code k < 0 || k >= zeros()})
+     *
+     * @throws ConcurrentModificationException if the list has been modified since the index was built
+     *
+     * @return the index of the {@code k}-th clear bit
+     */
+    public int select0(int k) {
+        checkValid();
+        Objects.checkIndex(k, size - ones);
+        return select(k, false);
+    }
+
+    // Finds the k-th set (or clear) bit: sampled range, then superblocks, then blocks, then words
+    private int select(int k, boolean countOnes) {
+        int[] samples = countOnes ? oneSamples : zeroSamples;
+        int low = samples[k / SELECT_SAMPLE_RATE];
+        int high = samples[k / SELECT_SAMPLE_RATE + 1];
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (ranksBefore(middle, countOnes) <= k) {
+                low = middle;
+            }
+            else {
+                high = middle - 1;
+            }
+        }
+        int remaining = k - ranksBefore(low, countOnes);
+        int block = low * BLOCKS_PER_SUPERBLOCK;
+        int lastBlock = Math.min(blockRanks.length, block + BLOCKS_PER_SUPERBLOCK) - 1;
+        while (block < lastBlock && blockRanksBefore(block + 1, countOnes) <= remaining) {
+            block++;
+        }
+        remaining -= blockRanksBefore(block, countOnes);
+        int wordIndex = block * WORDS_PER_BLOCK;
+        while (true) {
+            long word = countOnes ? bitField.getWord(wordIndex) : ~bitField.getWord(wordIndex);
+            int count = Long.bitCount(word);
+            if (remaining < count) {
+                return wordIndex * BitField.BITS_PER_WORD + selectInWord(word, remaining);
+            }
+            remaining -= count;
+            wordIndex++;
+        }
+    }
+
+    // Returns the number of set (or clear) bits between the start of the superblock and the given block
+    private int blockRanksBefore(int block, boolean countOnes) {
+        int onesBefore = blockRanks[block];
+        return countOnes ? onesBefore : (block % BLOCKS_PER_SUPERBLOCK) * BLOCK_BITS - onesBefore;
+    }
+
+    // Returns the position of the k-th set bit of the word, skipping whole bytes first
+    private static int selectInWord(long word, int k) {
+        int shift = 0;
+        while (true) {
+            int count = Long.bitCount(word & 0xFFL);
+            if (k < count) {
+                break;
+            }
+            k -= count;
+            word >>>= Byte.SIZE;
+            shift += Byte.SIZE;
+        }
+        for (int i = 0; i < k; i++) {
+            word &= word - 1;
+        }
+        return shift + Long.numberOfTrailingZeros(word);
+    }
+}
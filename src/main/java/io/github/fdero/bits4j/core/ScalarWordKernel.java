@@ -0,0 +1,58 @@
+package io.github.fdero.bits4j.core;
+
+/**
+ * A {@link WordKernel} made of plain loops, one for each operation so that the JIT compiler can unroll them.
+ */
+final class ScalarWordKernel implements WordKernel {
+
+    @Override
+    public void combine(long[] target, long[] source, BitwiseOperation operation, int from, int to) {
+        switch (operation) {
+            case AND -> {
+                for (int index = from; index < to; index++) {
+                    target[index] &= source[index];
+                }
+            }
+            case OR -> {
+                for (int index = from; index < to; index++) {
+                    target[index] |= source[index];
+                }
+            }
+            case XOR -> {
+                for (int index = from; index < to; index++) {
+                    target[index] ^= source[index];
+                }
+            }
+            case AND_NOT -> {
+                for (int index = from; index < to; index++) {
+                    target[index] &= ~source[index];
+                }
+            }
+        }
+    }
+
+    @Override
+    public void flip(long[] words, int from, int to) {
+        for (int index = from; index < to; index++) {
+            words[index] = ~words[index];
+        }
+    }
+
+    @Override
+    public int bitCount(long[] words, int from, int to) {
+        int count = 0;
+        for (int index = from; index < to; index++) {
+            count += Long.bitCount(words[index]);
+        }
+        return count;
+    }
+
+    @Override
+    public int hammingDistance(long[] left, long[] right, int from, int to) {
+        int distance = 0;
+        for (int index = from; index < to; index++) {
+            distance += Long.bitCount(left[index] ^ right[index]);
+        }
+        return distance;
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.fdero.bits4j.core;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A {@link WordKernel} that processes as many words at a time as the widest SIMD registers of the machine can hold,
+ * through the incubating Vector API.
+ *
+ * <p> This class can only be loaded when the {@code jdk.incubator.vector} module is part of the boot layer
+ *     ({@code --add-modules jdk.incubator.vector}), hence it's only ever instantiated reflectively, by
+ *     {@link BitListOperations}. The words that don't fill a whole vector are processed by the scalar kernel. </p>
+ */
+final class VectorWordKernel implements WordKernel {
+
+    // The widest vector shape supported by the machine
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    // Processes the words that don't fill a whole vector
+    private static final WordKernel TAIL = new ScalarWordKernel();
+
+    /**
+     * Each operation has its own loop, since the Vector API is only compiled to SIMD instructions
+     * when the lanewise operator is a constant.
+     */
+    @Override
+    public void combine(long[] target, long[] source, BitwiseOperation operation, int from, int to) {
+        int bound = from + SPECIES.loopBound(to - from);
+        int index = from;
+        switch (operation) {
+            case AND -> {
+                for (; index < bound; index += SPECIES.length()) {
+                    LongVector.fromArray(SPECIES, target, index)
+                        .lanewise(VectorOperators.AND, LongVector.fromArray(SPECIES, source, index))
+                        .intoArray(target, index);
+                }
+            }
+            case OR -> {
+                for (; index < bound; index += SPECIES.length()) {
+                    LongVector.fromArray(SPECIES, target, index)
+                        .lanewise(VectorOperators.OR, LongVector.fromArray(SPECIES, source, index))
+                        .intoArray(target, index);
+                }
+            }
+            case XOR -> {
+                for (; index < bound; index += SPECIES.length()) {
+                    LongVector.fromArray(SPECIES, target, index)
+                        .lanewise(VectorOperators.XOR, LongVector.fromArray(SPECIES, source, index))
+                        .intoArray(target, index);
+                }
+            }
+            case AND_NOT -> {
+                for (; index < bound; index += SPECIES.length()) {
+                    LongVector.fromArray(SPECIES, target, index)
+                        .lanewise(VectorOperators.AND_NOT, LongVector.fromArray(SPECIES, source, index))
+                        .intoArray(target, index);
+                }
+            }
+        }
+        TAIL.combine(target, source, operation, index, to);
+    }
+
+    @Override
+    public void flip(long[] words, int from, int to) {
+        int bound = from + SPECIES.loopBound(to - from);
+        int index = from;
+        for (; index < bound; index += SPECIES.length()) {
+            LongVector.fromArray(SPECIES, words, index).lanewise(VectorOperators.NOT).intoArray(words, index);
+        }
+        TAIL.flip(words, index, to);
+    }
+
+    @Override
+    public int bitCount(long[] words, int from, int to) {
+        int bound = from + SPECIES.loopBound(to - from);
+        int index = from;
+        LongVector counts = LongVector.zero(SPECIES);
+        for (; index < bound; index += SPECIES.length()) {
+            counts = counts.add(LongVector.fromArray(SPECIES, words, index).lanewise(VectorOperators.BIT_COUNT));
+        }
+        return (int) counts.reduceLanes(VectorOperators.ADD) + TAIL.bitCount(words, index, to);
+    }
+
+    @Override
+    public int hammingDistance(long[] left, long[] right, int from, int to) {
+        int bound = from + SPECIES.loopBound(to - from);
+        int index = from;
+        LongVector counts = LongVector.zero(SPECIES);
+        for (; index < bound; index += SPECIES.length()) {
+            LongVector difference = LongVector.fromArray(SPECIES, left, index)
+                .lanewise(VectorOperators.XOR, LongVector.fromArray(SPECIES, right, index));
+            counts = counts.add(difference.lanewise(VectorOperators.BIT_COUNT));
+        }
+        return (int) counts.reduceLanes(VectorOperators.ADD) + TAIL.hammingDistance(left, right, index, to);
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.fdero.bits4j.core;
+
+/**
+ * The loops that process arrays of sixty-four bit words in bulk, for the bitwise operations and the population counts
+ * of array-backed bit fields.
+ *
+ * <p> Every method works on the words in [{@code from}, {@code to}), the caller makes sure that the range is valid for
+ *     every array involved. </p>
+ *
+ * @see ScalarWordKernel
+ * @see VectorWordKernel
+ */
+interface WordKernel {
+
+    /**
+     * Replaces every word of {@code target} with the result of the operation between it and the word of {@code source}.
+     */
+    void combine(long[] target, long[] source, BitwiseOperation operation, int from, int to);
+
+    /**
+     * Flips every bit of the words.
+     */
+    void flip(long[] words, int from, int to);
+
+    /**
+     * Returns the number of set bits of the words.
+     */
+    int bitCount(long[] words, int from, int to);
+
+    /**
+     * Returns the number of positions where the bits of the two arrays differ.
+     */
+    int hammingDistance(long[] left, long[] right, int from, int to);
+}
@@ -1,18 +1,27 @@
 package io.github.fdero.bits4j.stream;
 
 import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
 import java.util.List;
+import java.util.Objects;
 
 import io.github.fdero.bits4j.core.BitList;
-import io.github.fdero.bits4j.core.BitListConversions;
 import io.github.fdero.bits4j.core.BitValue;
 
 /**
- * An {@link InputStream} that reads bytes by iterating over a {@link List} of 
+ * An {@link InputStream} that reads bytes by iterating over a {@link List} of
  * {@link BitValue} eight bytes at a time.
+ *
+ * <p> When the underlying list is a {@link BitList}, bytes are extracted from its storage
+ *     sixty-four bits at a time, otherwise every bit is read through {@link List#get(int)}. </p>
  */
 public class BitListInputStream extends InputStream {
-        
+
+    // Writes a long into a byte array as eight little-endian bytes
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
     // The list of bits to read bytes from
     private final List<BitValue> bitList;
 
@@ -21,7 +30,7 @@ public class BitListInputStream extends InputStream {
 
     /**
      * Constructs a new {@link BitListInputStream} that reads bytes from the given {@link List} of {@link BitValue}.
-     * 
+     *
      * @param bitList the list of bits to read bytes from
      */
     public BitListInputStream(List<BitValue> bitList) {
@@ -30,20 +39,100 @@ public class BitListInputStream extends InputStream {
 
     /**
      * Reads a byte from the list of bits.
-     * 
+     *
      * <p> Reads eight consecutive bits from the underlying {@link List} of {@link BitValue}
      *     if possible. If there are no more such sequences (hence, even if there are still seven bits or less) the stream act as if the end is reached. </p>
-     * 
-     * @return the next byte read from the list of bits, or -1 if the end of the stream is reached
+     *
+     * @return the next byte read from the list of bits (as an unsigned value), or -1 if the end of the stream is reached
      */
     @Override
     public int read() {
         if (byteCounter + 8 > bitList.size()) {
             return -1;
         }
-        BitList byteBits = new BitList(); 
-        byteBits.addAll(bitList.subList(byteCounter, byteCounter + 8));
+        int byteValue = readByteAt(byteCounter);
         byteCounter += 8;
-        return BitListConversions.asByte(byteBits);
+        return byteValue;
+    }
+
+    /**
+     * Reads up to {@code length} bytes from the list of bits into the given array.
+     *
+     * <p> Only complete sequences of eight bits are read, as in {@link #read()}. </p>
+     *
+     * @param bytes the array to fill
+     * @param offset the index of the first byte to fill
+     * @param length the maximum number of bytes to read
+     *
+     * @throws IndexOutOfBoundsException if the range is out of the bounds of the array
+     *
+     * @return the number of bytes read, or -1 if the end of the stream is reached
+     */
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        if (length == 0) {
+            return 0;
+        }
+        int readCount = Math.min(length, available());
+        if (readCount == 0) {
+            return -1;
+        }
+        int end = offset + readCount;
+        int index = offset;
+        if (bitList instanceof BitList list) {
+            for (; index + Long.BYTES <= end; index += Long.BYTES) {
+                LONG_VIEW.set(bytes, index, list.getBits(byteCounter, Long.SIZE));
+                byteCounter += Long.SIZE;
+            }
+        }
+        for (; index < end; index++) {
+            bytes[index] = (byte) readByteAt(byteCounter);
+            byteCounter += 8;
+        }
+        return readCount;
+    }
+
+    /**
+     * Returns the number of complete bytes that are left in the list of bits.
+     *
+     * @return the number of bytes that can be read without reaching the end of the stream
+     */
+    @Override
+    public int available() {
+        return Math.max(0, (bitList.size() - byteCounter) / 8);
+    }
+
+    /**
+     * Skips over up to {@code count} bytes of the list of bits, without reading them.
+     *
+     * @param count the number of bytes to skip
+     *
+     * @return the number of bytes actually skipped
+     */
+    @Override
+    public long skip(long count) {
+        if (count <= 0) {
+            return 0;
+        }
+        int skipped = (int) Math.min(count, available());
+        byteCounter += skipped * 8;
+        return skipped;
+    }
+
+    /**
+     * Assembles the eight bits starting at the given index into an unsigned byte.
+     */
+    private int readByteAt(int fromIndex) {
+        if (bitList instanceof BitList list) {
+            return (int) list.getBits(fromIndex, 8);
+        }
+        int byteValue = 0;
+        for (int i = 0; i < 8; i++) {
+            if (bitList.get(fromIndex + i) == BitValue.ONE) {
+                byteValue |= 1 << i;
+            }
+        }
+        return byteValue;
     }
 }
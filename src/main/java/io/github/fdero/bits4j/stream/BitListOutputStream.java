@@ -1,32 +1,41 @@
 package io.github.fdero.bits4j.stream;
 
 import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
 import java.util.List;
+import java.util.Objects;
 
 import io.github.fdero.bits4j.core.BitList;
-import io.github.fdero.bits4j.core.BitListConversions;
 import io.github.fdero.bits4j.core.BitValue;
 
 /**
- * An {@link OutputStream} that writes bytes by adding them as sequences of eight bits 
+ * An {@link OutputStream} that writes bytes by adding them as sequences of eight bits
  * to a {@link List} of {@link BitValue}.
- * 
- * <p> This class is intended to be used in conjunction with {@link BitWriter}, 
+ *
+ * <p> This class is intended to be used in conjunction with {@link BitWriter},
  *     by providing a way to write bytes to a {@link List} of {@link BitValue}
  *     using the {@link java.io.OutputStream} interface. </p>
- * 
+ *
+ * <p> When the underlying list is a {@link BitList}, bytes are appended to its storage
+ *     sixty-four bits at a time, otherwise every bit is added through {@link List#add(Object)}. </p>
+ *
  * @see io.github.fdero.bits4j.stream.BitWriter
  * @see java.io.OutputStream
- * 
+ *
  */
 public class BitListOutputStream extends OutputStream {
-    
+
+    // Reads eight little-endian bytes from a byte array as a long
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
     // The list of bits to write bytes to
     private final List<BitValue> bitList;
 
     /**
      * Constructs a new {@link BitListOutputStream} that writes bytes to the given {@link java.util.List} of {@link io.github.fdero.bits4j.core.BitValue}.
-     * 
+     *
      * @param bitList the list of bits to write bytes to
      */
     public BitListOutputStream(List<BitValue> bitList) {
@@ -34,15 +43,44 @@ public class BitListOutputStream extends OutputStream {
     }
 
     /**
-     * Writes an {@code int} encoded byte by adding them as sequences of 8 bits 
+     * Writes an {@code int} encoded byte by adding them as sequences of 8 bits
      * to the underlying {@link List} of {@link BitValue}
-     * 
+     *
+     * <p> As specified by {@link OutputStream#write(int)}, only the eight low-order bits of the argument are written. </p>
+     *
      * <p> writing happens immediately, no buffers are used </p>
      */
     @Override
     public void write(int b) {
-        assert b >= 0 && b <= 255;
-        BitList byteBits = BitListConversions.fromByte((byte) b);
-        bitList.addAll(byteBits);
+        if (bitList instanceof BitList list) {
+            list.addBits(b, 8);
+            return;
+        }
+        for (int i = 0; i < 8; i++) {
+            bitList.add(((b >>> i) & 1) != 0 ? BitValue.ONE : BitValue.ZERO);
+        }
+    }
+
+    /**
+     * Writes {@code length} bytes from the given array, starting at {@code offset}, as sequences of 8 bits
+     * to the underlying {@link List} of {@link BitValue}
+     *
+     * <p> writing happens immediately, no buffers are used </p>
+     *
+     * @throws IndexOutOfBoundsException if the range is out of the bounds of the array
+     */
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        int end = offset + length;
+        int index = offset;
+        if (bitList instanceof BitList list) {
+            for (; index + Long.BYTES <= end; index += Long.BYTES) {
+                list.addBits((long) LONG_VIEW.get(bytes, index), Long.SIZE);
+            }
+        }
+        for (; index < end; index++) {
+            write(bytes[index]);
+        }
     }
 }
\ No newline at end of file
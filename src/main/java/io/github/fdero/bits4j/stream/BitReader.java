@@ -1,79 +1,578 @@
 package io.github.fdero.bits4j.stream;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.util.Objects;
 
-import io.github.fdero.bits4j.core.BitList;
-import io.github.fdero.bits4j.core.BitListConversions;
 import io.github.fdero.bits4j.core.BitValue;
 
 /**
- * A class that reads one bit at a time from an {@link InputStream}.
- * 
+ * A class that reads bits from an {@link InputStream} or from a {@link ReadableByteChannel}.
+ *
  * <p> While {@link InputStream} allows reading bytes, this class allows reading bits.
- *     It reads bits from the input stream one at a time, and returns them as {@link BitValue}.
- *     When the end of the input stream is reached, it returns {@code null}. </p>
+ *     Bits can be read one at a time, returned as {@link BitValue}, or many at a time
+ *     as the least significant bits of a {@code long}. When the end of the input stream is reached,
+ *     {@code read} returns {@code null} while the multi-bit methods throw {@link EOFException}. </p>
+ *
+ * <p> Within each byte, the least significant bit is read first. This matches the order in which
+ *     {@link BitWriter} writes bits. </p>
+ *
+ * <p> A reader built on a channel refills a large direct {@link ByteBuffer} with a single call to
+ *     {@link ReadableByteChannel#read(ByteBuffer)}, so that a {@link java.nio.channels.FileChannel}
+ *     is read without going through a stream or a heap array. When the channel is a
+ *     {@link SeekableByteChannel}, the reader can also move to any bit with {@link #seek(long)}. </p>
  */
 public class BitReader {
 
-    // The input stream to read bits from
+    // The default size of the internal byte buffer
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    // The default size of the direct byte buffer used to read from a channel
+    private static final int DEFAULT_CHANNEL_BUFFER_SIZE = 1 << 16;
+
+    // Reads eight little-endian bytes from a byte array as a long
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // The input stream to read bits from, or null when reading from a channel
     private final InputStream inputStream;
 
-    // The buffer that holds the bits read from the input stream
-    private BitList buffer = null;
-    
-    // The index of the next bit to read from the buffer
-    private int bufferIndex = 0;
+    // The channel to read bits from, or null when reading from an input stream
+    private final ReadableByteChannel channel;
+
+    // The buffer that holds the bytes read but not yet moved to the bit cache, backed by an array only for input streams
+    private final ByteBuffer byteBuffer;
+
+    // The index of the next byte to move from the byte buffer to the bit cache
+    private int bufferPosition = 0;
+
+    // The number of valid bytes in the byte buffer
+    private int bufferLimit = 0;
+
+    // The bits ready to be read, the next bit to read is the least significant one
+    private long cache = 0;
+
+    // The number of bits currently stored in the bit cache
+    private int cacheBits = 0;
+
+    // Whether the input stream has reported its end
+    private boolean endOfStream = false;
 
     /**
      * Constructs a new {@link BitReader} that reads bits from the given {@link InputStream}.
-     * 
+     *
      * @param inputStream the input stream to read bits from
      */
     public BitReader(InputStream inputStream) {
+        this(inputStream, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a new {@link BitReader} that reads bits from the given {@link InputStream}
+     * using an internal buffer of the given size.
+     *
+     * @param inputStream the input stream to read bits from
+     * @param bufferSize the size in bytes of the internal buffer
+     *
+     * @throws IllegalArgumentException if the buffer size is smaller than eight bytes
+     *         ({@code bufferSize < 8})
+     */
+    public BitReader(InputStream inputStream, int bufferSize) {
+        this(inputStream, null, ByteBuffer.allocate(checkBufferSize(bufferSize)));
+    }
+
+    /**
+     * Constructs a new {@link BitReader} that reads bits from the given {@link ReadableByteChannel}.
+     *
+     * @param channel the channel to read bits from
+     *
+     * @throws IllegalArgumentException if the channel is in non-blocking mode
+     */
+    public BitReader(ReadableByteChannel channel) {
+        this(channel, DEFAULT_CHANNEL_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a new {@link BitReader} that reads bits from the given {@link ReadableByteChannel}
+     * using a direct buffer of the given size.
+     *
+     * @param channel the channel to read bits from
+     * @param bufferSize the size in bytes of the direct buffer
+     *
+     * @throws IllegalArgumentException if the buffer size is smaller than eight bytes ({@code bufferSize < 8}),
+     *         or if the channel is in non-blocking mode
+     */
+    public BitReader(ReadableByteChannel channel, int bufferSize) {
+        this(null, channel, ByteBuffer.allocateDirect(checkBufferSize(bufferSize)));
+    }
+
+    private BitReader(InputStream inputStream, ReadableByteChannel channel, ByteBuffer byteBuffer) {
+        if (channel instanceof SelectableChannel selectable && !selectable.isBlocking()) {
+            throw new IllegalArgumentException("Can't read bits from a channel in non-blocking mode");
+        }
         this.inputStream = inputStream;
+        this.channel = channel;
+        this.byteBuffer = byteBuffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static int checkBufferSize(int bufferSize) {
+        if (bufferSize < Long.BYTES) {
+            throw new IllegalArgumentException("The buffer of a BitReader must be able to hold at least eight bytes");
+        }
+        return bufferSize;
+    }
+
+    /**
+     * Reads as many bytes as possible from the source into the byte buffer, which must be empty.
+     *
+     * @return {@code false} if the end of the source was reached and no bytes could be read
+     * @throws IOException if an I/O error occurs during the read operation from the underlying source
+     */
+    private boolean fillBuffer() throws IOException {
+        if (endOfStream) {
+            return false;
+        }
+        int readCount = channel == null
+            ? inputStream.read(byteBuffer.array(), 0, byteBuffer.capacity())
+            : channel.read(byteBuffer.clear());
+        if (readCount <= 0) {
+            endOfStream = true;
+            return false;
+        }
+        bufferPosition = 0;
+        bufferLimit = readCount;
+        return true;
     }
 
     /**
-     * Updates internal buffer with the next byte from the input stream if needed.
-     * 
-     * <p> If the buffer is null or all bits in the buffer have been read, this method 
-     *     reads the next byte from the {@link InputStream} </p
-     * 
+     * Moves whole bytes from the byte buffer to the bit cache until the latter can't hold another byte.
+     *
+     * <p> When the byte buffer is exhausted it gets refilled from the underlying {@link InputStream}.
+     *     After this method returns, the cache holds fewer than fifty-seven bits only if the end of the
+     *     input stream has been reached. </p>
+     *
      * @throws IOException if an I/O error occurs during the read operation from the underlying {@link InputStream}
      */
-    private void setupBuffer() throws IOException {
-        if (buffer == null || bufferIndex == 8) {
-            int integerEncodedByte = inputStream.read();
-            if (integerEncodedByte == -1) {
-                buffer = null;
-                bufferIndex = 0;
+    private void refill() throws IOException {
+        while (cacheBits <= Long.SIZE - Byte.SIZE) {
+            if (bufferPosition == bufferLimit && !fillBuffer()) {
                 return;
             }
-            byte byteValue = (byte) integerEncodedByte;
-            buffer = BitListConversions.fromByte(byteValue);
-            bufferIndex = 0;
+            if (cacheBits == 0 && bufferLimit - bufferPosition >= Long.BYTES) {
+                cache = byteBuffer.getLong(bufferPosition);
+                bufferPosition += Long.BYTES;
+                cacheBits = Long.SIZE;
+                return;
+            }
+            cache |= (byteBuffer.get(bufferPosition++) & 0xFFL) << cacheBits;
+            cacheBits += Byte.SIZE;
         }
     }
 
+    /**
+     * Removes the given number of bits (at most the ones in the cache) from the bit cache and returns them.
+     */
+    private long take(int count) {
+        long value;
+        if (count == Long.SIZE) {
+            value = cache;
+            cache = 0;
+        }
+        else {
+            value = cache & ((1L << count) - 1);
+            cache >>>= count;
+        }
+        cacheBits -= count;
+        return value;
+    }
+
     /**
      * Reads the next bit from the input stream.
-     * 
+     *
      * <p> This method reads the next bit from the input stream and returns it as {@link BitValue}. </p>
-     * 
-     * <p> If the current buffer is null or all bits in the buffer have been read, this method reads the next byte from 
-     *     underlying {@link java.io.InputStream}. If the end of the stream is reached, it returns {@code null} </p> 
-     * 
+     *
+     * <p> Bits are served from an internal cache which is refilled from the underlying {@link java.io.InputStream}
+     *     when empty. If the end of the stream is reached, it returns {@code null} </p>
+     *
      * @return the next bit from the input stream as {@link BitValue}, or {@code null} if the end of the input stream is reached
      * @throws IOException if an I/O error occurs during the read operation from the underlying {@link InputStream}
      */
     public BitValue read() throws IOException {
-        setupBuffer();
-        if (buffer == null) {
-            return null;
+        if (cacheBits == 0) {
+            refill();
+            if (cacheBits == 0) {
+                return null;
+            }
+        }
+        return take(1) != 0 ? BitValue.ONE : BitValue.ZERO;
+    }
+
+    /**
+     * Reads the next bit from the input stream as a {@code boolean}, {@code true} standing for {@code BitValue.ONE}.
+     *
+     * @see #read()
+     *
+     * @return the next bit from the input stream
+     * @throws EOFException if the end of the input stream is reached
+     * @throws IOException if an I/O error occurs during the read operation from the underlying {@link InputStream}
+     */
+    public boolean readBoolean() throws IOException {
+        return readBits(1) != 0;
+    }
+
+    /**
+     * Reads the next {@code count} bits from the input stream.
+     *
+     * <p> The first bit read ends up in the least significant position of the result, hence this method
+     *     reads back what {@link BitWriter#writeBits(long, int)} wrote. Bits of the result above
+     *     {@code count} are zero. </p>
+     *
+     * @param count the number of bits to read
+     *
+     * @throws IllegalArgumentException if the count is out of range
+     *         ({@code count < 0 || count > 64})
+     *
+     * @throws EOFException if the end of the input stream is reached before {@code count} bits could be read,
+     *         in which case the bits that were available are consumed
+     *
+     * @throws IOException if an I/O error occurs during the read operation from the underlying {@link InputStream}
+     *
+     * @return the bits read
+     */
+    public long readBits(int count) throws IOException {
+        if (count < 0 || count > Long.SIZE) {
+            throw new IllegalArgumentException("Can't read less than zero or more than sixty-four bits at once");
+        }
+        if (count <= cacheBits) {
+            return take(count);
+        }
+        refill();
+        if (count <= cacheBits) {
+            return take(count);
+        }
+        int lowCount = cacheBits;
+        long low = take(lowCount);
+        refill();
+        int highCount = count - lowCount;
+        if (highCount > cacheBits) {
+            take(cacheBits);
+            throw new EOFException("Reached the end of the stream before " + count + " bits could be read");
+        }
+        return low | (take(highCount) << lowCount);
+    }
+
+    /**
+     * Returns the next {@code count} bits of the input stream without consuming them.
+     *
+     * <p> The result is laid out as in {@link #readBits(int)}, so a prefix-code decoder can peek
+     *     a fixed number of bits, look them up in a table and then consume only the length of the
+     *     matched code through {@link #skipBits(long)}. If fewer than {@code count} bits are left
+     *     before the end of the input stream, the missing ones read as zeros. </p>
+     *
+     * @param count the number of bits to look at
+     *
+     * @throws IllegalArgumentException if the count is out of range
+     *         ({@code count < 0 || count > 56})
+     *
+     * @throws IOException if an I/O error occurs during the read operation from the underlying {@link InputStream}
+     *
+     * @return the next {@code count} bits
+     */
+    public long peekBits(int count) throws IOException {
+        if (count < 0 || count > Long.SIZE - Byte.SIZE) {
+            throw new IllegalArgumentException("Can't look ahead less than zero or more than fifty-six bits");
+        }
+        if (count > cacheBits) {
+            refill();
+        }
+        return cache & ((1L << count) - 1);
+    }
+
+    /**
+     * Skips the next {@code count} bits of the input stream.
+     *
+     * <p> Bits still held by the reader are discarded first, then whole bytes are skipped on the
+     *     underlying {@link InputStream} without being read into the reader. </p>
+     *
+     * @param count the number of bits to skip
+     *
+     * @throws IllegalArgumentException if the count is negative
+     *         ({@code count < 0})
+     *
+     * @throws EOFException if the end of the input stream is reached before {@code count} bits could be skipped
+     *
+     * @throws IOException if an I/O error occurs during the skip operation on the underlying {@link InputStream}
+     */
+    public void skipBits(long count) throws IOException {
+        if (count < 0) {
+            throw new IllegalArgumentException("Can't skip a negative number of bits");
+        }
+        if (count <= cacheBits) {
+            take((int) count);
+            return;
+        }
+        count -= cacheBits;
+        take(cacheBits);
+        long bytesToSkip = count / Byte.SIZE;
+        int buffered = (int) Math.min(bytesToSkip, bufferLimit - bufferPosition);
+        bufferPosition += buffered;
+        bytesToSkip -= buffered;
+        while (bytesToSkip > 0) {
+            long skipped = skipSource(bytesToSkip);
+            if (skipped <= 0) {
+                endOfStream = true;
+                throw new EOFException("Reached the end of the stream while skipping bits");
+            }
+            bytesToSkip -= skipped;
+        }
+        int remainingBits = (int) (count % Byte.SIZE);
+        if (remainingBits > 0) {
+            refill();
+            if (remainingBits > cacheBits) {
+                throw new EOFException("Reached the end of the stream while skipping bits");
+            }
+            take(remainingBits);
+        }
+    }
+
+    /**
+     * Skips up to {@code count} bytes of the source, which must have been consumed up to the end of the byte buffer.
+     *
+     * <p> Seekable channels just move their position, other channels are read into the byte buffer, whose
+     *     bytes past the skipped ones are kept. </p>
+     *
+     * @return the number of bytes skipped, zero only if the end of the source was reached
+     * @throws IOException if an I/O error occurs during the skip operation on the underlying source
+     */
+    private long skipSource(long count) throws IOException {
+        if (endOfStream) {
+            return 0;
+        }
+        if (channel instanceof SeekableByteChannel seekable) {
+            long position = seekable.position();
+            long skipped = Math.min(count, Math.max(0, seekable.size() - position));
+            seekable.position(position + skipped);
+            bufferPosition = 0;
+            bufferLimit = 0;
+            return skipped;
+        }
+        if (channel != null) {
+            if (!fillBuffer()) {
+                return 0;
+            }
+            bufferPosition = (int) Math.min(count, bufferLimit);
+            return bufferPosition;
+        }
+        long skipped = inputStream.skip(count);
+        if (skipped <= 0) {
+            return inputStream.read() == -1 ? 0 : 1;
+        }
+        return skipped;
+    }
+
+    /**
+     * Moves the reader to the given bit of the channel, counting from the beginning of the channel.
+     *
+     * <p> The next bit read is the bit {@code bitPosition % 8} of the byte {@code bitPosition / 8} of the
+     *     channel, the least significant bit of a byte being the bit zero. If that byte is still in the
+     *     internal buffer, no I/O takes place, otherwise the position of the channel is changed and the
+     *     buffer refilled from there. Seeking past the end of the channel is allowed, the following reads
+     *     will reach the end of the stream. </p>
+     *
+     * @param bitPosition the index of the next bit to read
+     *
+     * @throws UnsupportedOperationException if this reader doesn't read from a {@link SeekableByteChannel}
+     *
+     * @throws IllegalArgumentException if the position is negative
+     *         ({@code bitPosition < 0})
+     *
+     * @throws IOException if an I/O error occurs while changing the position of the channel or reading from it
+     */
+    public void seek(long bitPosition) throws IOException {
+        SeekableByteChannel seekable = seekableChannel();
+        if (bitPosition < 0) {
+            throw new IllegalArgumentException("Can't seek to a negative bit position");
+        }
+        long bytePosition = bitPosition / Byte.SIZE;
+        long bufferStart = seekable.position() - bufferLimit;
+        if (bytePosition >= bufferStart && bytePosition < bufferStart + bufferLimit) {
+            bufferPosition = (int) (bytePosition - bufferStart);
+        }
+        else {
+            seekable.position(bytePosition);
+            bufferPosition = 0;
+            bufferLimit = 0;
+            endOfStream = false;
+        }
+        cache = 0;
+        cacheBits = 0;
+        int bitOffset = (int) (bitPosition % Byte.SIZE);
+        if (bitOffset > 0) {
+            refill();
+            take(Math.min(bitOffset, cacheBits));
+        }
+    }
+
+    /**
+     * Returns the index of the next bit to read, counting from the beginning of the channel.
+     *
+     * @throws UnsupportedOperationException if this reader doesn't read from a {@link SeekableByteChannel}
+     *
+     * @throws IOException if an I/O error occurs while querying the position of the channel
+     *
+     * @return the position of the reader in the channel, in bits
+     */
+    public long bitPosition() throws IOException {
+        long bytePosition = seekableChannel().position() - (bufferLimit - bufferPosition);
+        return bytePosition * Byte.SIZE - cacheBits;
+    }
+
+    private SeekableByteChannel seekableChannel() {
+        if (channel instanceof SeekableByteChannel seekable) {
+            return seekable;
+        }
+        throw new UnsupportedOperationException("Can't seek within a source that is not a SeekableByteChannel");
+    }
+
+    /**
+     * Discards the bits left in the current byte, so that the next bit read is the first one of a byte.
+     *
+     * <p> If the reader is already at the beginning of a byte, it does nothing. </p>
+     *
+     * @return the number of bits that were discarded
+     */
+    public int alignToByte() {
+        int partialBits = cacheBits & 7;
+        take(partialBits);
+        return partialBits;
+    }
+
+    /**
+     * Reads the next {@code count} bits from the input stream as an unsigned number.
+     *
+     * @param count the number of bits to read
+     *
+     * @throws IllegalArgumentException if the count is out of range
+     *         ({@code count < 0 || count > 63})
+     *
+     * @throws EOFException if the end of the input stream is reached before {@code count} bits could be read
+     *
+     * @throws IOException if an I/O error occurs during the read operation from the underlying {@link InputStream}
+     *
+     * @return the bits read, as a non-negative number
+     */
+    public long readUnsigned(int count) throws IOException {
+        if (count < 0 || count >= Long.SIZE) {
+            throw new IllegalArgumentException("Can't read less than zero or more than sixty-three bits as an unsigned number");
+        }
+        return readBits(count);
+    }
+
+    /**
+     * Reads the next {@code count} bits from the input stream as a two's complement number,
+     * the last bit read being the sign bit.
+     *
+     * @param count the number of bits to read
+     *
+     * @throws IllegalArgumentException if the count is out of range
+     *         ({@code count < 1 || count > 64})
+     *
+     * @throws EOFException if the end of the input stream is reached before {@code count} bits could be read
+     *
+     * @throws IOException if an I/O error occurs during the read operation from the underlying {@link InputStream}
+     *
+     * @return the bits read, sign-extended to a {@code long}
+     */
+    public long readSigned(int count) throws IOException {
+        if (count < 1 || count > Long.SIZE) {
+            throw new IllegalArgumentException("Can't read less than one or more than sixty-four bits as a signed number");
+        }
+        int shift = Long.SIZE - count;
+        return (readBits(count) << shift) >> shift;
+    }
+
+    /**
+     * Reads the next sixty-four bits from the input stream as a {@code long}.
+     *
+     * @see #readBits(int)
+     *
+     * @throws EOFException if the end of the input stream is reached before sixty-four bits could be read
+     * @throws IOException if an I/O error occurs during the read operation from the underlying {@link InputStream}
+     *
+     * @return the bits read
+     */
+    public long readLong() throws IOException {
+        return readBits(Long.SIZE);
+    }
+
+    /**
+     * Fills the given array with bytes read from the input stream.
+     *
+     * @see #readFully(byte[], int, int)
+     *
+     * @param bytes the array to fill
+     * @throws EOFException if the end of the input stream is reached before the array is filled
+     * @throws IOException if an I/O error occurs during the read operation from the underlying {@link InputStream}
+     */
+    public void readFully(byte[] bytes) throws IOException {
+        readFully(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Reads {@code length} bytes from the input stream into the given array, starting at {@code offset}.
+     *
+     * <p> Each byte is made of the next eight bits, the first of them being the least significant one.
+     *     If the bits read so far form complete bytes, the data is copied as is, otherwise every byte
+     *     is shifted into place. </p>
+     *
+     * @param bytes the array to fill
+     * @param offset the index of the first byte to fill
+     * @param length the number of bytes to read
+     *
+     * @throws IndexOutOfBoundsException if the range is out of the bounds of the array
+     * @throws EOFException if the end of the input stream is reached before {@code length} bytes could be read
+     * @throws IOException if an I/O error occurs during the read operation from the underlying {@link InputStream}
+     */
+    public void readFully(byte[] bytes, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        int end = offset + length;
+        int index = offset;
+        if ((cacheBits & 7) != 0) {
+            for (; index + Long.BYTES <= end; index += Long.BYTES) {
+                LONG_VIEW.set(bytes, index, readBits(Long.SIZE));
+            }
+            for (; index < end; index++) {
+                bytes[index] = (byte) readBits(Byte.SIZE);
+            }
+            return;
+        }
+        while (index < end && cacheBits > 0) {
+            bytes[index++] = (byte) take(Byte.SIZE);
+        }
+        int buffered = Math.min(end - index, bufferLimit - bufferPosition);
+        byteBuffer.get(bufferPosition, bytes, index, buffered);
+        bufferPosition += buffered;
+        index += buffered;
+        if (index < end) {
+            bufferPosition = 0;
+            bufferLimit = 0;
+        }
+        while (index < end) {
+            int readCount = endOfStream ? -1 : channel == null
+                ? inputStream.read(bytes, index, end - index)
+                : channel.read(ByteBuffer.wrap(bytes, index, end - index));
+            if (readCount <= 0) {
+                endOfStream = true;
+                throw new EOFException("Reached the end of the stream before " + length + " bytes could be read");
+            }
+            index += readCount;
         }
-        int oldBufferIndex = bufferIndex;
-        bufferIndex++;
-        return buffer.get(oldBufferIndex);
     }
 }
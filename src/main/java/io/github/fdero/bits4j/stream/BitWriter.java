@@ -2,104 +2,336 @@ package io.github.fdero.bits4j.stream;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
 
-import io.github.fdero.bits4j.core.BitList;
-import io.github.fdero.bits4j.core.BitListConversions;
 import io.github.fdero.bits4j.core.BitValue;
 
 /**
- * A class that writes one bit at a time to an {@link OutputStream}.
- * 
+ * A class that writes bits to an {@link OutputStream} or to a {@link WritableByteChannel}.
+ *
  * <p> While {@link OutputStream} allows writing bytes, this class allows writing bits.
- *     It writes bits to the output stream one at a time, expecting to receive them as {@link BitValue}. </p>
+ *     Bits can be written one at a time, expecting to receive them as {@link BitValue} or {@code boolean},
+ *     or many at a time as the least significant bits of a {@code long}. </p>
+ *
+ * <p> Within each byte, the first bit written ends up in the least significant position. </p>
+ *
+ * <p> A writer built on a channel fills a large direct {@link ByteBuffer} and drains it with
+ *     {@link WritableByteChannel#write(ByteBuffer)}, so that a {@link java.nio.channels.FileChannel}
+ *     is written without going through a stream or a heap array. </p>
  */
 public class BitWriter {
 
-    // The output stream to write bits to
+    // The default size of the internal byte buffer
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    // The default size of the direct byte buffer used to write to a channel
+    private static final int DEFAULT_CHANNEL_BUFFER_SIZE = 1 << 16;
+
+    // Writes a long into a byte array as eight little-endian bytes
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // The output stream to write bits to, or null when writing to a channel
     private final OutputStream outputStream;
 
-    // The buffer that holds the bits to write to the output stream
-    private BitList buffer = new BitList();
+    // The channel to write bits to, or null when writing to an output stream
+    private final WritableByteChannel channel;
+
+    // The buffer that holds the complete bytes not yet written, backed by an array only for output streams
+    private final ByteBuffer byteBuffer;
+
+    // The number of bytes currently stored in the byte buffer
+    private int byteCount = 0;
+
+    // The bits that do not form a complete word yet, the oldest bit is the least significant one
+    private long accumulator = 0;
+
+    // The number of bits currently stored in the accumulator (sixty-four only right after padding)
+    private int accumulatorBits = 0;
 
     /**
      * Constructs a new {@link BitWriter} that writes bits to the given {@link OutputStream}.
-     * 
+     *
      * @param outputStream the output stream to write bits to
      */
     public BitWriter(OutputStream outputStream) {
+        this(outputStream, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a new {@link BitWriter} that writes bits to the given {@link OutputStream}
+     * using an internal buffer of the given size.
+     *
+     * @param outputStream the output stream to write bits to
+     * @param bufferSize the size in bytes of the internal buffer
+     *
+     * @throws IllegalArgumentException if the buffer size is smaller than eight bytes
+     *         ({@code bufferSize < 8})
+     */
+    public BitWriter(OutputStream outputStream, int bufferSize) {
+        this(outputStream, null, ByteBuffer.allocate(checkBufferSize(bufferSize)));
+    }
+
+    /**
+     * Constructs a new {@link BitWriter} that writes bits to the given {@link WritableByteChannel}.
+     *
+     * @param channel the channel to write bits to
+     *
+     * @throws IllegalArgumentException if the channel is in non-blocking mode
+     */
+    public BitWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_CHANNEL_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a new {@link BitWriter} that writes bits to the given {@link WritableByteChannel}
+     * using a direct buffer of the given size.
+     *
+     * @param channel the channel to write bits to
+     * @param bufferSize the size in bytes of the direct buffer
+     *
+     * @throws IllegalArgumentException if the buffer size is smaller than eight bytes ({@code bufferSize < 8}),
+     *         or if the channel is in non-blocking mode
+     */
+    public BitWriter(WritableByteChannel channel, int bufferSize) {
+        this(null, channel, ByteBuffer.allocateDirect(checkBufferSize(bufferSize)));
+    }
+
+    private BitWriter(OutputStream outputStream, WritableByteChannel channel, ByteBuffer byteBuffer) {
+        if (channel instanceof SelectableChannel selectable && !selectable.isBlocking()) {
+            throw new IllegalArgumentException("Can't write bits to a channel in non-blocking mode");
+        }
         this.outputStream = outputStream;
+        this.channel = channel;
+        this.byteBuffer = byteBuffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static int checkBufferSize(int bufferSize) {
+        if (bufferSize < Long.BYTES) {
+            throw new IllegalArgumentException("The buffer of a BitWriter must be able to hold at least eight bytes");
+        }
+        return bufferSize;
     }
 
     /**
      * Writes a bit to the output stream.
-     * 
+     *
      * <p> Writing doesn't happen immediately, instead it is buffered.
-     *     Once eight bits are buffered, they are written to the underlying {@link java.io.OutputStream} as a byte. 
-     *     If eight bits are never reached, then nothing get written (you might want to call {@code addPadding} to 
-     *     add some trailing zeros) </p>
-     * 
-     * <p> If such underlying implementation it's also buffered itself, you might need to call the {@code flush} 
+     *     Complete bytes are written to the underlying {@link java.io.OutputStream} when the internal buffer
+     *     fills up or when {@code flush} is called. If the last byte is never completed, then its bits
+     *     never get written (you might want to call {@code addPadding} to add some trailing zeros) </p>
+     *
+     * <p> If such underlying implementation it's also buffered itself, you might need to call the {@code flush}
      *     method to see changes. </p>
-     * 
-     * @see #flush() 
+     *
+     * @see #flush()
      * @see #addPadding()
-     * 
+     *
      * @param bitValue the bit to write
      * @throws IOException if an I/O error occurs during the write operation to the underlying {@link OutputStream}
      */
     public void write(BitValue bitValue) throws IOException {
         assert bitValue != null;
-        partialFlush();
-        buffer.add(bitValue);
+        writeBoolean(bitValue == BitValue.ONE);
     }
 
     /**
-     * Writes currently buffered bits to the output stream if there are 8 of them.
-     * 
-     * <p> If the underlying {@link OutputStream} implementation it's buffered, you might need to 
-     *     call the {@code flush} method to see changes.  </p>
-     * 
-     * @see #flush() 
-     * 
+     * Writes a bit to the output stream, {@code true} standing for {@code BitValue.ONE}.
+     *
+     * @see #write(BitValue)
+     *
+     * @param value the bit to write
      * @throws IOException if an I/O error occurs during the write operation to the underlying {@link OutputStream}
      */
-    private void partialFlush() throws IOException {
-        if (buffer.size() == 8) {
-            outputStream.write(BitListConversions.asByte(buffer));
-            buffer = new BitList();
+    public void writeBoolean(boolean value) throws IOException {
+        writeBits(value ? 1L : 0L, 1);
+    }
+
+    /**
+     * Writes the {@code count} least significant bits of {@code value} to the output stream.
+     *
+     * <p> Bits are written starting from the least significant one, so that {@code writeBits(value, count)}
+     *     is equivalent to writing {@code (value >>> i) & 1} for every {@code i} from zero to {@code count - 1}.
+     *     Bits of {@code value} above {@code count} are ignored. </p>
+     *
+     * @see #write(BitValue)
+     *
+     * @param value the bits to write
+     * @param count the number of bits to write
+     *
+     * @throws IllegalArgumentException if the count is out of range
+     *         ({@code count < 0 || count > 64})
+     *
+     * @throws IOException if an I/O error occurs during the write operation to the underlying {@link OutputStream}
+     */
+    public void writeBits(long value, int count) throws IOException {
+        if (count < 0 || count > Long.SIZE) {
+            throw new IllegalArgumentException("Can't write less than zero or more than sixty-four bits at once");
+        }
+        if (count == 0) {
+            return;
+        }
+        if (accumulatorBits == Long.SIZE) {
+            putLong(accumulator);
+            accumulator = 0;
+            accumulatorBits = 0;
+        }
+        if (count < Long.SIZE) {
+            value &= (1L << count) - 1;
+        }
+        accumulator |= value << accumulatorBits;
+        int total = accumulatorBits + count;
+        if (total < Long.SIZE) {
+            accumulatorBits = total;
+            return;
+        }
+        putLong(accumulator);
+        int consumed = Long.SIZE - accumulatorBits;
+        accumulator = consumed == Long.SIZE ? 0 : value >>> consumed;
+        accumulatorBits = total - Long.SIZE;
+    }
+
+    /**
+     * Writes {@code length} bytes from the given array, starting at {@code offset}, to the output stream.
+     *
+     * <p> Each byte is written as eight bits, starting from its least significant one. If the bits written so far
+     *     form complete bytes, the array is copied as is, otherwise every byte is shifted into place. </p>
+     *
+     * @param bytes the bytes to write
+     * @param offset the index of the first byte to write
+     * @param length the number of bytes to write
+     *
+     * @throws IndexOutOfBoundsException if the range is out of the bounds of the array
+     *
+     * @throws IOException if an I/O error occurs during the write operation to the underlying {@link OutputStream}
+     */
+    public void writeBytes(byte[] bytes, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        if ((accumulatorBits & 7) != 0) {
+            int end = offset + length;
+            int index = offset;
+            for (; index + Long.BYTES <= end; index += Long.BYTES) {
+                writeBits((long) LONG_VIEW.get(bytes, index), Long.SIZE);
+            }
+            for (; index < end; index++) {
+                writeBits(bytes[index], Byte.SIZE);
+            }
+            return;
+        }
+        drainCompleteBytes();
+        if (length >= byteBuffer.capacity()) {
+            flushBuffer();
+            if (channel == null) {
+                outputStream.write(bytes, offset, length);
+            }
+            else {
+                writeFully(ByteBuffer.wrap(bytes, offset, length));
+            }
+            return;
+        }
+        if (length > byteBuffer.capacity() - byteCount) {
+            flushBuffer();
+        }
+        byteBuffer.put(byteCount, bytes, offset, length);
+        byteCount += length;
+    }
+
+    /**
+     * Stores a complete word in the internal buffer, writing the buffer out first if it's full.
+     *
+     * @throws IOException if an I/O error occurs during the write operation to the underlying {@link OutputStream}
+     */
+    private void putLong(long word) throws IOException {
+        if (byteBuffer.capacity() - byteCount < Long.BYTES) {
+            flushBuffer();
+        }
+        byteBuffer.putLong(byteCount, word);
+        byteCount += Long.BYTES;
+    }
+
+    /**
+     * Moves the complete bytes held by the accumulator to the internal buffer.
+     *
+     * @throws IOException if an I/O error occurs during the write operation to the underlying {@link OutputStream}
+     */
+    private void drainCompleteBytes() throws IOException {
+        while (accumulatorBits >= Byte.SIZE) {
+            if (byteCount == byteBuffer.capacity()) {
+                flushBuffer();
+            }
+            byteBuffer.put(byteCount++, (byte) accumulator);
+            accumulator >>>= Byte.SIZE;
+            accumulatorBits -= Byte.SIZE;
+        }
+    }
+
+    /**
+     * Writes the content of the internal buffer to the destination with a single call.
+     *
+     * @throws IOException if an I/O error occurs during the write operation to the underlying destination
+     */
+    private void flushBuffer() throws IOException {
+        if (byteCount > 0) {
+            if (channel == null) {
+                outputStream.write(byteBuffer.array(), 0, byteCount);
+            }
+            else {
+                writeFully(byteBuffer.clear().limit(byteCount));
+                byteBuffer.clear();
+            }
+            byteCount = 0;
+        }
+    }
+
+    /**
+     * Writes every remaining byte of the given buffer to the channel.
+     *
+     * @throws IOException if an I/O error occurs during the write operation to the underlying channel
+     */
+    private void writeFully(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
         }
     }
 
     /**
      * Ensure that all the bytes buffered so far get written to the output underlying {@link OutputStream}.
-     * 
-     * <p> Internally calls {@code flush} on the underlying {@link OutputStream}. </p> 
-     * 
-     * <p> Keep in mind that bits are actually written in batches of 8 bits at a time, 
+     *
+     * <p> Internally calls {@code flush} on the underlying {@link OutputStream}. A channel receives every
+     *     complete byte, but forcing them to the storage device is left to the caller. </p>
+     *
+     * <p> Keep in mind that bits are actually written in batches of 8 bits at a time,
      *     hence you might want to call {@code addPadding} to add some trailing zeros </p>
-     * 
+     *
      * @see #addPadding()
-     * 
+     *
      * @throws IOException if an I/O error occurs during the flush operation to the underlying {@link OutputStream}
      */
     public void flush() throws IOException {
-        partialFlush();
-        outputStream.flush();
+        drainCompleteBytes();
+        flushBuffer();
+        if (outputStream != null) {
+            outputStream.flush();
+        }
     }
 
     /**
      * Add multiple occurrencies of {@code BitValue.ZERO} to complete the current byte as long as it is not empty.
-     * 
+     *
      * <p> If the currently buffered byte contains no bits, it does nothing, otherwise it adds trailing zeros to it so that
      *     calling the {@code flush} method actually ensure that every bit gets written without loss of information </p>
-     * 
+     *
      * @see #flush()
      */
     public void addPadding() {
-        if (!buffer.isEmpty()) {
-            while (buffer.size() < 8) {
-                buffer.add(BitValue.ZERO);
-            }
+        int partialBits = accumulatorBits & 7;
+        if (partialBits != 0) {
+            accumulatorBits += Byte.SIZE - partialBits;
         }
     }
 }
@@ -0,0 +1,324 @@
+package io.github.fdero.bits4j.stream;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * A class that reads bits from bytes pushed into it, instead of pulling them from a source.
+ *
+ * <p> Bytes are handed over with {@link #feed(byte[], int, int)} or {@link #feed(ByteBuffer)} as they arrive,
+ *     for example from a non-blocking channel, and bits are read back as soon as they are available: no method
+ *     ever blocks. Bits are read in the same order as {@link BitReader} reads them, the least significant bit
+ *     of each byte first. </p>
+ *
+ * <p> A message that may not have fully arrived is parsed by calling {@link #mark()} at its beginning and then
+ *     reading it with {@link #tryReadBits(int)}: when a read fails for lack of bits, {@link #reset()} moves back
+ *     to the beginning of the message, which is parsed again once more bytes have been fed. </p>
+ *
+ * <p> Each byte fed is copied once, into segments of {@value #SEGMENT_SIZE} bytes that are recycled as soon
+ *     as they are read, and past the mark if there is one. Bytes are never moved afterwards, however much
+ *     data is waiting to be read. </p>
+ *
+ * <p> This class is not thread-safe, it's meant to be used by the thread that receives the bytes. </p>
+ */
+public class IncrementalBitReader {
+
+    // The number of bytes of each segment, a power of two
+    static final int SEGMENT_SIZE = 1 << 13;
+
+    // The number of bits to shift a byte index right to get the number of its segment
+    private static final int SEGMENT_SHIFT = Integer.numberOfTrailingZeros(SEGMENT_SIZE);
+
+    // Reads eight little-endian bytes from a byte array as a long
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // The segments, the segment number n being stored at n modulo the length of the array
+    private byte[][] segments = new byte[4][];
+
+    // A released segment, kept to avoid allocating the next one
+    private byte[] spareSegment;
+
+    // The number of the oldest segment still held
+    private long firstSegment = 0;
+
+    // The number of bytes fed so far
+    private long bytesFed = 0;
+
+    // The number of bits read so far, that is the position of the next bit to read
+    private long position = 0;
+
+    // The position saved by mark, or -1 if there is none
+    private long markPosition = -1;
+
+    /**
+     * Constructs a new empty {@link IncrementalBitReader}.
+     */
+    public IncrementalBitReader() {
+    }
+
+    /**
+     * Appends bytes to the ones waiting to be read.
+     *
+     * <p> The bytes are copied, the array can be reused as soon as this method returns. </p>
+     *
+     * @param bytes the array that holds the bytes to append
+     * @param offset the index of the first byte to append
+     * @param length the number of bytes to append
+     *
+     * @throws IndexOutOfBoundsException if the range is out of the bounds of the array
+     *         ({@code offset < 0 || length < 0 || offset + length > bytes.length})
+     */
+    public void feed(byte[] bytes, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        while (length > 0) {
+            byte[] segment = writableSegment();
+            int segmentOffset = (int) bytesFed & (SEGMENT_SIZE - 1);
+            int copied = Math.min(length, SEGMENT_SIZE - segmentOffset);
+            System.arraycopy(bytes, offset, segment, segmentOffset, copied);
+            offset += copied;
+            length -= copied;
+            bytesFed += copied;
+        }
+    }
+
+    /**
+     * Appends the remaining bytes of the given buffer to the ones waiting to be read.
+     *
+     * <p> The bytes are copied and the position of the buffer is moved to its limit,
+     *     the buffer can be reused as soon as this method returns. </p>
+     *
+     * @param buffer the buffer that holds the bytes to append
+     */
+    public void feed(ByteBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            byte[] segment = writableSegment();
+            int segmentOffset = (int) bytesFed & (SEGMENT_SIZE - 1);
+            int copied = Math.min(buffer.remaining(), SEGMENT_SIZE - segmentOffset);
+            buffer.get(segment, segmentOffset, copied);
+            bytesFed += copied;
+        }
+    }
+
+    /**
+     * Returns the number of bits that can be read without feeding more bytes.
+     *
+     * @return the number of bits available
+     */
+    public long bitsAvailable() {
+        return bytesFed * Byte.SIZE - position;
+    }
+
+    /**
+     * Returns the number of bits read or skipped so far, counting from the first byte ever fed.
+     *
+     * @return the position of the next bit to read
+     */
+    public long bitPosition() {
+        return position;
+    }
+
+    /**
+     * Reads the next {@code count} bits if they are available.
+     *
+     * <p> The bits are laid out as in {@link BitReader#readBits(int)}. If fewer than {@code count} bits are
+     *     available, nothing is consumed and {@code -1} is returned, so that the read can be attempted again
+     *     once more bytes have been fed. </p>
+     *
+     * @param count the number of bits to read
+     *
+     * @throws IllegalArgumentException if the count is out of range
+     *         ({@code count < 0 || count > 63})
+     *
+     * @return the bits read, or {@code -1} if fewer than {@code count} bits are available
+     */
+    public long tryReadBits(int count) {
+        if (count < 0 || count >= Long.SIZE) {
+            throw new IllegalArgumentException("Can't try to read less than zero or more than sixty-three bits at once");
+        }
+        if (count > bitsAvailable()) {
+            return -1;
+        }
+        long value = bitsAt(position, count);
+        position += count;
+        return value;
+    }
+
+    /**
+     * Reads the next {@code count} bits, which must be available.
+     *
+     * @param count the number of bits to read
+     *
+     * @throws IllegalArgumentException if the count is out of range
+     *         ({@code count < 0 || count > 64})
+     *
+     * @throws BufferUnderflowException if fewer than {@code count} bits are available, in which case nothing is consumed
+     *
+     * @return the bits read
+     */
+    public long readBits(int count) {
+        if (count < 0 || count > Long.SIZE) {
+            throw new IllegalArgumentException("Can't read less than zero or more than sixty-four bits at once");
+        }
+        if (count > bitsAvailable()) {
+            throw new BufferUnderflowException();
+        }
+        long value = bitsAt(position, count);
+        position += count;
+        return value;
+    }
+
+    /**
+     * Returns the next {@code count} bits without consuming them.
+     *
+     * <p> As in {@link BitReader#peekBits(int)}, if fewer than {@code count} bits are available,
+     *     the missing bits are returned as zeros. </p>
+     *
+     * @param count the number of bits to look at
+     *
+     * @throws IllegalArgumentException if the count is out of range
+     *         ({@code count < 0 || count > 64})
+     *
+     * @return the next {@code count} bits
+     */
+    public long peekBits(int count) {
+        if (count < 0 || count > Long.SIZE) {
+            throw new IllegalArgumentException("Can't look ahead less than zero or more than sixty-four bits");
+        }
+        return bitsAt(position, (int) Math.min(count, bitsAvailable()));
+    }
+
+    /**
+     * Skips the next {@code count} bits, which must be available.
+     *
+     * @param count the number of bits to skip
+     *
+     * @throws IllegalArgumentException if the count is negative
+     *         ({@code count < 0})
+     *
+     * @throws BufferUnderflowException if fewer than {@code count} bits are available, in which case nothing is consumed
+     */
+    public void skipBits(long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Can't skip a negative number of bits");
+        }
+        if (count > bitsAvailable()) {
+            throw new BufferUnderflowException();
+        }
+        position += count;
+    }
+
+    /**
+     * Discards the bits left in the current byte, so that the next bit read is the first one of a byte.
+     *
+     * <p> The discarded bits are always available, since bytes are fed whole. </p>
+     *
+     * @return the number of bits that were discarded
+     */
+    public int alignToByte() {
+        int partialBits = (int) -position & 7;
+        position += partialBits;
+        return partialBits;
+    }
+
+    /**
+     * Saves the current position, so that {@link #reset()} can move back to it.
+     *
+     * <p> The bytes from the mark on are held until the mark is moved by another call to this method
+     *     or removed with {@link #unmark()}. </p>
+     */
+    public void mark() {
+        markPosition = position;
+    }
+
+    /**
+     * Moves back to the position saved by {@link #mark()}, which stays saved.
+     *
+     * @throws IllegalStateException if there is no mark
+     */
+    public void reset() {
+        if (markPosition < 0) {
+            throw new IllegalStateException("Can't reset a reader that has not been marked");
+        }
+        position = markPosition;
+    }
+
+    /**
+     * Removes the mark, so that the bytes already read can be released.
+     */
+    public void unmark() {
+        markPosition = -1;
+    }
+
+    /**
+     * Returns {@code count} bits starting from the given position, all of which must have been fed.
+     */
+    private long bitsAt(long bitPosition, int count) {
+        if (count == 0) {
+            return 0;
+        }
+        long byteIndex = bitPosition >>> 3;
+        int shift = (int) bitPosition & 7;
+        byte[] segment = segments[(int) (byteIndex >>> SEGMENT_SHIFT) & (segments.length - 1)];
+        int offset = (int) byteIndex & (SEGMENT_SIZE - 1);
+        long value;
+        if (offset + Long.BYTES < SEGMENT_SIZE) {
+            // The ninth byte is within the segment as well, bytes past the ones fed are masked out below
+            value = (long) LONG_VIEW.get(segment, offset) >>> shift;
+            if (shift + count > Long.SIZE) {
+                value |= (segment[offset + Long.BYTES] & 0xFFL) << (Long.SIZE - shift);
+            }
+        }
+        else {
+            // The bits span two segments, they are gathered one byte at a time
+            int byteCount = (shift + count + 7) >>> 3;
+            long low = 0;
+            for (int i = 0; i < Math.min(byteCount, Long.BYTES); i++) {
+                low |= (byteAt(byteIndex + i) & 0xFFL) << (i * Byte.SIZE);
+            }
+            value = low >>> shift;
+            if (byteCount > Long.BYTES) {
+                value |= (byteAt(byteIndex + Long.BYTES) & 0xFFL) << (Long.SIZE - shift);
+            }
+        }
+        return count == Long.SIZE ? value : value & ((1L << count) - 1);
+    }
+
+    private byte byteAt(long byteIndex) {
+        return segments[(int) (byteIndex >>> SEGMENT_SHIFT) & (segments.length - 1)][(int) byteIndex & (SEGMENT_SIZE - 1)];
+    }
+
+    /**
+     * Returns the segment where the next byte fed goes, starting a new one if the last one is full.
+     * Segments that are no longer needed are released first.
+     */
+    private byte[] writableSegment() {
+        long segmentNumber = bytesFed >>> SEGMENT_SHIFT;
+        int slot = (int) segmentNumber & (segments.length - 1);
+        if ((bytesFed & (SEGMENT_SIZE - 1)) != 0) {
+            return segments[slot];
+        }
+        long retained = markPosition < 0 ? position : Math.min(markPosition, position);
+        long firstNeeded = Math.min(retained >>> 3 >>> SEGMENT_SHIFT, segmentNumber);
+        for (; firstSegment < firstNeeded; firstSegment++) {
+            int released = (int) firstSegment & (segments.length - 1);
+            spareSegment = segments[released];
+            segments[released] = null;
+        }
+        if (segmentNumber - firstSegment >= segments.length) {
+            byte[][] grown = new byte[2 * segments.length][];
+            for (long number = firstSegment; number < segmentNumber; number++) {
+                grown[(int) number & (grown.length - 1)] = segments[(int) number & (segments.length - 1)];
+            }
+            segments = grown;
+            slot = (int) segmentNumber & (segments.length - 1);
+        }
+        byte[] segment = spareSegment != null ? spareSegment : new byte[SEGMENT_SIZE];
+        spareSegment = null;
+        segments[slot] = segment;
+        return segment;
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.fdero.bits4j.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.fdero.bits4j.stream.BitReader;
+import io.github.fdero.bits4j.stream.BitWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Helpers shared by the tests of the integer codes.
+ */
+final class CodecTests {
+
+    private CodecTests() {
+        throw new AssertionError("This class should not be instantiated");
+    }
+
+    // Writes the codes of the values one after the other, padded to a whole byte
+    static byte[] encode(IntegerCodec codec, long... values) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        BitWriter writer = new BitWriter(outputStream);
+        for (long value : values) {
+            codec.write(writer, value);
+        }
+        writer.addPadding();
+        writer.flush();
+        return outputStream.toByteArray();
+    }
+
+    // Checks that the values are read back in the same order they were written
+    static void assertRoundTrip(IntegerCodec codec, long... values) throws IOException {
+        BitReader reader = new BitReader(new ByteArrayInputStream(encode(codec, values)));
+        for (long value : values) {
+            assertEquals(value, codec.read(reader));
+        }
+    }
+
+    // Measures the code of the value by writing a one after it and locating it in the padded output
+    static long bitLength(IntegerCodec codec, long value) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        BitWriter writer = new BitWriter(outputStream);
+        codec.write(writer, value);
+        writer.writeBits(1, 1);
+        writer.addPadding();
+        writer.flush();
+        byte[] bytes = outputStream.toByteArray();
+        int lastByte = bytes[bytes.length - 1] & 0xFF;
+        return (bytes.length - 1) * 8L + 31 - Integer.numberOfLeadingZeros(lastByte);
+    }
+}
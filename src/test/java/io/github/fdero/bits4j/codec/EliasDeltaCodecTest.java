@@ -0,0 +1,42 @@
+package io.github.fdero.bits4j.codec;
+
+import static io.github.fdero.bits4j.codec.CodecTests.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.fdero.bits4j.stream.BitReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+
+class EliasDeltaCodecTest {
+
+    @Test
+    void testRoundTrip() throws IOException {
+        EliasDeltaCodec codec = new EliasDeltaCodec();
+        assertRoundTrip(codec, 1, 2, 3, 4, 17, 1000, 1L << 40, Long.MAX_VALUE, 5);
+        Random random = new Random(61);
+        long[] values = random.longs(2_000, 1, Long.MAX_VALUE).map(value -> value >>> random.nextInt(63)).map(value -> value + 1).toArray();
+        assertRoundTrip(codec, values);
+    }
+
+    @Test
+    void testCodeLengths() throws IOException {
+        EliasDeltaCodec codec = new EliasDeltaCodec();
+        assertEquals(1, bitLength(codec, 1));
+        assertEquals(4, bitLength(codec, 2));
+        assertEquals(9, bitLength(codec, 16));
+        assertEquals(11 + 62, bitLength(codec, Long.MAX_VALUE));
+    }
+
+    @Test
+    void testInvalidValueAndCorruptedCode() throws IOException {
+        EliasDeltaCodec codec = new EliasDeltaCodec();
+        assertThrows(IllegalArgumentException.class, () -> encode(codec, 0));
+        assertThrows(IllegalArgumentException.class, () -> encode(codec, -5));
+        byte[] tooLong = encode(new EliasGammaCodec(), 64);
+        assertThrows(IOException.class, () -> codec.read(new BitReader(new ByteArrayInputStream(tooLong))));
+    }
+}
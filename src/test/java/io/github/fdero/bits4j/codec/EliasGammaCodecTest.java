@@ -0,0 +1,47 @@
+package io.github.fdero.bits4j.codec;
+
+import static io.github.fdero.bits4j.codec.CodecTests.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.fdero.bits4j.stream.BitReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Random;
+
+class EliasGammaCodecTest {
+
+    @Test
+    void testRoundTrip() throws IOException {
+        EliasGammaCodec codec = new EliasGammaCodec();
+        assertRoundTrip(codec, 1, 2, 3, 4, 1000, 1L << 27, (1L << 28) - 1, 1L << 40, Long.MAX_VALUE, 7);
+        Random random = new Random(16);
+        long[] values = random.longs(2_000, 1, Long.MAX_VALUE).map(value -> value >>> random.nextInt(63)).map(value -> value + 1).toArray();
+        assertRoundTrip(codec, values);
+    }
+
+    @Test
+    void testCodeLengths() throws IOException {
+        EliasGammaCodec codec = new EliasGammaCodec();
+        assertArrayEquals(new byte[]{ 1 }, encode(codec, 1));
+        assertArrayEquals(new byte[]{ (byte) 0b0000_0110 }, encode(codec, 3));
+        for (int width = 0; width < 63; width++) {
+            assertEquals(2 * width + 1, bitLength(codec, 1L << width));
+        }
+    }
+
+    @Test
+    void testInvalidValueAndCorruptedCode() throws IOException {
+        EliasGammaCodec codec = new EliasGammaCodec();
+        assertThrows(IllegalArgumentException.class, () -> encode(codec, 0));
+        assertThrows(IllegalArgumentException.class, () -> encode(codec, Long.MIN_VALUE));
+        byte[] tooLong = encode(ExpGolombCodec.unsigned(0), Long.MAX_VALUE);
+        assertThrows(IOException.class, () -> codec.read(new BitReader(new ByteArrayInputStream(tooLong))));
+        byte[] truncated = encode(codec, 1L << 20);
+        BitReader reader = new BitReader(new ByteArrayInputStream(truncated, 0, truncated.length - 1));
+        assertThrows(EOFException.class, () -> codec.read(reader));
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.fdero.bits4j.codec;
+
+import static io.github.fdero.bits4j.codec.CodecTests.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.fdero.bits4j.stream.BitReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+
+class ExpGolombCodecTest {
+
+    @Test
+    void testRoundTrip() throws IOException {
+        Random random = new Random(23);
+        for (int order : new int[]{ 0, 1, 3, 8, 63 }) {
+            ExpGolombCodec unsigned = ExpGolombCodec.unsigned(order);
+            ExpGolombCodec signed = ExpGolombCodec.signed(order);
+            assertRoundTrip(unsigned, 0, 1, 2, 255, 256, Long.MAX_VALUE, Long.MAX_VALUE - 1, 12);
+            assertRoundTrip(signed, 0, -1, 1, -2, 2, Long.MIN_VALUE, Long.MAX_VALUE, -1000);
+            long[] values = random.longs(1_000).map(value -> value >> random.nextInt(64)).toArray();
+            assertRoundTrip(signed, values);
+        }
+    }
+
+    @Test
+    void testCodes() throws IOException {
+        ExpGolombCodec unsigned = ExpGolombCodec.unsigned(0);
+        assertArrayEquals(new byte[]{ 1 }, encode(unsigned, 0));
+        assertArrayEquals(new byte[]{ (byte) 0b0000_0110 }, encode(unsigned, 2));
+        assertEquals(3, bitLength(ExpGolombCodec.signed(0), -1));
+        assertEquals(129, bitLength(ExpGolombCodec.signed(0), Long.MIN_VALUE));
+        assertEquals(3, bitLength(ExpGolombCodec.unsigned(2), 3));
+        assertEquals(5, bitLength(ExpGolombCodec.unsigned(2), 4));
+        assertEquals(2, ExpGolombCodec.signed(2).order());
+        assertTrue(ExpGolombCodec.signed(2).isSigned());
+    }
+
+    @Test
+    void testInvalidArguments() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> ExpGolombCodec.unsigned(-1));
+        assertThrows(IllegalArgumentException.class, () -> ExpGolombCodec.signed(64));
+        assertThrows(IllegalArgumentException.class, () -> encode(ExpGolombCodec.unsigned(4), -1));
+        byte[] tooLong = encode(ExpGolombCodec.signed(0), Long.MIN_VALUE);
+        ExpGolombCodec unsigned = ExpGolombCodec.unsigned(0);
+        assertThrows(IOException.class, () -> unsigned.read(new BitReader(new ByteArrayInputStream(tooLong))));
+    }
+}
@@ -0,0 +1,203 @@
+package io.github.fdero.bits4j.codec;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.fdero.bits4j.stream.BitReader;
+import io.github.fdero.bits4j.stream.BitWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+class HuffmanCodeTest {
+
+    private static byte[] encode(HuffmanCode code, int[] symbols) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        BitWriter writer = new BitWriter(outputStream);
+        code.writeTo(writer);
+        for (int symbol : symbols) {
+            code.encode(writer, symbol);
+        }
+        writer.addPadding();
+        writer.flush();
+        return outputStream.toByteArray();
+    }
+
+    private static void assertRoundTrip(HuffmanCode code, int[] symbols) throws IOException {
+        BitReader reader = new BitReader(new ByteArrayInputStream(encode(code, symbols)));
+        HuffmanCode decodedCode = HuffmanCode.readFrom(reader);
+        assertEquals(code, decodedCode);
+        for (int symbol : symbols) {
+            assertEquals(symbol, decodedCode.decode(reader));
+        }
+    }
+
+    private static double kraftSum(HuffmanCode code) {
+        double sum = 0;
+        for (int symbol = 0; symbol < code.alphabetSize(); symbol++) {
+            if (code.codeLength(symbol) > 0) {
+                sum += Math.pow(2, -code.codeLength(symbol));
+            }
+        }
+        return sum;
+    }
+
+    private static long cost(HuffmanCode code, long[] frequencies) {
+        long cost = 0;
+        for (int symbol = 0; symbol < frequencies.length; symbol++) {
+            cost += frequencies[symbol] * code.codeLength(symbol);
+        }
+        return cost;
+    }
+
+    // The cost of the optimal code is the sum of the weights of the internal nodes of the Huffman tree
+    private static long optimalCost(long[] frequencies) {
+        PriorityQueue<Long> queue = new PriorityQueue<>();
+        for (long frequency : frequencies) {
+            if (frequency > 0) {
+                queue.add(frequency);
+            }
+        }
+        long cost = 0;
+        while (queue.size() > 1) {
+            long merged = queue.poll() + queue.poll();
+            cost += merged;
+            queue.add(merged);
+        }
+        return cost;
+    }
+
+    private static int[] skewedSymbols(Random random, int count, int alphabetSize) {
+        int[] symbols = new int[count];
+        for (int i = 0; i < count; i++) {
+            symbols[i] = (int) Math.min(alphabetSize - 1, (long) (-Math.log(1 - random.nextDouble()) * alphabetSize / 20));
+        }
+        return symbols;
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        Random random = new Random(17);
+        for (int alphabetSize : new int[]{ 2, 3, 256, 5_000 }) {
+            int[] symbols = skewedSymbols(random, 20_000, alphabetSize);
+            HuffmanCode code = HuffmanCode.fromFrequencies(HuffmanCode.countFrequencies(symbols, alphabetSize));
+            assertRoundTrip(code, symbols);
+        }
+        HuffmanCode single = HuffmanCode.fromFrequencies(new long[]{ 0, 0, 9, 0 });
+        assertEquals(1, single.codeLength(2));
+        assertRoundTrip(single, new int[]{ 2, 2, 2 });
+    }
+
+    @Test
+    void testCodesAreOptimalAndComplete() {
+        Random random = new Random(3);
+        for (int trial = 0; trial < 50; trial++) {
+            long[] frequencies = random.longs(1 + random.nextInt(300), 0, 1_000_000).map(value -> value >> random.nextInt(20)).toArray();
+            HuffmanCode code = HuffmanCode.fromFrequencies(frequencies);
+            assertEquals(optimalCost(frequencies), cost(code, frequencies));
+            long used = Arrays.stream(frequencies).filter(frequency -> frequency > 0).count();
+            if (used > 1) {
+                assertEquals(1.0, kraftSum(code));
+            }
+        }
+    }
+
+    @Test
+    void testLengthLimit() throws IOException {
+        // Fibonacci frequencies give the deepest possible tree
+        long[] frequencies = new long[60];
+        frequencies[0] = 1;
+        frequencies[1] = 1;
+        for (int i = 2; i < frequencies.length; i++) {
+            frequencies[i] = frequencies[i - 1] + frequencies[i - 2];
+        }
+        HuffmanCode unlimited = HuffmanCode.fromFrequencies(frequencies, 32);
+        HuffmanCode limited = HuffmanCode.fromFrequencies(frequencies, 8);
+        assertEquals(32, unlimited.maximumLength());
+        assertEquals(8, limited.maximumLength());
+        assertEquals(1.0, kraftSum(unlimited));
+        assertEquals(1.0, kraftSum(limited));
+        int[] symbols = new Random(5).ints(5_000, 0, 60).toArray();
+        assertRoundTrip(unlimited, symbols);
+        assertRoundTrip(limited, symbols);
+        HuffmanCode tight = HuffmanCode.fromFrequencies(new long[]{ 1, 2, 3, 4, 5, 6, 7, 8 }, 3);
+        for (int symbol = 0; symbol < 8; symbol++) {
+            assertEquals(3, tight.codeLength(symbol));
+        }
+    }
+
+    @Test
+    void testCanonicalCodes() throws IOException {
+        HuffmanCode code = HuffmanCode.fromLengths(new int[]{ 2, 1, 3, 3 });
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        BitWriter writer = new BitWriter(outputStream);
+        for (int symbol = 0; symbol < 4; symbol++) {
+            code.encode(writer, symbol);
+        }
+        writer.addPadding();
+        writer.flush();
+        // 10, 0, 110, 111 with the first bit of each code written first
+        assertArrayEquals(new byte[]{ (byte) 0b1101_1001, (byte) 0b0000_0001 }, outputStream.toByteArray());
+        assertEquals(code, HuffmanCode.fromLengths(new int[]{ 2, 1, 3, 3 }));
+        assertNotEquals(code, HuffmanCode.fromLengths(new int[]{ 1, 2, 3, 3 }));
+    }
+
+    @Test
+    void testCountFrequencies() {
+        byte[] bytes = new byte[]{ 1, 2, 2, -1, 3, 3, 3, 0, 1 };
+        long[] frequencies = HuffmanCode.countFrequencies(bytes, 1, 7);
+        assertEquals(256, frequencies.length);
+        assertEquals(2, frequencies[2]);
+        assertEquals(3, frequencies[3]);
+        assertEquals(1, frequencies[255]);
+        assertEquals(0, frequencies[1]);
+        assertEquals(7, Arrays.stream(frequencies).sum());
+        assertThrows(IndexOutOfBoundsException.class, () -> HuffmanCode.countFrequencies(bytes, 5, 5));
+        assertThrows(IndexOutOfBoundsException.class, () -> HuffmanCode.countFrequencies(new int[]{ 4 }, 4));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> HuffmanCode.fromFrequencies(new long[]{ 1, -1 }));
+        assertThrows(IllegalArgumentException.class, () -> HuffmanCode.fromFrequencies(new long[]{ 1, 1, 1 }, 1));
+        assertThrows(IllegalArgumentException.class, () -> HuffmanCode.fromFrequencies(new long[]{ 1 }, 33));
+        assertThrows(IllegalArgumentException.class, () -> HuffmanCode.fromFrequencies(new long[]{ Long.MAX_VALUE, 1 }));
+        assertThrows(IllegalArgumentException.class, () -> HuffmanCode.fromLengths(new int[]{ 1, 1, 1 }));
+        assertThrows(IllegalArgumentException.class, () -> HuffmanCode.fromLengths(new int[]{ 33 }));
+        HuffmanCode code = HuffmanCode.fromFrequencies(new long[]{ 5, 0, 5 });
+        assertThrows(IllegalArgumentException.class, () -> code.encode(new BitWriter(new ByteArrayOutputStream()), 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> code.encode(new BitWriter(new ByteArrayOutputStream()), 3));
+    }
+
+    @Test
+    void testInvalidInput() throws IOException {
+        HuffmanCode incomplete = HuffmanCode.fromLengths(new int[]{ 1, 2 });
+        BitReader reader = new BitReader(new ByteArrayInputStream(new byte[]{ (byte) 0b11 }));
+        assertThrows(IOException.class, () -> incomplete.decode(reader));
+        HuffmanCode empty = HuffmanCode.fromFrequencies(new long[4]);
+        assertThrows(IOException.class, () -> empty.decode(new BitReader(new ByteArrayInputStream(new byte[1]))));
+
+        HuffmanCode code = HuffmanCode.fromLengths(new int[]{ 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 13 });
+        byte[] bytes = encode(code, new int[]{ 13 });
+        BitReader truncated = new BitReader(new ByteArrayInputStream(bytes, 0, bytes.length - 1));
+        HuffmanCode decoded = HuffmanCode.readFrom(truncated);
+        assertThrows(EOFException.class, () -> decoded.decode(truncated));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        BitWriter writer = new BitWriter(outputStream);
+        ExpGolombCodec.unsigned(0).write(writer, 3);
+        for (int i = 0; i < 3; i++) {
+            ExpGolombCodec.signed(0).write(writer, i == 0 ? 1 : 0);
+        }
+        writer.addPadding();
+        writer.flush();
+        BitReader overSubscribed = new BitReader(new ByteArrayInputStream(outputStream.toByteArray()));
+        assertThrows(IOException.class, () -> HuffmanCode.readFrom(overSubscribed));
+    }
+}
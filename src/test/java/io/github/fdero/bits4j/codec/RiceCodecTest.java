@@ -0,0 +1,48 @@
+package io.github.fdero.bits4j.codec;
+
+import static io.github.fdero.bits4j.codec.CodecTests.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.fdero.bits4j.stream.BitReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+
+class RiceCodecTest {
+
+    @Test
+    void testRoundTrip() throws IOException {
+        Random random = new Random(42);
+        for (int k = 0; k < 63; k += 7) {
+            RiceCodec codec = new RiceCodec(k);
+            int bound = Math.min(62, k + 10);
+            long[] values = random.longs(1_000, 0, 1L << bound).toArray();
+            assertRoundTrip(codec, values);
+            assertRoundTrip(codec, 0, 1, (1L << k) - 1, 1L << k);
+        }
+        assertRoundTrip(new RiceCodec(63), Long.MAX_VALUE, 0);
+    }
+
+    @Test
+    void testCodeLengths() throws IOException {
+        RiceCodec codec = new RiceCodec(3);
+        assertEquals(3, codec.k());
+        assertArrayEquals(new byte[]{ (byte) 0b0001_0110 }, encode(codec, 13));
+        assertEquals(4, bitLength(codec, 7));
+        assertEquals(5, bitLength(codec, 8));
+        assertEquals(4 + 100, bitLength(codec, 800));
+    }
+
+    @Test
+    void testInvalidArguments() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> new RiceCodec(-1));
+        assertThrows(IllegalArgumentException.class, () -> new RiceCodec(64));
+        assertThrows(IllegalArgumentException.class, () -> encode(new RiceCodec(2), -1));
+        byte[] tooLong = encode(new RiceCodec(0), 70);
+        RiceCodec codec = new RiceCodec(57);
+        assertThrows(IOException.class, () -> codec.read(new BitReader(new ByteArrayInputStream(tooLong))));
+    }
+}
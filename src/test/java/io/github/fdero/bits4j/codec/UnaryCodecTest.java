@@ -0,0 +1,37 @@
+package io.github.fdero.bits4j.codec;
+
+import static io.github.fdero.bits4j.codec.CodecTests.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.fdero.bits4j.stream.BitReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+class UnaryCodecTest {
+
+    @Test
+    void testRoundTrip() throws IOException {
+        UnaryCodec codec = new UnaryCodec();
+        assertRoundTrip(codec, 0, 1, 2, 55, 56, 57, 63, 64, 65, 200, 1000, 3);
+    }
+
+    @Test
+    void testCodeIsZerosFollowedByOne() throws IOException {
+        UnaryCodec codec = new UnaryCodec();
+        assertArrayEquals(new byte[]{ (byte) 0b0000_1000 }, encode(codec, 3));
+        assertEquals(1, bitLength(codec, 0));
+        assertEquals(131, bitLength(codec, 130));
+    }
+
+    @Test
+    void testInvalidValueAndTruncatedCode() {
+        UnaryCodec codec = new UnaryCodec();
+        assertThrows(IllegalArgumentException.class, () -> encode(codec, -1));
+        BitReader reader = new BitReader(new ByteArrayInputStream(new byte[20]));
+        assertThrows(EOFException.class, () -> codec.read(reader));
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.fdero.bits4j.codec;
+
+import static io.github.fdero.bits4j.codec.CodecTests.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.fdero.bits4j.stream.BitReader;
+import io.github.fdero.bits4j.stream.BitWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Random;
+
+class VarintCodecTest {
+
+    @Test
+    void testRoundTrip() throws IOException {
+        Random random = new Random(128);
+        long[] values = random.longs(2_000).map(value -> value >> random.nextInt(64)).toArray();
+        assertRoundTrip(VarintCodec.unsigned(), values);
+        assertRoundTrip(VarintCodec.signed(), values);
+        assertRoundTrip(VarintCodec.unsigned(), 0, 127, 128, 16_383, 16_384, -1, Long.MIN_VALUE, Long.MAX_VALUE, 1L << 49);
+        assertRoundTrip(VarintCodec.signed(), 0, -64, 63, -65, 64, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    @Test
+    void testStandardEncoding() throws IOException {
+        assertArrayEquals(new byte[]{ 0 }, encode(VarintCodec.unsigned(), 0));
+        assertArrayEquals(new byte[]{ (byte) 0xE5, (byte) 0x8E, 0x26 }, encode(VarintCodec.unsigned(), 624_485));
+        assertArrayEquals(new byte[]{ 3 }, encode(VarintCodec.signed(), -2));
+        byte[] maximum = encode(VarintCodec.unsigned(), -1);
+        assertEquals(10, maximum.length);
+        assertEquals(1, maximum[9]);
+        assertFalse(VarintCodec.unsigned().isSigned());
+    }
+
+    @Test
+    void testUnalignedAndCorruptedCodes() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        BitWriter writer = new BitWriter(outputStream);
+        writer.writeBits(5, 3);
+        VarintCodec.unsigned().write(writer, 300);
+        writer.addPadding();
+        writer.flush();
+        BitReader reader = new BitReader(new ByteArrayInputStream(outputStream.toByteArray()));
+        assertEquals(5, reader.readBits(3));
+        assertEquals(300, VarintCodec.unsigned().read(reader));
+
+        byte[] tooLong = new byte[]{ -1, -1, -1, -1, -1, -1, -1, -1, -1, 2 };
+        assertThrows(IOException.class, () -> VarintCodec.unsigned().read(new BitReader(new ByteArrayInputStream(tooLong))));
+        byte[] truncated = new byte[]{ (byte) 0x80, (byte) 0x80 };
+        assertThrows(EOFException.class, () -> VarintCodec.unsigned().read(new BitReader(new ByteArrayInputStream(truncated))));
+    }
+}
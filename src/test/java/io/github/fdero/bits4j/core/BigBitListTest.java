@@ -0,0 +1,145 @@
+package io.github.fdero.bits4j.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import static io.github.fdero.bits4j.core.BitListTests.randomBitList;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BigBitListTest {
+
+    // Enough bits to span a few pages
+    private static final int SIZE = 3 * BigBitList.PAGE_WORDS * 64 + 1_234;
+
+    @Test
+    void matchesBitList() {
+        Random random = new Random(22);
+        BitList expected = randomBitList(random, SIZE, 0.5);
+        BigBitList bitList = new BigBitList(expected);
+        assertEquals(SIZE, bitList.size());
+        assertEquals(expected.cardinality(), bitList.cardinality());
+        for (int i = 0; i < 1_000; i++) {
+            int index = random.nextInt(SIZE - 64);
+            int count = random.nextInt(65);
+            assertEquals(expected.getBit(index), bitList.getBit(index));
+            assertEquals(expected.getBits(index, count), bitList.getBits(index, count));
+            assertEquals(expected.nextSetBit(index), bitList.nextSetBit(index));
+            assertEquals(expected.nextClearBit(index), bitList.nextClearBit(index));
+            assertEquals(expected.previousSetBit(index), bitList.previousSetBit(index));
+            assertEquals(expected.previousClearBit(index), bitList.previousClearBit(index));
+            boolean value = random.nextBoolean();
+            assertEquals(expected.setBit(index, value), bitList.setBit(index, value));
+        }
+        assertEquals(expected, bitList.toBitList(0, SIZE));
+        assertEquals(expected.subList(1_000, 300_000), bitList.toBitList(1_000, 299_000));
+
+        PrimitiveIterator.OfInt expectedIterator = expected.bitIterator();
+        PrimitiveIterator.OfInt iterator = bitList.bitIterator();
+        while (expectedIterator.hasNext()) {
+            assertEquals(expectedIterator.nextInt(), iterator.nextInt());
+        }
+        assertFalse(iterator.hasNext());
+        int[] ones = new int[1];
+        bitList.forEachBit(bit -> ones[0] += bit);
+        assertEquals(expected.cardinality(), ones[0]);
+    }
+
+    @Test
+    void bitwiseOperationsMatchBitList() {
+        Random random = new Random(23);
+        BitList left = randomBitList(random, SIZE, 0.3);
+        BitList sparse = randomBitList(random, SIZE / 2, 0.0);
+        sparse.setBit(12_345, true);
+        sparse.addAll(randomBitList(random, SIZE / 2 + 100, 0.7));
+        for (BitList right : new BitList[]{ sparse, randomBitList(random, 1_000, 0.5), randomBitList(random, SIZE + 70_000, 0.5) }) {
+            BitList expected = BitListOperations.and(left, right);
+            BigBitList bitList = new BigBitList(left);
+            bitList.and(new BigBitList(right));
+            assertEquals(new BigBitList(expected), bitList);
+
+            expected = BitListOperations.or(left, right);
+            bitList = new BigBitList(left);
+            bitList.or(new BigBitList(right));
+            assertEquals(new BigBitList(expected), bitList);
+
+            expected = BitListOperations.xor(left, right);
+            bitList = new BigBitList(left);
+            bitList.xor(new BigBitList(right));
+            assertEquals(new BigBitList(expected), bitList);
+
+            expected = BitListOperations.andNot(left, right);
+            bitList = new BigBitList(left);
+            bitList.andNot(new BigBitList(right));
+            assertEquals(new BigBitList(expected), bitList);
+            assertEquals(expected.cardinality(), bitList.cardinality());
+        }
+        BitList expected = BitListOperations.not(left);
+        BigBitList bitList = new BigBitList(left);
+        bitList.not();
+        assertEquals(expected, bitList.toBitList(0, SIZE));
+        assertEquals(new BigBitList(expected).hashCode(), bitList.hashCode());
+    }
+
+    @Test
+    void indexesPastTheIntRange() {
+        long size = 5_000_000_000L;
+        BigBitList bitList = new BigBitList(size);
+        assertEquals(size, bitList.size());
+        assertEquals(0, bitList.cardinality());
+        assertEquals(-1, bitList.nextSetBit(0));
+        assertEquals(size - 1, bitList.previousClearBit(Long.MAX_VALUE));
+
+        long index = 4_000_000_123L;
+        assertFalse(bitList.setBit(index, true));
+        assertTrue(bitList.getBit(index));
+        assertEquals(index, bitList.nextSetBit(0));
+        assertEquals(index, bitList.previousSetBit(size));
+        assertEquals(-1, bitList.previousSetBit(index - 1));
+        assertEquals(index + 1, bitList.nextClearBit(index));
+        assertEquals(1L << 23, bitList.getBits(index - 23, 40));
+        bitList.setBits(index + 1_000, 20, -3);
+        assertEquals(-3, bitList.getSignedBits(index + 1_000, 20));
+        bitList.setBits(index + 1_000, 20, 0);
+        assertEquals(-1, bitList.getSignedBits(index, 1));
+        assertEquals(1, bitList.cardinality());
+
+        BitList slice = bitList.toBitList(index - 100, 200);
+        assertEquals(100, slice.nextSetBit(0));
+        slice.setBit(150, true);
+        bitList.set(index - 100, slice);
+        assertEquals(index + 50, bitList.nextSetBit(index + 1));
+
+        bitList.addBits(0b101, 3);
+        assertEquals(size + 3, bitList.size());
+        assertEquals(size + 2, bitList.previousSetBit(Long.MAX_VALUE));
+        assertEquals(bitList, bitList);
+        BigBitList other = new BigBitList(size + 3);
+        assertNotEquals(bitList, other);
+        other.or(bitList);
+        assertEquals(bitList, other);
+        assertEquals(bitList.hashCode(), other.hashCode());
+        other.and(new BigBitList(10));
+        assertEquals(0, other.cardinality());
+        assertEquals(size + 3, other.size());
+    }
+
+    @Test
+    void invalidArguments() {
+        BigBitList bitList = new BigBitList(100);
+        assertThrows(IllegalArgumentException.class, () -> new BigBitList(-1));
+        assertThrows(IllegalArgumentException.class, () -> new BigBitList(BigBitList.MAXIMUM_SIZE + 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> bitList.getBit(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> bitList.setBit(-1, true));
+        assertThrows(IndexOutOfBoundsException.class, () -> bitList.getBits(40, 61));
+        assertThrows(IllegalArgumentException.class, () -> bitList.getBits(0, 65));
+        assertThrows(IllegalArgumentException.class, () -> bitList.addBits(0, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> bitList.nextSetBit(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> bitList.previousSetBit(-2));
+        assertThrows(IndexOutOfBoundsException.class, () -> bitList.toBitList(50, 51));
+        assertThrows(IndexOutOfBoundsException.class, () -> bitList.set(99, BitListConversions.fromBinaryString("11")));
+        bitList.clear();
+        assertTrue(bitList.isEmpty());
+    }
+}
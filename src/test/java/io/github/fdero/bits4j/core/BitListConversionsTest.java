@@ -1,8 +1,16 @@
 package io.github.fdero.bits4j.core;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
 class BitListConversionsTest {
@@ -70,4 +78,151 @@ class BitListConversionsTest {
         assertTrue(bitList.isEmpty());
         assertEquals(byteValue, BitListConversions.asBinaryString(bitList));
     }
+
+    @Test
+    void longBinaryStringConversionTest() {
+        Random random = new Random(23);
+        for (int size : new int[]{ 7, 8, 63, 64, 65, 1_000 }) {
+            StringBuilder expected = new StringBuilder();
+            for (int i = 0; i < size; i++) {
+                expected.append(random.nextBoolean() ? '1' : '0');
+            }
+            BitList bitList = BitListConversions.fromBinaryString(expected.toString());
+            assertEquals(size, bitList.size());
+            for (int i = 0; i < size; i++) {
+                assertEquals(expected.charAt(i) == '1', bitList.getBit(i));
+            }
+            assertEquals(expected.toString(), BitListConversions.asBinaryString(bitList));
+        }
+        assertThrows(IllegalArgumentException.class, () -> BitListConversions.fromBinaryString("0101010121"));
+        assertThrows(IllegalArgumentException.class, () -> BitListConversions.fromBinaryString("0101010101/"));
+        assertThrows(IllegalArgumentException.class, () -> BitListConversions.fromBinaryString("0101 101"));
+        assertThrows(IllegalArgumentException.class, () -> BitListConversions.fromBinaryString("01\u01310101"));
+    }
+
+    @Test
+    void hexStringConversionTest() {
+        byte[] bytes = new byte[1_001];
+        new Random(24).nextBytes(bytes);
+        BitList bitList = BitListConversions.fromBytes(bytes);
+        String hexString = BitListConversions.asHexString(bitList);
+        assertEquals(HexFormat.of().formatHex(bytes), hexString);
+        assertEquals(bitList, BitListConversions.fromHexString(hexString));
+        assertEquals(bitList, BitListConversions.fromHexString(hexString.toUpperCase()));
+
+        BitList unaligned = BitListConversions.fromBinaryString("1000000011");
+        assertEquals("0103", BitListConversions.asHexString(unaligned));
+        assertEquals("", BitListConversions.asHexString(new BitList()));
+        assertTrue(BitListConversions.fromHexString("").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> BitListConversions.fromHexString("abc"));
+        assertThrows(IllegalArgumentException.class, () -> BitListConversions.fromHexString("0g"));
+        assertThrows(IllegalArgumentException.class, () -> BitListConversions.fromHexString("0\u0100"));
+    }
+
+    @Test
+    void base64ConversionTest() {
+        byte[] bytes = new byte[100];
+        new Random(25).nextBytes(bytes);
+        BitList bitList = BitListConversions.fromBytes(bytes);
+        String base64String = BitListConversions.asBase64String(bitList);
+        assertEquals(Base64.getEncoder().encodeToString(bytes), base64String);
+        assertEquals(bitList, BitListConversions.fromBase64String(base64String));
+        assertThrows(IllegalArgumentException.class, () -> BitListConversions.fromBase64String("a*=="));
+    }
+
+    @Test
+    void bytesConversionTest() {
+        byte[] bytes = new byte[]{ 1, (byte)0x80, 3, 4, 5, 6, 7, 8, (byte)0xFF, 10 };
+        BitList bitList = BitListConversions.fromBytes(bytes);
+        assertEquals(80, bitList.size());
+        assertEquals(BitValue.ONE, bitList.get(0));
+        assertEquals(BitValue.ONE, bitList.get(15));
+        assertArrayEquals(bytes, BitListConversions.asBytes(bitList));
+        bitList.removeLast();
+        byte[] truncated = BitListConversions.asBytes(bitList);
+        assertEquals(10, truncated.length);
+        assertEquals(10, truncated[9]);
+    }
+
+    @Test
+    void longsConversionTest() {
+        long[] words = new long[]{ -1L, 0x123456789L };
+        BitList bitList = BitListConversions.fromLongs(words, 100);
+        assertEquals(100, bitList.size());
+        assertArrayEquals(new long[]{ -1L, 0x123456789L & ((1L << 36) - 1) }, BitListConversions.asLongs(bitList));
+        assertEquals(0x123456789L, words[1]);
+        assertThrows(IllegalArgumentException.class, () -> BitListConversions.fromLongs(words, 129));
+    }
+
+    @Test
+    void tooManyBytesConversionTest() {
+        byte[] bytes = new byte[Integer.MAX_VALUE / Byte.SIZE + 1];
+        assertThrows(IllegalArgumentException.class, () -> BitListConversions.fromBytes(bytes));
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        assertThrows(IllegalArgumentException.class, () -> BitListConversions.fromByteBuffer(buffer));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    void byteBufferConversionTest() {
+        ByteBuffer buffer = ByteBuffer.allocate(12);
+        buffer.position(1);
+        for (int i = 1; i < 12; i++) {
+            buffer.put((byte) (i * 17));
+        }
+        buffer.position(1);
+        BitList bitList = BitListConversions.fromByteBuffer(buffer);
+        assertEquals(88, bitList.size());
+        assertEquals(12, buffer.position());
+        ByteBuffer target = ByteBuffer.allocate(20);
+        target.put((byte) 42);
+        BitListConversions.writeTo(bitList, target);
+        assertEquals(12, target.position());
+        for (int i = 1; i < 12; i++) {
+            assertEquals((byte) (i * 17), target.get(i));
+        }
+        assertThrows(java.nio.BufferOverflowException.class, () -> BitListConversions.writeTo(bitList, ByteBuffer.allocate(10)));
+    }
+
+    @Test
+    void wrappedLongsShareStorage() {
+        long[] words = new long[2];
+        BitList bitList = BitListConversions.wrapLongs(words, 70);
+        bitList.set(65, BitValue.ONE);
+        assertEquals(2L, words[1]);
+        words[0] = 1L;
+        assertEquals(BitValue.ONE, bitList.get(0));
+    }
+
+    @Test
+    void frozenWrappedLongsDontShareStorage() {
+        long[] words = new long[2];
+        BitList bitList = BitListConversions.wrapLongs(words, 128);
+        BitList frozen = bitList.freeze();
+        words[0] = 1L;
+        assertFalse(frozen.getBit(0));
+        assertTrue(bitList.getBit(0));
+        bitList.setBit(64, true);
+        assertEquals(1L, words[1]);
+        assertFalse(frozen.getBit(64));
+        words[1] = 0L;
+        assertFalse(bitList.getBit(64));
+    }
+
+    @Test
+    void wrappedByteBufferSharesStorageAndHasFixedCapacity() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(10);
+        buffer.put(0, (byte) 0x81);
+        BitList bitList = BitListConversions.wrapByteBuffer(buffer, 8);
+        assertEquals("10000001", BitListConversions.asBinaryString(bitList));
+        for (int i = 0; i < 72; i++) {
+            bitList.add(BitValue.ONE);
+        }
+        assertEquals((byte) 0xFF, buffer.get(9));
+        assertEquals(0, buffer.position());
+        bitList.remove(0);
+        assertEquals((byte) 0x7F, buffer.get(9));
+        bitList.add(BitValue.ONE);
+        assertThrows(IllegalStateException.class, () -> bitList.add(BitValue.ONE));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,167 @@
+package io.github.fdero.bits4j.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.BinaryOperator;
+
+import static io.github.fdero.bits4j.core.BitListTests.randomBitList;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BitListOperationsTest {
+
+    private static BitList bitByBit(BitList left, BitList right, BitwiseOperation operation) {
+        BitList expected = new BitList();
+        for (int i = 0; i < Math.max(left.size(), right.size()); i++) {
+            long leftBit = i < left.size() && left.getBit(i) ? 1L : 0L;
+            long rightBit = i < right.size() && right.getBit(i) ? 1L : 0L;
+            expected.addBit(operation.apply(leftBit, rightBit) != 0);
+        }
+        return expected;
+    }
+
+    private static BinaryOperator<BitList> staticVersion(BitwiseOperation operation) {
+        return switch (operation) {
+            case AND -> BitListOperations::and;
+            case OR -> BitListOperations::or;
+            case XOR -> BitListOperations::xor;
+            case AND_NOT -> BitListOperations::andNot;
+        };
+    }
+
+    private static void assertOperationsMatchBitByBit(Random random, int leftSize, int rightSize) {
+        BitList left = randomBitList(random, leftSize, 0.5);
+        BitList right = randomBitList(random, rightSize, 0.5);
+        BitList leftCopy = new BitList();
+        leftCopy.addAll(left);
+        for (BitwiseOperation operation : BitwiseOperation.values()) {
+            BitList expected = bitByBit(left, right, operation);
+            BitList result = staticVersion(operation).apply(left, right);
+            assertEquals(expected, result, operation.name());
+            assertEquals(expected.cardinality(), result.cardinality(), operation.name());
+            assertEquals(leftCopy, left);
+        }
+    }
+
+    @Test
+    void operationsOnListsOfDifferentSizes() {
+        Random random = new Random(13);
+        assertOperationsMatchBitByBit(random, 0, 0);
+        assertOperationsMatchBitByBit(random, 100, 0);
+        assertOperationsMatchBitByBit(random, 0, 100);
+        assertOperationsMatchBitByBit(random, 130, 70);
+        assertOperationsMatchBitByBit(random, 70, 130);
+        assertOperationsMatchBitByBit(random, 1000, 1000);
+    }
+
+    @Test
+    void parallelOperationsMatchSequentialOnes() {
+        int threshold = BitListOperations.getParallelThreshold();
+        Random random = new Random(31);
+        BitList left = randomBitList(random, 1_500_000, 0.5);
+        BitList right = randomBitList(random, 1_200_003, 0.5);
+        try {
+            BitListOperations.setParallelThreshold(Integer.MAX_VALUE);
+            BitList sequentialAnd = BitListOperations.and(left, right);
+            BitList sequentialXor = BitListOperations.xor(left, right);
+            BitList sequentialNot = BitListOperations.not(left);
+            BitListOperations.setParallelThreshold(0);
+            assertEquals(sequentialAnd, BitListOperations.and(left, right));
+            assertEquals(sequentialXor, BitListOperations.xor(left, right));
+            assertEquals(sequentialNot, BitListOperations.not(left));
+            assertEquals(bitByBit(left, right, BitwiseOperation.AND_NOT), BitListOperations.andNot(left, right));
+        }
+        finally {
+            BitListOperations.setParallelThreshold(threshold);
+        }
+    }
+
+    @Test
+    void inPlaceOperationsGrowTheList() {
+        BitList bitList = BitListConversions.fromBinaryString("1100");
+        bitList.or(BitListConversions.fromBinaryString("101010"));
+        assertEquals(BitListConversions.fromBinaryString("111010"), bitList);
+        bitList.and(BitListConversions.fromBinaryString("0110"));
+        assertEquals(BitListConversions.fromBinaryString("011000"), bitList);
+        bitList.xor(bitList);
+        assertEquals(BitListConversions.fromBinaryString("000000"), bitList);
+    }
+
+    @Test
+    void notFlipsOnlyTheBitsOfTheList() {
+        BitList bitList = BitListConversions.fromBinaryString("1011001");
+        bitList.not();
+        assertEquals(BitListConversions.fromBinaryString("0100110"), bitList);
+        bitList.addZero();
+        assertEquals(BitValue.ZERO, bitList.get(7));
+        assertEquals(3, bitList.cardinality());
+
+        BitList empty = new BitList();
+        empty.not();
+        assertEquals(0, empty.size());
+    }
+
+    @Test
+    void operationsBetweenDifferentStorages() {
+        Random random = new Random(17);
+        BitList dense = randomBitList(random, 200_000, 0.5);
+        CompressedBitList compressed = new CompressedBitList(randomBitList(random, 150_000, 0.5));
+        try (OffHeapBitList offHeap = new OffHeapBitList(200_000)) {
+            offHeap.addAll(randomBitList(random, 100_000, 0.5));
+            BitList expected = bitByBit(offHeap, dense, BitwiseOperation.XOR);
+            offHeap.xor(dense);
+            assertEquals(expected, offHeap);
+            assertEquals(bitByBit(compressed, dense, BitwiseOperation.AND), BitListOperations.and(compressed, dense));
+            assertEquals(bitByBit(dense, compressed, BitwiseOperation.OR), BitListOperations.or(dense, compressed));
+            assertInstanceOf(CompressedBitList.class, BitListOperations.andNot(compressed, dense));
+            assertThrows(IllegalStateException.class, () -> offHeap.or(randomBitList(random, 200_001, 0.5)));
+        }
+        BitList expectedNot = BitListOperations.not(compressed.toBitList());
+        assertEquals(expectedNot, BitListOperations.not(compressed));
+    }
+
+    @Test
+    void negativeThresholdIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> BitListOperations.setParallelThreshold(-1));
+    }
+
+    @Test
+    void hammingDistanceCountsTheDifferentBits() {
+        assertEquals(3, BitListOperations.hammingDistance(
+            BitListConversions.fromBinaryString("10110"),
+            BitListConversions.fromBinaryString("1001011")
+        ));
+        Random random = new Random(19);
+        BitList left = randomBitList(random, 10_000, 0.5);
+        BitList right = randomBitList(random, 7_001, 0.5);
+        int expected = bitByBit(left, right, BitwiseOperation.XOR).cardinality();
+        assertEquals(expected, BitListOperations.hammingDistance(left, right));
+        assertEquals(expected, BitListOperations.hammingDistance(new CompressedBitList(right), left));
+    }
+
+    @Test
+    void scalarAndVectorPathsAgree() {
+        assertTrue(BitListOperations.isVectorApiAvailable());
+        boolean enabled = BitListOperations.isVectorApiEnabled();
+        Random random = new Random(23);
+        BitList left = randomBitList(random, 100_003, 0.5);
+        BitList right = randomBitList(random, 99_000, 0.5);
+        try {
+            BitListOperations.setVectorApiEnabled(false);
+            assertFalse(BitListOperations.isVectorApiEnabled());
+            BitList scalarOr = BitListOperations.or(left, right);
+            BitList scalarNot = BitListOperations.not(left);
+            int scalarCardinality = left.cardinality();
+            int scalarDistance = BitListOperations.hammingDistance(left, right);
+            BitListOperations.setVectorApiEnabled(true);
+            assertTrue(BitListOperations.isVectorApiEnabled());
+            assertEquals(scalarOr, BitListOperations.or(left, right));
+            assertEquals(scalarNot, BitListOperations.not(left));
+            assertEquals(scalarCardinality, left.cardinality());
+            assertEquals(scalarDistance, BitListOperations.hammingDistance(left, right));
+        }
+        finally {
+            BitListOperations.setVectorApiEnabled(enabled);
+        }
+    }
+}
@@ -3,8 +3,12 @@ package io.github.fdero.bits4j.core;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
 import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
 
+import static io.github.fdero.bits4j.core.BitListTests.randomBitList;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class BitListTest {
@@ -530,4 +534,447 @@ public class BitListTest {
         bitList.add(BitValue.ONE);
         assertEquals(1, bitList.lastIndexOf(BitValue.ZERO));
     }
+
+    @Test
+    void insertAndRemoveAcrossWordBoundariesMatchesArrayList() {
+        Random random = new Random(42);
+        BitList bitList = new BitList();
+        List<BitValue> expected = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            BitValue bitValue = random.nextBoolean() ? BitValue.ONE : BitValue.ZERO;
+            bitList.add(bitValue);
+            expected.add(bitValue);
+        }
+        for (int i = 0; i < 200; i++) {
+            int index = random.nextInt(expected.size() + 1);
+            BitValue bitValue = random.nextBoolean() ? BitValue.ONE : BitValue.ZERO;
+            bitList.add(index, bitValue);
+            expected.add(index, bitValue);
+            int removedIndex = random.nextInt(expected.size());
+            assertEquals(expected.remove(removedIndex), bitList.remove(removedIndex));
+        }
+        assertEquals(expected, new ArrayList<>(bitList));
+    }
+
+    @Test
+    void removeRangeThroughSubListClear() {
+        BitList bitList = new BitList();
+        List<BitValue> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            BitValue bitValue = (i % 3 == 0) ? BitValue.ONE : BitValue.ZERO;
+            bitList.add(bitValue);
+            expected.add(bitValue);
+        }
+        bitList.subList(5, 133).clear();
+        expected.subList(5, 133).clear();
+        assertEquals(72, bitList.size());
+        assertEquals(expected, new ArrayList<>(bitList));
+        BitList copy = new BitList();
+        copy.addAll(bitList);
+        assertEquals(expected, new ArrayList<>(copy));
+    }
+
+    @Test
+    void addAllOfBitListAtUnalignedIndex() {
+        BitList bitList = new BitList();
+        BitList inserted = new BitList();
+        List<BitValue> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            bitList.add(BitValue.ZERO);
+            expected.add(BitValue.ZERO);
+        }
+        for (int i = 0; i < 70; i++) {
+            inserted.add(i % 2 == 0 ? BitValue.ONE : BitValue.ZERO);
+        }
+        assertTrue(bitList.addAll(37, inserted));
+        expected.addAll(37, inserted);
+        assertEquals(170, bitList.size());
+        assertEquals(expected, new ArrayList<>(bitList));
+    }
+
+    @Test
+    void addAllOfItself() {
+        BitList bitList = BitListConversions.fromBinaryString("1101");
+        bitList.addAll(1, bitList);
+        assertEquals("11101101", BitListConversions.asBinaryString(bitList));
+        bitList.addAll(bitList);
+        assertEquals("1110110111101101", BitListConversions.asBinaryString(bitList));
+    }
+
+    @Test
+    void removedBitsDoNotReappearWhenGrowingAgain() {
+        BitList bitList = BitListConversions.fromBinaryString("111");
+        bitList.removeLast();
+        bitList.remove(0);
+        bitList.addAll(List.of(BitValue.ZERO, BitValue.ZERO));
+        assertEquals("100", BitListConversions.asBinaryString(bitList));
+    }
+
+    @Test
+    void primitiveAccessorsAgreeWithBitValueAccessors() {
+        BitList bitList = new BitList();
+        bitList.addBit(true);
+        bitList.addBit(false);
+        bitList.add(BitValue.ONE);
+        assertTrue(bitList.getBit(0));
+        assertFalse(bitList.getBit(1));
+        assertFalse(bitList.setBit(1, true));
+        assertEquals(BitValue.ONE, bitList.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> bitList.getBit(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> bitList.setBit(-1, true));
+    }
+
+    @Test
+    void bitIteratorAndForEachBitVisitEveryBitInOrder() {
+        BitList bitList = new BitList();
+        for (int i = 0; i < 150; i++) {
+            bitList.addBit(i % 5 == 0);
+        }
+        PrimitiveIterator.OfInt iterator = bitList.bitIterator();
+        for (int i = 0; i < 150; i++) {
+            assertTrue(iterator.hasNext());
+            assertEquals(i % 5 == 0 ? 1 : 0, iterator.nextInt());
+        }
+        assertFalse(iterator.hasNext());
+        List<Integer> visited = new ArrayList<>();
+        bitList.forEachBit(visited::add);
+        assertEquals(150, visited.size());
+        for (int i = 0; i < 150; i++) {
+            assertEquals(i % 5 == 0 ? 1 : 0, visited.get(i));
+        }
+        List<BitValue> boxed = new ArrayList<>();
+        bitList.forEach(boxed::add);
+        assertEquals(boxed, new ArrayList<>(bitList));
+    }
+
+    @Test
+    void getBitsAndAddBitsAtUnalignedPositions() {
+        BitList bitList = new BitList();
+        bitList.addBits(0b101, 3);
+        bitList.addBits(0xDEADBEEFCAFEBABEL, 64);
+        bitList.addBits(0, 0);
+        assertEquals(67, bitList.size());
+        assertEquals(0b101, bitList.getBits(0, 3));
+        assertEquals(0xDEADBEEFCAFEBABEL, bitList.getBits(3, 64));
+        assertEquals(0xBABEL, bitList.getBits(3, 16));
+        assertEquals(0, bitList.getBits(67, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> bitList.getBits(60, 8));
+        assertThrows(IllegalArgumentException.class, () -> bitList.addBits(0, 65));
+    }
+
+    @Test
+    void equalsAndHashCodeAgreeWithOtherLists() {
+        Random random = new Random(3);
+        for (int length : new int[]{ 0, 1, 7, 8, 63, 64, 65, 200 }) {
+            BitList bitList = new BitList();
+            List<BitValue> expected = new ArrayList<>();
+            for (int i = 0; i < length; i++) {
+                BitValue bitValue = random.nextBoolean() ? BitValue.ONE : BitValue.ZERO;
+                bitList.add(bitValue);
+                expected.add(bitValue);
+            }
+            BitList copy = new BitList();
+            copy.addAll(expected);
+            assertEquals(expected, bitList);
+            assertEquals(bitList, expected);
+            assertEquals(copy, bitList);
+            assertEquals(expected.hashCode(), bitList.hashCode());
+            if (length > 0) {
+                copy.setBit(length - 1, !copy.getBit(length - 1));
+                assertNotEquals(copy, bitList);
+            }
+        }
+        assertNotEquals(BitListConversions.fromBinaryString("0"), BitListConversions.fromBinaryString("00"));
+    }
+
+    @Test
+    void indexSearchesAcrossWords() {
+        BitList bitList = new BitList();
+        for (int i = 0; i < 200; i++) {
+            bitList.addBit(i == 70 || i == 130);
+        }
+        assertEquals(70, bitList.indexOf(BitValue.ONE));
+        assertEquals(130, bitList.lastIndexOf(BitValue.ONE));
+        assertEquals(0, bitList.indexOf(BitValue.ZERO));
+        assertEquals(199, bitList.lastIndexOf(BitValue.ZERO));
+        assertEquals(130, bitList.nextSetBit(71));
+        assertEquals(-1, bitList.nextSetBit(131));
+        assertEquals(71, bitList.nextClearBit(70));
+        assertEquals(70, bitList.previousSetBit(129));
+        assertEquals(-1, bitList.previousSetBit(69));
+        assertEquals(69, bitList.previousClearBit(70));
+        assertEquals(130, bitList.previousSetBit(Integer.MAX_VALUE));
+        assertEquals(-1, bitList.indexOf(null));
+        assertFalse(bitList.contains("ONE"));
+
+        BitList allOnes = new BitList();
+        for (int i = 0; i < 64; i++) {
+            allOnes.addOne();
+        }
+        assertEquals(-1, allOnes.nextClearBit(0));
+        assertEquals(-1, allOnes.previousClearBit(63));
+        assertThrows(IndexOutOfBoundsException.class, () -> allOnes.nextSetBit(-1));
+    }
+
+    @Test
+    void cardinalityCountsTheSetBits() {
+        BitList bitList = new BitList();
+        assertEquals(0, bitList.cardinality());
+        for (int i = 0; i < 300; i++) {
+            bitList.addBit(i % 3 == 0);
+        }
+        assertEquals(100, bitList.cardinality());
+        bitList.removeRange(0, 150);
+        assertEquals(50, bitList.cardinality());
+    }
+
+    @Test
+    void subListIsAViewOverTheSameBits() {
+        Random random = new Random(21);
+        BitList bitList = randomBitList(random, 1_000, 0.5);
+        List<BitValue> expected = new ArrayList<>(bitList);
+        BitList slice = bitList.subList(37, 901);
+        assertEquals(expected.subList(37, 901), new ArrayList<>(slice));
+        assertEquals(expected.subList(37, 901), slice);
+        assertEquals(expected.subList(37, 901).hashCode(), slice.hashCode());
+        assertEquals(bitList.getBits(37 + 100, 64), slice.getBits(100, 64));
+        assertEquals(new ArrayList<>(slice).stream().filter(bit -> bit == BitValue.ONE).count(), slice.cardinality());
+        assertEquals(expected.subList(37, 901).indexOf(BitValue.ONE), slice.nextSetBit(0));
+        assertEquals(expected.subList(37, 901).lastIndexOf(BitValue.ZERO), slice.previousClearBit(863));
+        assertArrayEquals(BitListConversions.asLongs(BitListConversions.fromBinaryString(BitListConversions.asBinaryString(slice))),
+            BitListConversions.asLongs(slice));
+
+        slice.setBit(0, !slice.getBit(0));
+        slice.set(863, BitValue.ONE);
+        expected.set(37, expected.get(37) == BitValue.ONE ? BitValue.ZERO : BitValue.ONE);
+        expected.set(900, BitValue.ONE);
+        assertEquals(expected, new ArrayList<>(bitList));
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.get(864));
+        assertThrows(IndexOutOfBoundsException.class, () -> bitList.subList(10, 1_001));
+        assertThrows(IndexOutOfBoundsException.class, () -> bitList.subList(10, 9));
+    }
+
+    @Test
+    void subListBitwiseOperationsOnlyTouchTheView() {
+        Random random = new Random(22);
+        BitList bitList = randomBitList(random, 700, 0.5);
+        BitList other = randomBitList(random, 300, 0.5);
+        List<BitValue> expected = new ArrayList<>(bitList);
+        BitList slice = bitList.subList(101, 501);
+        slice.xor(other);
+        slice.not();
+        for (int i = 0; i < 400; i++) {
+            boolean bit = expected.get(101 + i) == BitValue.ONE;
+            if (i < 300) {
+                bit ^= other.getBit(i);
+            }
+            expected.set(101 + i, bit ? BitValue.ZERO : BitValue.ONE);
+        }
+        assertEquals(expected, new ArrayList<>(bitList));
+
+        BitList longer = randomBitList(random, 450, 0.5);
+        slice.or(longer);
+        for (int i = 0; i < 450; i++) {
+            if (i >= 400) {
+                expected.add(101 + i, BitValue.ZERO);
+            }
+            if (longer.getBit(i)) {
+                expected.set(101 + i, BitValue.ONE);
+            }
+        }
+        assertEquals(450, slice.size());
+        assertEquals(750, bitList.size());
+        assertEquals(expected, new ArrayList<>(bitList));
+    }
+
+    @Test
+    void bitwiseOperationsBetweenOverlappingSubLists() {
+        Random random = new Random(26);
+        BitList bitList = randomBitList(random, 4_096, 0.5);
+        BitList expected = BitListOperations.xor(bitList.subList(1, 4_000), bitList.subList(0, 3_999));
+        bitList.subList(1, 4_000).xor(bitList.subList(0, 3_999));
+        assertEquals(expected, bitList.subList(1, 4_000));
+
+        expected = BitListOperations.andNot(bitList.subList(37, 2_937), bitList.subList(100, 3_000));
+        bitList.subList(37, 2_937).andNot(bitList.subList(100, 3_000));
+        assertEquals(expected, bitList.subList(37, 2_937));
+
+        BitList copy = new BitList();
+        copy.addAll(bitList);
+        BitList slice = copy.subList(5, 1_000);
+        BitList sliceCopy = new BitList();
+        sliceCopy.addAll(slice);
+        copy.and(slice);
+        bitList.and(sliceCopy);
+        assertEquals(bitList, copy);
+    }
+
+    @Test
+    void subListStructuralChangesGoThroughTheBackedList() {
+        Random random = new Random(23);
+        BitList bitList = randomBitList(random, 500, 0.5);
+        List<BitValue> expected = new ArrayList<>(bitList);
+        BitList slice = bitList.subList(70, 330);
+        List<BitValue> expectedSlice = expected.subList(70, 330);
+        for (int round = 0; round < 300; round++) {
+            switch (random.nextInt(5)) {
+                case 0 -> {
+                    int index = random.nextInt(expectedSlice.size() + 1);
+                    BitValue bitValue = random.nextBoolean() ? BitValue.ONE : BitValue.ZERO;
+                    slice.add(index, bitValue);
+                    expectedSlice.add(index, bitValue);
+                }
+                case 1 -> {
+                    if (!expectedSlice.isEmpty()) {
+                        int index = random.nextInt(expectedSlice.size());
+                        assertEquals(expectedSlice.remove(index), slice.remove(index));
+                    }
+                }
+                case 2 -> {
+                    long bits = random.nextLong();
+                    slice.addBits(bits, 13);
+                    for (int i = 0; i < 13; i++) {
+                        expectedSlice.add((bits >>> i & 1) != 0 ? BitValue.ONE : BitValue.ZERO);
+                    }
+                }
+                case 3 -> {
+                    BitList inserted = randomBitList(random, random.nextInt(100), 0.5);
+                    int index = random.nextInt(expectedSlice.size() + 1);
+                    slice.addAll(index, inserted);
+                    expectedSlice.addAll(index, inserted);
+                }
+                default -> {
+                    int from = random.nextInt(expectedSlice.size() + 1);
+                    int to = from + random.nextInt(expectedSlice.size() - from + 1);
+                    slice.subList(from, to).clear();
+                    expectedSlice.subList(from, to).clear();
+                }
+            }
+            assertEquals(expectedSlice.size(), slice.size());
+        }
+        assertEquals(expected, new ArrayList<>(bitList));
+        slice.addAll(0, slice);
+        expectedSlice.addAll(0, new ArrayList<>(expectedSlice));
+        assertEquals(expected, new ArrayList<>(bitList));
+        slice.clear();
+        assertTrue(slice.isEmpty());
+        assertEquals(240, bitList.size());
+    }
+
+    @Test
+    void subListIsInvalidatedByOtherStructuralChanges() {
+        BitList bitList = randomBitList(new Random(24), 200, 0.5);
+        BitList slice = bitList.subList(10, 100);
+        BitList nested = slice.subList(5, 50);
+        nested.setBit(0, true);
+        assertTrue(bitList.getBit(15));
+        bitList.setBit(16, true);
+        assertTrue(nested.getBit(1));
+        bitList.addOne();
+        assertThrows(ConcurrentModificationException.class, slice::size);
+        assertThrows(ConcurrentModificationException.class, () -> nested.getBit(0));
+        assertThrows(ConcurrentModificationException.class, nested::cardinality);
+    }
+
+    @Test
+    void frozenListIsAnUnmodifiableSnapshot() {
+        Random random = new Random(25);
+        BitList bitList = randomBitList(random, 1_000, 0.5);
+        List<BitValue> expected = new ArrayList<>(bitList);
+        BitList frozen = bitList.freeze();
+        BitList copy = bitList.immutableCopy();
+        assertEquals(bitList, frozen);
+        assertEquals(bitList, copy);
+        assertEquals(bitList.hashCode(), frozen.hashCode());
+        assertSame(frozen, frozen.freeze());
+        assertSame(copy, copy.immutableCopy());
+
+        bitList.not();
+        bitList.setBit(3, true);
+        bitList.addAll(0, randomBitList(random, 77, 0.5));
+        BitList frozenAgain = bitList.freeze();
+        bitList.clear();
+        assertEquals(expected, new ArrayList<>(frozen));
+        assertEquals(expected, new ArrayList<>(copy));
+        assertEquals(1_077, frozenAgain.size());
+        assertEquals(0, bitList.size());
+
+        assertThrows(UnsupportedOperationException.class, () -> frozen.addOne());
+        assertThrows(UnsupportedOperationException.class, () -> frozen.set(0, BitValue.ONE));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.setBit(0, true));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.and(copy));
+        assertThrows(UnsupportedOperationException.class, frozen::not);
+        assertThrows(UnsupportedOperationException.class, frozen::clear);
+        assertThrows(UnsupportedOperationException.class, () -> copy.addAll(frozen));
+        BitList frozenSlice = frozen.subList(10, 20);
+        assertThrows(UnsupportedOperationException.class, () -> frozenSlice.setBit(0, true));
+        assertThrows(UnsupportedOperationException.class, () -> frozenSlice.remove(0));
+        assertThrows(UnsupportedOperationException.class, frozenSlice::clear);
+        assertEquals(expected, new ArrayList<>(frozen));
+        assertEquals(expected.subList(10, 20), frozenSlice);
+    }
+
+    @Test
+    void freezeCopiesStorageThatCantBeShared() {
+        try (OffHeapBitList offHeap = new OffHeapBitList(256)) {
+            offHeap.addBits(0xCAFEL, 16);
+            BitList frozen = offHeap.freeze();
+            offHeap.setBit(0, true);
+            assertEquals(0xCAFEL, frozen.getBits(0, 16));
+            assertEquals(0xCAFFL, offHeap.getBits(0, 16));
+        }
+    }
+
+    @Test
+    void setBitsAndGetSignedBitsAtUnalignedPositions() {
+        BitList bitList = new BitList(new LongArrayBitField(), 200);
+        bitList.setBits(61, 64, 0xDEADBEEFCAFEBABEL);
+        assertEquals(0xDEADBEEFCAFEBABEL, bitList.getBits(61, 64));
+        assertEquals(0, bitList.getBits(0, 61));
+        assertEquals(0, bitList.getBits(125, 64));
+        bitList.setBits(130, 12, -5);
+        assertEquals(-5, bitList.getSignedBits(130, 12));
+        assertEquals(4091, bitList.getBits(130, 12));
+        assertEquals(3, bitList.getSignedBits(130, 3));
+        assertEquals(-1, bitList.getSignedBits(61 + 1, 1));
+        assertEquals(0, bitList.getSignedBits(61, 1));
+        assertEquals(0xDEADBEEFCAFEBABEL, bitList.getSignedBits(61, 64));
+        assertEquals(0, bitList.getSignedBits(61, 0));
+        bitList.setBits(0, 0, -1L);
+        assertEquals(200, bitList.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> bitList.setBits(190, 11, 0));
+        assertThrows(IllegalArgumentException.class, () -> bitList.setBits(0, 65, 0));
+        assertThrows(UnsupportedOperationException.class, () -> bitList.freeze().setBits(0, 3, 0));
+    }
+
+    @Test
+    void copyBitsMatchesBitByBitCopy() {
+        Random random = new Random(25);
+        for (int round = 0; round < 200; round++) {
+            BitList source = randomBitList(random, 300, 0.5);
+            BitList target = round % 3 == 0 ? source : randomBitList(random, 400, 0.5);
+            int length = random.nextInt(250);
+            int sourceIndex = round % 4 == 0 ? 64 * random.nextInt(1 + (source.size() - length) / 64) : random.nextInt(source.size() - length + 1);
+            int targetIndex = round % 4 == 0 ? 64 * random.nextInt(1 + (target.size() - length) / 64) : random.nextInt(target.size() - length + 1);
+            List<BitValue> expected = new ArrayList<>(target);
+            for (int i = 0; i < length; i++) {
+                expected.set(targetIndex + i, source.get(sourceIndex + i));
+            }
+            BitList.copyBits(source, sourceIndex, target, targetIndex, length);
+            assertEquals(expected, target);
+        }
+
+        BitList bitList = randomBitList(random, 500, 0.5);
+        List<BitValue> expected = new ArrayList<>(bitList);
+        for (int i = 0; i < 200; i++) {
+            expected.set(150 + i, bitList.get(100 + i));
+        }
+        BitList.copyBits(bitList.subList(50, 400), 50, bitList.subList(100, 500), 50, 200);
+        assertEquals(expected, bitList);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> BitList.copyBits(bitList, 400, bitList, 0, 101));
+        assertThrows(IndexOutOfBoundsException.class, () -> BitList.copyBits(bitList, 0, bitList, -1, 10));
+        assertThrows(UnsupportedOperationException.class, () -> BitList.copyBits(bitList, 0, bitList.freeze(), 0, 10));
+    }
 }
\ No newline at end of file
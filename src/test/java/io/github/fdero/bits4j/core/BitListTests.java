@@ -0,0 +1,22 @@
+package io.github.fdero.bits4j.core;
+
+import java.util.Random;
+
+/**
+ * Helpers shared by the tests of the bit lists.
+ */
+final class BitListTests {
+
+    private BitListTests() {
+        throw new AssertionError("This class should not be instantiated");
+    }
+
+    // Builds a list of the given size whose bits are set with the given probability
+    static BitList randomBitList(Random random, int size, double density) {
+        BitList bitList = new BitList();
+        for (int i = 0; i < size; i++) {
+            bitList.addBit(random.nextDouble() < density);
+        }
+        return bitList;
+    }
+}
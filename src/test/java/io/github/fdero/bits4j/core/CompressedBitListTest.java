@@ -0,0 +1,155 @@
+package io.github.fdero.bits4j.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static io.github.fdero.bits4j.core.BitListTests.randomBitList;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompressedBitListTest {
+
+    // Sparse chunks, dense chunks, runs and empty chunks, in this order
+    private static BitList mixedBitList(Random random) {
+        BitList bitList = randomBitList(random, 70_000, 0.01);
+        bitList.addAll(randomBitList(random, 70_000, 0.7));
+        for (int i = 0; i < 70_000; i++) {
+            bitList.addBit(i % 10_000 < 6_000);
+        }
+        bitList.addAll(randomBitList(random, 140_000, 0.0));
+        bitList.addOne();
+        return bitList;
+    }
+
+    @Test
+    void compressedListBehavesAsBitList() {
+        Random random = new Random(12);
+        BitList expected = new BitList();
+        CompressedBitList actual = new CompressedBitList();
+        for (int i = 0; i < 200_000; i++) {
+            boolean value = random.nextInt(50) == 0 || (i > 100_000 && i < 170_000);
+            expected.addBit(value);
+            actual.addBit(value);
+        }
+        for (int i = 0; i < 2_000; i++) {
+            int index = random.nextInt(expected.size());
+            boolean value = random.nextBoolean();
+            expected.setBit(index, value);
+            actual.setBit(index, value);
+        }
+        assertEquals(expected, actual);
+        expected.removeRange(1_000, 90_000);
+        actual.removeRange(1_000, 90_000);
+        expected.add(500, BitValue.ONE);
+        actual.add(500, BitValue.ONE);
+        assertEquals(expected, actual);
+        assertEquals(expected.hashCode(), actual.hashCode());
+        assertEquals(expected.cardinality(), actual.cardinality());
+        assertEquals(expected.nextSetBit(2_000), actual.nextSetBit(2_000));
+        assertEquals(expected.previousSetBit(expected.size() - 1), actual.previousSetBit(actual.size() - 1));
+        assertEquals(expected.nextClearBit(20_000), actual.nextClearBit(20_000));
+    }
+
+    @Test
+    void conversionRoundTrip() {
+        BitList bitList = mixedBitList(new Random(7));
+        CompressedBitList compressed = new CompressedBitList(bitList);
+        assertEquals(bitList.size(), compressed.size());
+        assertEquals(bitList, compressed);
+        BitList decompressed = compressed.toBitList();
+        assertEquals(bitList, decompressed);
+        assertEquals(CompressedBitList.class, compressed.getClass());
+        assertEquals(BitList.class, decompressed.getClass());
+        assertEquals(compressed, new CompressedBitList(compressed));
+    }
+
+    @Test
+    void searchesSkipEmptyChunks() {
+        CompressedBitList bitList = new CompressedBitList();
+        bitList.addBits(0, 1);
+        for (int i = 0; i < 1_000_000; i += 64) {
+            bitList.addBits(0, 64);
+        }
+        bitList.setBit(5, true);
+        bitList.setBit(900_000, true);
+        assertEquals(5, bitList.nextSetBit(0));
+        assertEquals(900_000, bitList.nextSetBit(6));
+        assertEquals(-1, bitList.nextSetBit(900_001));
+        assertEquals(5, bitList.previousSetBit(899_999));
+        assertEquals(900_000, bitList.lastIndexOf(BitValue.ONE));
+        assertEquals(2, bitList.cardinality());
+    }
+
+    @Test
+    void sparseAndRunListsTakeLittleSpace() {
+        CompressedBitList sparse = new CompressedBitList();
+        for (int i = 0; i < 10_000_000; i += 64) {
+            sparse.addBits(1, 64);
+        }
+        assertTrue(sparse.storageSize() < 10_000_000 / 64 * 4);
+
+        BitList runs = new BitList();
+        for (int i = 0; i < 10_000_000; i++) {
+            runs.addBit(i / 100_000 % 2 == 0);
+        }
+        CompressedBitList compressedRuns = new CompressedBitList(runs);
+        assertTrue(compressedRuns.storageSize() < 10_000);
+        assertEquals(runs, compressedRuns);
+    }
+
+    @Test
+    void optimizeKeepsTheContent() {
+        CompressedBitList bitList = new CompressedBitList();
+        for (int i = 0; i < 300_000; i++) {
+            bitList.addBit(i % 50_000 > 10);
+        }
+        BitList expected = bitList.toBitList();
+        long sizeBefore = bitList.storageSize();
+        bitList.optimize();
+        assertEquals(expected, bitList);
+        assertTrue(bitList.storageSize() < sizeBefore);
+        bitList.setBit(20, false);
+        bitList.setBit(100_000, false);
+        expected.setBit(20, false);
+        expected.setBit(100_000, false);
+        assertEquals(expected, bitList);
+    }
+
+    @Test
+    void setOperationsMatchBitByBitResults() {
+        Random random = new Random(3);
+        BitList left = mixedBitList(random);
+        BitList right = mixedBitList(random);
+        right.removeRange(0, 100_000);
+        for (BitwiseOperation operation : BitwiseOperation.values()) {
+            CompressedBitList actual = new CompressedBitList(left);
+            CompressedBitList other = new CompressedBitList(right);
+            switch (operation) {
+                case AND -> actual.and(other);
+                case OR -> actual.or(other);
+                case XOR -> actual.xor(other);
+                case AND_NOT -> actual.andNot(other);
+            }
+            BitList expected = new BitList();
+            for (int i = 0; i < Math.max(left.size(), right.size()); i++) {
+                long leftBit = i < left.size() && left.getBit(i) ? 1L : 0L;
+                long rightBit = i < right.size() && right.getBit(i) ? 1L : 0L;
+                expected.addBit(operation.apply(leftBit, rightBit) != 0);
+            }
+            assertEquals(expected, actual, operation.name());
+            assertEquals(expected.cardinality(), actual.cardinality(), operation.name());
+            assertEquals(right, other);
+        }
+    }
+
+    @Test
+    void setOperationsWithItself() {
+        CompressedBitList bitList = new CompressedBitList(mixedBitList(new Random(5)));
+        BitList expected = bitList.toBitList();
+        bitList.and(bitList);
+        assertEquals(expected, bitList);
+        bitList.xor(bitList);
+        assertEquals(0, bitList.cardinality());
+        assertEquals(expected.size(), bitList.size());
+    }
+}
@@ -0,0 +1,176 @@
+package io.github.fdero.bits4j.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentBitListTest {
+
+    private static final int THREADS = 8;
+
+    private static <T> List<T> runConcurrently(Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<T>> tasks = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                tasks.add(task);
+            }
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void singleThreadedOperations() {
+        ConcurrentBitList bitList = new ConcurrentBitList(130);
+        assertEquals(130, bitList.size());
+        assertFalse(bitList.testAndSet(3));
+        assertTrue(bitList.testAndSet(3));
+        assertTrue(bitList.getBit(3));
+        bitList.setBit(129, true);
+        assertEquals(2, bitList.cardinality());
+        assertEquals(129, bitList.nextSetBit(4));
+        assertEquals(4, bitList.nextClearBit(3));
+        assertTrue(bitList.testAndClear(3));
+        assertFalse(bitList.testAndClear(3));
+        assertEquals(-1, bitList.nextSetBit(130));
+        assertThrows(IndexOutOfBoundsException.class, () -> bitList.getBit(130));
+        assertThrows(IndexOutOfBoundsException.class, () -> bitList.testAndSet(-1));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentBitList(-1));
+
+        ConcurrentBitList full = new ConcurrentBitList(BitListConversions.fromBinaryString("111"));
+        assertEquals(-1, full.nextClearBit(0));
+        full.clear();
+        assertEquals(0, full.cardinality());
+    }
+
+    @Test
+    void compareAndSetRangeIsAllOrNothing() {
+        ConcurrentBitList bitList = new ConcurrentBitList(300);
+        assertTrue(bitList.compareAndSetRange(10, 200, false, true));
+        assertEquals(190, bitList.cardinality());
+        assertFalse(bitList.compareAndSetRange(0, 11, false, true));
+        assertEquals(190, bitList.cardinality());
+        // The first words match and get updated before the mismatch in the last one is found
+        bitList.setBit(250, true);
+        assertFalse(bitList.compareAndSetRange(200, 251, false, true));
+        assertEquals(250, bitList.nextSetBit(200));
+        assertTrue(bitList.compareAndSetRange(10, 200, true, false));
+        assertEquals(1, bitList.cardinality());
+        assertTrue(bitList.compareAndSetRange(5, 5, true, false));
+        assertThrows(IndexOutOfBoundsException.class, () -> bitList.compareAndSetRange(5, 301, false, true));
+    }
+
+    @Test
+    void everyBitIsClaimedExactlyOnce() throws Exception {
+        int size = 200_000;
+        ConcurrentBitList bitList = new ConcurrentBitList(size);
+        List<Integer> claims = runConcurrently(() -> {
+            int claimed = 0;
+            for (int i = 0; i < size; i++) {
+                if (!bitList.testAndSet(i)) {
+                    claimed++;
+                }
+            }
+            return claimed;
+        });
+        assertEquals(size, claims.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(size, bitList.cardinality());
+        List<Integer> releases = runConcurrently(() -> {
+            int released = 0;
+            for (int i = size - 1; i >= 0; i--) {
+                if (bitList.testAndClear(i)) {
+                    released++;
+                }
+            }
+            return released;
+        });
+        assertEquals(size, releases.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(0, bitList.cardinality());
+    }
+
+    @Test
+    void concurrentUpdatesOfTheSameWordAreNotLost() throws Exception {
+        ConcurrentBitList bitList = new ConcurrentBitList(64 * THREADS);
+        AtomicInteger nextThread = new AtomicInteger();
+        runConcurrently(() -> {
+            int thread = nextThread.getAndIncrement();
+            for (int round = 0; round < 1_000; round++) {
+                for (int i = thread; i < bitList.size(); i += THREADS) {
+                    bitList.setBit(i, round % 2 == 0);
+                }
+            }
+            for (int i = thread; i < bitList.size(); i += THREADS) {
+                bitList.setBit(i, i % 3 == 0);
+            }
+            return null;
+        });
+        BitList expected = new BitList();
+        for (int i = 0; i < bitList.size(); i++) {
+            expected.addBit(i % 3 == 0);
+        }
+        assertEquals(expected, bitList.toBitList());
+    }
+
+    @Test
+    void overlappingRangesAreNeverClaimedTwice() throws Exception {
+        int size = 10_000;
+        ConcurrentBitList bitList = new ConcurrentBitList(size);
+        AtomicInteger seed = new AtomicInteger();
+        List<Integer> claimedBits = runConcurrently(() -> {
+            Random random = new Random(seed.getAndIncrement());
+            int claimed = 0;
+            for (int attempt = 0; attempt < 5_000; attempt++) {
+                int from = random.nextInt(size);
+                int to = Math.min(size, from + 1 + random.nextInt(150));
+                if (bitList.compareAndSetRange(from, to, false, true)) {
+                    claimed += to - from;
+                }
+            }
+            return claimed;
+        });
+        assertEquals(bitList.cardinality(), claimedBits.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void failedRangeClaimsReleaseEveryBitDespiteConcurrentClears() throws Exception {
+        int size = 256;
+        ConcurrentBitList bitList = new ConcurrentBitList(size);
+        AtomicInteger seed = new AtomicInteger();
+        runConcurrently(() -> {
+            int id = seed.getAndIncrement();
+            Random random = new Random(id);
+            for (int attempt = 0; attempt < 50_000; attempt++) {
+                if (id % 2 == 0) {
+                    int from = random.nextInt(size);
+                    int to = Math.min(size, from + 1 + random.nextInt(size));
+                    if (bitList.compareAndSetRange(from, to, false, true)) {
+                        for (int i = from; i < to; i++) {
+                            bitList.testAndClear(i);
+                        }
+                    }
+                }
+                else {
+                    bitList.testAndClear(random.nextInt(size));
+                }
+            }
+            return null;
+        });
+        assertEquals(0, bitList.cardinality());
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.fdero.bits4j.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedBitListTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void bitsSurviveReopening() throws IOException {
+        Path file = directory.resolve("bits.bin");
+        BitList expected = new BitList();
+        try (MappedBitList bitList = MappedBitList.open(file, MappedBitList.Mode.READ_WRITE)) {
+            assertTrue(bitList.isEmpty());
+            for (int i = 0; i < 50_000; i++) {
+                bitList.addBit(i % 7 == 0);
+                expected.addBit(i % 7 == 0);
+            }
+            bitList.remove(3);
+            expected.remove(3);
+        }
+        try (MappedBitList bitList = MappedBitList.open(file, MappedBitList.Mode.READ_ONLY)) {
+            assertTrue(bitList.isReadOnly());
+            assertEquals(expected, bitList);
+        }
+    }
+
+    @Test
+    void readOnlyListRejectsModifications() throws IOException {
+        Path file = directory.resolve("bits.bin");
+        try (MappedBitList bitList = MappedBitList.open(file, MappedBitList.Mode.READ_WRITE)) {
+            bitList.addAll(BitListConversions.fromBinaryString("101"));
+        }
+        try (MappedBitList bitList = MappedBitList.open(file, MappedBitList.Mode.READ_ONLY)) {
+            assertEquals("101", BitListConversions.asBinaryString(bitList));
+            assertThrows(ReadOnlyBufferException.class, () -> bitList.set(0, BitValue.ZERO));
+            assertThrows(ReadOnlyBufferException.class, bitList::addZero);
+            assertThrows(ReadOnlyBufferException.class, bitList::removeLast);
+            assertEquals(3, bitList.size());
+        }
+    }
+
+    @Test
+    void bitsPastTheStoredSizeAreHiddenInReadOnlyMode() throws IOException {
+        Path file = directory.resolve("bits.bin");
+        ByteBuffer content = ByteBuffer.allocate(Long.BYTES + 16).order(ByteOrder.LITTLE_ENDIAN);
+        content.putLong(70);
+        while (content.hasRemaining()) {
+            content.put((byte) 0xFF);
+        }
+        Files.write(file, content.array());
+        try (MappedBitList bitList = MappedBitList.open(file, MappedBitList.Mode.READ_ONLY)) {
+            assertEquals(70, bitList.size());
+            assertEquals(70, bitList.cardinality());
+            assertEquals(-1, bitList.nextClearBit(0));
+            assertEquals(-1, bitList.nextSetBit(70));
+            assertEquals(BitListConversions.fromLongs(new long[]{ -1L, -1L }, 70), bitList);
+        }
+        assertArrayEquals(content.array(), Files.readAllBytes(file));
+    }
+
+    @Test
+    void forceWritesTheHeader() throws IOException {
+        Path file = directory.resolve("bits.bin");
+        try (MappedBitList bitList = MappedBitList.open(file, MappedBitList.Mode.READ_WRITE)) {
+            bitList.addBits(0xFFFF, 12);
+            bitList.force();
+            byte[] content = Files.readAllBytes(file);
+            assertEquals(12, content[0]);
+            assertEquals((byte) 0xFF, content[8]);
+            assertEquals(0x0F, content[9]);
+        }
+    }
+
+    @Test
+    void invalidFilesAreRejected() throws IOException {
+        Path file = directory.resolve("bits.bin");
+        Files.write(file, new byte[]{ 1, 2, 3 });
+        assertThrows(IOException.class, () -> MappedBitList.open(file, MappedBitList.Mode.READ_ONLY));
+        Files.write(file, new byte[]{ 100, 0, 0, 0, 0, 0, 0, 0, 1 });
+        assertThrows(IOException.class, () -> MappedBitList.open(file, MappedBitList.Mode.READ_WRITE));
+    }
+}
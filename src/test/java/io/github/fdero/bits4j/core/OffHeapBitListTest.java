@@ -0,0 +1,65 @@
+package io.github.fdero.bits4j.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class OffHeapBitListTest {
+
+    @Test
+    void behavesLikeAnOnHeapBitList() {
+        try (OffHeapBitList offHeapBitList = new OffHeapBitList(300)) {
+            BitList onHeapBitList = new BitList();
+            for (int i = 0; i < 250; i++) {
+                offHeapBitList.addBit(i % 3 == 0);
+                onHeapBitList.addBit(i % 3 == 0);
+            }
+            offHeapBitList.add(17, BitValue.ONE);
+            onHeapBitList.add(17, BitValue.ONE);
+            offHeapBitList.remove(100);
+            onHeapBitList.remove(100);
+            assertEquals(onHeapBitList, offHeapBitList);
+            assertEquals(onHeapBitList.hashCode(), offHeapBitList.hashCode());
+            assertEquals(new ArrayList<>(onHeapBitList), new ArrayList<>(offHeapBitList));
+        }
+    }
+
+    @Test
+    void cantGrowBeyondItsCapacity() {
+        try (OffHeapBitList bitList = new OffHeapBitList(10)) {
+            assertEquals(16, bitList.capacity());
+            for (int i = 0; i < 16; i++) {
+                bitList.addOne();
+            }
+            assertThrows(IllegalStateException.class, bitList::addOne);
+            assertEquals(16, bitList.size());
+        }
+    }
+
+    @Test
+    void byteBufferViewSharesTheBits() {
+        try (OffHeapBitList bitList = new OffHeapBitList(64)) {
+            bitList.addAll(List.of(BitValue.ONE, BitValue.ZERO, BitValue.ONE));
+            ByteBuffer view = bitList.asByteBuffer();
+            assertTrue(view.isDirect());
+            assertEquals(5, view.get(0));
+            view.put(0, (byte) 2);
+            assertEquals(List.of(BitValue.ZERO, BitValue.ONE, BitValue.ZERO), bitList);
+        }
+    }
+
+    @Test
+    void closedListRejectsAccess() {
+        OffHeapBitList bitList = new OffHeapBitList(8);
+        bitList.addOne();
+        bitList.close();
+        bitList.close();
+        assertTrue(bitList.isClosed());
+        assertThrows(IllegalStateException.class, () -> bitList.get(0));
+        assertThrows(IllegalStateException.class, bitList::asByteBuffer);
+    }
+}
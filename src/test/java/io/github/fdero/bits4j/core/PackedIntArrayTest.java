@@ -0,0 +1,125 @@
+package io.github.fdero.bits4j.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PackedIntArrayTest {
+
+    private static final int LENGTH = 1_000;
+
+    private static long[] randomValues(Random random, int length, int bitsPerValue) {
+        long[] values = new long[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = random.nextLong() >>> (Long.SIZE - bitsPerValue);
+        }
+        return values;
+    }
+
+    @Test
+    void storesValuesOfEveryWidth() {
+        Random random = new Random(24);
+        for (int bitsPerValue = 1; bitsPerValue <= 64; bitsPerValue++) {
+            long[] expected = randomValues(random, LENGTH, bitsPerValue);
+            PackedIntArray array = new PackedIntArray(LENGTH, bitsPerValue);
+            assertEquals(LENGTH, array.length());
+            assertEquals(bitsPerValue, array.bitsPerValue());
+            for (int i = 0; i < LENGTH; i++) {
+                array.set(i, expected[i]);
+            }
+            for (int i = 0; i < LENGTH; i++) {
+                assertEquals(expected[i], array.get(i), "bitsPerValue = " + bitsPerValue + ", index = " + i);
+            }
+            BitList bitList = array.toBitList();
+            assertEquals(LENGTH * bitsPerValue, bitList.size());
+            for (int i = 0; i < LENGTH; i += 97) {
+                assertEquals(expected[i], bitList.getBits(i * bitsPerValue, bitsPerValue));
+            }
+            PackedIntArray copy = new PackedIntArray(bitList, bitsPerValue);
+            long[] decoded = new long[LENGTH];
+            copy.get(0, decoded, 0, LENGTH);
+            assertArrayEquals(expected, decoded);
+        }
+    }
+
+    @Test
+    void bulkMethodsMatchSingleValues() {
+        Random random = new Random(25);
+        for (int bitsPerValue : new int[]{ 3, 13, 20, 32, 47 }) {
+            long[] expected = randomValues(random, LENGTH, bitsPerValue);
+            PackedIntArray array = new PackedIntArray(LENGTH, bitsPerValue);
+            array.set(1, expected, 1, LENGTH - 2);
+            assertEquals(0, array.get(0));
+            assertEquals(0, array.get(LENGTH - 1));
+            for (int i = 1; i < LENGTH - 1; i++) {
+                assertEquals(expected[i], array.get(i));
+            }
+            long[] decoded = new long[LENGTH + 5];
+            array.get(10, decoded, 5, 500);
+            for (int i = 0; i < 500; i++) {
+                assertEquals(expected[10 + i], decoded[5 + i]);
+            }
+            if (bitsPerValue <= 32) {
+                int[] values = new int[LENGTH];
+                for (int i = 0; i < LENGTH; i++) {
+                    values[i] = (int) expected[i];
+                }
+                array.clear();
+                array.set(0, values, 0, LENGTH);
+                int[] decodedInts = new int[LENGTH];
+                array.get(0, decodedInts, 0, LENGTH);
+                assertArrayEquals(values, decodedInts);
+            }
+            else {
+                assertThrows(IllegalStateException.class, () -> array.get(0, new int[1], 0, 1));
+            }
+        }
+    }
+
+    @Test
+    void widensOnTheFly() {
+        Random random = new Random(26);
+        long[] expected = randomValues(random, LENGTH, 3);
+        PackedIntArray array = new PackedIntArray(LENGTH, 3);
+        array.set(0, expected, 0, LENGTH);
+        assertThrows(IllegalArgumentException.class, () -> array.set(7, 8));
+        assertEquals(expected[7], array.get(7));
+
+        array.setAndWiden(7, 8);
+        expected[7] = 8;
+        assertEquals(4, array.bitsPerValue());
+        array.setAndWiden(500, 1L << 40);
+        expected[500] = 1L << 40;
+        assertEquals(41, array.bitsPerValue());
+        array.setAndWiden(999, -1L);
+        expected[999] = -1L;
+        assertEquals(64, array.bitsPerValue());
+        long[] decoded = new long[LENGTH];
+        array.get(0, decoded, 0, LENGTH);
+        assertArrayEquals(expected, decoded);
+
+        assertThrows(IllegalArgumentException.class, () -> array.widen(63));
+        assertEquals(1, PackedIntArray.bitsRequired(0));
+        assertEquals(20, PackedIntArray.bitsRequired((1 << 20) - 1));
+        assertEquals(64, PackedIntArray.bitsRequired(Long.MIN_VALUE));
+    }
+
+    @Test
+    void invalidArguments() {
+        PackedIntArray array = new PackedIntArray(10, 5);
+        assertThrows(IllegalArgumentException.class, () -> new PackedIntArray(-1, 5));
+        assertThrows(IllegalArgumentException.class, () -> new PackedIntArray(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new PackedIntArray(10, 65));
+        assertThrows(IllegalArgumentException.class, () -> new PackedIntArray(Integer.MAX_VALUE, 64));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.get(10));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.set(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> array.set(0, 32));
+        assertThrows(IllegalArgumentException.class, () -> array.set(0, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.get(5, new long[10], 0, 6));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.set(0, new int[3], 1, 3));
+        assertThrows(IllegalArgumentException.class, () -> array.set(0, new int[]{ 1, 2, -1 }, 0, 3));
+        assertEquals(2, array.get(1));
+    }
+}
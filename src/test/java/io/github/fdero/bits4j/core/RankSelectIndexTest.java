@@ -0,0 +1,82 @@
+package io.github.fdero.bits4j.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Random;
+
+import static io.github.fdero.bits4j.core.BitListTests.randomBitList;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RankSelectIndexTest {
+
+    private static void assertMatchesLinearScan(BitList bitList) {
+        RankSelectIndex index = new RankSelectIndex(bitList);
+        int ones = 0;
+        int zeros = 0;
+        for (int i = 0; i < bitList.size(); i++) {
+            assertEquals(ones, index.rank1(i));
+            assertEquals(zeros, index.rank0(i));
+            if (bitList.getBit(i)) {
+                assertEquals(i, index.select1(ones++));
+            }
+            else {
+                assertEquals(i, index.select0(zeros++));
+            }
+        }
+        assertEquals(ones, index.rank1(bitList.size()));
+        assertEquals(ones, index.ones());
+        assertEquals(zeros, index.zeros());
+        assertThrows(IndexOutOfBoundsException.class, () -> index.select1(index.ones()));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.select0(index.zeros()));
+    }
+
+    @Test
+    void emptyList() {
+        RankSelectIndex index = new RankSelectIndex(new BitList());
+        assertEquals(0, index.rank1(0));
+        assertEquals(0, index.ones());
+        assertThrows(IndexOutOfBoundsException.class, () -> index.rank1(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.select1(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.select0(0));
+    }
+
+    @Test
+    void randomListsMatchLinearScan() {
+        Random random = new Random(11);
+        for (double density : new double[] {0.0, 0.01, 0.5, 0.99, 1.0}) {
+            assertMatchesLinearScan(randomBitList(random, 40_000 + random.nextInt(5000), density));
+        }
+        assertMatchesLinearScan(randomBitList(random, 511, 0.5));
+        assertMatchesLinearScan(randomBitList(random, 2049, 0.5));
+    }
+
+    @Test
+    void longRunsSpanManySuperblocks() {
+        BitList bitList = new BitList();
+        for (int i = 0; i < 100_000; i++) {
+            bitList.addBit(i >= 30_000 && i < 31_000 || i == 99_999);
+        }
+        RankSelectIndex index = new RankSelectIndex(bitList);
+        assertEquals(1001, index.ones());
+        assertEquals(30_000, index.select1(0));
+        assertEquals(30_999, index.select1(999));
+        assertEquals(99_999, index.select1(1000));
+        assertEquals(31_000, index.select0(30_000));
+        assertEquals(99_998, index.select0(index.zeros() - 1));
+        assertEquals(500, index.rank1(30_500));
+    }
+
+    @Test
+    void modifyingTheListInvalidatesTheIndex() {
+        BitList bitList = BitListConversions.fromBinaryString("1011");
+        RankSelectIndex index = new RankSelectIndex(bitList);
+        assertTrue(index.isValid());
+        bitList.get(0);
+        assertTrue(index.isValid());
+        bitList.setBit(1, true);
+        assertFalse(index.isValid());
+        assertThrows(ConcurrentModificationException.class, () -> index.rank1(0));
+        assertThrows(ConcurrentModificationException.class, () -> index.select1(0));
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.fdero.bits4j.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VectorWordKernelTest {
+
+    private final WordKernel scalar = new ScalarWordKernel();
+
+    private final WordKernel vector = new VectorWordKernel();
+
+    private static long[] randomWords(Random random, int length) {
+        long[] words = new long[length];
+        for (int i = 0; i < length; i++) {
+            words[i] = random.nextLong();
+        }
+        return words;
+    }
+
+    @Test
+    void vectorKernelMatchesScalarKernel() {
+        Random random = new Random(14);
+        for (int length : new int[] {0, 1, 3, 8, 17, 1000, 1027}) {
+            long[] left = randomWords(random, length);
+            long[] right = randomWords(random, length);
+            int from = Math.min(length, random.nextInt(4));
+            for (BitwiseOperation operation : BitwiseOperation.values()) {
+                long[] expected = left.clone();
+                long[] actual = left.clone();
+                scalar.combine(expected, right, operation, from, length);
+                vector.combine(actual, right, operation, from, length);
+                assertArrayEquals(expected, actual, operation.name());
+            }
+            long[] expected = left.clone();
+            long[] actual = left.clone();
+            scalar.flip(expected, from, length);
+            vector.flip(actual, from, length);
+            assertArrayEquals(expected, actual);
+            assertEquals(scalar.bitCount(left, from, length), vector.bitCount(left, from, length));
+            assertEquals(scalar.hammingDistance(left, right, from, length), vector.hammingDistance(left, right, from, length));
+        }
+    }
+
+    @Test
+    void bitCountOfFullWords() {
+        long[] words = new long[100];
+        Arrays.fill(words, -1L);
+        assertEquals(6400, vector.bitCount(words, 0, 100));
+        assertEquals(64, vector.hammingDistance(words, new long[100], 99, 100));
+    }
+}
@@ -1,9 +1,11 @@
 package io.github.fdero.bits4j.stream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 import io.github.fdero.bits4j.core.BitList;
@@ -54,4 +56,45 @@ public class BitListInputStreamTest {
             assertEquals(-1, bitInputStream.read());
         }
     }
+
+    @Test
+    void testBulkReadFromBitListAndGenericList() throws IOException {
+        byte[] inputBytes = new byte[21];
+        for (int i = 0; i < inputBytes.length; i++) {
+            inputBytes[i] = (byte) (i * 29 + 200);
+        }
+        BitList bitList = new BitList();
+        for (byte inputByte : inputBytes) {
+            bitList.addAll(BitListConversions.fromByte(inputByte));
+        }
+        bitList.add(BitValue.ONE);
+        List<BitValue> genericList = new ArrayList<>(bitList);
+        for (List<BitValue> source : List.of(bitList, genericList)) {
+            try (InputStream bitInputStream = new BitListInputStream(source)) {
+                assertEquals(inputBytes[0] & 0xFF, bitInputStream.read());
+                assertEquals(20, bitInputStream.available());
+                assertEquals(2, bitInputStream.skip(2));
+                byte[] outputBytes = new byte[30];
+                assertEquals(18, bitInputStream.read(outputBytes, 1, 29));
+                for (int i = 0; i < 18; i++) {
+                    assertEquals(inputBytes[i + 3], outputBytes[i + 1]);
+                }
+                assertEquals(-1, bitInputStream.read(outputBytes, 0, 1));
+                assertEquals(0, bitInputStream.skip(1));
+            }
+        }
+    }
+
+    @Test
+    void testReadAllBytesRoundTripsThroughOutputStream() throws IOException {
+        byte[] inputBytes = new byte[1000];
+        for (int i = 0; i < inputBytes.length; i++) {
+            inputBytes[i] = (byte) (i * 7);
+        }
+        BitList bitList = new BitList();
+        new BitListOutputStream(bitList).write(inputBytes);
+        try (InputStream bitInputStream = new BitListInputStream(bitList)) {
+            assertArrayEquals(inputBytes, bitInputStream.readAllBytes());
+        }
+    }
 }
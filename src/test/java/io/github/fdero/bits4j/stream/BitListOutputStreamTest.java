@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -39,4 +40,25 @@ public class BitListOutputStreamTest {
             assertEquals(inputBytes[i], outputByte);
         }
     }
+
+    @Test
+    void testBulkWriteToBitListAndGenericList() throws IOException {
+        byte[] inputBytes = new byte[19];
+        for (int i = 0; i < inputBytes.length; i++) {
+            inputBytes[i] = (byte) (i * 53 + 128);
+        }
+        BitList bitList = new BitList();
+        List<BitValue> genericList = new ArrayList<>();
+        for (List<BitValue> target : List.of(bitList, genericList)) {
+            try (OutputStream bitOutputStream = new BitListOutputStream(target)) {
+                bitOutputStream.write(inputBytes[0]);
+                bitOutputStream.write(inputBytes, 1, inputBytes.length - 1);
+            }
+        }
+        assertEquals(inputBytes.length * 8, bitList.size());
+        assertEquals(new ArrayList<>(bitList), genericList);
+        for (int i = 0; i < inputBytes.length; i++) {
+            assertEquals(inputBytes[i], (byte) bitList.getBits(i * 8, 8));
+        }
+    }
 }
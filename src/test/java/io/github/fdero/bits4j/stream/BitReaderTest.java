@@ -3,14 +3,24 @@ package io.github.fdero.bits4j.stream;
 import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import io.github.fdero.bits4j.core.BitList;
 import io.github.fdero.bits4j.core.BitListConversions;
 import io.github.fdero.bits4j.core.BitValue;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Pipe;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
 
 class BitReaderTest {
 
@@ -59,4 +69,174 @@ class BitReaderTest {
         }
         assertEquals(inputBytes.length, inputBytesCursor);
     }
+
+    @Test
+    void testReadBitsReadsBackWhatWriteBitsWrote() throws IOException {
+        Random random = new Random(11);
+        long[] values = new long[1000];
+        int[] counts = new int[1000];
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        BitWriter bitWriter = new BitWriter(outputStream);
+        for (int i = 0; i < values.length; i++) {
+            counts[i] = random.nextInt(65);
+            values[i] = counts[i] == 64 ? random.nextLong() : random.nextLong() & ((1L << counts[i]) - 1);
+            bitWriter.writeBits(values[i], counts[i]);
+        }
+        bitWriter.addPadding();
+        bitWriter.flush();
+        BitReader bitReader = new BitReader(new ByteArrayInputStream(outputStream.toByteArray()), 13);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], bitReader.readBits(counts[i]));
+        }
+    }
+
+    @Test
+    void testReadSignedAndUnsigned() throws IOException {
+        InputStream inputStream = new ByteArrayInputStream(new byte[]{ (byte)0xFF, (byte)0x05 });
+        BitReader bitReader = new BitReader(inputStream);
+        assertEquals(-1, bitReader.readSigned(4));
+        assertEquals(15, bitReader.readUnsigned(4));
+        assertEquals(5, bitReader.readSigned(4));
+        assertThrows(IllegalArgumentException.class, () -> bitReader.readUnsigned(64));
+        assertThrows(IllegalArgumentException.class, () -> bitReader.readSigned(0));
+    }
+
+    @Test
+    void testReadFullyAlignedAndUnaligned() throws IOException {
+        byte[] inputBytes = new byte[20];
+        for (int i = 0; i < inputBytes.length; i++) {
+            inputBytes[i] = (byte) (i * 37);
+        }
+        BitReader alignedReader = new BitReader(new ByteArrayInputStream(inputBytes), 8);
+        assertEquals(inputBytes[0], (byte) alignedReader.readBits(8));
+        byte[] alignedOutput = new byte[19];
+        alignedReader.readFully(alignedOutput);
+        for (int i = 0; i < alignedOutput.length; i++) {
+            assertEquals(inputBytes[i + 1], alignedOutput[i]);
+        }
+
+        BitReader unalignedReader = new BitReader(new ByteArrayInputStream(inputBytes));
+        assertEquals(inputBytes[0] & 0x7, unalignedReader.readBits(3));
+        byte[] unalignedOutput = new byte[19];
+        unalignedReader.readFully(unalignedOutput);
+        for (int i = 0; i < unalignedOutput.length; i++) {
+            int expected = ((inputBytes[i] & 0xFF) >>> 3) | ((inputBytes[i + 1] & 0xFF) << 5);
+            assertEquals((byte) expected, unalignedOutput[i]);
+        }
+        assertThrows(EOFException.class, () -> unalignedReader.readFully(new byte[1]));
+    }
+
+    @Test
+    void testReadBitsPastTheEndThrows() throws IOException {
+        BitReader bitReader = new BitReader(new ByteArrayInputStream(new byte[]{ 1 }));
+        assertEquals(1, bitReader.readBits(3));
+        assertThrows(EOFException.class, () -> bitReader.readBits(6));
+        assertNull(bitReader.read());
+    }
+
+    @Test
+    void testPeekDoesNotConsumeBits() throws IOException {
+        BitReader bitReader = new BitReader(new ByteArrayInputStream(new byte[]{ (byte)0xA5, (byte)0x0F }));
+        assertEquals(0x5, bitReader.peekBits(4));
+        assertEquals(0xFA5, bitReader.peekBits(12));
+        assertEquals(0x5, bitReader.readBits(4));
+        assertEquals(0xFA, bitReader.peekBits(8));
+        assertEquals(0x0FA, bitReader.peekBits(20));
+    }
+
+    @Test
+    void testSkipBitsAcrossBufferAndStream() throws IOException {
+        byte[] inputBytes = new byte[100];
+        for (int i = 0; i < inputBytes.length; i++) {
+            inputBytes[i] = (byte) i;
+        }
+        BitReader bitReader = new BitReader(new ByteArrayInputStream(inputBytes), 8);
+        bitReader.skipBits(3);
+        assertEquals(0, bitReader.readBits(5));
+        bitReader.skipBits(8 * 40 + 4);
+        assertEquals(41 >>> 4, bitReader.readBits(4));
+        bitReader.skipBits(0);
+        assertEquals(42, bitReader.readBits(8));
+        assertThrows(EOFException.class, () -> bitReader.skipBits(8 * 100));
+    }
+
+    @Test
+    void testAlignToByte() throws IOException {
+        BitReader bitReader = new BitReader(new ByteArrayInputStream(new byte[]{ (byte)0xFF, (byte)0x12 }));
+        assertEquals(0, bitReader.alignToByte());
+        bitReader.readBits(3);
+        assertEquals(5, bitReader.alignToByte());
+        assertEquals(0x12, bitReader.readBits(8));
+    }
+
+    @Test
+    void testReadFromChannels(@TempDir Path directory) throws IOException {
+        byte[] inputBytes = new byte[10_000];
+        new Random(18).nextBytes(inputBytes);
+        Path file = Files.write(directory.resolve("bits"), inputBytes);
+        BitReader expected = new BitReader(new ByteArrayInputStream(inputBytes));
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            BitReader fromFile = new BitReader(fileChannel, 64);
+            BitReader fromStream = new BitReader(Channels.newChannel(new ByteArrayInputStream(inputBytes)), 16);
+            for (int count = 0; count < 300; count++) {
+                long bits = expected.readBits(count % 61);
+                assertEquals(bits, fromFile.readBits(count % 61));
+                assertEquals(bits, fromStream.readBits(count % 61));
+            }
+            fromFile.skipBits(8 * 1_000 + 5);
+            fromStream.skipBits(8 * 1_000 + 5);
+            expected.skipBits(8 * 1_000 + 5);
+            byte[] chunk = new byte[2_000];
+            expected.readFully(chunk);
+            byte[] fileChunk = new byte[2_000];
+            fromFile.readFully(fileChunk);
+            assertArrayEquals(chunk, fileChunk);
+            fromStream.alignToByte();
+            assertThrows(EOFException.class, () -> fromStream.skipBits(8 * 10_000));
+            assertThrows(EOFException.class, () -> fromFile.readFully(new byte[10_000]));
+        }
+    }
+
+    @Test
+    void testSeekWithinFileChannel(@TempDir Path directory) throws IOException {
+        byte[] inputBytes = new byte[1_000];
+        for (int i = 0; i < inputBytes.length; i++) {
+            inputBytes[i] = (byte) i;
+        }
+        Path file = Files.write(directory.resolve("bits"), inputBytes);
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            BitReader bitReader = new BitReader(fileChannel, 128);
+            assertEquals(0, bitReader.bitPosition());
+            bitReader.seek(8 * 700 + 3);
+            assertEquals(8 * 700 + 3, bitReader.bitPosition());
+            assertEquals((700 & 0xFF) >>> 3, bitReader.readBits(5));
+            assertEquals(701 & 0xFF, bitReader.readBits(8));
+            bitReader.seek(8 * 710);
+            assertEquals(710 & 0xFF, bitReader.readBits(8));
+            bitReader.seek(12);
+            assertEquals(12, bitReader.bitPosition());
+            assertEquals(1 >>> 4 | 2 << 4, bitReader.readBits(8));
+            bitReader.skipBits(8 * 500);
+            assertEquals(8 * 502 + 4, bitReader.bitPosition());
+            bitReader.seek(8 * 999);
+            assertEquals(999 & 0xFF, bitReader.readBits(8));
+            assertNull(bitReader.read());
+            bitReader.seek(8 * 2_000);
+            assertThrows(EOFException.class, () -> bitReader.readBits(1));
+            assertThrows(IllegalArgumentException.class, () -> bitReader.seek(-1));
+        }
+    }
+
+    @Test
+    void testSeekRequiresSeekableChannel() throws IOException {
+        BitReader fromStream = new BitReader(new ByteArrayInputStream(new byte[8]));
+        assertThrows(UnsupportedOperationException.class, () -> fromStream.seek(0));
+        BitReader fromChannel = new BitReader(Channels.newChannel(new ByteArrayInputStream(new byte[8])));
+        assertThrows(UnsupportedOperationException.class, fromChannel::bitPosition);
+        Pipe pipe = Pipe.open();
+        pipe.source().configureBlocking(false);
+        assertThrows(IllegalArgumentException.class, () -> new BitReader(pipe.source()));
+        pipe.source().close();
+        pipe.sink().close();
+    }
 }
\ No newline at end of file
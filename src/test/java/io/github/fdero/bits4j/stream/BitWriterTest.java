@@ -1,11 +1,20 @@
 package io.github.fdero.bits4j.stream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import io.github.fdero.bits4j.core.BitList;
 import io.github.fdero.bits4j.core.BitListConversions;
@@ -86,4 +95,86 @@ class BitWriterTest {
             assertEquals(inputBytes[i], outputStream.toByteArray()[i]);
         }
     }
+
+    @Test
+    void testWriteBitsMatchesBitByBitWrites() throws IOException {
+        Random random = new Random(7);
+        ByteArrayOutputStream expectedStream = new ByteArrayOutputStream();
+        ByteArrayOutputStream actualStream = new ByteArrayOutputStream();
+        BitWriter expectedWriter = new BitWriter(expectedStream);
+        BitWriter actualWriter = new BitWriter(actualStream, 16);
+        for (int i = 0; i < 1000; i++) {
+            long value = random.nextLong();
+            int count = random.nextInt(65);
+            actualWriter.writeBits(value, count);
+            for (int bit = 0; bit < count; bit++) {
+                expectedWriter.writeBoolean(((value >>> bit) & 1) != 0);
+            }
+        }
+        expectedWriter.addPadding();
+        expectedWriter.flush();
+        actualWriter.addPadding();
+        actualWriter.flush();
+        assertArrayEquals(expectedStream.toByteArray(), actualStream.toByteArray());
+    }
+
+    @Test
+    void testWriteBytesAlignedAndUnaligned() throws IOException {
+        byte[] inputBytes = new byte[]{ (byte)1, (byte)2, (byte)3, (byte)4, (byte)5, (byte)6, (byte)7, (byte)8, (byte)0xFF };
+        ByteArrayOutputStream alignedStream = new ByteArrayOutputStream();
+        BitWriter alignedWriter = new BitWriter(alignedStream);
+        alignedWriter.writeBytes(inputBytes, 1, 8);
+        alignedWriter.flush();
+        assertArrayEquals(new byte[]{ 2, 3, 4, 5, 6, 7, 8, (byte)0xFF }, alignedStream.toByteArray());
+
+        ByteArrayOutputStream unalignedStream = new ByteArrayOutputStream();
+        BitWriter unalignedWriter = new BitWriter(unalignedStream);
+        unalignedWriter.writeBits(1, 4);
+        unalignedWriter.writeBytes(inputBytes, 0, inputBytes.length);
+        unalignedWriter.addPadding();
+        unalignedWriter.flush();
+        byte[] output = unalignedStream.toByteArray();
+        assertEquals(10, output.length);
+        assertEquals(0x11, output[0]);
+        assertEquals(0x20, output[1]);
+        assertEquals((byte)0xF0, output[8]);
+        assertEquals(0x0F, output[9]);
+    }
+
+    @Test
+    void testWriteBitsRejectsInvalidCounts() {
+        BitWriter bitWriter = new BitWriter(new ByteArrayOutputStream());
+        assertThrows(IllegalArgumentException.class, () -> bitWriter.writeBits(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> bitWriter.writeBits(0, 65));
+    }
+
+    @Test
+    void testWriteToChannels(@TempDir Path directory) throws IOException {
+        Random random = new Random(81);
+        byte[] block = new byte[300];
+        random.nextBytes(block);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ByteArrayOutputStream fromChannel = new ByteArrayOutputStream();
+        Path file = directory.resolve("bits");
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            BitWriter toStream = new BitWriter(expected, 32);
+            BitWriter toChannel = new BitWriter(Channels.newChannel(fromChannel), 32);
+            BitWriter toFile = new BitWriter(fileChannel, 64);
+            for (BitWriter writer : new BitWriter[]{ toStream, toChannel, toFile }) {
+                Random values = new Random(7);
+                for (int i = 0; i < 500; i++) {
+                    writer.writeBits(values.nextLong(), i % 65);
+                }
+                writer.addPadding();
+                writer.writeBytes(block, 0, block.length);
+                writer.writeBytes(block, 10, 20);
+                writer.writeBoolean(true);
+                writer.writeBytes(block, 0, block.length);
+                writer.addPadding();
+                writer.flush();
+            }
+        }
+        assertArrayEquals(expected.toByteArray(), fromChannel.toByteArray());
+        assertArrayEquals(expected.toByteArray(), Files.readAllBytes(file));
+    }
 }
@@ -0,0 +1,143 @@
+package io.github.fdero.bits4j.stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+class IncrementalBitReaderTest {
+
+    @Test
+    void testReadsMatchBitReaderWhateverTheChunks() throws IOException {
+        Random random = new Random(19);
+        byte[] inputBytes = new byte[50_000];
+        random.nextBytes(inputBytes);
+        BitReader expected = new BitReader(new ByteArrayInputStream(inputBytes));
+        IncrementalBitReader bitReader = new IncrementalBitReader();
+        int fed = 0;
+        long read = 0;
+        while (read < inputBytes.length * 8L - 64) {
+            int count = random.nextInt(65);
+            if (bitReader.bitsAvailable() < count) {
+                int length = Math.min(random.nextInt(3_000), inputBytes.length - fed);
+                if (random.nextBoolean()) {
+                    bitReader.feed(inputBytes, fed, length);
+                }
+                else {
+                    ByteBuffer buffer = ByteBuffer.allocateDirect(length).put(inputBytes, fed, length).flip();
+                    bitReader.feed(buffer);
+                    assertFalse(buffer.hasRemaining());
+                }
+                fed += length;
+                continue;
+            }
+            assertEquals(fed * 8L - read, bitReader.bitsAvailable());
+            long bits = expected.readBits(count);
+            assertEquals(bits, bitReader.peekBits(count));
+            assertEquals(bits, count < 64 ? bitReader.tryReadBits(count) : bitReader.readBits(count));
+            read += count;
+            assertEquals(read, bitReader.bitPosition());
+        }
+    }
+
+    @Test
+    void testFailedReadsConsumeNothing() {
+        IncrementalBitReader bitReader = new IncrementalBitReader();
+        assertEquals(0, bitReader.bitsAvailable());
+        assertEquals(-1, bitReader.tryReadBits(1));
+        assertEquals(0, bitReader.tryReadBits(0));
+        assertEquals(0, bitReader.peekBits(64));
+        bitReader.feed(new byte[]{ (byte) 0xA5, 0x0F }, 0, 2);
+        assertEquals(0x5, bitReader.tryReadBits(4));
+        assertEquals(-1, bitReader.tryReadBits(13));
+        assertThrows(BufferUnderflowException.class, () -> bitReader.readBits(13));
+        assertThrows(BufferUnderflowException.class, () -> bitReader.skipBits(13));
+        assertEquals(0x0FA, bitReader.peekBits(20));
+        assertEquals(12, bitReader.bitsAvailable());
+        assertEquals(4, bitReader.alignToByte());
+        assertEquals(0, bitReader.alignToByte());
+        assertEquals(0x0F, bitReader.tryReadBits(8));
+    }
+
+    // Parses a header of five bits followed by the given number of bytes, or returns null if they haven't all arrived
+    private static byte[] tryParse(IncrementalBitReader bitReader, int length) {
+        bitReader.mark();
+        long header = bitReader.tryReadBits(5);
+        byte[] parsed = new byte[length];
+        for (int i = 0; i < length && header >= 0; i++) {
+            long value = bitReader.tryReadBits(8);
+            if (value < 0) {
+                bitReader.reset();
+                return null;
+            }
+            parsed[i] = (byte) value;
+        }
+        if (header < 0) {
+            bitReader.reset();
+            return null;
+        }
+        return parsed;
+    }
+
+    @Test
+    void testMarkAndResetAcrossFeeds() {
+        IncrementalBitReader bitReader = new IncrementalBitReader();
+        byte[] message = new byte[3 * IncrementalBitReader.SEGMENT_SIZE];
+        new Random(2).nextBytes(message);
+        byte[] stream = new byte[message.length + 1];
+        stream[0] = 0b0111;
+        for (int i = 0; i < message.length; i++) {
+            stream[i] |= (byte) (message[i] << 7);
+            stream[i + 1] = (byte) ((message[i] & 0xFF) >>> 1);
+        }
+        bitReader.feed(stream, 0, 1);
+        bitReader.skipBits(2);
+        int fed = 1;
+        byte[] parsed;
+        while ((parsed = tryParse(bitReader, message.length)) == null) {
+            assertEquals(2, bitReader.bitPosition());
+            int length = Math.min(1_000, stream.length - fed);
+            bitReader.feed(stream, fed, length);
+            fed += length;
+        }
+        assertEquals(stream.length, fed);
+        assertArrayEquals(message, parsed);
+        assertEquals(1, bitReader.bitsAvailable());
+        bitReader.reset();
+        assertEquals(0b01, bitReader.readBits(2));
+        bitReader.unmark();
+        assertThrows(IllegalStateException.class, bitReader::reset);
+    }
+
+    @Test
+    void testConsumedSegmentsAreRecycled() {
+        IncrementalBitReader bitReader = new IncrementalBitReader();
+        byte[] chunk = new byte[5_000];
+        for (int i = 0; i < chunk.length; i++) {
+            chunk[i] = (byte) i;
+        }
+        for (int round = 0; round < 1_000; round++) {
+            bitReader.feed(chunk, 0, chunk.length);
+            for (int i = 0; i < chunk.length; i++) {
+                assertEquals(i & 0xFF, bitReader.readBits(8));
+            }
+        }
+        assertEquals(0, bitReader.bitsAvailable());
+        assertEquals(8L * 5_000 * 1_000, bitReader.bitPosition());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        IncrementalBitReader bitReader = new IncrementalBitReader();
+        assertThrows(IllegalArgumentException.class, () -> bitReader.tryReadBits(64));
+        assertThrows(IllegalArgumentException.class, () -> bitReader.readBits(65));
+        assertThrows(IllegalArgumentException.class, () -> bitReader.peekBits(-1));
+        assertThrows(IllegalArgumentException.class, () -> bitReader.skipBits(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> bitReader.feed(new byte[4], 2, 3));
+    }
+}